@@ -95,4 +95,26 @@ public class Constants {
         JAVA_TO_FIELD_SETTER.put("java.util.Date", "set");
         JAVA_TO_FIELD_SETTER.put("byte[]", "set");
     }
+
+    static final Map<String, String> JAVA_TO_ROW_BATCH_SETTER;
+    static {
+        JAVA_TO_ROW_BATCH_SETTER = new HashMap<String, String>();
+        JAVA_TO_ROW_BATCH_SETTER.put("byte", "setLong");
+        JAVA_TO_ROW_BATCH_SETTER.put("short", "setLong");
+        JAVA_TO_ROW_BATCH_SETTER.put("int", "setLong");
+        JAVA_TO_ROW_BATCH_SETTER.put("long", "setLong");
+        JAVA_TO_ROW_BATCH_SETTER.put("float", "setDouble");
+        JAVA_TO_ROW_BATCH_SETTER.put("double", "setDouble");
+        JAVA_TO_ROW_BATCH_SETTER.put("boolean", "setBoolean");
+        JAVA_TO_ROW_BATCH_SETTER.put("java.lang.Byte", "setBoxedLong");
+        JAVA_TO_ROW_BATCH_SETTER.put("java.lang.Short", "setBoxedLong");
+        JAVA_TO_ROW_BATCH_SETTER.put("java.lang.Integer", "setBoxedLong");
+        JAVA_TO_ROW_BATCH_SETTER.put("java.lang.Long", "setBoxedLong");
+        JAVA_TO_ROW_BATCH_SETTER.put("java.lang.Float", "setBoxedDouble");
+        JAVA_TO_ROW_BATCH_SETTER.put("java.lang.Double", "setBoxedDouble");
+        JAVA_TO_ROW_BATCH_SETTER.put("java.lang.Boolean", "setBoxedBoolean");
+        JAVA_TO_ROW_BATCH_SETTER.put("java.lang.String", "setString");
+        JAVA_TO_ROW_BATCH_SETTER.put("java.util.Date", "setDate");
+        JAVA_TO_ROW_BATCH_SETTER.put("byte[]", "setBinary");
+    }
 }
@@ -64,9 +64,12 @@ public class RealmProxyClassGenerator {
         imports.add("io.realm.exceptions.RealmMigrationNeededException");
         imports.add("io.realm.internal.ColumnInfo");
         imports.add("io.realm.internal.RealmObjectProxy");
+        imports.add("io.realm.internal.SnapshotProxy");
         imports.add("io.realm.internal.Table");
         imports.add("io.realm.internal.TableOrView");
         imports.add("io.realm.internal.ImplicitTransaction");
+        imports.add("io.realm.internal.InsertContext");
+        imports.add("io.realm.internal.RowBatch");
         imports.add("io.realm.internal.LinkView");
         imports.add("io.realm.internal.android.JsonUtils");
         imports.add("io.realm.internal.Row");
@@ -106,6 +109,7 @@ public class RealmProxyClassGenerator {
                 EnumSet.of(Modifier.PUBLIC), // modifiers to apply
                 className,                   // class to extend
                 "RealmObjectProxy",          // interfaces to implement
+                "SnapshotProxy",
                 interfaceName)
                 .emitEmptyLine();
 
@@ -116,12 +120,15 @@ public class RealmProxyClassGenerator {
         emitAccessors(writer);
         emitInitTableMethod(writer);
         emitValidateTableMethod(writer);
+        emitGetColumnInfoMethod(writer);
+        emitGetSchemaSignatureMethod(writer);
         emitGetTableNameMethod(writer);
         emitGetFieldNamesMethod(writer);
         emitCreateOrUpdateUsingJsonObject(writer);
         emitCreateUsingJsonStream(writer);
         emitCopyOrUpdateMethod(writer);
         emitCopyMethod(writer);
+        emitInsertMethod(writer);
         emitCreateDetachedCopyMethod(writer);
         emitUpdateMethod(writer);
         emitToStringMethod(writer);
@@ -344,6 +351,94 @@ public class RealmProxyClassGenerator {
         writer.emitStatement("return proxyState");
         writer.endMethod();
         writer.emitEmptyLine();
+
+        emitSnapshotMethod(writer);
+        emitClearCachedValuesMethod(writer);
+    }
+
+    private void emitClearCachedValuesMethod(JavaWriter writer) throws IOException {
+        writer.emitAnnotation("Override");
+        writer.beginMethod("void", "realm$clearCachedValues", EnumSet.of(Modifier.PUBLIC));
+        for (VariableElement field : metadata.getFields()) {
+            if (Utils.isRealmList(field)) {
+                writer.emitStatement("%sRealmList = null", field.getSimpleName().toString());
+            }
+        }
+        writer.endMethod();
+        writer.emitEmptyLine();
+    }
+
+    private void emitSnapshotMethod(JavaWriter writer) throws IOException {
+        List<VariableElement> valueFields = new ArrayList<VariableElement>();
+        StringBuilder columnIndices = new StringBuilder();
+        for (VariableElement field : metadata.getFields()) {
+            if (Constants.JAVA_TO_REALM_TYPES.containsKey(field.asType().toString())) {
+                if (!valueFields.isEmpty()) {
+                    columnIndices.append(", ");
+                }
+                valueFields.add(field);
+                columnIndices.append(fieldIndexVariableReference(field));
+            }
+        }
+
+        writer.emitAnnotation("Override");
+        writer.beginMethod(className, "realm$snapshot", EnumSet.of(Modifier.PUBLIC));
+        writer.emitStatement("proxyState.getRealm$realm().checkIfValid()");
+
+        // All value fields are read with a single native call, links are not followed.
+        int count = valueFields.size();
+        if (count > 0) {
+            writer
+                .emitStatement("long[] columnIndices = new long[] {%s}", columnIndices.toString())
+                .emitStatement("long[] longValues = new long[%d]", count)
+                .emitStatement("double[] doubleValues = new double[%d]", count)
+                .emitStatement("Object[] objectValues = new Object[%d]", count)
+                .emitStatement("boolean[] nullValues = new boolean[%d]", count)
+                .emitStatement("proxyState.getRow$realm().getValues(columnIndices, longValues, doubleValues, objectValues, nullValues)");
+        }
+        writer.emitStatement("%s unmanagedObject = new %s()", className, className);
+
+        for (VariableElement field : metadata.getFields()) {
+            String setter = metadata.getSetter(field.getSimpleName().toString());
+            int i = valueFields.indexOf(field);
+            if (i == -1) {
+                writer.emitStatement("((%s) unmanagedObject).%s(null)", interfaceName, setter);
+                continue;
+            }
+
+            String fieldTypeCanonicalName = field.asType().toString();
+            String realmType = Constants.JAVA_TO_REALM_TYPES.get(fieldTypeCanonicalName);
+            String value;
+            if (realmType.equals("Long")) {
+                String castingBackType;
+                if (Utils.isBoxedType(fieldTypeCanonicalName)) {
+                    Types typeUtils = processingEnvironment.getTypeUtils();
+                    castingBackType = typeUtils.unboxedType(field.asType()).toString();
+                } else {
+                    castingBackType = fieldTypeCanonicalName;
+                }
+                value = String.format("(%s) longValues[%d]", castingBackType, i);
+            } else if (realmType.equals("Boolean")) {
+                value = String.format("longValues[%d] != 0", i);
+            } else if (realmType.equals("Float")) {
+                value = String.format("(float) doubleValues[%d]", i);
+            } else if (realmType.equals("Double")) {
+                value = String.format("doubleValues[%d]", i);
+            } else if (realmType.equals("Date")) {
+                value = String.format("new Date(longValues[%d])", i);
+            } else {
+                // String and byte[] are already null when the field is null.
+                value = String.format("(%s) objectValues[%d]", fieldTypeCanonicalName, i);
+            }
+            if (metadata.isNullable(field) && !Utils.isString(field) && !Utils.isByteArray(field)) {
+                value = String.format("nullValues[%d] ? null : %s", i, value);
+            }
+            writer.emitStatement("((%s) unmanagedObject).%s(%s)", interfaceName, setter, value);
+        }
+
+        writer.emitStatement("return unmanagedObject");
+        writer.endMethod();
+        writer.emitEmptyLine();
     }
 
     private void emitInitTableMethod(JavaWriter writer) throws IOException {
@@ -572,6 +667,53 @@ public class RealmProxyClassGenerator {
         writer.emitEmptyLine();
     }
 
+    private void emitGetColumnInfoMethod(JavaWriter writer) throws IOException {
+        writer.beginMethod(
+                columnInfoClassName(), // Return type
+                "getColumnInfo", // Method name
+                EnumSet.of(Modifier.PUBLIC, Modifier.STATIC), // Modifiers
+                "ImplicitTransaction", "transaction"); // Argument type & argument name
+        writer.emitStatement("return new %s(transaction.getPath(), transaction.getTable(\"%s%s\"))",
+                columnInfoClassName(), Constants.TABLE_PREFIX, this.className);
+        writer.endMethod();
+        writer.emitEmptyLine();
+    }
+
+    // Describes everything validateTable() checks, so the schema only has to be validated again when it changes
+    private void emitGetSchemaSignatureMethod(JavaWriter writer) throws IOException {
+        StringBuilder signature = new StringBuilder();
+        for (VariableElement field : metadata.getFields()) {
+            String fieldTypeCanonicalName = field.asType().toString();
+            if (signature.length() > 0) {
+                signature.append(';');
+            }
+            signature.append(field.getSimpleName().toString());
+            if (Constants.JAVA_TO_REALM_TYPES.containsKey(fieldTypeCanonicalName)) {
+                signature.append(' ').append(Constants.JAVA_TO_COLUMN_TYPES.get(fieldTypeCanonicalName));
+                if (metadata.isNullable(field)) {
+                    signature.append(" nullable");
+                }
+                if (metadata.getIndexedFields().contains(field)) {
+                    signature.append(" indexed");
+                }
+                if (field.equals(metadata.getPrimaryKey())) {
+                    signature.append(" primaryKey");
+                }
+            } else if (Utils.isRealmModel(field)) {
+                signature.append(" RealmFieldType.OBJECT ").append(Constants.TABLE_PREFIX)
+                        .append(Utils.getFieldTypeSimpleName(field));
+            } else if (Utils.isRealmList(field)) {
+                signature.append(" RealmFieldType.LIST ").append(Constants.TABLE_PREFIX)
+                        .append(Utils.getGenericType(field));
+            }
+        }
+
+        writer.beginMethod("String", "getSchemaSignature", EnumSet.of(Modifier.PUBLIC, Modifier.STATIC));
+        writer.emitStatement("return \"%s\"", signature.toString());
+        writer.endMethod();
+        writer.emitEmptyLine();
+    }
+
     private void emitGetTableNameMethod(JavaWriter writer) throws IOException {
         writer.beginMethod("String", "getTableName", EnumSet.of(Modifier.PUBLIC, Modifier.STATIC));
         writer.emitStatement("return \"%s%s\"", Constants.TABLE_PREFIX, className);
@@ -741,6 +883,114 @@ public class RealmProxyClassGenerator {
         writer.emitEmptyLine();
     }
 
+    private void emitInsertMethod(JavaWriter writer) throws IOException {
+        writer.beginMethod(
+                "long", // Return type
+                "insert", // Method name
+                EnumSet.of(Modifier.PUBLIC, Modifier.STATIC), // Modifiers
+                "Realm", "realm", className, "object", "InsertContext", "context"); // Argument type & argument name
+
+        writer
+            .beginControlFlow("if (object instanceof RealmObjectProxy && ((RealmObjectProxy) object).realmGet$proxyState().getRealm$realm() != null && ((RealmObjectProxy) object).realmGet$proxyState().getRealm$realm().threadId != realm.threadId)")
+                .emitStatement("throw new IllegalArgumentException(\"Objects which belong to Realm instances in other" +
+                        " threads cannot be copied into this Realm instance.\")")
+            .endControlFlow();
+
+        // If object is already in the Realm there is nothing to insert
+        writer
+            .beginControlFlow("if (object instanceof RealmObjectProxy && ((RealmObjectProxy)object).realmGet$proxyState().getRealm$realm() != null && ((RealmObjectProxy)object).realmGet$proxyState().getRealm$realm().getPath().equals(realm.getPath()))")
+                .emitStatement("return ((RealmObjectProxy)object).realmGet$proxyState().getRow$realm().getIndex()")
+            .endControlFlow()
+            .emitStatement("Long cachedRowIndex = context.getRow(object)")
+            .beginControlFlow("if (cachedRowIndex != null)")
+                .emitStatement("return cachedRowIndex")
+            .endControlFlow()
+            .emitStatement("Table table = realm.getTable(%s.class)", className)
+            .emitStatement("%1$s columnInfo = (%1$s) realm.schema.getColumnInfo(%2$s.class)",
+                    columnInfoClassName(), className)
+            .emitStatement("RowBatch batch = context.getBatch(table)");
+
+        if (metadata.hasPrimaryKey()) {
+            VariableElement primaryKeyElement = metadata.getPrimaryKey();
+            writer
+                .emitStatement("long pkColumnIndex = table.getPrimaryKey()")
+                .emitStatement("Object primaryKeyValue = ((%s) object).%s()", interfaceName, metadata.getPrimaryKeyGetter())
+                .emitStatement("long rowIndex = TableOrView.NO_MATCH")
+                .beginControlFlow("if (context.isUpdate())");
+            String findFirst = Utils.isString(primaryKeyElement)
+                    ? "table.findFirstString(pkColumnIndex, (String) primaryKeyValue)"
+                    : "table.findFirstLong(pkColumnIndex, ((Number) primaryKeyValue).longValue())";
+            if (metadata.isNullable(primaryKeyElement)) {
+                writer
+                    .beginControlFlow("if (primaryKeyValue == null)")
+                        .emitStatement("rowIndex = table.findFirstNull(pkColumnIndex)")
+                    .nextControlFlow("else")
+                        .emitStatement("rowIndex = %s", findFirst)
+                    .endControlFlow();
+            } else {
+                writer.emitStatement("rowIndex = %s", findFirst);
+            }
+            writer
+                .endControlFlow()
+                .beginControlFlow("if (rowIndex == TableOrView.NO_MATCH)")
+                    .emitStatement("rowIndex = table.addEmptyRowWithPrimaryKey(primaryKeyValue)")
+                .endControlFlow();
+        } else {
+            writer.emitStatement("long rowIndex = batch.newRow()");
+        }
+        writer
+            .emitStatement("context.putRow(object, rowIndex)")
+            .emitStatement("int slot = batch.add(rowIndex)");
+
+        // All values are buffered before inserting linked objects, which can flush the batch
+        for (VariableElement field : metadata.getFields()) {
+            String fieldName = field.getSimpleName().toString();
+            if (Utils.isRealmModel(field) || Utils.isRealmList(field) || field == metadata.getPrimaryKey()) {
+                continue;
+            }
+            writer.emitStatement("batch.%s(%s, slot, ((%s) object).%s())",
+                    Constants.JAVA_TO_ROW_BATCH_SETTER.get(field.asType().toString()),
+                    fieldIndexVariableReference(field), interfaceName, metadata.getGetter(fieldName));
+        }
+
+        for (VariableElement field : metadata.getFields()) {
+            String fieldName = field.getSimpleName().toString();
+            String getter = metadata.getGetter(fieldName);
+
+            if (Utils.isRealmModel(field)) {
+                writer
+                    .emitEmptyLine()
+                    .emitStatement("%s %sObj = ((%s) object).%s()", field.asType().toString(), fieldName, interfaceName, getter)
+                    .beginControlFlow("if (%sObj != null)", fieldName)
+                        .emitStatement("table.setLink(%s, rowIndex, %s.insert(realm, %sObj, context))",
+                                fieldIndexVariableReference(field), Utils.getProxyClassSimpleName(field), fieldName)
+                    .nextControlFlow("else if (context.isUpdate())")
+                        .emitStatement("table.nullifyLink(%s, rowIndex)", fieldIndexVariableReference(field))
+                    .endControlFlow();
+            } else if (Utils.isRealmList(field)) {
+                String genericType = Utils.getGenericType(field);
+                writer
+                    .emitEmptyLine()
+                    .emitStatement("RealmList<%s> %sList = ((%s) object).%s()", genericType, fieldName, interfaceName, getter)
+                    .beginControlFlow("if (context.isUpdate() || (%sList != null && !%sList.isEmpty()))", fieldName, fieldName)
+                        .emitStatement("LinkView %sLinkView = table.getLinkList(%s, rowIndex)",
+                                fieldName, fieldIndexVariableReference(field))
+                        .emitStatement("%sLinkView.clear()", fieldName)
+                        .beginControlFlow("if (%sList != null)", fieldName)
+                            .beginControlFlow("for (%s %sItem : %sList)", genericType, fieldName, fieldName)
+                                .emitStatement("%sLinkView.add(%s.insert(realm, %sItem, context))",
+                                        fieldName, Utils.getProxyClassSimpleName(field), fieldName)
+                            .endControlFlow()
+                        .endControlFlow()
+                    .endControlFlow();
+            }
+        }
+
+        writer.emitStatement("return rowIndex");
+        writer.endMethod();
+        writer.emitEmptyLine();
+    }
+
     private void emitCreateDetachedCopyMethod(JavaWriter writer) throws IOException {
         writer.beginMethod(
                 className, // Return type
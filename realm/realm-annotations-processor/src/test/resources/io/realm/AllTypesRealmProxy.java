@@ -7,9 +7,12 @@ import io.realm.RealmFieldType;
 import io.realm.exceptions.RealmMigrationNeededException;
 import io.realm.internal.ColumnInfo;
 import io.realm.internal.ImplicitTransaction;
+import io.realm.internal.InsertContext;
 import io.realm.internal.LinkView;
 import io.realm.internal.RealmObjectProxy;
 import io.realm.internal.Row;
+import io.realm.internal.RowBatch;
+import io.realm.internal.SnapshotProxy;
 import io.realm.internal.Table;
 import io.realm.internal.TableOrView;
 import io.realm.internal.android.JsonUtils;
@@ -27,7 +30,7 @@ import org.json.JSONObject;
 import some.test.AllTypes;
 
 public class AllTypesRealmProxy extends AllTypes
-        implements RealmObjectProxy, AllTypesRealmProxyInterface {
+        implements RealmObjectProxy, SnapshotProxy, AllTypesRealmProxyInterface {
 
     static final class AllTypesColumnInfo extends ColumnInfo {
 
@@ -376,6 +379,14 @@ public class AllTypesRealmProxy extends AllTypes
         }
     }
 
+    public static AllTypesColumnInfo getColumnInfo(ImplicitTransaction transaction) {
+        return new AllTypesColumnInfo(transaction.getPath(), transaction.getTable("class_AllTypes"));
+    }
+
+    public static String getSchemaSignature() {
+        return "columnString RealmFieldType.STRING nullable indexed primaryKey;columnLong RealmFieldType.INTEGER;columnFloat RealmFieldType.FLOAT;columnDouble RealmFieldType.DOUBLE;columnBoolean RealmFieldType.BOOLEAN;columnDate RealmFieldType.DATE;columnBinary RealmFieldType.BINARY;columnObject RealmFieldType.OBJECT class_AllTypes;columnRealmList RealmFieldType.LIST class_AllTypes";
+    }
+
     public static String getTableName() {
         return "class_AllTypes";
     }
@@ -656,6 +667,62 @@ public class AllTypesRealmProxy extends AllTypes
         return realmObject;
     }
 
+    public static long insert(Realm realm, AllTypes object, InsertContext context) {
+        if (object instanceof RealmObjectProxy && ((RealmObjectProxy) object).realmGet$proxyState().getRealm$realm() != null && ((RealmObjectProxy) object).realmGet$proxyState().getRealm$realm().threadId != realm.threadId) {
+            throw new IllegalArgumentException("Objects which belong to Realm instances in other threads cannot be copied into this Realm instance.");
+        }
+        if (object instanceof RealmObjectProxy && ((RealmObjectProxy)object).realmGet$proxyState().getRealm$realm() != null && ((RealmObjectProxy)object).realmGet$proxyState().getRealm$realm().getPath().equals(realm.getPath())) {
+            return ((RealmObjectProxy)object).realmGet$proxyState().getRow$realm().getIndex();
+        }
+        Long cachedRowIndex = context.getRow(object);
+        if (cachedRowIndex != null) {
+            return cachedRowIndex;
+        }
+        Table table = realm.getTable(AllTypes.class);
+        AllTypesColumnInfo columnInfo = (AllTypesColumnInfo) realm.schema.getColumnInfo(AllTypes.class);
+        RowBatch batch = context.getBatch(table);
+        long pkColumnIndex = table.getPrimaryKey();
+        Object primaryKeyValue = ((AllTypesRealmProxyInterface) object).realmGet$columnString();
+        long rowIndex = TableOrView.NO_MATCH;
+        if (context.isUpdate()) {
+            if (primaryKeyValue == null) {
+                rowIndex = table.findFirstNull(pkColumnIndex);
+            } else {
+                rowIndex = table.findFirstString(pkColumnIndex, (String) primaryKeyValue);
+            }
+        }
+        if (rowIndex == TableOrView.NO_MATCH) {
+            rowIndex = table.addEmptyRowWithPrimaryKey(primaryKeyValue);
+        }
+        context.putRow(object, rowIndex);
+        int slot = batch.add(rowIndex);
+        batch.setLong(columnInfo.columnLongIndex, slot, ((AllTypesRealmProxyInterface) object).realmGet$columnLong());
+        batch.setDouble(columnInfo.columnFloatIndex, slot, ((AllTypesRealmProxyInterface) object).realmGet$columnFloat());
+        batch.setDouble(columnInfo.columnDoubleIndex, slot, ((AllTypesRealmProxyInterface) object).realmGet$columnDouble());
+        batch.setBoolean(columnInfo.columnBooleanIndex, slot, ((AllTypesRealmProxyInterface) object).realmGet$columnBoolean());
+        batch.setDate(columnInfo.columnDateIndex, slot, ((AllTypesRealmProxyInterface) object).realmGet$columnDate());
+        batch.setBinary(columnInfo.columnBinaryIndex, slot, ((AllTypesRealmProxyInterface) object).realmGet$columnBinary());
+
+        some.test.AllTypes columnObjectObj = ((AllTypesRealmProxyInterface) object).realmGet$columnObject();
+        if (columnObjectObj != null) {
+            table.setLink(columnInfo.columnObjectIndex, rowIndex, AllTypesRealmProxy.insert(realm, columnObjectObj, context));
+        } else if (context.isUpdate()) {
+            table.nullifyLink(columnInfo.columnObjectIndex, rowIndex);
+        }
+
+        RealmList<AllTypes> columnRealmListList = ((AllTypesRealmProxyInterface) object).realmGet$columnRealmList();
+        if (context.isUpdate() || (columnRealmListList != null && !columnRealmListList.isEmpty())) {
+            LinkView columnRealmListLinkView = table.getLinkList(columnInfo.columnRealmListIndex, rowIndex);
+            columnRealmListLinkView.clear();
+            if (columnRealmListList != null) {
+                for (AllTypes columnRealmListItem : columnRealmListList) {
+                    columnRealmListLinkView.add(AllTypesRealmProxy.insert(realm, columnRealmListItem, context));
+                }
+            }
+        }
+        return rowIndex;
+    }
+
     public static AllTypes createDetachedCopy(AllTypes realmObject, int currentDepth, int maxDepth, Map<RealmModel, CacheData<RealmModel>> cache) {
         if (currentDepth > maxDepth || realmObject == null) {
             return null;
@@ -787,6 +854,33 @@ public class AllTypesRealmProxy extends AllTypes
         return proxyState;
     }
 
+    @Override
+    public AllTypes realm$snapshot() {
+        proxyState.getRealm$realm().checkIfValid();
+        long[] columnIndices = new long[] {columnInfo.columnStringIndex, columnInfo.columnLongIndex, columnInfo.columnFloatIndex, columnInfo.columnDoubleIndex, columnInfo.columnBooleanIndex, columnInfo.columnDateIndex, columnInfo.columnBinaryIndex};
+        long[] longValues = new long[7];
+        double[] doubleValues = new double[7];
+        Object[] objectValues = new Object[7];
+        boolean[] nullValues = new boolean[7];
+        proxyState.getRow$realm().getValues(columnIndices, longValues, doubleValues, objectValues, nullValues);
+        AllTypes unmanagedObject = new AllTypes();
+        ((AllTypesRealmProxyInterface) unmanagedObject).realmSet$columnString((java.lang.String) objectValues[0]);
+        ((AllTypesRealmProxyInterface) unmanagedObject).realmSet$columnLong((long) longValues[1]);
+        ((AllTypesRealmProxyInterface) unmanagedObject).realmSet$columnFloat((float) doubleValues[2]);
+        ((AllTypesRealmProxyInterface) unmanagedObject).realmSet$columnDouble(doubleValues[3]);
+        ((AllTypesRealmProxyInterface) unmanagedObject).realmSet$columnBoolean(longValues[4] != 0);
+        ((AllTypesRealmProxyInterface) unmanagedObject).realmSet$columnDate(new Date(longValues[5]));
+        ((AllTypesRealmProxyInterface) unmanagedObject).realmSet$columnBinary((byte[]) objectValues[6]);
+        ((AllTypesRealmProxyInterface) unmanagedObject).realmSet$columnObject(null);
+        ((AllTypesRealmProxyInterface) unmanagedObject).realmSet$columnRealmList(null);
+        return unmanagedObject;
+    }
+
+    @Override
+    public void realm$clearCachedValues() {
+        columnRealmListRealmList = null;
+    }
+
     @Override
     public int hashCode() {
         String realmName = proxyState.getRealm$realm().getPath();
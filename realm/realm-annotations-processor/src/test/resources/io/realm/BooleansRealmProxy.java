@@ -7,9 +7,12 @@ import io.realm.RealmFieldType;
 import io.realm.exceptions.RealmMigrationNeededException;
 import io.realm.internal.ColumnInfo;
 import io.realm.internal.ImplicitTransaction;
+import io.realm.internal.InsertContext;
 import io.realm.internal.LinkView;
 import io.realm.internal.RealmObjectProxy;
 import io.realm.internal.Row;
+import io.realm.internal.RowBatch;
+import io.realm.internal.SnapshotProxy;
 import io.realm.internal.Table;
 import io.realm.internal.TableOrView;
 import io.realm.internal.android.JsonUtils;
@@ -27,7 +30,7 @@ import org.json.JSONObject;
 import some.test.Booleans;
 
 public class BooleansRealmProxy extends Booleans
-        implements RealmObjectProxy, BooleansRealmProxyInterface {
+        implements RealmObjectProxy, SnapshotProxy, BooleansRealmProxyInterface {
 
     static final class BooleansColumnInfo extends ColumnInfo {
 
@@ -183,6 +186,14 @@ public class BooleansRealmProxy extends Booleans
         }
     }
 
+    public static BooleansColumnInfo getColumnInfo(ImplicitTransaction transaction) {
+        return new BooleansColumnInfo(transaction.getPath(), transaction.getTable("class_Booleans"));
+    }
+
+    public static String getSchemaSignature() {
+        return "done RealmFieldType.BOOLEAN;isReady RealmFieldType.BOOLEAN;mCompleted RealmFieldType.BOOLEAN;anotherBoolean RealmFieldType.BOOLEAN";
+    }
+
     public static String getTableName() {
         return "class_Booleans";
     }
@@ -289,6 +300,30 @@ public class BooleansRealmProxy extends Booleans
         return realmObject;
     }
 
+    public static long insert(Realm realm, Booleans object, InsertContext context) {
+        if (object instanceof RealmObjectProxy && ((RealmObjectProxy) object).realmGet$proxyState().getRealm$realm() != null && ((RealmObjectProxy) object).realmGet$proxyState().getRealm$realm().threadId != realm.threadId) {
+            throw new IllegalArgumentException("Objects which belong to Realm instances in other threads cannot be copied into this Realm instance.");
+        }
+        if (object instanceof RealmObjectProxy && ((RealmObjectProxy)object).realmGet$proxyState().getRealm$realm() != null && ((RealmObjectProxy)object).realmGet$proxyState().getRealm$realm().getPath().equals(realm.getPath())) {
+            return ((RealmObjectProxy)object).realmGet$proxyState().getRow$realm().getIndex();
+        }
+        Long cachedRowIndex = context.getRow(object);
+        if (cachedRowIndex != null) {
+            return cachedRowIndex;
+        }
+        Table table = realm.getTable(Booleans.class);
+        BooleansColumnInfo columnInfo = (BooleansColumnInfo) realm.schema.getColumnInfo(Booleans.class);
+        RowBatch batch = context.getBatch(table);
+        long rowIndex = batch.newRow();
+        context.putRow(object, rowIndex);
+        int slot = batch.add(rowIndex);
+        batch.setBoolean(columnInfo.doneIndex, slot, ((BooleansRealmProxyInterface) object).realmGet$done());
+        batch.setBoolean(columnInfo.isReadyIndex, slot, ((BooleansRealmProxyInterface) object).realmGet$isReady());
+        batch.setBoolean(columnInfo.mCompletedIndex, slot, ((BooleansRealmProxyInterface) object).realmGet$mCompleted());
+        batch.setBoolean(columnInfo.anotherBooleanIndex, slot, ((BooleansRealmProxyInterface) object).realmGet$anotherBoolean());
+        return rowIndex;
+    }
+
     public static Booleans createDetachedCopy(Booleans realmObject, int currentDepth, int maxDepth, Map<RealmModel, CacheData<RealmModel>> cache) {
         if (currentDepth > maxDepth || realmObject == null) {
             return null;
@@ -344,6 +379,27 @@ public class BooleansRealmProxy extends Booleans
         return proxyState;
     }
 
+    @Override
+    public Booleans realm$snapshot() {
+        proxyState.getRealm$realm().checkIfValid();
+        long[] columnIndices = new long[] {columnInfo.doneIndex, columnInfo.isReadyIndex, columnInfo.mCompletedIndex, columnInfo.anotherBooleanIndex};
+        long[] longValues = new long[4];
+        double[] doubleValues = new double[4];
+        Object[] objectValues = new Object[4];
+        boolean[] nullValues = new boolean[4];
+        proxyState.getRow$realm().getValues(columnIndices, longValues, doubleValues, objectValues, nullValues);
+        Booleans unmanagedObject = new Booleans();
+        ((BooleansRealmProxyInterface) unmanagedObject).realmSet$done(longValues[0] != 0);
+        ((BooleansRealmProxyInterface) unmanagedObject).realmSet$isReady(longValues[1] != 0);
+        ((BooleansRealmProxyInterface) unmanagedObject).realmSet$mCompleted(longValues[2] != 0);
+        ((BooleansRealmProxyInterface) unmanagedObject).realmSet$anotherBoolean(longValues[3] != 0);
+        return unmanagedObject;
+    }
+
+    @Override
+    public void realm$clearCachedValues() {
+    }
+
     @Override
     public int hashCode() {
         String realmName = proxyState.getRealm$realm().getPath();
@@ -7,9 +7,12 @@ import io.realm.RealmFieldType;
 import io.realm.exceptions.RealmMigrationNeededException;
 import io.realm.internal.ColumnInfo;
 import io.realm.internal.ImplicitTransaction;
+import io.realm.internal.InsertContext;
 import io.realm.internal.LinkView;
 import io.realm.internal.RealmObjectProxy;
 import io.realm.internal.Row;
+import io.realm.internal.RowBatch;
+import io.realm.internal.SnapshotProxy;
 import io.realm.internal.Table;
 import io.realm.internal.TableOrView;
 import io.realm.internal.android.JsonUtils;
@@ -27,7 +30,7 @@ import org.json.JSONObject;
 import some.test.NullTypes;
 
 public class NullTypesRealmProxy extends NullTypes
-        implements RealmObjectProxy, NullTypesRealmProxyInterface {
+        implements RealmObjectProxy, SnapshotProxy, NullTypesRealmProxyInterface {
 
     static final class NullTypesColumnInfo extends ColumnInfo {
 
@@ -738,6 +741,14 @@ public class NullTypesRealmProxy extends NullTypes
         }
     }
 
+    public static NullTypesColumnInfo getColumnInfo(ImplicitTransaction transaction) {
+        return new NullTypesColumnInfo(transaction.getPath(), transaction.getTable("class_NullTypes"));
+    }
+
+    public static String getSchemaSignature() {
+        return "fieldStringNotNull RealmFieldType.STRING;fieldStringNull RealmFieldType.STRING nullable;fieldBooleanNotNull RealmFieldType.BOOLEAN;fieldBooleanNull RealmFieldType.BOOLEAN nullable;fieldBytesNotNull RealmFieldType.BINARY;fieldBytesNull RealmFieldType.BINARY nullable;fieldByteNotNull RealmFieldType.INTEGER;fieldByteNull RealmFieldType.INTEGER nullable;fieldShortNotNull RealmFieldType.INTEGER;fieldShortNull RealmFieldType.INTEGER nullable;fieldIntegerNotNull RealmFieldType.INTEGER;fieldIntegerNull RealmFieldType.INTEGER nullable;fieldLongNotNull RealmFieldType.INTEGER;fieldLongNull RealmFieldType.INTEGER nullable;fieldFloatNotNull RealmFieldType.FLOAT;fieldFloatNull RealmFieldType.FLOAT nullable;fieldDoubleNotNull RealmFieldType.DOUBLE;fieldDoubleNull RealmFieldType.DOUBLE nullable;fieldDateNotNull RealmFieldType.DATE;fieldDateNull RealmFieldType.DATE nullable;fieldObjectNull RealmFieldType.OBJECT class_NullTypes";
+    }
+
     public static String getTableName() {
         return "class_NullTypes";
     }
@@ -1132,6 +1143,53 @@ public class NullTypesRealmProxy extends NullTypes
         return realmObject;
     }
 
+    public static long insert(Realm realm, NullTypes object, InsertContext context) {
+        if (object instanceof RealmObjectProxy && ((RealmObjectProxy) object).realmGet$proxyState().getRealm$realm() != null && ((RealmObjectProxy) object).realmGet$proxyState().getRealm$realm().threadId != realm.threadId) {
+            throw new IllegalArgumentException("Objects which belong to Realm instances in other threads cannot be copied into this Realm instance.");
+        }
+        if (object instanceof RealmObjectProxy && ((RealmObjectProxy)object).realmGet$proxyState().getRealm$realm() != null && ((RealmObjectProxy)object).realmGet$proxyState().getRealm$realm().getPath().equals(realm.getPath())) {
+            return ((RealmObjectProxy)object).realmGet$proxyState().getRow$realm().getIndex();
+        }
+        Long cachedRowIndex = context.getRow(object);
+        if (cachedRowIndex != null) {
+            return cachedRowIndex;
+        }
+        Table table = realm.getTable(NullTypes.class);
+        NullTypesColumnInfo columnInfo = (NullTypesColumnInfo) realm.schema.getColumnInfo(NullTypes.class);
+        RowBatch batch = context.getBatch(table);
+        long rowIndex = batch.newRow();
+        context.putRow(object, rowIndex);
+        int slot = batch.add(rowIndex);
+        batch.setString(columnInfo.fieldStringNotNullIndex, slot, ((NullTypesRealmProxyInterface) object).realmGet$fieldStringNotNull());
+        batch.setString(columnInfo.fieldStringNullIndex, slot, ((NullTypesRealmProxyInterface) object).realmGet$fieldStringNull());
+        batch.setBoxedBoolean(columnInfo.fieldBooleanNotNullIndex, slot, ((NullTypesRealmProxyInterface) object).realmGet$fieldBooleanNotNull());
+        batch.setBoxedBoolean(columnInfo.fieldBooleanNullIndex, slot, ((NullTypesRealmProxyInterface) object).realmGet$fieldBooleanNull());
+        batch.setBinary(columnInfo.fieldBytesNotNullIndex, slot, ((NullTypesRealmProxyInterface) object).realmGet$fieldBytesNotNull());
+        batch.setBinary(columnInfo.fieldBytesNullIndex, slot, ((NullTypesRealmProxyInterface) object).realmGet$fieldBytesNull());
+        batch.setBoxedLong(columnInfo.fieldByteNotNullIndex, slot, ((NullTypesRealmProxyInterface) object).realmGet$fieldByteNotNull());
+        batch.setBoxedLong(columnInfo.fieldByteNullIndex, slot, ((NullTypesRealmProxyInterface) object).realmGet$fieldByteNull());
+        batch.setBoxedLong(columnInfo.fieldShortNotNullIndex, slot, ((NullTypesRealmProxyInterface) object).realmGet$fieldShortNotNull());
+        batch.setBoxedLong(columnInfo.fieldShortNullIndex, slot, ((NullTypesRealmProxyInterface) object).realmGet$fieldShortNull());
+        batch.setBoxedLong(columnInfo.fieldIntegerNotNullIndex, slot, ((NullTypesRealmProxyInterface) object).realmGet$fieldIntegerNotNull());
+        batch.setBoxedLong(columnInfo.fieldIntegerNullIndex, slot, ((NullTypesRealmProxyInterface) object).realmGet$fieldIntegerNull());
+        batch.setBoxedLong(columnInfo.fieldLongNotNullIndex, slot, ((NullTypesRealmProxyInterface) object).realmGet$fieldLongNotNull());
+        batch.setBoxedLong(columnInfo.fieldLongNullIndex, slot, ((NullTypesRealmProxyInterface) object).realmGet$fieldLongNull());
+        batch.setBoxedDouble(columnInfo.fieldFloatNotNullIndex, slot, ((NullTypesRealmProxyInterface) object).realmGet$fieldFloatNotNull());
+        batch.setBoxedDouble(columnInfo.fieldFloatNullIndex, slot, ((NullTypesRealmProxyInterface) object).realmGet$fieldFloatNull());
+        batch.setBoxedDouble(columnInfo.fieldDoubleNotNullIndex, slot, ((NullTypesRealmProxyInterface) object).realmGet$fieldDoubleNotNull());
+        batch.setBoxedDouble(columnInfo.fieldDoubleNullIndex, slot, ((NullTypesRealmProxyInterface) object).realmGet$fieldDoubleNull());
+        batch.setDate(columnInfo.fieldDateNotNullIndex, slot, ((NullTypesRealmProxyInterface) object).realmGet$fieldDateNotNull());
+        batch.setDate(columnInfo.fieldDateNullIndex, slot, ((NullTypesRealmProxyInterface) object).realmGet$fieldDateNull());
+
+        some.test.NullTypes fieldObjectNullObj = ((NullTypesRealmProxyInterface) object).realmGet$fieldObjectNull();
+        if (fieldObjectNullObj != null) {
+            table.setLink(columnInfo.fieldObjectNullIndex, rowIndex, NullTypesRealmProxy.insert(realm, fieldObjectNullObj, context));
+        } else if (context.isUpdate()) {
+            table.nullifyLink(columnInfo.fieldObjectNullIndex, rowIndex);
+        }
+        return rowIndex;
+    }
+
     public static NullTypes createDetachedCopy(NullTypes realmObject, int currentDepth, int maxDepth, Map<RealmModel, CacheData<RealmModel>> cache) {
         if (currentDepth > maxDepth || realmObject == null) {
             return null;
@@ -1274,6 +1332,44 @@ public class NullTypesRealmProxy extends NullTypes
         return proxyState;
     }
 
+    @Override
+    public NullTypes realm$snapshot() {
+        proxyState.getRealm$realm().checkIfValid();
+        long[] columnIndices = new long[] {columnInfo.fieldStringNotNullIndex, columnInfo.fieldStringNullIndex, columnInfo.fieldBooleanNotNullIndex, columnInfo.fieldBooleanNullIndex, columnInfo.fieldBytesNotNullIndex, columnInfo.fieldBytesNullIndex, columnInfo.fieldByteNotNullIndex, columnInfo.fieldByteNullIndex, columnInfo.fieldShortNotNullIndex, columnInfo.fieldShortNullIndex, columnInfo.fieldIntegerNotNullIndex, columnInfo.fieldIntegerNullIndex, columnInfo.fieldLongNotNullIndex, columnInfo.fieldLongNullIndex, columnInfo.fieldFloatNotNullIndex, columnInfo.fieldFloatNullIndex, columnInfo.fieldDoubleNotNullIndex, columnInfo.fieldDoubleNullIndex, columnInfo.fieldDateNotNullIndex, columnInfo.fieldDateNullIndex};
+        long[] longValues = new long[20];
+        double[] doubleValues = new double[20];
+        Object[] objectValues = new Object[20];
+        boolean[] nullValues = new boolean[20];
+        proxyState.getRow$realm().getValues(columnIndices, longValues, doubleValues, objectValues, nullValues);
+        NullTypes unmanagedObject = new NullTypes();
+        ((NullTypesRealmProxyInterface) unmanagedObject).realmSet$fieldStringNotNull((java.lang.String) objectValues[0]);
+        ((NullTypesRealmProxyInterface) unmanagedObject).realmSet$fieldStringNull((java.lang.String) objectValues[1]);
+        ((NullTypesRealmProxyInterface) unmanagedObject).realmSet$fieldBooleanNotNull(longValues[2] != 0);
+        ((NullTypesRealmProxyInterface) unmanagedObject).realmSet$fieldBooleanNull(nullValues[3] ? null : longValues[3] != 0);
+        ((NullTypesRealmProxyInterface) unmanagedObject).realmSet$fieldBytesNotNull((byte[]) objectValues[4]);
+        ((NullTypesRealmProxyInterface) unmanagedObject).realmSet$fieldBytesNull((byte[]) objectValues[5]);
+        ((NullTypesRealmProxyInterface) unmanagedObject).realmSet$fieldByteNotNull((byte) longValues[6]);
+        ((NullTypesRealmProxyInterface) unmanagedObject).realmSet$fieldByteNull(nullValues[7] ? null : (byte) longValues[7]);
+        ((NullTypesRealmProxyInterface) unmanagedObject).realmSet$fieldShortNotNull((short) longValues[8]);
+        ((NullTypesRealmProxyInterface) unmanagedObject).realmSet$fieldShortNull(nullValues[9] ? null : (short) longValues[9]);
+        ((NullTypesRealmProxyInterface) unmanagedObject).realmSet$fieldIntegerNotNull((int) longValues[10]);
+        ((NullTypesRealmProxyInterface) unmanagedObject).realmSet$fieldIntegerNull(nullValues[11] ? null : (int) longValues[11]);
+        ((NullTypesRealmProxyInterface) unmanagedObject).realmSet$fieldLongNotNull((long) longValues[12]);
+        ((NullTypesRealmProxyInterface) unmanagedObject).realmSet$fieldLongNull(nullValues[13] ? null : (long) longValues[13]);
+        ((NullTypesRealmProxyInterface) unmanagedObject).realmSet$fieldFloatNotNull((float) doubleValues[14]);
+        ((NullTypesRealmProxyInterface) unmanagedObject).realmSet$fieldFloatNull(nullValues[15] ? null : (float) doubleValues[15]);
+        ((NullTypesRealmProxyInterface) unmanagedObject).realmSet$fieldDoubleNotNull(doubleValues[16]);
+        ((NullTypesRealmProxyInterface) unmanagedObject).realmSet$fieldDoubleNull(nullValues[17] ? null : doubleValues[17]);
+        ((NullTypesRealmProxyInterface) unmanagedObject).realmSet$fieldDateNotNull(new Date(longValues[18]));
+        ((NullTypesRealmProxyInterface) unmanagedObject).realmSet$fieldDateNull(nullValues[19] ? null : new Date(longValues[19]));
+        ((NullTypesRealmProxyInterface) unmanagedObject).realmSet$fieldObjectNull(null);
+        return unmanagedObject;
+    }
+
+    @Override
+    public void realm$clearCachedValues() {
+    }
+
     @Override
     public int hashCode() {
         String realmName = proxyState.getRealm$realm().getPath();
@@ -4,6 +4,7 @@ package io.realm;
 import android.util.JsonReader;
 import io.realm.internal.ColumnInfo;
 import io.realm.internal.ImplicitTransaction;
+import io.realm.internal.InsertContext;
 import io.realm.internal.RealmObjectProxy;
 import io.realm.internal.RealmProxyMediator;
 import io.realm.internal.Table;
@@ -50,6 +51,40 @@ class DefaultRealmModuleMediator extends RealmProxyMediator {
         }
     }
 
+    @Override
+    public ColumnInfo getColumnInfo(Class<? extends RealmModel> clazz, ImplicitTransaction transaction) {
+        checkClass(clazz);
+
+        if (clazz.equals(Simple.class)) {
+            return SimpleRealmProxy.getColumnInfo(transaction);
+        } else if (clazz.equals(AllTypes.class)) {
+            return AllTypesRealmProxy.getColumnInfo(transaction);
+        } else if (clazz.equals(Booleans.class)) {
+            return BooleansRealmProxy.getColumnInfo(transaction);
+        } else if (clazz.equals(NullTypes.class)) {
+            return NullTypesRealmProxy.getColumnInfo(transaction);
+        } else {
+            throw getMissingProxyClassException(clazz);
+        }
+    }
+
+    @Override
+    public String getSchemaSignature(Class<? extends RealmModel> clazz) {
+        checkClass(clazz);
+
+        if (clazz.equals(Simple.class)) {
+            return SimpleRealmProxy.getSchemaSignature();
+        } else if (clazz.equals(AllTypes.class)) {
+            return AllTypesRealmProxy.getSchemaSignature();
+        } else if (clazz.equals(Booleans.class)) {
+            return BooleansRealmProxy.getSchemaSignature();
+        } else if (clazz.equals(NullTypes.class)) {
+            return NullTypesRealmProxy.getSchemaSignature();
+        } else {
+            throw getMissingProxyClassException(clazz);
+        }
+    }
+
     @Override
     public List<String> getFieldNames(Class<? extends RealmModel> clazz) {
         checkClass(clazz);
@@ -101,6 +136,25 @@ class DefaultRealmModuleMediator extends RealmProxyMediator {
         }
     }
 
+    @Override
+    public long insert(Realm realm, RealmModel object, InsertContext context) {
+        // This cast is correct because obj is either
+        // generated by RealmProxy or the original type extending directly from RealmObject
+        @SuppressWarnings("unchecked") Class<RealmModel> clazz = (Class<RealmModel>) ((object instanceof RealmObjectProxy) ? object.getClass().getSuperclass() : object.getClass());
+
+        if (clazz.equals(NullTypes.class)) {
+            return NullTypesRealmProxy.insert(realm, (NullTypes) object, context);
+        } else if (clazz.equals(Simple.class)) {
+            return SimpleRealmProxy.insert(realm, (Simple) object, context);
+        } else if (clazz.equals(AllTypes.class)) {
+            return AllTypesRealmProxy.insert(realm, (AllTypes) object, context);
+        } else if (clazz.equals(Booleans.class)) {
+            return BooleansRealmProxy.insert(realm, (Booleans) object, context);
+        } else {
+            throw getMissingProxyClassException(clazz);
+        }
+    }
+
     @Override
     public <E extends RealmModel> E createOrUpdateUsingJsonObject(Class<E> clazz, Realm realm, JSONObject json, boolean update)
             throws JSONException {
@@ -7,9 +7,12 @@ import io.realm.RealmFieldType;
 import io.realm.exceptions.RealmMigrationNeededException;
 import io.realm.internal.ColumnInfo;
 import io.realm.internal.ImplicitTransaction;
+import io.realm.internal.InsertContext;
 import io.realm.internal.LinkView;
 import io.realm.internal.RealmObjectProxy;
 import io.realm.internal.Row;
+import io.realm.internal.RowBatch;
+import io.realm.internal.SnapshotProxy;
 import io.realm.internal.Table;
 import io.realm.internal.TableOrView;
 import io.realm.internal.android.JsonUtils;
@@ -27,7 +30,7 @@ import org.json.JSONObject;
 import some.test.Simple;
 
 public class SimpleRealmProxy extends Simple
-        implements RealmObjectProxy, SimpleRealmProxyInterface {
+        implements RealmObjectProxy, SnapshotProxy, SimpleRealmProxyInterface {
 
     static final class SimpleColumnInfo extends ColumnInfo {
 
@@ -135,6 +138,14 @@ public class SimpleRealmProxy extends Simple
         }
     }
 
+    public static SimpleColumnInfo getColumnInfo(ImplicitTransaction transaction) {
+        return new SimpleColumnInfo(transaction.getPath(), transaction.getTable("class_Simple"));
+    }
+
+    public static String getSchemaSignature() {
+        return "name RealmFieldType.STRING nullable;age RealmFieldType.INTEGER";
+    }
+
     public static String getTableName() {
         return "class_Simple";
     }
@@ -211,6 +222,28 @@ public class SimpleRealmProxy extends Simple
         return realmObject;
     }
 
+    public static long insert(Realm realm, Simple object, InsertContext context) {
+        if (object instanceof RealmObjectProxy && ((RealmObjectProxy) object).realmGet$proxyState().getRealm$realm() != null && ((RealmObjectProxy) object).realmGet$proxyState().getRealm$realm().threadId != realm.threadId) {
+            throw new IllegalArgumentException("Objects which belong to Realm instances in other threads cannot be copied into this Realm instance.");
+        }
+        if (object instanceof RealmObjectProxy && ((RealmObjectProxy)object).realmGet$proxyState().getRealm$realm() != null && ((RealmObjectProxy)object).realmGet$proxyState().getRealm$realm().getPath().equals(realm.getPath())) {
+            return ((RealmObjectProxy)object).realmGet$proxyState().getRow$realm().getIndex();
+        }
+        Long cachedRowIndex = context.getRow(object);
+        if (cachedRowIndex != null) {
+            return cachedRowIndex;
+        }
+        Table table = realm.getTable(Simple.class);
+        SimpleColumnInfo columnInfo = (SimpleColumnInfo) realm.schema.getColumnInfo(Simple.class);
+        RowBatch batch = context.getBatch(table);
+        long rowIndex = batch.newRow();
+        context.putRow(object, rowIndex);
+        int slot = batch.add(rowIndex);
+        batch.setString(columnInfo.nameIndex, slot, ((SimpleRealmProxyInterface) object).realmGet$name());
+        batch.setLong(columnInfo.ageIndex, slot, ((SimpleRealmProxyInterface) object).realmGet$age());
+        return rowIndex;
+    }
+
     public static Simple createDetachedCopy(Simple realmObject, int currentDepth, int maxDepth, Map<RealmModel, CacheData<RealmModel>> cache) {
         if (currentDepth > maxDepth || realmObject == null) {
             return null;
@@ -239,4 +272,23 @@ public class SimpleRealmProxy extends Simple
         return proxyState;
     }
 
+    @Override
+    public Simple realm$snapshot() {
+        proxyState.getRealm$realm().checkIfValid();
+        long[] columnIndices = new long[] {columnInfo.nameIndex, columnInfo.ageIndex};
+        long[] longValues = new long[2];
+        double[] doubleValues = new double[2];
+        Object[] objectValues = new Object[2];
+        boolean[] nullValues = new boolean[2];
+        proxyState.getRow$realm().getValues(columnIndices, longValues, doubleValues, objectValues, nullValues);
+        Simple unmanagedObject = new Simple();
+        ((SimpleRealmProxyInterface) unmanagedObject).realmSet$name((java.lang.String) objectValues[0]);
+        ((SimpleRealmProxyInterface) unmanagedObject).realmSet$age((int) longValues[1]);
+        return unmanagedObject;
+    }
+
+    @Override
+    public void realm$clearCachedValues() {
+    }
+
 }
\ No newline at end of file
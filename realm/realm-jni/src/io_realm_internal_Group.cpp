@@ -15,6 +15,8 @@
  */
 
 #include <realm/util/safe_int_ops.hpp>
+#include <realm/alloc_slab.hpp>
+#include <realm/array.hpp>
 
 #include "util.hpp"
 #include "io_realm_internal_Group.h"
@@ -137,6 +139,45 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_Group_nativeSize(
     return static_cast<jlong>( G(nativeGroupPtr)->size() ); // noexcept
 }
 
+JNIEXPORT jlongArray JNICALL Java_io_realm_internal_Group_nativeGetSizeInfo(
+    JNIEnv* env, jobject, jlong nativeGroupPtr)
+{
+    TR_ENTER_PTR(nativeGroupPtr)
+    try {
+        Group* grp = G(nativeGroupPtr);
+        Allocator& alloc = _impl::GroupFriend::get_alloc(*grp);
+        // Size of the file as mapped, including the space not used by any version
+        jlong size_info[2];
+        size_info[0] = static_cast<jlong>(static_cast<SlabAlloc&>(alloc).get_baseline());
+        size_info[1] = size_info[0];
+
+        ref_type top_ref = _impl::GroupFriend::get_top_ref(*grp);
+        if (top_ref != 0) {
+            Array top(alloc);
+            top.init_from_ref(top_ref);
+            // Slot 2 holds the logical file size as a tagged integer, slot 4 the lengths of the free chunks
+            jlong used = static_cast<jlong>(top.get(2) / 2);
+            if (top.size() > 4) {
+                Array free_lengths(alloc);
+                free_lengths.init_from_ref(top.get_as_ref(4));
+                for (size_t i = 0; i < free_lengths.size(); ++i) {
+                    used -= static_cast<jlong>(free_lengths.get(i));
+                }
+            }
+            size_info[1] = used;
+        }
+
+        jlongArray result = env->NewLongArray(2);
+        if (result == NULL) {
+            ThrowException(env, OutOfMemory, "Could not allocate memory to return the size of the Realm.");
+            return NULL;
+        }
+        env->SetLongArrayRegion(result, 0, 2, size_info);
+        return result;
+    } CATCH_STD()
+    return NULL;
+}
+
 JNIEXPORT jboolean JNICALL Java_io_realm_internal_Group_nativeHasTable(
     JNIEnv* env, jobject, jlong nativeGroupPtr, jstring jTableName)
 {
@@ -143,6 +143,14 @@ JNIEXPORT void JNICALL Java_io_realm_internal_Group_nativeCommit
 JNIEXPORT jstring JNICALL Java_io_realm_internal_Group_nativeToString
   (JNIEnv *, jobject, jlong);
 
+/*
+ * Class:     io_realm_internal_Group
+ * Method:    nativeGetSizeInfo
+ * Signature: (J)[J
+ */
+JNIEXPORT jlongArray JNICALL Java_io_realm_internal_Group_nativeGetSizeInfo
+  (JNIEnv *, jobject, jlong);
+
 /*
  * Class:     io_realm_internal_Group
  * Method:    nativeIsEmpty
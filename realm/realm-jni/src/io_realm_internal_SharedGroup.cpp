@@ -24,6 +24,7 @@
 
 #include "util.hpp"
 #include "io_realm_internal_SharedGroup.h"
+#include "modified_tables_observer.hpp"
 
 using namespace std;
 using namespace realm;
@@ -147,25 +148,49 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_SharedGroup_nativeBeginImplicit
     return 0;
 }
 
-JNIEXPORT void JNICALL Java_io_realm_internal_SharedGroup_nativeAdvanceRead
-(JNIEnv *env, jobject, jlong native_ptr)
+// Returns the indices of the tables affected by the replayed transaction logs, or NULL if the
+// schema changed and every table must be considered affected.
+static jlongArray affected_tables(JNIEnv* env, const ModifiedTablesObserver& observer, jlong native_group_ptr)
+{
+    if (observer.has_schema_changed()) {
+        return NULL;
+    }
+    std::vector<size_t> tables = observer.affected_tables(*G(native_group_ptr));
+    std::vector<jlong> table_indices(tables.begin(), tables.end());
+    jlongArray result = env->NewLongArray(table_indices.size());
+    if (result == NULL) {
+        ThrowException(env, OutOfMemory, "Could not allocate memory to return the changed tables.");
+        return NULL;
+    }
+    env->SetLongArrayRegion(result, 0, table_indices.size(), table_indices.data());
+    return result;
+}
+
+JNIEXPORT jlongArray JNICALL Java_io_realm_internal_SharedGroup_nativeAdvanceRead
+(JNIEnv *env, jobject, jlong native_ptr, jlong native_group_ptr)
 {
     TR_ENTER_PTR(native_ptr)
     try {
-        LangBindHelper::advance_read(*SG(native_ptr));
+        ModifiedTablesObserver observer;
+        LangBindHelper::advance_read(*SG(native_ptr), observer);
+        return affected_tables(env, observer, native_group_ptr);
     }
     CATCH_STD()
+    return NULL;
 }
 
-JNIEXPORT void JNICALL Java_io_realm_internal_SharedGroup_nativeAdvanceReadToVersion
-(JNIEnv *env, jobject, jlong native_ptr, jlong version, jlong index)
+JNIEXPORT jlongArray JNICALL Java_io_realm_internal_SharedGroup_nativeAdvanceReadToVersion
+(JNIEnv *env, jobject, jlong native_ptr, jlong native_group_ptr, jlong version, jlong index)
 {
     TR_ENTER_PTR(native_ptr)
     try {
         SharedGroup::VersionID versionId(version, index);
-        LangBindHelper::advance_read(*SG(native_ptr), versionId);
+        ModifiedTablesObserver observer;
+        LangBindHelper::advance_read(*SG(native_ptr), observer, versionId);
+        return affected_tables(env, observer, native_group_ptr);
     }
     CATCH_STD()
+    return NULL;
 }
 
 JNIEXPORT void JNICALL Java_io_realm_internal_SharedGroup_nativePromoteToWrite
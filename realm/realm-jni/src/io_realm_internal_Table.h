@@ -269,6 +269,30 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_Table_nativeGetTimestamp
 JNIEXPORT jstring JNICALL Java_io_realm_internal_Table_nativeGetString
   (JNIEnv *, jobject, jlong, jlong, jlong);
 
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeGetLongs
+ * Signature: (JJ[JJJ)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeGetLongs
+  (JNIEnv *, jobject, jlong, jlong, jlongArray, jlong, jlong);
+
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeGetDoubles
+ * Signature: (JJ[DJJ)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeGetDoubles
+  (JNIEnv *, jobject, jlong, jlong, jdoubleArray, jlong, jlong);
+
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeGetStrings
+ * Signature: (JJ[Ljava/lang/String;JJ)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeGetStrings
+  (JNIEnv *, jobject, jlong, jlong, jobjectArray, jlong, jlong);
+
 /*
  * Class:     io_realm_internal_Table
  * Method:    nativeGetByteArray
@@ -485,6 +509,46 @@ JNIEXPORT jboolean JNICALL Java_io_realm_internal_Table_nativeIsNullLink
 JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeNullifyLink
   (JNIEnv *, jobject, jlong, jlong, jlong);
 
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeIsNull
+ * Signature: (JJJ)Z
+ */
+JNIEXPORT jboolean JNICALL Java_io_realm_internal_Table_nativeIsNull
+  (JNIEnv *, jobject, jlong, jlong, jlong);
+
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeGetLinkView
+ * Signature: (JJJ)J
+ */
+JNIEXPORT jlong JNICALL Java_io_realm_internal_Table_nativeGetLinkView
+  (JNIEnv *, jobject, jlong, jlong, jlong);
+
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeGetValues
+ * Signature: (JJ[J[J[D[Ljava/lang/Object;[Z)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeGetValues
+  (JNIEnv *, jobject, jlong, jlong, jlongArray, jlongArray, jdoubleArray, jobjectArray, jbooleanArray);
+
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeSetValues
+ * Signature: (JJ[JI[J[D[Ljava/lang/Object;[Z)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetValues
+  (JNIEnv *, jobject, jlong, jlong, jlongArray, jint, jlongArray, jdoubleArray, jobjectArray, jbooleanArray);
+
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeSetColumnValues
+ * Signature: (JJ[JI[J[D[Ljava/lang/Object;[Z)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetColumnValues
+  (JNIEnv *, jobject, jlong, jlong, jlongArray, jint, jlongArray, jdoubleArray, jobjectArray, jbooleanArray);
+
 /*
  * Class:     io_realm_internal_Table
  * Method:    nativeSumInt
@@ -781,6 +845,14 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_Table_nativeGetDistinctView
 JNIEXPORT jstring JNICALL Java_io_realm_internal_Table_nativeGetName
   (JNIEnv *, jobject, jlong);
 
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeGetIndexInGroup
+ * Signature: (J)J
+ */
+JNIEXPORT jlong JNICALL Java_io_realm_internal_Table_nativeGetIndexInGroup
+  (JNIEnv *, jobject, jlong);
+
 /*
  * Class:     io_realm_internal_Table
  * Method:    nativeOptimize
@@ -14,12 +14,17 @@
  * limitations under the License.
  */
 
+#include <algorithm>
+#include <unordered_map>
+#include <unordered_set>
+
 #include <realm.hpp>
 #include <realm/group_shared.hpp>
 #include <realm/commit_log.hpp>
 #include "util.hpp"
 #include "io_realm_internal_TableQuery.h"
 #include "tablequery.hpp"
+#include "modified_tables_observer.hpp"
 
 using namespace realm;
 
@@ -62,6 +67,19 @@ JNIEXPORT jstring JNICALL Java_io_realm_internal_TableQuery_nativeValidateQuery
     return NULL;
 }
 
+JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeCopy
+(JNIEnv *env, jobject, jlong nativeQueryPtr)
+{
+    TR_ENTER_PTR(nativeQueryPtr)
+    Query* pQuery = Q(nativeQueryPtr);
+    if (!QUERY_VALID(env, pQuery))
+        return 0;
+    try {
+        return reinterpret_cast<jlong>(new TableQuery(*TQ(nativeQueryPtr)));
+    } CATCH_STD()
+    return 0;
+}
+
 
 // helper functions
 
@@ -85,7 +103,104 @@ static TableRef getTableByArray(jlong nativeQueryPtr, JniLongArray& indicesArray
     return table_ref;
 }
 
-static jlong findAllWithHandover(JNIEnv* env, jlong bgSharedGroupPtr, std::unique_ptr<Query> query, jlong start, jlong end, jlong limit)
+// Computes the change set between the rows of a TableView imported at the caller version and
+// advanced to the latest version (deleted rows are detached), and the rows of the rerun query.
+// The result is encoded as
+// [deletions count, insertions count, modifications count, moves count,
+//  deletions (old indices)..., insertions (new indices)..., modifications (new indices)...,
+//  (old index, new index) of each move...]
+static jlongArray computeChangeSet(JNIEnv* env, const TableView& previous, const std::vector<size_t>& rows,
+                                   const std::set<size_t>& modified_rows)
+{
+    std::unordered_map<size_t, size_t> new_positions;
+    for (size_t i = 0; i < rows.size(); ++i) {
+        new_positions[rows[i]] = i;
+    }
+
+    std::vector<jlong> deletions;
+    std::vector<jlong> insertions;
+    std::vector<jlong> modifications;
+    // surviving rows in their previous order as (old index, new index)
+    std::vector<std::pair<size_t, size_t>> survivors;
+    std::unordered_set<size_t> previous_rows;
+    for (size_t i = 0; i < previous.size(); ++i) {
+        if (!previous.is_row_attached(i)) {
+            deletions.push_back(i);
+            continue;
+        }
+        size_t row = previous.get_source_ndx(i);
+        previous_rows.insert(row);
+        auto it = new_positions.find(row);
+        if (it == new_positions.end()) {
+            deletions.push_back(i);
+        } else {
+            survivors.emplace_back(i, it->second);
+        }
+    }
+    for (size_t i = 0; i < rows.size(); ++i) {
+        if (previous_rows.count(rows[i]) == 0) {
+            insertions.push_back(i);
+        } else if (modified_rows.count(rows[i]) != 0) {
+            modifications.push_back(i);
+        }
+    }
+
+    // Survivors that are part of the longest increasing run of new indices kept their relative
+    // order, every other survivor is reported as a move.
+    std::vector<size_t> tails;       // index in survivors of the smallest tail of each run length
+    std::vector<size_t> parents(survivors.size());
+    for (size_t i = 0; i < survivors.size(); ++i) {
+        size_t new_index = survivors[i].second;
+        auto it = std::lower_bound(tails.begin(), tails.end(), new_index,
+                [&](size_t survivor, size_t value) { return survivors[survivor].second < value; });
+        parents[i] = it == tails.begin() ? npos : *(it - 1);
+        if (it == tails.end()) {
+            tails.push_back(i);
+        } else {
+            *it = i;
+        }
+    }
+    std::vector<bool> in_order(survivors.size(), false);
+    for (size_t i = tails.empty() ? npos : tails.back(); i != npos; i = parents[i]) {
+        in_order[i] = true;
+    }
+    std::vector<jlong> moves;
+    for (size_t i = 0; i < survivors.size(); ++i) {
+        if (!in_order[i]) {
+            moves.push_back(survivors[i].first);
+            moves.push_back(survivors[i].second);
+        }
+    }
+
+    std::vector<jlong> encoded { jlong(deletions.size()), jlong(insertions.size()),
+                                 jlong(modifications.size()), jlong(moves.size() / 2) };
+    encoded.insert(encoded.end(), deletions.begin(), deletions.end());
+    encoded.insert(encoded.end(), insertions.begin(), insertions.end());
+    encoded.insert(encoded.end(), modifications.begin(), modifications.end());
+    encoded.insert(encoded.end(), moves.begin(), moves.end());
+
+    jlongArray change_set = env->NewLongArray(encoded.size());
+    if (change_set == NULL) {
+        ThrowException(env, OutOfMemory, "Could not allocate memory to return the change set.");
+        return NULL;
+    }
+    env->SetLongArrayRegion(change_set, 0, encoded.size(), encoded.data());
+    return change_set;
+}
+
+// Copies the source row indices of the TableView, if requested, before it's handed over.
+static void collectRowIndexes(const TableView& tableView, std::vector<size_t>* rows)
+{
+    if (rows != nullptr) {
+        rows->resize(tableView.size());
+        for (size_t i = 0; i < tableView.size(); ++i) {
+            (*rows)[i] = tableView.get_source_ndx(i);
+        }
+    }
+}
+
+static jlong findAllWithHandover(JNIEnv* env, jlong bgSharedGroupPtr, std::unique_ptr<Query> query, jlong start, jlong end, jlong limit,
+                                 std::vector<size_t>* rows = nullptr)
 {
     TR_ENTER()
     TableRef table = query.get()->get_table();
@@ -96,6 +211,8 @@ static jlong findAllWithHandover(JNIEnv* env, jlong bgSharedGroupPtr, std::uniqu
     // run the query
     TableView tableView(query->find_all(S(start), S(end), S(limit)));
 
+    collectRowIndexes(tableView, rows);
+
     // handover the result
     std::unique_ptr<SharedGroup::Handover<TableView>> handover = SG(
             bgSharedGroupPtr)->export_for_handover(tableView, MutableSourcePayload::Move);
@@ -103,7 +220,8 @@ static jlong findAllWithHandover(JNIEnv* env, jlong bgSharedGroupPtr, std::uniqu
 }
 
 static jlong getDistinctViewWithHandover
-        (JNIEnv *env, jlong bgSharedGroupPtr, std::unique_ptr<Query> query, jlong columnIndex)
+        (JNIEnv *env, jlong bgSharedGroupPtr, std::unique_ptr<Query> query, jlong columnIndex,
+         std::vector<size_t>* rows = nullptr)
 {
         TableRef table = query->get_table();
         if (!QUERY_VALID(env, query.get()) ||
@@ -117,6 +235,8 @@ static jlong getDistinctViewWithHandover
             case type_String: {
                 TableView tableView(table->get_distinct_view(S(columnIndex)) );
 
+                collectRowIndexes(tableView, rows);
+
                 // handover the result
                 std::unique_ptr<SharedGroup::Handover<TableView>> handover = SG(
                         bgSharedGroupPtr)->export_for_handover(tableView, MutableSourcePayload::Move);
@@ -130,7 +250,8 @@ static jlong getDistinctViewWithHandover
 }
 
 static jlong findAllSortedWithHandover
-        (JNIEnv *env, jlong bgSharedGroupPtr, std::unique_ptr<Query> query, jlong start, jlong end, jlong limit, jlong columnIndex, jboolean ascending)
+        (JNIEnv *env, jlong bgSharedGroupPtr, std::unique_ptr<Query> query, jlong start, jlong end, jlong limit, jlong columnIndex, jboolean ascending,
+         std::vector<size_t>* rows = nullptr)
 {
         TableRef table =  query->get_table();
 
@@ -161,13 +282,16 @@ static jlong findAllSortedWithHandover
                 return 0;
         }
 
+        collectRowIndexes(tableView, rows);
+
         // handover the result
         std::unique_ptr<SharedGroup::Handover<TableView> > handover = SG(bgSharedGroupPtr)->export_for_handover(tableView, MutableSourcePayload::Move);
         return reinterpret_cast<jlong>(handover.release());
 }
 
 static jlong findAllMultiSortedWithHandover
-        (JNIEnv *env, jlong bgSharedGroupPtr, std::unique_ptr<Query> query, jlong start, jlong end, jlong limit, jlongArray columnIndices, jbooleanArray ascending)
+        (JNIEnv *env, jlong bgSharedGroupPtr, std::unique_ptr<Query> query, jlong start, jlong end, jlong limit, jlongArray columnIndices, jbooleanArray ascending,
+         std::vector<size_t>* rows = nullptr)
 {
         JniLongArray long_arr(env, columnIndices);
         JniBooleanArray bool_arr(env, ascending);
@@ -223,6 +347,8 @@ static jlong findAllMultiSortedWithHandover
 
         tableView.sort(indices, ascendings);
 
+        collectRowIndexes(tableView, rows);
+
         // handover the result
         std::unique_ptr<SharedGroup::Handover<TableView> > handover = SG(bgSharedGroupPtr)->export_for_handover(tableView, MutableSourcePayload::Move);
         return reinterpret_cast<jlong>(handover.release());
@@ -1140,11 +1266,16 @@ JNIEXPORT jlongArray JNICALL Java_io_realm_internal_TableQuery_nativeBatchUpdate
          jlongArray  handover_queries_array /*list of handover queries*/,
          jobjectArray  query_param_matrix /*type & params of the query to be updated*/,
          jobjectArray  multi_sorted_indices_matrix,
-         jobjectArray  multi_sorted_order_matrix)
+         jobjectArray  multi_sorted_order_matrix,
+         jbooleanArray reuse_if_unchanged_array /*queries the caller can keep if their tables didn't change*/,
+         jlongArray previous_tableviews_array /*handover of the caller's current results, 0 if no change set is needed*/,
+         jobjectArray change_sets_matrix /*receives the change set of each query with previous results*/)
 {
     TR_ENTER()
     try {
         JniLongArray handover_queries_pointer_array(env, handover_queries_array);
+        JniBooleanArray reuse_if_unchanged(env, reuse_if_unchanged_array);
+        JniLongArray previous_tableviews_pointer_array(env, previous_tableviews_array);
 
         const size_t number_of_queries = env->GetArrayLength(query_param_matrix);
 
@@ -1178,11 +1309,32 @@ JNIEXPORT jlongArray JNICALL Java_io_realm_internal_TableQuery_nativeBatchUpdate
             queries[i] = std::move(sg->import_from_handover(std::move(handoverQuery)));
         }
 
-        // Step2: Bring the queries into the latest shared group version
-        LangBindHelper::advance_read(*sg);
+        // import the previous results, advancing the shared group will detach their deleted rows
+        // and adjust the indices of the others
+        std::vector<std::unique_ptr<TableView>> previous_tableviews(number_of_queries);
+        for (size_t i = 0; i < number_of_queries; ++i) {
+            if (previous_tableviews_pointer_array[i] != 0) {
+                std::unique_ptr<SharedGroup::Handover<TableView>> handoverTableView(
+                        HO(TableView, previous_tableviews_pointer_array[i]));
+                previous_tableviews[i] = sg->import_from_handover(std::move(handoverTableView));
+            }
+        }
+
+        // Step2: Bring the queries into the latest shared group version, while recording which
+        // tables the replayed transaction logs touched
+        ModifiedTablesObserver observer;
+        LangBindHelper::advance_read(*sg, observer);
 
-        // Step3: Run & export the queries against the latest shared group
+        // Step3: Run & export the queries against the latest shared group. Queries whose tables
+        // were not modified are skipped (0 is exported), the caller keeps its current results.
         for (size_t i = 0; i < number_of_queries; ++i) {
+            if (reuse_if_unchanged[i] && !observer.is_affected(*queries[i]->get_table())) {
+                exported_handover_tableview_array[i] = 0;
+                continue;
+            }
+            TableRef table = queries[i]->get_table();
+            std::vector<size_t> rows;
+            std::vector<size_t>* collected_rows = previous_tableviews[i] ? &rows : nullptr;
             JniLongArray query_param_array(env, (jlongArray) env->GetObjectArrayElement(query_param_matrix, i));
             switch (query_param_array[0]) { // 0, index of the type of query, the next indicies are parameters
                 case QUERY_TYPE_FIND_ALL: {// nativeFindAllWithHandover
@@ -1193,7 +1345,8 @@ JNIEXPORT jlongArray JNICALL Java_io_realm_internal_TableQuery_nativeBatchUpdate
                                      std::move(queries[i]),
                                      query_param_array[1]/*start*/,
                                      query_param_array[2]/*end*/,
-                                     query_param_array[3]/*limit*/);
+                                     query_param_array[3]/*limit*/,
+                                     collected_rows);
                     break;
                 }
                 case QUERY_TYPE_DISTINCT: {// nativeGetDistinctViewWithHandover
@@ -1202,7 +1355,8 @@ JNIEXPORT jlongArray JNICALL Java_io_realm_internal_TableQuery_nativeBatchUpdate
                                     (env,
                                      bgSharedGroupPtr,
                                      std::move(queries[i]),
-                                     query_param_array[1]/*columnIndex*/);
+                                     query_param_array[1]/*columnIndex*/,
+                                     collected_rows);
                     break;
                 }
                 case QUERY_TYPE_FIND_ALL_SORTED: {// nativeFindAllSortedWithHandover
@@ -1215,7 +1369,8 @@ JNIEXPORT jlongArray JNICALL Java_io_realm_internal_TableQuery_nativeBatchUpdate
                                      query_param_array[2]/*end*/,
                                      query_param_array[3]/*limit*/,
                                      query_param_array[4]/*columnIndex*/,
-                                     query_param_array[5] == 1/*ascending order*/);
+                                     query_param_array[5] == 1/*ascending order*/,
+                                     collected_rows);
                     break;
                 }
                 case QUERY_TYPE_FIND_ALL_MULTI_SORTED: {// nativeFindAllMultiSortedWithHandover
@@ -1232,13 +1387,24 @@ JNIEXPORT jlongArray JNICALL Java_io_realm_internal_TableQuery_nativeBatchUpdate
                                      query_param_array[2]/*end*/,
                                      query_param_array[3]/*limit*/,
                                      column_indices_array/*columnIndices*/,
-                                     column_order_array/*ascending orders*/);
+                                     column_order_array/*ascending orders*/,
+                                     collected_rows);
                     break;
                 }
                 default:
                     ThrowException(env, FatalError, "Unknown type of query.");
                     return NULL;
             }
+
+            if (collected_rows != nullptr && exported_handover_tableview_array[i] != 0) {
+                jlongArray change_set = computeChangeSet(env, *previous_tableviews[i], rows,
+                        observer.modified_rows(*table));
+                if (change_set == NULL) {
+                    return NULL;
+                }
+                env->SetObjectArrayElement(change_sets_matrix, i, change_set);
+                env->DeleteLocalRef(change_set);
+            }
         }
 
         jlongArray exported_handover_tableview = env->NewLongArray(number_of_queries);
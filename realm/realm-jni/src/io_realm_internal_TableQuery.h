@@ -23,6 +23,14 @@ JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeClose
 JNIEXPORT jstring JNICALL Java_io_realm_internal_TableQuery_nativeValidateQuery
   (JNIEnv *, jobject, jlong);
 
+/*
+ * Class:     io_realm_internal_TableQuery
+ * Method:    nativeCopy
+ * Signature: (J)J
+ */
+JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeCopy
+  (JNIEnv *, jobject, jlong);
+
 /*
  * Class:     io_realm_internal_TableQuery
  * Method:    nativeTableview
@@ -612,7 +620,7 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeAcceptHandoverQu
  * Method:    nativeBatchUpdateQueries
  */
 JNIEXPORT jlongArray JNICALL Java_io_realm_internal_TableQuery_nativeBatchUpdateQueries
-        (JNIEnv *,jobject,jlong ,jlongArray,jobjectArray,jobjectArray,jobjectArray);
+        (JNIEnv *,jobject,jlong ,jlongArray,jobjectArray,jobjectArray,jobjectArray,jbooleanArray,jlongArray,jobjectArray);
 #ifdef __cplusplus
 }
 #endif
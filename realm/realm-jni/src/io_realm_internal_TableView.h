@@ -111,6 +111,30 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_TableView_nativeGetTimestamp
 JNIEXPORT jstring JNICALL Java_io_realm_internal_TableView_nativeGetString
   (JNIEnv *, jobject, jlong, jlong, jlong);
 
+/*
+ * Class:     io_realm_internal_TableView
+ * Method:    nativeGetLongs
+ * Signature: (JJ[JJJ)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeGetLongs
+  (JNIEnv *, jobject, jlong, jlong, jlongArray, jlong, jlong);
+
+/*
+ * Class:     io_realm_internal_TableView
+ * Method:    nativeGetDoubles
+ * Signature: (JJ[DJJ)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeGetDoubles
+  (JNIEnv *, jobject, jlong, jlong, jdoubleArray, jlong, jlong);
+
+/*
+ * Class:     io_realm_internal_TableView
+ * Method:    nativeGetStrings
+ * Signature: (JJ[Ljava/lang/String;JJ)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeGetStrings
+  (JNIEnv *, jobject, jlong, jlong, jobjectArray, jlong, jlong);
+
 /*
  * Class:     io_realm_internal_TableView
  * Method:    nativeGetByteArray
@@ -559,6 +583,22 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_TableView_nativeSyncIfNeeded
 JNIEXPORT jlong JNICALL Java_io_realm_internal_TableView_nativeFindBySourceNdx
         (JNIEnv *, jobject, jlong, jlong);
 
+/*
+ * Class:     io_realm_internal_TableView
+ * Method:    nativeHandover
+ * Signature: (JJ)J
+ */
+JNIEXPORT jlong JNICALL Java_io_realm_internal_TableView_nativeHandover
+        (JNIEnv *, jobject, jlong, jlong);
+
+/*
+ * Class:     io_realm_internal_TableView
+ * Method:    nativeCloseHandover
+ * Signature: (J)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeCloseHandover
+        (JNIEnv *, jclass, jlong);
+
 #ifdef __cplusplus
 }
 #endif
@@ -18,6 +18,7 @@
 #include "util.hpp"
 #include "mixedutil.hpp"
 #include "tablebase_tpl.hpp"
+#include "row_values.hpp"
 
 using namespace realm;
 
@@ -405,3 +406,18 @@ JNIEXPORT void JNICALL Java_io_realm_internal_UncheckedRow_nativeSetNull
         ROW(nativeRowPtr)->set_null(columnIndex);
     } CATCH_STD()
 }
+
+JNIEXPORT void JNICALL Java_io_realm_internal_UncheckedRow_nativeGetValues
+  (JNIEnv* env, jobject, jlong nativeRowPtr, jlongArray columnIndices, jlongArray longValues,
+   jdoubleArray doubleValues, jobjectArray objectValues, jbooleanArray nullValues)
+{
+    TR_ENTER_PTR(nativeRowPtr)
+    if (!ROW_VALID(env, ROW(nativeRowPtr)))
+        return;
+
+    try {
+        Row* row = ROW(nativeRowPtr);
+        read_row_values(env, *row->get_table(), *row, columnIndices, longValues, doubleValues, objectValues,
+                nullValues);
+    } CATCH_STD()
+}
@@ -263,6 +263,14 @@ JNIEXPORT jboolean JNICALL Java_io_realm_internal_UncheckedRow_nativeIsNull
 JNIEXPORT void JNICALL Java_io_realm_internal_UncheckedRow_nativeSetNull
   (JNIEnv *, jobject, jlong, jlong);
 
+/*
+ * Class:     io_realm_internal_UncheckedRow
+ * Method:    nativeGetValues
+ * Signature: (J[J[J[D[Ljava/lang/Object;[Z)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_UncheckedRow_nativeGetValues
+  (JNIEnv *, jobject, jlong, jlongArray, jlongArray, jdoubleArray, jobjectArray, jbooleanArray);
+
 #ifdef __cplusplus
 }
 #endif
@@ -25,6 +25,7 @@
 #include "mixedutil.hpp"
 #include "tablebase_tpl.hpp"
 #include "tablequery.hpp"
+#include "row_values.hpp"
 
 using namespace std;
 using namespace realm;
@@ -628,6 +629,36 @@ JNIEXPORT jstring JNICALL Java_io_realm_internal_Table_nativeGetString(
     return NULL;
 }
 
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeGetLongs(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jlongArray dst, jlong fromRow, jlong toRow)
+{
+    if (!TBL_AND_COL_INDEX_AND_TYPE_VALID(env, TBL(nativeTablePtr), columnIndex, type_Int))
+        return;
+    try {
+        tbl_GetLongs(env, TBL(nativeTablePtr), columnIndex, dst, fromRow, toRow);
+    } CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeGetDoubles(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jdoubleArray dst, jlong fromRow, jlong toRow)
+{
+    if (!TBL_AND_COL_INDEX_VALID(env, TBL(nativeTablePtr), columnIndex))
+        return;
+    try {
+        tbl_GetDoubles(env, TBL(nativeTablePtr), columnIndex, dst, fromRow, toRow);
+    } CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeGetStrings(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jobjectArray dst, jlong fromRow, jlong toRow)
+{
+    if (!TBL_AND_COL_INDEX_AND_TYPE_VALID(env, TBL(nativeTablePtr), columnIndex, type_String))
+        return;
+    try {
+        tbl_GetStrings(env, TBL(nativeTablePtr), columnIndex, dst, fromRow, toRow);
+    } CATCH_STD()
+}
+
 
 /*
 JNIEXPORT jobject JNICALL Java_io_realm_internal_Table_nativeGetByteBuffer(
@@ -940,6 +971,70 @@ JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeNullifyLink
     } CATCH_STD()
 }
 
+JNIEXPORT jboolean JNICALL Java_io_realm_internal_Table_nativeIsNull
+  (JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jlong rowIndex)
+{
+    if (!TBL_AND_INDEX_VALID(env, TBL(nativeTablePtr), columnIndex, rowIndex))
+        return JNI_FALSE;
+    try {
+        return TBL(nativeTablePtr)->is_null(S(columnIndex), S(rowIndex));
+    } CATCH_STD()
+    return JNI_FALSE;
+}
+
+JNIEXPORT jlong JNICALL Java_io_realm_internal_Table_nativeGetLinkView
+  (JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jlong rowIndex)
+{
+    if (!TBL_AND_INDEX_AND_TYPE_VALID(env, TBL(nativeTablePtr), columnIndex, rowIndex, type_LinkList))
+        return 0;
+    try {
+        // The Row accessor only lives for the duration of the call, the LinkView is bound to the table.
+        Row row = (*TBL(nativeTablePtr))[S(rowIndex)];
+        LinkViewRef* link_view_ptr = const_cast<LinkViewRef*>(&(LangBindHelper::get_linklist_ptr(row, S(columnIndex))));
+        return reinterpret_cast<jlong>(link_view_ptr);
+    } CATCH_STD()
+    return 0;
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeGetValues
+  (JNIEnv* env, jobject, jlong nativeTablePtr, jlong rowIndex, jlongArray columnIndices, jlongArray longValues,
+   jdoubleArray doubleValues, jobjectArray objectValues, jbooleanArray nullValues)
+{
+    Table* table = TBL(nativeTablePtr);
+    if (!TBL_AND_ROW_INDEX_VALID(env, table, rowIndex))
+        return;
+    try {
+        RowExpr row = (*table)[S(rowIndex)];
+        read_row_values(env, *table, row, columnIndices, longValues, doubleValues, objectValues, nullValues);
+    } CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetValues
+  (JNIEnv* env, jobject, jlong nativeTablePtr, jlong rowIndex, jlongArray columnIndices, jint count,
+   jlongArray longValues, jdoubleArray doubleValues, jobjectArray objectValues, jbooleanArray nullValues)
+{
+    Table* table = TBL(nativeTablePtr);
+    if (!TBL_AND_ROW_INDEX_VALID(env, table, rowIndex))
+        return;
+    try {
+        write_row_values(env, *table, S(rowIndex), columnIndices, count, longValues, doubleValues, objectValues,
+                         nullValues);
+    } CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetColumnValues
+  (JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jlongArray rowIndices, jint count,
+   jlongArray longValues, jdoubleArray doubleValues, jobjectArray objectValues, jbooleanArray nullValues)
+{
+    Table* table = TBL(nativeTablePtr);
+    if (!TBL_AND_COL_INDEX_VALID(env, table, columnIndex))
+        return;
+    try {
+        write_column_values(env, *table, S(columnIndex), rowIndices, count, longValues, doubleValues, objectValues,
+                            nullValues);
+    } CATCH_STD()
+}
+
 //---------------------- Aggregate methods for integers
 
 JNIEXPORT jlong JNICALL Java_io_realm_internal_Table_nativeSumInt(
@@ -1493,6 +1588,15 @@ JNIEXPORT jstring JNICALL Java_io_realm_internal_Table_nativeGetName(
     return NULL;
 }
 
+JNIEXPORT jlong JNICALL Java_io_realm_internal_Table_nativeGetIndexInGroup(
+    JNIEnv *env, jobject, jlong nativeTablePtr)
+{
+    Table* table = TBL(nativeTablePtr);
+    if (!TABLE_VALID(env, table))
+        return -1;
+    return to_jlong_or_not_found(table->get_index_in_group()); // noexcept
+}
+
 
 JNIEXPORT jstring JNICALL Java_io_realm_internal_Table_nativeToJson(
     JNIEnv *env, jobject, jlong nativeTablePtr)
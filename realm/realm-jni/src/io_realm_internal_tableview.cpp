@@ -293,6 +293,38 @@ JNIEXPORT jstring JNICALL Java_io_realm_internal_TableView_nativeGetString(
     return NULL;
 }
 
+JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeGetLongs(
+    JNIEnv* env, jobject, jlong nativeViewPtr, jlong columnIndex, jlongArray dst, jlong fromRow, jlong toRow)
+{
+    try {
+        if (!VIEW_VALID_AND_IN_SYNC(env, nativeViewPtr) ||
+            !COL_INDEX_AND_TYPE_VALID(env, TV(nativeViewPtr), columnIndex, type_Int))
+            return;
+        tbl_GetLongs(env, TV(nativeViewPtr), columnIndex, dst, fromRow, toRow);
+    } CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeGetDoubles(
+    JNIEnv* env, jobject, jlong nativeViewPtr, jlong columnIndex, jdoubleArray dst, jlong fromRow, jlong toRow)
+{
+    try {
+        if (!VIEW_VALID_AND_IN_SYNC(env, nativeViewPtr) || !COL_INDEX_VALID(env, TV(nativeViewPtr), columnIndex))
+            return;
+        tbl_GetDoubles(env, TV(nativeViewPtr), columnIndex, dst, fromRow, toRow);
+    } CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeGetStrings(
+    JNIEnv* env, jobject, jlong nativeViewPtr, jlong columnIndex, jobjectArray dst, jlong fromRow, jlong toRow)
+{
+    try {
+        if (!VIEW_VALID_AND_IN_SYNC(env, nativeViewPtr) ||
+            !COL_INDEX_AND_TYPE_VALID(env, TV(nativeViewPtr), columnIndex, type_String))
+            return;
+        tbl_GetStrings(env, TV(nativeViewPtr), columnIndex, dst, fromRow, toRow);
+    } CATCH_STD()
+}
+
 /*
 JNIEXPORT jobject JNICALL Java_io_realm_internal_TableView_nativeGetBinary(
     JNIEnv* env, jobject, jlong nativeViewPtr, jlong columnIndex, jlong rowIndex)
@@ -1071,3 +1103,26 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_TableView_nativeFindBySourceNdx
     } CATCH_STD()
     return -1;
 }
+
+JNIEXPORT jlong JNICALL Java_io_realm_internal_TableView_nativeHandover
+        (JNIEnv *env, jobject, jlong callerSharedGroupPtr, jlong nativeViewPtr)
+{
+    TR_ENTER_PTR(nativeViewPtr);
+    if (!VIEW_VALID_AND_IN_SYNC(env, nativeViewPtr)) {
+        return 0;
+    }
+    try {
+        // the row indices are copied, this TableView stays usable by the caller
+        std::unique_ptr<SharedGroup::Handover<TableView>> handover = SG(callerSharedGroupPtr)->export_for_handover(
+                *TV(nativeViewPtr), ConstSourcePayload::Copy);
+        return reinterpret_cast<jlong>(handover.release());
+    } CATCH_STD()
+    return 0;
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeCloseHandover
+        (JNIEnv *, jclass, jlong handoverTableViewPtr)
+{
+    TR_ENTER_PTR(handoverTableViewPtr);
+    delete HO(TableView, handoverTableViewPtr);
+}
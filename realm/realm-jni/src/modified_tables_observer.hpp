@@ -0,0 +1,323 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+#ifndef __REALM_MODIFIED_TABLES_OBSERVER__
+#define __REALM_MODIFIED_TABLES_OBSERVER__
+
+#include <map>
+#include <set>
+#include <vector>
+#include <realm.hpp>
+#include <realm/impl/transact_log.hpp>
+
+// Collects the group level indices of the tables touched by the transaction logs replayed
+// during an advance_read, together with the rows whose values were set and the link columns
+// which were changed. Any change to the set of tables marks every table as modified.
+// Row instructions are declared as templates over their trailing arguments, since only the
+// leading column and row indices are of interest here.
+class ModifiedTablesObserver : public realm::_impl::NullInstructionObserver {
+public:
+    bool select_table(size_t group_level_ndx, size_t levels, const size_t*) noexcept
+    {
+        if (group_level_ndx >= m_modified_tables.size()) {
+            m_modified_tables.resize(group_level_ndx + 1, false);
+        }
+        m_modified_tables[group_level_ndx] = true;
+        // rows of subtables are not tracked
+        m_current_table = levels == 0 ? group_level_ndx : realm::npos;
+        return true;
+    }
+
+    bool insert_group_level_table(size_t, size_t, realm::StringData) noexcept
+    {
+        m_schema_changed = true;
+        return true;
+    }
+
+    bool erase_group_level_table(size_t, size_t) noexcept
+    {
+        m_schema_changed = true;
+        return true;
+    }
+
+    bool rename_group_level_table(size_t, realm::StringData) noexcept
+    {
+        m_schema_changed = true;
+        return true;
+    }
+
+    bool move_group_level_table(size_t, size_t) noexcept
+    {
+        m_schema_changed = true;
+        return true;
+    }
+
+    template<class... Args> bool set_int(size_t, size_t row_ndx, Args&&...) { return mark_row(row_ndx); }
+    template<class... Args> bool set_int_unique(size_t, size_t row_ndx, Args&&...) { return mark_row(row_ndx); }
+    template<class... Args> bool set_bool(size_t, size_t row_ndx, Args&&...) { return mark_row(row_ndx); }
+    template<class... Args> bool set_float(size_t, size_t row_ndx, Args&&...) { return mark_row(row_ndx); }
+    template<class... Args> bool set_double(size_t, size_t row_ndx, Args&&...) { return mark_row(row_ndx); }
+    template<class... Args> bool set_string(size_t, size_t row_ndx, Args&&...) { return mark_row(row_ndx); }
+    template<class... Args> bool set_string_unique(size_t, size_t row_ndx, Args&&...) { return mark_row(row_ndx); }
+    template<class... Args> bool set_binary(size_t, size_t row_ndx, Args&&...) { return mark_row(row_ndx); }
+    template<class... Args> bool set_olddatetime(size_t, size_t row_ndx, Args&&...) { return mark_row(row_ndx); }
+    template<class... Args> bool set_timestamp(size_t, size_t row_ndx, Args&&...) { return mark_row(row_ndx); }
+    template<class... Args> bool set_table(size_t, size_t row_ndx, Args&&...) { return mark_row(row_ndx); }
+    template<class... Args> bool set_mixed(size_t, size_t row_ndx, Args&&...) { return mark_row(row_ndx); }
+    template<class... Args> bool set_null(size_t, size_t row_ndx, Args&&...) { return mark_row(row_ndx); }
+    template<class... Args> bool insert_substring(size_t, size_t row_ndx, Args&&...) { return mark_row(row_ndx); }
+    template<class... Args> bool erase_substring(size_t, size_t row_ndx, Args&&...) { return mark_row(row_ndx); }
+
+    template<class... Args>
+    bool set_link(size_t col_ndx, size_t row_ndx, Args&&...)
+    {
+        mark_link_column(col_ndx);
+        return mark_row(row_ndx);
+    }
+
+    template<class... Args>
+    bool nullify_link(size_t col_ndx, size_t row_ndx, Args&&...)
+    {
+        mark_link_column(col_ndx);
+        return mark_row(row_ndx);
+    }
+
+    // the link list instructions following this one modify the row owning the list
+    template<class... Args>
+    bool select_link_list(size_t col_ndx, size_t row_ndx, Args&&...)
+    {
+        mark_link_column(col_ndx);
+        return mark_row(row_ndx);
+    }
+
+    template<class... Args>
+    bool insert_empty_rows(size_t row_ndx, size_t num_rows_to_insert, size_t prior_num_rows, bool unordered, Args&&...)
+    {
+        std::set<size_t>* rows = current_rows();
+        if (rows == nullptr || row_ndx == prior_num_rows) {
+            return true;
+        }
+        std::set<size_t> adjusted;
+        for (size_t row : *rows) {
+            if (row < row_ndx) {
+                adjusted.insert(row);
+            } else if (unordered) {
+                // the displaced rows are moved to the end of the table
+                adjusted.insert(row < row_ndx + num_rows_to_insert ? row - row_ndx + prior_num_rows : row);
+            } else {
+                adjusted.insert(row + num_rows_to_insert);
+            }
+        }
+        rows->swap(adjusted);
+        return true;
+    }
+
+    template<class... Args>
+    bool erase_rows(size_t row_ndx, size_t num_rows_to_erase, size_t prior_num_rows, bool unordered, Args&&...)
+    {
+        mark_rows_erased();
+        std::set<size_t>* rows = current_rows();
+        if (rows == nullptr) {
+            return true;
+        }
+        std::set<size_t> adjusted;
+        for (size_t row : *rows) {
+            if (row_ndx <= row && row < row_ndx + num_rows_to_erase) {
+                continue;
+            }
+            if (unordered) {
+                // the last rows are moved over the erased ones
+                size_t first_moved = prior_num_rows - num_rows_to_erase;
+                adjusted.insert(row >= first_moved ? row - first_moved + row_ndx : row);
+            } else {
+                adjusted.insert(row > row_ndx ? row - num_rows_to_erase : row);
+            }
+        }
+        rows->swap(adjusted);
+        return true;
+    }
+
+    template<class... Args>
+    bool swap_rows(size_t row_ndx_1, size_t row_ndx_2, Args&&...)
+    {
+        std::set<size_t>* rows = current_rows();
+        if (rows != nullptr) {
+            bool has_1 = rows->erase(row_ndx_1) != 0;
+            bool has_2 = rows->erase(row_ndx_2) != 0;
+            if (has_1) {
+                rows->insert(row_ndx_2);
+            }
+            if (has_2) {
+                rows->insert(row_ndx_1);
+            }
+        }
+        return true;
+    }
+
+    template<class... Args>
+    bool clear_table(Args&&...)
+    {
+        mark_rows_erased();
+        std::set<size_t>* rows = current_rows();
+        if (rows != nullptr) {
+            rows->clear();
+        }
+        return true;
+    }
+
+    bool has_schema_changed() const noexcept
+    {
+        return m_schema_changed;
+    }
+
+    bool is_modified(const realm::Table& table) const noexcept
+    {
+        if (m_schema_changed) {
+            return true;
+        }
+        size_t table_ndx = table.get_index_in_group();
+        return table_ndx < m_modified_tables.size() && m_modified_tables[table_ndx];
+    }
+
+    // A query depends on its own table and on every table reachable through its link columns.
+    bool is_modified_including_links(realm::Table& table) const
+    {
+        if (m_schema_changed) {
+            return true;
+        }
+        std::vector<realm::Table*> pending { &table };
+        std::vector<bool> visited;
+        while (!pending.empty()) {
+            realm::Table* current = pending.back();
+            pending.pop_back();
+            size_t table_ndx = current->get_index_in_group();
+            if (table_ndx >= visited.size()) {
+                visited.resize(table_ndx + 1, false);
+            }
+            if (visited[table_ndx]) {
+                continue;
+            }
+            visited[table_ndx] = true;
+            if (is_modified(*current)) {
+                return true;
+            }
+            for (size_t col = 0; col < current->get_column_count(); ++col) {
+                realm::DataType type = current->get_column_type(col);
+                if (type == realm::type_Link || type == realm::type_LinkList) {
+                    pending.push_back(current->get_link_target(col).get());
+                }
+            }
+        }
+        return false;
+    }
+
+    // Checks if objects of the table, or results built on it, might have changed: the table was
+    // modified directly or through the tables it links to, or it is the target of a modified
+    // link or list (results of a query on a list).
+    bool is_affected(realm::Table& table) const
+    {
+        if (is_modified_including_links(table)) {
+            return true;
+        }
+        realm::Group* group = table.get_parent_group();
+        return group == nullptr || is_modified_link_target(*group, table.get_index_in_group());
+    }
+
+    // Returns the indices of the affected tables, see is_affected().
+    std::vector<size_t> affected_tables(realm::Group& group) const
+    {
+        std::vector<size_t> affected;
+        for (size_t i = 0; i < group.size(); ++i) {
+            if (is_affected(*group.get_table(i))) {
+                affected.push_back(i);
+            }
+        }
+        return affected;
+    }
+
+    // Rows of the given table, indexed at the latest version, whose values were set.
+    const std::set<size_t>& modified_rows(const realm::Table& table) const
+    {
+        static const std::set<size_t> no_rows;
+        auto it = m_modified_rows.find(table.get_index_in_group());
+        return it == m_modified_rows.end() ? no_rows : it->second;
+    }
+
+private:
+    bool is_modified_link_target(realm::Group& group, size_t table_ndx) const
+    {
+        for (auto& entry : m_modified_link_columns) {
+            realm::TableRef origin = group.get_table(entry.first);
+            for (size_t col : entry.second) {
+                if (col < origin->get_column_count() &&
+                        origin->get_link_target(col)->get_index_in_group() == table_ndx) {
+                    return true;
+                }
+            }
+        }
+        // erasing rows drops their lists, which empties the results of queries on them
+        for (size_t origin_ndx : m_tables_with_erased_rows) {
+            realm::TableRef origin = group.get_table(origin_ndx);
+            for (size_t col = 0; col < origin->get_column_count(); ++col) {
+                if (origin->get_column_type(col) == realm::type_LinkList &&
+                        origin->get_link_target(col)->get_index_in_group() == table_ndx) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    std::set<size_t>* current_rows()
+    {
+        if (m_current_table == realm::npos) {
+            return nullptr;
+        }
+        auto it = m_modified_rows.find(m_current_table);
+        return it == m_modified_rows.end() ? nullptr : &it->second;
+    }
+
+    bool mark_row(size_t row_ndx)
+    {
+        if (m_current_table != realm::npos) {
+            m_modified_rows[m_current_table].insert(row_ndx);
+        }
+        return true;
+    }
+
+    void mark_link_column(size_t col_ndx)
+    {
+        if (m_current_table != realm::npos) {
+            m_modified_link_columns[m_current_table].insert(col_ndx);
+        }
+    }
+
+    void mark_rows_erased()
+    {
+        if (m_current_table != realm::npos) {
+            m_tables_with_erased_rows.insert(m_current_table);
+        }
+    }
+
+    std::vector<bool> m_modified_tables;
+    std::map<size_t, std::set<size_t>> m_modified_rows;
+    std::map<size_t, std::set<size_t>> m_modified_link_columns;
+    std::set<size_t> m_tables_with_erased_rows;
+    size_t m_current_table = realm::npos;
+    bool m_schema_changed = false;
+};
+
+#endif // __REALM_MODIFIED_TABLES_OBSERVER__
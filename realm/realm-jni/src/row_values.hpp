@@ -0,0 +1,185 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+#ifndef __REALM_ROW_VALUES__
+#define __REALM_ROW_VALUES__
+
+#include <realm.hpp>
+#include "util.hpp"
+
+// Copies the values of the given columns of a row into the arrays of the caller, see Row.getValues().
+// R is a realm::Row accessor or a realm::RowExpr, so rows can be read without creating a Row accessor.
+template <class R>
+void read_row_values(JNIEnv* env, realm::Table& table, R& row, jlongArray columnIndices, jlongArray longValues,
+                     jdoubleArray doubleValues, jobjectArray objectValues, jbooleanArray nullValues)
+{
+    JniLongArray indices(env, columnIndices);
+    JniLongArray longs(env, longValues);
+    JniDoubleArray doubles(env, doubleValues);
+    JniBooleanArray nulls(env, nullValues);
+
+    for (jsize i = 0; i < indices.len(); ++i) {
+        if (!ColIndexValid(env, &table, indices[i]))
+            return;
+        size_t col = S(indices[i]);
+        bool is_null = table.is_nullable(col) && row.is_null(col);
+        nulls[i] = is_null ? JNI_TRUE : JNI_FALSE;
+        if (is_null)
+            continue;
+
+        switch (table.get_column_type(col)) {
+            case realm::type_Int:
+                longs[i] = row.get_int(col);
+                break;
+            case realm::type_Bool:
+                longs[i] = row.get_bool(col) ? 1 : 0;
+                break;
+            case realm::type_Timestamp:
+                longs[i] = to_milliseconds(row.get_timestamp(col));
+                break;
+            case realm::type_Float:
+                doubles[i] = row.get_float(col);
+                break;
+            case realm::type_Double:
+                doubles[i] = row.get_double(col);
+                break;
+            case realm::type_String: {
+                jstring value = to_jstring(env, row.get_string(col));
+                env->SetObjectArrayElement(objectValues, i, value);
+                env->DeleteLocalRef(value);
+                break;
+            }
+            case realm::type_Binary: {
+                realm::BinaryData bin = row.get_binary(col);
+                if (bin.size() > MAX_JSIZE) {
+                    ThrowException(env, IllegalArgument, "Length of ByteArray is larger than an Int.");
+                    return;
+                }
+                jbyteArray value = env->NewByteArray(static_cast<jsize>(bin.size()));
+                if (!value)
+                    return;
+                env->SetByteArrayRegion(value, 0, static_cast<jsize>(bin.size()), reinterpret_cast<const jbyte*>(bin.data()));
+                env->SetObjectArrayElement(objectValues, i, value);
+                env->DeleteLocalRef(value);
+                break;
+            }
+            default:
+                ThrowException(env, IllegalArgument, "Only value columns can be read in bulk.");
+                return;
+        }
+    }
+    longs.updateOnRelease();
+    doubles.updateOnRelease();
+    nulls.updateOnRelease();
+}
+
+// Writes the i-th value of the arrays of the caller into a cell. Returns false if a Java exception is pending.
+inline bool write_value(JNIEnv* env, realm::Table& table, size_t col, size_t row, jint i, JniLongArray& longs,
+                        JniDoubleArray& doubles, jobjectArray objectValues, JniBooleanArray& nulls)
+{
+    if (nulls[i]) {
+        if (!table.is_nullable(col)) {
+            ThrowException(env, IllegalArgument, "Trying to set a non-nullable field to null.");
+            return false;
+        }
+        table.set_null(col, row);
+        return true;
+    }
+
+    switch (table.get_column_type(col)) {
+        case realm::type_Int:
+            table.set_int(col, row, longs[i]);
+            break;
+        case realm::type_Bool:
+            table.set_bool(col, row, longs[i] != 0);
+            break;
+        case realm::type_Timestamp:
+            table.set_timestamp(col, row, from_milliseconds(longs[i]));
+            break;
+        case realm::type_Float:
+            table.set_float(col, row, static_cast<float>(doubles[i]));
+            break;
+        case realm::type_Double:
+            table.set_double(col, row, doubles[i]);
+            break;
+        case realm::type_String: {
+            jstring value = static_cast<jstring>(env->GetObjectArrayElement(objectValues, i));
+            JStringAccessor str(env, value); // throws
+            table.set_string(col, row, str);
+            env->DeleteLocalRef(value);
+            break;
+        }
+        case realm::type_Binary: {
+            jbyteArray value = static_cast<jbyteArray>(env->GetObjectArrayElement(objectValues, i));
+            jbyte* bytes = env->GetByteArrayElements(value, NULL);
+            if (!bytes) {
+                ThrowException(env, IllegalArgument, "doByteArray");
+                return false;
+            }
+            size_t len = S(env->GetArrayLength(value));
+            table.set_binary(col, row, realm::BinaryData(reinterpret_cast<char*>(bytes), len));
+            env->ReleaseByteArrayElements(value, bytes, JNI_ABORT);
+            env->DeleteLocalRef(value);
+            break;
+        }
+        default:
+            ThrowException(env, IllegalArgument, "Only value columns can be written in bulk.");
+            return false;
+    }
+    return true;
+}
+
+// Writes values from the arrays of the caller into the first count given columns of a row, see Table.setValues().
+inline void write_row_values(JNIEnv* env, realm::Table& table, size_t row, jlongArray columnIndices, jint count,
+                             jlongArray longValues, jdoubleArray doubleValues, jobjectArray objectValues,
+                             jbooleanArray nullValues)
+{
+    JniLongArray indices(env, columnIndices);
+    JniLongArray longs(env, longValues);
+    JniDoubleArray doubles(env, doubleValues);
+    JniBooleanArray nulls(env, nullValues);
+
+    for (jint i = 0; i < count; ++i) {
+        if (!ColIndexValid(env, &table, indices[i]))
+            return;
+        if (!write_value(env, table, S(indices[i]), row, i, longs, doubles, objectValues, nulls))
+            return;
+    }
+}
+
+// Writes values from the arrays of the caller into a column of the first count given rows, see
+// Table.setColumnValues().
+inline void write_column_values(JNIEnv* env, realm::Table& table, size_t col, jlongArray rowIndices, jint count,
+                                jlongArray longValues, jdoubleArray doubleValues, jobjectArray objectValues,
+                                jbooleanArray nullValues)
+{
+    JniLongArray rows(env, rowIndices);
+    JniLongArray longs(env, longValues);
+    JniDoubleArray doubles(env, doubleValues);
+    JniBooleanArray nulls(env, nullValues);
+
+    size_t size = table.size();
+    for (jint i = 0; i < count; ++i) {
+        if (rows[i] < 0 || S(rows[i]) >= size) {
+            ThrowException(env, IndexOutOfBounds, "rowIndex > available rows.");
+            return;
+        }
+        if (!write_value(env, table, col, S(rows[i]), i, longs, doubles, objectValues, nulls))
+            return;
+    }
+}
+
+#endif // __REALM_ROW_VALUES__
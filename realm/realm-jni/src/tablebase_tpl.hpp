@@ -17,6 +17,9 @@
 #ifndef REALM_JNI_TABLEBASE_TPL_HPP
 #define REALM_JNI_TABLEBASE_TPL_HPP
 
+#include <limits>
+#include <vector>
+
 
 template <class T>
 jbyteArray tbl_GetByteArray(JNIEnv* env, jlong nativeTablePtr, jlong columnIndex, jlong rowIndex)
@@ -153,6 +156,105 @@ void tbl_nativeDoMixed(M doMixed, T* pTable, JNIEnv* env, jlong columnIndex, jlo
     ThrowException(env, IllegalArgument, "nativeSetMixed()");
 }
 
+// Bulk column reads for TableView or Table class. The rows [fromRow, toRow) of a column are copied into the
+// caller's array in one JNI call. Rows which are no longer attached are read as default values.
+
+template <class T>
+inline bool tbl_IsRowAttached(T*, size_t)
+{
+    return true;
+}
+
+template <>
+inline bool tbl_IsRowAttached(TableView* pView, size_t rowIndex)
+{
+    return pView->is_row_attached(rowIndex);
+}
+
+template <class T>
+bool tbl_BulkRangeValid(JNIEnv* env, T* pTable, jsize dstLength, jlong fromRow, jlong toRow)
+{
+    if (!ROW_INDEXES_VALID(env, pTable, fromRow, toRow, -1))
+        return false;
+    if (realm::util::int_greater_than(toRow - fromRow, dstLength)) {
+        ThrowException(env, IndexOutOfBounds, "Destination array is too small for the requested range.");
+        return false;
+    }
+    return true;
+}
+
+template <class T>
+void tbl_GetLongs(JNIEnv* env, T* pTable, jlong columnIndex, jlongArray dst, jlong fromRow, jlong toRow)
+{
+    if (!tbl_BulkRangeValid(env, pTable, env->GetArrayLength(dst), fromRow, toRow))
+        return;
+
+    size_t col = S(columnIndex);
+    size_t count = S(toRow - fromRow);
+    std::vector<jlong> values(count);
+    for (size_t i = 0; i < count; ++i) {
+        size_t row = S(fromRow) + i;
+        values[i] = tbl_IsRowAttached(pTable, row) ? pTable->get_int(col, row) : 0; // null is read as 0
+    }
+    env->SetLongArrayRegion(dst, 0, static_cast<jsize>(count), values.data());
+}
+
+template <class T>
+void tbl_GetDoubles(JNIEnv* env, T* pTable, jlong columnIndex, jdoubleArray dst, jlong fromRow, jlong toRow)
+{
+    if (!tbl_BulkRangeValid(env, pTable, env->GetArrayLength(dst), fromRow, toRow))
+        return;
+
+    size_t col = S(columnIndex);
+    DataType type = pTable->get_column_type(col);
+    if (type != type_Double && type != type_Float) {
+        TR_ERR("Expected columnType %d or %d, but got %d.", type_Double, type_Float, type)
+        ThrowException(env, IllegalArgument, "ColumnType invalid: expected type_Double or type_Float");
+        return;
+    }
+
+    size_t count = S(toRow - fromRow);
+    std::vector<jdouble> values(count);
+    for (size_t i = 0; i < count; ++i) {
+        size_t row = S(fromRow) + i;
+        if (!tbl_IsRowAttached(pTable, row) || pTable->is_null(col, row)) {
+            values[i] = std::numeric_limits<jdouble>::quiet_NaN();
+        }
+        else if (type == type_Double) {
+            values[i] = pTable->get_double(col, row);
+        }
+        else {
+            values[i] = pTable->get_float(col, row);
+        }
+    }
+    env->SetDoubleArrayRegion(dst, 0, static_cast<jsize>(count), values.data());
+}
+
+template <class T>
+void tbl_GetStrings(JNIEnv* env, T* pTable, jlong columnIndex, jobjectArray dst, jlong fromRow, jlong toRow)
+{
+    if (!tbl_BulkRangeValid(env, pTable, env->GetArrayLength(dst), fromRow, toRow))
+        return;
+
+    size_t col = S(columnIndex);
+    size_t count = S(toRow - fromRow);
+    for (size_t i = 0; i < count; ++i) {
+        size_t row = S(fromRow) + i;
+        jstring value = NULL;
+        if (tbl_IsRowAttached(pTable, row)) {
+            value = to_jstring(env, pTable->get_string(col, row)); // throws
+        }
+        env->SetObjectArrayElement(dst, static_cast<jsize>(i), value);
+        if (value) {
+            // Keep the local reference table small for big ranges
+            env->DeleteLocalRef(value);
+        }
+        if (env->ExceptionCheck()) {
+            return;
+        }
+    }
+}
+
 template <class R>
 void row_nativeSetMixed(R* pRow, JNIEnv* env, jlong columnIndex, jobject jMixedValue)
 {
@@ -608,6 +608,49 @@ private:
     jint             m_releaseMode;
 };
 
+class JniDoubleArray {
+public:
+    JniDoubleArray(JNIEnv* env, jdoubleArray javaArray)
+        : m_env(env)
+        , m_javaArray(javaArray)
+        , m_arrayLength(env->GetArrayLength(javaArray))
+        , m_array(env->GetDoubleArrayElements(javaArray, NULL))
+        , m_releaseMode(JNI_ABORT) {
+    }
+
+    ~JniDoubleArray()
+    {
+        m_env->ReleaseDoubleArrayElements(m_javaArray, m_array, m_releaseMode);
+    }
+
+    inline jsize len() const noexcept
+    {
+        return m_arrayLength;
+    }
+
+    inline jdouble* ptr() const noexcept
+    {
+        return m_array;
+    }
+
+    inline jdouble& operator[](const int index) noexcept
+    {
+        return m_array[index];
+    }
+
+    inline void updateOnRelease() noexcept
+    {
+        m_releaseMode = 0;
+    }
+
+private:
+    JNIEnv*      const m_env;
+    jdoubleArray const m_javaArray;
+    jsize        const m_arrayLength;
+    jdouble*     const m_array;
+    jint               m_releaseMode;
+};
+
 class JniBooleanArray {
 public:
     JniBooleanArray(JNIEnv* env, jbooleanArray javaArray)
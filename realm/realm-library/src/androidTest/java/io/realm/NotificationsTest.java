@@ -48,11 +48,13 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 import io.realm.entities.AllTypes;
 import io.realm.entities.Dog;
+import io.realm.entities.StringOnly;
 import io.realm.internal.log.Logger;
 import io.realm.internal.log.RealmLog;
 import io.realm.rule.RunInLooperThread;
 import io.realm.rule.RunTestInLooperThread;
 import io.realm.rule.TestRealmConfigurationFactory;
+import io.realm.util.RealmBackgroundTask;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
@@ -1093,6 +1095,103 @@ public class NotificationsTest {
         });
     }
 
+    // The index of a table in the file depends on the order of the model classes, the changed table is tested both
+    // below and above the unchanged one.
+    @Test
+    @RunTestInLooperThread
+    public void listenersOnUnchangedTablesAreNotCalled_tableWithLowerIndexChanged() {
+        Realm realm = looperThread.realm;
+        if (realm.getTable(AllTypes.class).getIndexInGroup() < realm.getTable(StringOnly.class).getIndexInGroup()) {
+            assertListenersOnUnchangedTableAreNotCalled(AllTypes.class, StringOnly.class);
+        } else {
+            assertListenersOnUnchangedTableAreNotCalled(StringOnly.class, AllTypes.class);
+        }
+    }
+
+    @Test
+    @RunTestInLooperThread
+    public void listenersOnUnchangedTablesAreNotCalled_tableWithHigherIndexChanged() {
+        Realm realm = looperThread.realm;
+        if (realm.getTable(AllTypes.class).getIndexInGroup() > realm.getTable(StringOnly.class).getIndexInGroup()) {
+            assertListenersOnUnchangedTableAreNotCalled(AllTypes.class, StringOnly.class);
+        } else {
+            assertListenersOnUnchangedTableAreNotCalled(StringOnly.class, AllTypes.class);
+        }
+    }
+
+    private <E extends RealmModel, U extends RealmModel> void assertListenersOnUnchangedTableAreNotCalled(
+            final Class<E> changedClass, Class<U> unchangedClass) {
+        final AtomicInteger globalListenerCalls = new AtomicInteger(0);
+        final AtomicInteger unchangedResultsCalls = new AtomicInteger(0);
+        final AtomicInteger unchangedObjectCalls = new AtomicInteger(0);
+        final AtomicInteger changedObjectCalls = new AtomicInteger(0);
+        final Realm realm = looperThread.realm;
+        realm.beginTransaction();
+        realm.createObject(changedClass);
+        realm.createObject(unchangedClass);
+        realm.commitTransaction();
+
+        final RealmResults<U> unchangedResults = realm.where(unchangedClass).findAll();
+        unchangedResults.addChangeListener(new RealmChangeListener<RealmResults<U>>() {
+            @Override
+            public void onChange(RealmResults<U> element) {
+                unchangedResultsCalls.incrementAndGet();
+            }
+        });
+        final U unchangedObject = realm.where(unchangedClass).findFirst();
+        RealmObject.addChangeListener(unchangedObject, new RealmChangeListener<U>() {
+            @Override
+            public void onChange(U element) {
+                unchangedObjectCalls.incrementAndGet();
+            }
+        });
+        final E changedObject = realm.where(changedClass).findFirst();
+        RealmObject.addChangeListener(changedObject, new RealmChangeListener<E>() {
+            @Override
+            public void onChange(E element) {
+                changedObjectCalls.incrementAndGet();
+            }
+        });
+        looperThread.keepStrongReference.add(unchangedResults);
+        looperThread.keepStrongReference.add(unchangedObject);
+        looperThread.keepStrongReference.add(changedObject);
+
+        realm.addChangeListener(new RealmChangeListener<Realm>() {
+            @Override
+            public void onChange(Realm element) {
+                switch (globalListenerCalls.getAndIncrement()) {
+                    case 0:
+                        // Change event triggered by the local commit, every table is considered changed.
+                        unchangedResultsCalls.set(0);
+                        unchangedObjectCalls.set(0);
+                        changedObjectCalls.set(0);
+                        new RealmBackgroundTask(looperThread.realmConfiguration) {
+                            @Override
+                            public void doInBackground(Realm realm) {
+                                realm.beginTransaction();
+                                if (changedClass == AllTypes.class) {
+                                    realm.where(AllTypes.class).findFirst().setColumnString("changed");
+                                } else {
+                                    realm.where(StringOnly.class).findFirst().setChars("changed");
+                                }
+                                realm.commitTransaction();
+                            }
+                        }.awaitOrFail();
+                        break;
+                    case 1:
+                        // Only the changed table has been changed by the background commit.
+                        assertEquals(1, changedObjectCalls.get());
+                        assertEquals(0, unchangedResultsCalls.get());
+                        assertEquals(0, unchangedObjectCalls.get());
+                        looperThread.testComplete();
+                        break;
+                    default:
+                        break;
+                }
+            }
+        });
+    }
+
     // We precisely depend on the order of triggering change listeners right now.
     // So it should be:
     // 1. Synced object listener
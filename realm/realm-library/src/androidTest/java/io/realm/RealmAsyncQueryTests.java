@@ -41,8 +41,10 @@ import io.realm.entities.AnnotationIndexTypes;
 import io.realm.entities.Dog;
 import io.realm.entities.NonLatinFieldNames;
 import io.realm.entities.Owner;
+import io.realm.entities.StringOnly;
 import io.realm.instrumentation.MockActivityManager;
 import io.realm.internal.RealmObjectProxy;
+import io.realm.internal.TableOrView;
 import io.realm.internal.async.RealmThreadPoolExecutor;
 import io.realm.internal.log.RealmLog;
 import io.realm.rule.RunInLooperThread;
@@ -50,10 +52,12 @@ import io.realm.rule.RunTestInLooperThread;
 import io.realm.rule.TestRealmConfigurationFactory;
 import io.realm.util.RealmBackgroundTask;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -123,6 +127,87 @@ public class RealmAsyncQueryTests {
         });
     }
 
+    @Test
+    @RunTestInLooperThread
+    public void executeTransactionAsync_customAsyncExecutor() throws Throwable {
+        RealmConfiguration config = configFactory.createConfigurationBuilder()
+                .name("custom_executor.realm")
+                .asyncExecutor(new RealmAsyncExecutor.Builder().queryThreads(1).queryQueueSize(1).build())
+                .build();
+        final Realm realm = Realm.getInstance(config);
+
+        realm.executeTransactionAsync(new Realm.Transaction() {
+            @Override
+            public void execute(Realm realm) {
+                Owner owner = realm.createObject(Owner.class);
+                owner.setName("Owner");
+            }
+        }, new Realm.Transaction.OnSuccess() {
+            @Override
+            public void onSuccess() {
+                final RealmResults<Owner> owners = realm.where(Owner.class).findAllAsync();
+                looperThread.keepStrongReference.add(owners);
+                owners.addChangeListener(new RealmChangeListener<RealmResults<Owner>>() {
+                    @Override
+                    public void onChange(RealmResults<Owner> results) {
+                        assertEquals(1, results.size());
+                        assertEquals("Owner", results.first().getName());
+                        realm.close();
+                        looperThread.testComplete();
+                    }
+                });
+            }
+        });
+    }
+
+    @Test
+    @RunTestInLooperThread
+    public void executeTransactionAsync_coalescedWrites() throws Throwable {
+        RealmConfiguration config = configFactory.createConfigurationBuilder()
+                .name("coalesced_writes.realm")
+                .asyncExecutor(new RealmAsyncExecutor.Builder().coalesceWrites().build())
+                .build();
+        final Realm realm = Realm.getInstance(config);
+        final AtomicInteger successCount = new AtomicInteger(0);
+        final AtomicInteger errorCount = new AtomicInteger(0);
+        final int TRANSACTIONS = 10;
+
+        for (int i = 0; i < TRANSACTIONS; i++) {
+            final int index = i;
+            realm.executeTransactionAsync(new Realm.Transaction() {
+                @Override
+                public void execute(Realm realm) {
+                    if (index == TRANSACTIONS / 2) {
+                        throw new RuntimeException("Failing transaction");
+                    }
+                    realm.createObject(Owner.class).setName("Owner " + index);
+                }
+            }, new Realm.Transaction.OnSuccess() {
+                @Override
+                public void onSuccess() {
+                    successCount.incrementAndGet();
+                    checkCompleted();
+                }
+
+                private void checkCompleted() {
+                    if (successCount.get() + errorCount.get() == TRANSACTIONS) {
+                        assertEquals(1, errorCount.get());
+                        assertEquals(TRANSACTIONS - 1, realm.where(Owner.class).count());
+                        assertEquals(0, realm.where(Owner.class).equalTo("name", "Owner " + TRANSACTIONS / 2).count());
+                        realm.close();
+                        looperThread.testComplete();
+                    }
+                }
+            }, new Realm.Transaction.OnError() {
+                @Override
+                public void onError(Throwable error) {
+                    assertEquals("Failing transaction", error.getMessage());
+                    errorCount.incrementAndGet();
+                }
+            });
+        }
+    }
+
     @Test
     @RunTestInLooperThread
     public void executeTransactionAsync_onError() throws Throwable {
@@ -396,6 +481,161 @@ public class RealmAsyncQueryTests {
         assertEquals(0, results.size());
     }
 
+    // a commit that doesn't touch the table of a loaded async query should not rerun it,
+    // the RealmResults keeps its current TableView. The index of a table in the file depends on
+    // the order of the model classes, both orders are tested.
+    @Test
+    @RunTestInLooperThread
+    public void findAllAsync_unmodifiedTableWithHigherIndexIsNotRerun() throws Throwable {
+        Realm realm = looperThread.realm;
+        if (realm.getTable(StringOnly.class).getIndexInGroup() > realm.getTable(Owner.class).getIndexInGroup()) {
+            assertUnmodifiedTableIsNotRerun(StringOnly.class, Owner.class);
+        } else {
+            assertUnmodifiedTableIsNotRerun(Owner.class, StringOnly.class);
+        }
+    }
+
+    @Test
+    @RunTestInLooperThread
+    public void findAllAsync_unmodifiedTableWithLowerIndexIsNotRerun() throws Throwable {
+        Realm realm = looperThread.realm;
+        if (realm.getTable(StringOnly.class).getIndexInGroup() < realm.getTable(Owner.class).getIndexInGroup()) {
+            assertUnmodifiedTableIsNotRerun(StringOnly.class, Owner.class);
+        } else {
+            assertUnmodifiedTableIsNotRerun(Owner.class, StringOnly.class);
+        }
+    }
+
+    private <E extends RealmModel> void assertUnmodifiedTableIsNotRerun(Class<E> queriedClass,
+                                                                        final Class<? extends RealmModel> modifiedClass) {
+        final Realm realm = looperThread.realm;
+        realm.beginTransaction();
+        realm.createObject(queriedClass);
+        realm.commitTransaction();
+
+        final RealmResults<E> results = realm.where(queriedClass).findAllAsync();
+        looperThread.keepStrongReference.add(results);
+        results.addChangeListener(new RealmChangeListener<RealmResults<E>>() {
+            @Override
+            public void onChange(RealmResults<E> object) {
+                results.removeChangeListener(this);
+                final TableOrView tableView = results.getTable();
+
+                realm.addChangeListener(new RealmChangeListener<Realm>() {
+                    @Override
+                    public void onChange(Realm object) {
+                        assertEquals(1, realm.where(modifiedClass).count());
+                        assertSame(tableView, results.getTable());
+                        assertEquals(1, results.size());
+                        looperThread.testComplete();
+                    }
+                });
+
+                realm.executeTransactionAsync(new Realm.Transaction() {
+                    @Override
+                    public void execute(Realm realm) {
+                        realm.createObject(modifiedClass);
+                    }
+                });
+            }
+        });
+    }
+
+    // the first notification of a collection listener has no change set, the following ones describe
+    // the inserted and modified objects
+    @Test
+    @RunTestInLooperThread
+    public void findAllAsync_collectionChangeListener_insertionsAndModifications() throws Throwable {
+        final Realm realm = looperThread.realm;
+        realm.beginTransaction();
+        realm.createObject(StringOnly.class).setChars("a");
+        realm.createObject(StringOnly.class).setChars("b");
+        realm.createObject(StringOnly.class).setChars("c");
+        realm.commitTransaction();
+
+        final AtomicInteger numberOfNotifications = new AtomicInteger(0);
+        final RealmResults<StringOnly> results = realm.where(StringOnly.class).findAllAsync();
+        looperThread.keepStrongReference.add(results);
+        results.addCollectionChangeListener(new RealmCollectionChangeListener<RealmResults<StringOnly>>() {
+            @Override
+            public void onChange(RealmResults<StringOnly> collection, RealmCollectionChangeSet changeSet) {
+                switch (numberOfNotifications.incrementAndGet()) {
+                    case 1:
+                        assertNull(changeSet);
+                        assertEquals(3, collection.size());
+                        realm.executeTransactionAsync(new Realm.Transaction() {
+                            @Override
+                            public void execute(Realm realm) {
+                                realm.where(StringOnly.class).equalTo("chars", "b").findFirst().setChars("bb");
+                                realm.createObject(StringOnly.class).setChars("d");
+                            }
+                        });
+                        break;
+
+                    case 2:
+                        assertEquals(4, collection.size());
+                        assertArrayEquals(new int[0], changeSet.getDeletions());
+                        assertArrayEquals(new int[] {3}, changeSet.getInsertions());
+                        assertArrayEquals(new int[] {1}, changeSet.getModifications());
+                        assertEquals(0, changeSet.getMoves().length);
+                        assertEquals(1, changeSet.getInsertionRanges().length);
+                        assertEquals(3, changeSet.getInsertionRanges()[0].startIndex);
+                        assertEquals(1, changeSet.getInsertionRanges()[0].length);
+                        looperThread.testComplete();
+                        break;
+
+                    default:
+                        fail("Unexpected notification");
+                }
+            }
+        });
+    }
+
+    @Test
+    @RunTestInLooperThread
+    public void findAllAsync_collectionChangeListener_deletions() throws Throwable {
+        final Realm realm = looperThread.realm;
+        realm.beginTransaction();
+        realm.createObject(StringOnly.class).setChars("a");
+        realm.createObject(StringOnly.class).setChars("b");
+        realm.createObject(StringOnly.class).setChars("c");
+        realm.commitTransaction();
+
+        final AtomicInteger numberOfNotifications = new AtomicInteger(0);
+        final RealmResults<StringOnly> results = realm.where(StringOnly.class).findAllSortedAsync("chars");
+        looperThread.keepStrongReference.add(results);
+        results.addCollectionChangeListener(new RealmCollectionChangeListener<RealmResults<StringOnly>>() {
+            @Override
+            public void onChange(RealmResults<StringOnly> collection, RealmCollectionChangeSet changeSet) {
+                switch (numberOfNotifications.incrementAndGet()) {
+                    case 1:
+                        assertNull(changeSet);
+                        realm.executeTransactionAsync(new Realm.Transaction() {
+                            @Override
+                            public void execute(Realm realm) {
+                                realm.where(StringOnly.class).notEqualTo("chars", "a").findAll().deleteAllFromRealm();
+                            }
+                        });
+                        break;
+
+                    case 2:
+                        assertEquals(1, collection.size());
+                        assertArrayEquals(new int[] {1, 2}, changeSet.getDeletions());
+                        assertEquals(1, changeSet.getDeletionRanges().length);
+                        assertEquals(1, changeSet.getDeletionRanges()[0].startIndex);
+                        assertEquals(2, changeSet.getDeletionRanges()[0].length);
+                        assertArrayEquals(new int[0], changeSet.getInsertions());
+                        assertArrayEquals(new int[0], changeSet.getModifications());
+                        looperThread.testComplete();
+                        break;
+
+                    default:
+                        fail("Unexpected notification");
+                }
+            }
+        });
+    }
+
     // transforming an async query into sync by calling load to force
     // the blocking behaviour
     @Test
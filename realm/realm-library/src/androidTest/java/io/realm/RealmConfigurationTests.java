@@ -512,6 +512,118 @@ public class RealmConfigurationTests {
         }
     }
 
+    @Test
+    public void asyncExecutor_nullThrows() {
+        try {
+            new RealmConfiguration.Builder(configFactory.getRoot()).asyncExecutor(null);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+    }
+
+    @Test
+    public void asyncExecutor_invalidSizesThrows() {
+        try {
+            new RealmAsyncExecutor.Builder().queryThreads(0);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+        try {
+            new RealmAsyncExecutor.Builder().queryQueueSize(0);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+        try {
+            new RealmAsyncExecutor.Builder().writeQueueSize(-1);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+    }
+
+    // Realm instances of the same file must share their async executor.
+    @Test
+    public void asyncExecutor_differentExecutorsThrows() {
+        RealmConfiguration config1 = new RealmConfiguration.Builder(configFactory.getRoot()).build();
+        RealmConfiguration config2 = new RealmConfiguration.Builder(configFactory.getRoot())
+                .asyncExecutor(new RealmAsyncExecutor.Builder().queryThreads(1).build())
+                .build();
+        assertFalse(config1.equals(config2));
+
+        Realm realm1 = Realm.getInstance(config1);
+        try {
+            Realm.getInstance(config2);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        } finally {
+            realm1.close();
+        }
+    }
+
+    @Test
+    public void compactionPolicy_nullThrows() {
+        try {
+            new RealmConfiguration.Builder(configFactory.getRoot()).compactionPolicy(null);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+    }
+
+    @Test
+    public void compactionPolicy_withEncryptionKeyThrows() {
+        RealmConfiguration.Builder builder = new RealmConfiguration.Builder(configFactory.getRoot())
+                .encryptionKey(TestHelper.getRandomKey())
+                .compactionPolicy(new FreeSpaceCompactionPolicy(0.5));
+        try {
+            builder.build();
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+    }
+
+    @Test
+    public void compactOnLaunch_nullThrows() {
+        try {
+            new RealmConfiguration.Builder(configFactory.getRoot()).compactOnLaunch(null);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+    }
+
+    @Test
+    public void compactOnLaunch_withEncryptionKeyThrows() {
+        RealmConfiguration.Builder builder = new RealmConfiguration.Builder(configFactory.getRoot())
+                .encryptionKey(TestHelper.getRandomKey())
+                .compactOnLaunch(new FreeSpaceCompactionPolicy(0.5));
+        try {
+            builder.build();
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+    }
+
+    @Test
+    public void freeSpaceCompactionPolicy() {
+        FreeSpaceCompactionPolicy policy = new FreeSpaceCompactionPolicy(0.5, 1000);
+        assertFalse(policy.shouldCompact(999, 0));
+        assertFalse(policy.shouldCompact(2000, 1000));
+        assertTrue(policy.shouldCompact(2000, 999));
+
+        RealmConfiguration config1 = new RealmConfiguration.Builder(configFactory.getRoot())
+                .compactionPolicy(new FreeSpaceCompactionPolicy(0.5)).build();
+        RealmConfiguration config2 = new RealmConfiguration.Builder(configFactory.getRoot())
+                .compactionPolicy(new FreeSpaceCompactionPolicy(0.5)).build();
+        assertEquals(config1, config2);
+        assertEquals(config1.hashCode(), config2.hashCode());
+
+        for (double ratio : new double[] {-0.1, 1, Double.NaN}) {
+            try {
+                new FreeSpaceCompactionPolicy(ratio);
+                fail();
+            } catch (IllegalArgumentException ignored) {
+            }
+        }
+    }
+
     // It is allowed to create multiple Realm with same name but in different directory
     @Test
     public void constructBuilder_differentDirSameName() throws IOException {
@@ -43,6 +43,7 @@ import io.realm.entities.AllTypes;
 import io.realm.entities.AllTypesPrimaryKey;
 import io.realm.entities.AnnotationTypes;
 import io.realm.entities.Dog;
+import io.realm.entities.DogPrimaryKey;
 import io.realm.entities.NoPrimaryKeyNullTypes;
 import io.realm.entities.NullTypes;
 import io.realm.entities.OwnerPrimaryKey;
@@ -586,6 +587,90 @@ public class RealmJsonTests {
     }
 
 
+    @Test
+    public void createAllFromJson_streamLinksAndUnknownFields() throws IOException {
+        InputStream in = TestHelper.stringToStream("[" +
+                "{ \"columnString\" : \"a\", \"columnLong\" : 1, \"unknown\" : { \"x\" : [1, 2] }," +
+                "  \"columnRealmObject\" : { \"name\" : \"Fido-1\" }," +
+                "  \"columnRealmList\" : [ { \"name\" : \"Fido-2\" }, { \"name\" : \"Fido-3\" } ] }," +
+                "{ \"columnString\" : \"b\", \"columnRealmObject\" : null }" +
+                "]");
+        realm.beginTransaction();
+        realm.createAllFromJson(AllTypes.class, in);
+        realm.commitTransaction();
+        in.close();
+
+        assertEquals(2, realm.where(AllTypes.class).count());
+        assertEquals(3, realm.where(Dog.class).count());
+        AllTypes first = realm.where(AllTypes.class).equalTo(AllTypes.FIELD_STRING, "a").findFirst();
+        assertEquals(1, first.getColumnLong());
+        assertEquals("Fido-1", first.getColumnRealmObject().getName());
+        assertEquals(2, first.getColumnRealmList().size());
+        assertEquals("Fido-3", first.getColumnRealmList().get(1).getName());
+        AllTypes second = realm.where(AllTypes.class).equalTo(AllTypes.FIELD_STRING, "b").findFirst();
+        assertEquals(0, second.getColumnLong());
+        assertNull(second.getColumnRealmObject());
+        assertEquals(0, second.getColumnRealmList().size());
+    }
+
+    @Test
+    public void importAllFromJson_parallel() throws IOException {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < 1000; i++) {
+            json.append(i == 0 ? "" : ",").append("{ \"columnLong\" : ").append(i)
+                    .append(", \"columnString\" : \"a,]}\\\"").append(i).append("\"")
+                    .append(", \"columnRealmList\" : [ { \"name\" : \"Fido-").append(i).append("\" } ] }");
+        }
+        json.append("]");
+
+        realm.importAllFromJson(AllTypes.class, TestHelper.stringToStream(json.toString()), 3);
+
+        assertFalse(realm.isInTransaction());
+        RealmResults<AllTypes> results = realm.where(AllTypes.class).findAll();
+        assertEquals(1000, results.size());
+        assertEquals(1000, realm.where(Dog.class).count());
+        for (int i = 0; i < 1000; i++) {
+            AllTypes obj = results.get(i);
+            assertEquals(i, obj.getColumnLong());
+            assertEquals("a,]}\"" + i, obj.getColumnString());
+            assertEquals("Fido-" + i, obj.getColumnRealmList().first().getName());
+        }
+    }
+
+    @Test
+    public void importAllFromJson_invalidJsonCancelsTransaction() throws IOException {
+        try {
+            realm.importAllFromJson(AllTypes.class, TestHelper.stringToStream("[{ \"columnLong\" : 1 }, { \"columnLong\" : "), 2);
+            fail();
+        } catch (RealmException ignored) {
+        }
+        assertFalse(realm.isInTransaction());
+        assertEquals(0, realm.where(AllTypes.class).count());
+    }
+
+    @Test
+    public void importAllFromJson_invalidFieldTypeThrows() throws IOException {
+        try {
+            realm.importAllFromJson(AllTypes.class, TestHelper.stringToStream("[{ \"columnLong\" : \"abc\" }]"), 2);
+            fail();
+        } catch (RealmException ignored) {
+        }
+        assertFalse(realm.isInTransaction());
+        assertEquals(0, realm.where(AllTypes.class).count());
+    }
+
+    @Test
+    public void importAllFromJson_insideTransactionThrows() throws IOException {
+        realm.beginTransaction();
+        try {
+            realm.importAllFromJson(AllTypes.class, TestHelper.stringToStream("[]"), 2);
+            fail();
+        } catch (IllegalStateException ignored) {
+        } finally {
+            realm.cancelTransaction();
+        }
+    }
+
     // Test if Json object doesn't have the field, then the field should have default value. Stream version.
     @Test
     public void createObjectFromJson_streamNoValues() throws IOException {
@@ -724,6 +809,32 @@ public class RealmJsonTests {
         }
     }
 
+    @Test
+    public void createOrUpdateAllFromJson_streamInvalidFieldTypeThrows() throws IOException {
+        realm.beginTransaction();
+        try {
+            realm.createOrUpdateAllFromJson(AllTypesPrimaryKey.class,
+                    TestHelper.stringToStream("[{ \"columnLong\" : \"abc\" }]"));
+            fail();
+        } catch (RealmException ignored) {
+        } finally {
+            realm.cancelTransaction();
+        }
+    }
+
+    @Test
+    public void createOrUpdateObjectFromJson_streamScalarForObjectThrows() throws IOException {
+        realm.beginTransaction();
+        try {
+            realm.createOrUpdateObjectFromJson(AllTypesPrimaryKey.class,
+                    TestHelper.stringToStream("{ \"columnLong\" : 1, \"columnRealmObject\" : 5 }"));
+            fail();
+        } catch (RealmException ignored) {
+        } finally {
+            realm.cancelTransaction();
+        }
+    }
+
     @Test
     public void createOrUpdateObjectFromJson_streamIgnoreUnsetProperties() throws IOException {
         realm.beginTransaction();
@@ -738,6 +849,26 @@ public class RealmJsonTests {
         assertAllTypesPrimaryKeyUpdated();
     }
 
+    @Test
+    public void createOrUpdateAllFromJson_streamPrimaryKeyLast() throws IOException {
+        realm.beginTransaction();
+        realm.createOrUpdateAllFromJson(AllTypesPrimaryKey.class, TestHelper.stringToStream("[" +
+                "{ \"columnString\" : \"foo\", \"columnFloat\" : 1.5," +
+                "  \"columnRealmList\" : [ { \"id\" : 1 }, { \"id\" : 2 } ], \"columnLong\" : 1 }]"));
+        realm.createOrUpdateAllFromJson(AllTypesPrimaryKey.class, TestHelper.stringToStream("[" +
+                "{ \"columnString\" : \"bar\", \"columnRealmList\" : [ { \"id\" : 2, \"name\" : \"Fido\" } ]," +
+                "  \"columnLong\" : 1 }]"));
+        realm.commitTransaction();
+
+        assertEquals(1, realm.where(AllTypesPrimaryKey.class).count());
+        assertEquals(2, realm.where(DogPrimaryKey.class).count());
+        AllTypesPrimaryKey obj = realm.where(AllTypesPrimaryKey.class).findFirst();
+        assertEquals("bar", obj.getColumnString());
+        assertEquals(1.5F, obj.getColumnFloat(), 0F);
+        assertEquals(1, obj.getColumnRealmList().size());
+        assertEquals("Fido", obj.getColumnRealmList().first().getName());
+    }
+
     @Test
     public void createOrUpdateObjectFromJson_inputStream() throws IOException {
         realm.beginTransaction();
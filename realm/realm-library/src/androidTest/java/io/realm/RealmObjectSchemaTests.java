@@ -31,6 +31,7 @@ import java.util.Set;
 import io.realm.entities.AllJavaTypes;
 import io.realm.rule.TestRealmConfigurationFactory;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
@@ -730,6 +731,37 @@ public class RealmObjectSchemaTests {
         schema.getPrimaryKey();
     }
 
+    @Test
+    public void getColumnIndices_invalidatedByRemoveField() {
+        schema.addField("a", String.class);
+        schema.addField("b", int.class);
+        assertArrayEquals(new long[] {1}, schema.getColumnIndices("b", RealmFieldType.INTEGER));
+
+        schema.removeField("a");
+        assertArrayEquals(new long[] {0}, schema.getColumnIndices("b", RealmFieldType.INTEGER));
+    }
+
+    @Test
+    public void getColumnIndices_linkedFieldInvalidatedByRenameField() {
+        schema.addRealmObjectField("dog", DOG_SCHEMA);
+        long[] indices = schema.getColumnIndices("dog.name", RealmFieldType.STRING);
+        assertEquals(2, indices.length);
+        assertArrayEquals(indices, schema.getColumnIndices("dog.name", RealmFieldType.STRING));
+
+        DOG_SCHEMA.renameField("name", "title");
+        thrown.expect(IllegalArgumentException.class);
+        schema.getColumnIndices("dog.name", RealmFieldType.STRING);
+    }
+
+    @Test
+    public void getColumnIndices_cachedFieldStillChecksType() {
+        schema.addField("a", String.class);
+        schema.getColumnIndices("a", RealmFieldType.STRING);
+
+        thrown.expect(IllegalArgumentException.class);
+        schema.getColumnIndices("a", RealmFieldType.INTEGER);
+    }
+
     private interface FieldRunnable {
         void run(String fieldName);
     }
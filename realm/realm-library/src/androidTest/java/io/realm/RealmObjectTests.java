@@ -50,7 +50,9 @@ import io.realm.entities.NullTypes;
 import io.realm.entities.StringAndInt;
 import io.realm.internal.RealmObjectProxy;
 import io.realm.internal.Row;
+import io.realm.internal.RowRef;
 import io.realm.internal.Table;
+import io.realm.internal.UncheckedRow;
 import io.realm.rule.RunInLooperThread;
 import io.realm.rule.RunTestInLooperThread;
 import io.realm.rule.TestRealmConfigurationFactory;
@@ -967,6 +969,68 @@ public class RealmObjectTests {
         assertTrue(allTypes.isValid());
     }
 
+    @Test
+    public void snapshot() {
+        Date date = new Date(1000);
+        realm.beginTransaction();
+        AllTypes allTypes = realm.createObject(AllTypes.class);
+        allTypes.setColumnString("foo");
+        allTypes.setColumnLong(42);
+        allTypes.setColumnFloat(1.5F);
+        allTypes.setColumnDouble(2.5D);
+        allTypes.setColumnBoolean(true);
+        allTypes.setColumnDate(date);
+        allTypes.setColumnBinary(new byte[] {1, 2, 3});
+        allTypes.setColumnRealmObject(realm.createObject(Dog.class));
+        realm.commitTransaction();
+
+        AllTypes snapshot = RealmObject.snapshot(allTypes);
+        assertFalse(snapshot.isValid());
+        assertEquals("foo", snapshot.getColumnString());
+        assertEquals(42, snapshot.getColumnLong());
+        assertEquals(1.5F, snapshot.getColumnFloat(), 0F);
+        assertEquals(2.5D, snapshot.getColumnDouble(), 0D);
+        assertTrue(snapshot.isColumnBoolean());
+        assertEquals(date, snapshot.getColumnDate());
+        assertArrayEquals(new byte[] {1, 2, 3}, snapshot.getColumnBinary());
+        assertNull(snapshot.getColumnRealmObject());
+        assertNull(snapshot.getColumnRealmList());
+    }
+
+    @Test
+    public void snapshot_nullValues() {
+        realm.beginTransaction();
+        NullTypes nullTypes = realm.createObject(NullTypes.class);
+        nullTypes.setFieldIntegerNull(null);
+        nullTypes.setFieldStringNull(null);
+        nullTypes.setFieldDateNull(null);
+        nullTypes.setFieldIntegerNotNull(7);
+        realm.commitTransaction();
+
+        NullTypes snapshot = RealmObject.snapshot(nullTypes);
+        assertNull(snapshot.getFieldIntegerNull());
+        assertNull(snapshot.getFieldStringNull());
+        assertNull(snapshot.getFieldDateNull());
+        assertEquals(Integer.valueOf(7), snapshot.getFieldIntegerNotNull());
+    }
+
+    @Test
+    public void snapshot_unmanagedObjectThrows() {
+        thrown.expect(IllegalArgumentException.class);
+        RealmObject.snapshot(new AllTypes());
+    }
+
+    @Test
+    public void snapshot_deletedObjectThrows() {
+        realm.beginTransaction();
+        AllTypes allTypes = realm.createObject(AllTypes.class);
+        allTypes.deleteFromRealm();
+        realm.commitTransaction();
+
+        thrown.expect(IllegalArgumentException.class);
+        RealmObject.snapshot(allTypes);
+    }
+
     // store and retrieve null values for nullable fields
     @Test
     public void set_get_nullOnNullableFields() {
@@ -1811,4 +1875,37 @@ public class RealmObjectTests {
             assertNotNull(query);
         }
     }
+
+    @Test
+    public void rowReferences_promotedBeforeWriteTransaction() {
+        RealmConfiguration config = configFactory.createConfigurationBuilder()
+                .name("rowrefs.realm")
+                .rowReferences()
+                .build();
+        Realm rowRefRealm = Realm.getInstance(config);
+        //noinspection TryFinallyCanBeTryWithResources
+        try {
+            rowRefRealm.beginTransaction();
+            for (int i = 0; i < 3; i++) {
+                rowRefRealm.createObject(Dog.class).setName("Dog " + i);
+            }
+            rowRefRealm.commitTransaction();
+
+            Dog lastDog = rowRefRealm.where(Dog.class).equalTo("name", "Dog 2").findFirst();
+            assertTrue(((RealmObjectProxy) lastDog).realmGet$proxyState().getRow$realm() instanceof RowRef);
+            assertEquals("Dog 2", lastDog.getName());
+
+            rowRefRealm.beginTransaction();
+            assertTrue(((RealmObjectProxy) lastDog).realmGet$proxyState().getRow$realm() instanceof UncheckedRow);
+            // moves the last row to the index of the deleted one
+            rowRefRealm.where(Dog.class).equalTo("name", "Dog 0").findFirst().deleteFromRealm();
+            assertEquals("Dog 2", lastDog.getName());
+            rowRefRealm.commitTransaction();
+
+            assertTrue(lastDog.isValid());
+            assertEquals("Dog 2", lastDog.getName());
+        } finally {
+            rowRefRealm.close();
+        }
+    }
 }
@@ -2641,4 +2641,75 @@ public class RealmQueryTests {
         } catch (IllegalArgumentException ignored) {
         }
     }
+
+    @Test
+    public void compile_bindAndRerun() {
+        populateTestRealm(realm, 100);
+
+        RealmCompiledQuery<AllTypes> query = realm.where(AllTypes.class)
+                .beginsWith(AllTypes.FIELD_STRING, "test data ")
+                .compile()
+                .greaterThanOrEqualTo(AllTypes.FIELD_LONG)
+                .lessThan(AllTypes.FIELD_LONG);
+        assertEquals(2, query.getSlotCount());
+
+        assertEquals(10, query.bindLong(0, 0).bindLong(1, 10).findAll().size());
+        assertEquals(50, query.bindLong(0, 50).bindLong(1, 200).count());
+        assertEquals(42, query.bindLong(0, 42).findFirst().getColumnLong());
+    }
+
+    @Test
+    public void compile_templateNotAffectedByLaterConditions() {
+        populateTestRealm(realm, TEST_DATA_SIZE);
+
+        RealmQuery<AllTypes> realmQuery = realm.where(AllTypes.class);
+        RealmCompiledQuery<AllTypes> compiledQuery = realmQuery.compile();
+        realmQuery.equalTo(AllTypes.FIELD_LONG, 0);
+
+        assertEquals(TEST_DATA_SIZE, compiledQuery.count());
+        assertEquals(1, realmQuery.count());
+    }
+
+    @Test
+    public void compile_bindNull() {
+        realm.beginTransaction();
+        NullTypes fooObject = new NullTypes();
+        fooObject.setId(0);
+        fooObject.setFieldStringNull("foo");
+        realm.copyToRealm(fooObject);
+        NullTypes nullObject = new NullTypes();
+        nullObject.setId(1);
+        nullObject.setFieldStringNull(null);
+        realm.copyToRealm(nullObject);
+        realm.commitTransaction();
+
+        RealmCompiledQuery<NullTypes> query = realm.where(NullTypes.class).compile()
+                .equalTo(NullTypes.FIELD_STRING_NULL);
+        assertEquals(1, query.bindNull(0).findFirst().getId());
+        assertEquals(0, query.bindString(0, "foo").findFirst().getId());
+    }
+
+    @Test
+    public void compile_unboundSlotThrows() {
+        RealmCompiledQuery<AllTypes> query = realm.where(AllTypes.class).compile().equalTo(AllTypes.FIELD_LONG);
+
+        thrown.expect(IllegalStateException.class);
+        query.findAll();
+    }
+
+    @Test
+    public void compile_bindWrongTypeThrows() {
+        RealmCompiledQuery<AllTypes> query = realm.where(AllTypes.class).compile().equalTo(AllTypes.FIELD_LONG);
+
+        thrown.expect(IllegalArgumentException.class);
+        query.bindString(0, "foo");
+    }
+
+    @Test
+    public void compile_unsupportedFieldTypeThrows() {
+        RealmCompiledQuery<AllTypes> query = realm.where(AllTypes.class).compile();
+
+        thrown.expect(IllegalArgumentException.class);
+        query.greaterThan(AllTypes.FIELD_STRING);
+    }
 }
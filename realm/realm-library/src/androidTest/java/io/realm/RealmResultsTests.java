@@ -49,6 +49,7 @@ import io.realm.rule.TestRealmConfigurationFactory;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -111,6 +112,102 @@ public class RealmResultsTests extends CollectionTests {
         assertEquals(Integer.MAX_VALUE, targetResult.size());
     }
 
+    @Test
+    public void getLongs() {
+        long[] values = new long[10];
+        collection.getLongs(AllTypes.FIELD_LONG, values, 5, 15);
+        for (int i = 0; i < values.length; i++) {
+            assertEquals(5 + i, values[i]);
+        }
+    }
+
+    @Test
+    public void getDoubles() {
+        double[] doubles = new double[10];
+        collection.getDoubles(AllTypes.FIELD_DOUBLE, doubles, 0, 10);
+        double[] floats = new double[10];
+        collection.getDoubles(AllTypes.FIELD_FLOAT, floats, 0, 10);
+        for (int i = 0; i < doubles.length; i++) {
+            assertEquals(3.1415 + i, doubles[i], 0.0000001D);
+            assertEquals(1.234567f + i, (float) floats[i], 0.0000001F);
+        }
+    }
+
+    @Test
+    public void getStrings() {
+        String[] values = new String[3];
+        collection.getStrings(AllTypes.FIELD_STRING, values, TEST_DATA_SIZE - 3, TEST_DATA_SIZE);
+        for (int i = 0; i < values.length; i++) {
+            assertEquals("test data " + (TEST_DATA_SIZE - 3 + i), values[i]);
+        }
+    }
+
+    @Test
+    public void getLongs_emptyRange() {
+        long[] values = new long[0];
+        collection.getLongs(AllTypes.FIELD_LONG, values, 0, 0);
+    }
+
+    @Test
+    public void getLongs_wrongFieldType() {
+        thrown.expect(IllegalArgumentException.class);
+        collection.getLongs(AllTypes.FIELD_STRING, new long[1], 0, 1);
+    }
+
+    @Test
+    public void getLongs_invalidRange() {
+        thrown.expect(IndexOutOfBoundsException.class);
+        collection.getLongs(AllTypes.FIELD_LONG, new long[2], TEST_DATA_SIZE - 1, TEST_DATA_SIZE + 1);
+    }
+
+    @Test
+    public void getLongs_destinationTooSmall() {
+        thrown.expect(IllegalArgumentException.class);
+        collection.getLongs(AllTypes.FIELD_LONG, new long[1], 0, 2);
+    }
+
+    @Test
+    public void forEachRow() {
+        RealmResults<AllTypes> results = realm.where(AllTypes.class).findAllSorted(AllTypes.FIELD_LONG, Sort.DESCENDING);
+        final AtomicInteger count = new AtomicInteger(0);
+        final AllTypes[] firstObject = new AllTypes[1];
+        results.forEachRow(new RealmRowConsumer<AllTypes>() {
+            @Override
+            public void accept(AllTypes object) {
+                if (firstObject[0] == null) {
+                    firstObject[0] = object;
+                }
+                // the same object is moved over the rows
+                assertSame(firstObject[0], object);
+                long expected = TEST_DATA_SIZE - 1 - count.getAndIncrement();
+                assertEquals(expected, object.getColumnLong());
+                assertEquals("test data " + expected, object.getColumnString());
+            }
+        });
+        assertEquals(TEST_DATA_SIZE, count.get());
+    }
+
+    @Test
+    public void forEachRow_readsListOfEachRow() {
+        final AtomicInteger count = new AtomicInteger(0);
+        collection.forEachRow(new RealmRowConsumer<AllTypes>() {
+            @Override
+            public void accept(AllTypes object) {
+                // each row links to its own dog, the list read from the previous row must not be reused
+                RealmList<Dog> dogs = object.getColumnRealmList();
+                assertEquals(1, dogs.size());
+                assertEquals("Foo " + count.getAndIncrement(), dogs.first().getName());
+            }
+        });
+        assertEquals(TEST_DATA_SIZE, count.get());
+    }
+
+    @Test
+    public void forEachRow_nullConsumer() {
+        thrown.expect(IllegalArgumentException.class);
+        collection.forEachRow(null);
+    }
+
     @Test
     public void subList() {
         RealmResults<AllTypes> list = realm.where(AllTypes.class).findAll();
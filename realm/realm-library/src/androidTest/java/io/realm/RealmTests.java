@@ -42,10 +42,12 @@ import org.junit.runner.RunWith;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
 import java.util.Scanner;
 import java.util.concurrent.Callable;
@@ -86,7 +88,12 @@ import io.realm.entities.PrimaryKeyRequiredAsString;
 import io.realm.entities.StringOnly;
 import io.realm.exceptions.RealmException;
 import io.realm.exceptions.RealmIOException;
+import io.realm.exceptions.RealmMigrationNeededException;
 import io.realm.exceptions.RealmPrimaryKeyConstraintException;
+import io.realm.internal.ColumnIndices;
+import io.realm.internal.SharedGroup;
+import io.realm.internal.Table;
+import io.realm.internal.WriteTransaction;
 import io.realm.internal.log.RealmLog;
 import io.realm.objectid.NullPrimaryKey;
 import io.realm.rule.RunInLooperThread;
@@ -101,6 +108,7 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -1020,6 +1028,262 @@ public class RealmTests {
         assertTrue(before >= after);
     }
 
+    @Test
+    public void compactionPolicy_askedWhenLastInstanceClosed() {
+        final CountDownLatch policyAsked = new CountDownLatch(1);
+        final AtomicLong total = new AtomicLong();
+        final AtomicLong used = new AtomicLong();
+        RealmConfiguration realmConfig = configFactory.createConfigurationBuilder()
+                .name("policy.realm")
+                .compactionPolicy(new CompactionPolicy() {
+                    @Override
+                    public boolean shouldCompact(long totalBytes, long usedBytes) {
+                        total.set(totalBytes);
+                        used.set(usedBytes);
+                        policyAsked.countDown();
+                        return false;
+                    }
+                })
+                .build();
+        Realm realm = Realm.getInstance(realmConfig);
+        populateTestRealm(realm, 1000);
+        realm.beginTransaction();
+        realm.deleteAll();
+        realm.commitTransaction();
+        Realm secondInstance = Realm.getInstance(realmConfig);
+        realm.close();
+        // Other instances are still open
+        assertEquals(1, policyAsked.getCount());
+        secondInstance.close();
+
+        TestHelper.awaitOrFail(policyAsked);
+        assertTrue(used.get() > 0);
+        assertTrue(used.get() < total.get());
+        assertTrue(total.get() <= new File(realmConfig.getPath()).length());
+    }
+
+    @Test
+    public void compactOnLaunch() {
+        RealmConfiguration realmConfig = configFactory.createConfiguration("launch.realm");
+        Realm realm = Realm.getInstance(realmConfig);
+        populateTestRealm(realm, 1000);
+        realm.beginTransaction();
+        realm.deleteAll();
+        realm.commitTransaction();
+        realm.close();
+        long before = new File(realmConfig.getPath()).length();
+
+        final AtomicLong calls = new AtomicLong();
+        final AtomicLong total = new AtomicLong();
+        final AtomicLong used = new AtomicLong();
+        RealmConfiguration launchConfig = configFactory.createConfigurationBuilder()
+                .name("launch.realm")
+                .compactOnLaunch(new CompactionPolicy() {
+                    @Override
+                    public boolean shouldCompact(long totalBytes, long usedBytes) {
+                        calls.incrementAndGet();
+                        total.set(totalBytes);
+                        used.set(usedBytes);
+                        return true;
+                    }
+                })
+                .build();
+        realm = Realm.getInstance(launchConfig);
+        assertEquals(1, calls.get());
+        assertTrue(total.get() <= before);
+        assertTrue(used.get() > 0);
+        assertTrue(used.get() < total.get());
+        assertTrue(new File(realmConfig.getPath()).length() < before);
+        assertEquals(0, realm.where(AllTypes.class).count());
+
+        // The policy is only asked before the first instance is opened
+        Realm secondInstance = Realm.getInstance(launchConfig);
+        secondInstance.close();
+        realm.close();
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void compactOnLaunch_policyDeclines() {
+        RealmConfiguration realmConfig = configFactory.createConfiguration("launch.realm");
+        Realm realm = Realm.getInstance(realmConfig);
+        populateTestRealm(realm, 100);
+        realm.close();
+        long before = new File(realmConfig.getPath()).length();
+
+        RealmConfiguration launchConfig = configFactory.createConfigurationBuilder()
+                .name("launch.realm")
+                .compactOnLaunch(new CompactionPolicy() {
+                    @Override
+                    public boolean shouldCompact(long totalBytes, long usedBytes) {
+                        return false;
+                    }
+                })
+                .build();
+        realm = Realm.getInstance(launchConfig);
+        assertEquals(before, new File(realmConfig.getPath()).length());
+        assertEquals(100, realm.where(AllTypes.class).count());
+        realm.close();
+    }
+
+    @Test
+    public void schemaFingerprint_storedOnceValidated() {
+        long fingerprint = realm.getConfiguration().getSchemaMediator().getSchemaFingerprint();
+        assertTrue(fingerprint != 0);
+        assertEquals(fingerprint, realm.getSchemaFingerprint());
+
+        // A Realm with another schema validates the file again
+        RealmConfiguration subsetConfig = configFactory.createConfigurationBuilder()
+                .name("subset.realm")
+                .schema(AllTypes.class, Dog.class, Owner.class, Cat.class)
+                .build();
+        Realm subsetRealm = Realm.getInstance(subsetConfig);
+        long subsetFingerprint = subsetConfig.getSchemaMediator().getSchemaFingerprint();
+        assertTrue(subsetFingerprint != fingerprint);
+        assertEquals(subsetFingerprint, subsetRealm.getSchemaFingerprint());
+        subsetRealm.close();
+    }
+
+    @Test
+    public void schemaFingerprint_clearedByDynamicRealmTransaction() {
+        RealmConfiguration realmConfig = realm.getConfiguration();
+        realm.close();
+        realm = null;
+        DynamicRealm dynamicRealm = DynamicRealm.getInstance(realmConfig);
+        dynamicRealm.beginTransaction();
+        dynamicRealm.getSchema().get(AllTypes.CLASS_NAME).addField("newField", int.class);
+        dynamicRealm.commitTransaction();
+        assertEquals(0, dynamicRealm.getSchemaFingerprint());
+        dynamicRealm.close();
+
+        // The changed schema is detected by the full validation
+        try {
+            realm = Realm.getInstance(realmConfig);
+            fail();
+        } catch (RealmMigrationNeededException expected) {
+        }
+    }
+
+    @Test
+    public void prewarm_nullThrows() {
+        try {
+            Realm.prewarm(null);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    @Test
+    public void prewarm() {
+        RealmConfiguration realmConfig = configFactory.createConfiguration("prewarm.realm");
+        RealmCache.prewarm(realmConfig);
+        // Nothing is open until the first instance is requested
+        RealmCache.invokeWithGlobalRefCount(realmConfig, new RealmCache.Callback() {
+            @Override
+            public void onResult(int count) {
+                assertEquals(0, count);
+            }
+        });
+
+        RealmCache.prewarm(realmConfig);
+        Realm prewarmedRealm = Realm.getInstance(realmConfig);
+        prewarmedRealm.beginTransaction();
+        prewarmedRealm.createObject(AllTypes.class).setColumnString("prewarmed");
+        prewarmedRealm.commitTransaction();
+        assertEquals("prewarmed", prewarmedRealm.where(AllTypes.class).findFirst().getColumnString());
+        prewarmedRealm.close();
+        assertTrue(Realm.deleteRealm(realmConfig));
+    }
+
+    @Test
+    public void prewarm_firstInstanceWithOtherConfiguration() {
+        RealmCache.prewarm(configFactory.createConfiguration("prewarm.realm"));
+        RealmConfiguration otherConfig = configFactory.createConfigurationBuilder()
+                .name("prewarm.realm")
+                .compactOnLaunch(new FreeSpaceCompactionPolicy(0.5))
+                .build();
+        // The prewarmed configuration is dropped instead of conflicting with this one
+        Realm otherRealm = Realm.getInstance(otherConfig);
+        assertEquals(otherConfig, otherRealm.getConfiguration());
+        otherRealm.close();
+    }
+
+    // Returns the column indices kept by the RealmCache of a file for its next typed Realm
+    private static ColumnIndices getCachedColumnIndices(RealmConfiguration realmConfig)
+            throws NoSuchFieldException, IllegalAccessException {
+        Field cachesMapField = RealmCache.class.getDeclaredField("cachesMap");
+        cachesMapField.setAccessible(true);
+        Field columnIndicesField = RealmCache.class.getDeclaredField("typedColumnIndices");
+        columnIndicesField.setAccessible(true);
+        Map<?, ?> cachesMap = (Map<?, ?>) cachesMapField.get(null);
+        return (ColumnIndices) columnIndicesField.get(cachesMap.get(realmConfig.getPath()));
+    }
+
+    @Test
+    public void prewarm_firstInstanceReusesColumnIndices() throws NoSuchFieldException, IllegalAccessException {
+        RealmConfiguration realmConfig = configFactory.createConfiguration("prewarm.realm");
+        RealmCache.prewarm(realmConfig);
+        ColumnIndices prewarmedIndices = getCachedColumnIndices(realmConfig);
+        assertNotNull(prewarmedIndices);
+
+        Realm prewarmedRealm = Realm.getInstance(realmConfig);
+        assertSame(prewarmedIndices, prewarmedRealm.schema.columnIndices);
+        prewarmedRealm.close();
+    }
+
+    @Test
+    public void prewarm_columnIndicesDroppedWhenDynamicRealmChangesSchema()
+            throws NoSuchFieldException, IllegalAccessException {
+        RealmConfiguration realmConfig = configFactory.createConfiguration("prewarm.realm");
+        RealmCache.prewarm(realmConfig);
+        ColumnIndices prewarmedIndices = getCachedColumnIndices(realmConfig);
+
+        // Moves the column of the field to the end of the table, the schema stays valid
+        DynamicRealm dynamicRealm = DynamicRealm.getInstance(realmConfig);
+        dynamicRealm.beginTransaction();
+        dynamicRealm.getSchema().get("AllTypes")
+                .removeField(AllTypes.FIELD_LONG)
+                .addField(AllTypes.FIELD_LONG, long.class);
+        dynamicRealm.commitTransaction();
+
+        Realm typedRealm = Realm.getInstance(realmConfig);
+        assertNotSame(prewarmedIndices, typedRealm.schema.columnIndices);
+        assertEquals(typedRealm.getTable(AllTypes.class).getColumnIndex(AllTypes.FIELD_LONG),
+                typedRealm.schema.columnIndices.getColumnIndex(AllTypes.class, AllTypes.FIELD_LONG));
+        typedRealm.close();
+        dynamicRealm.close();
+    }
+
+    @Test
+    public void prewarm_columnIndicesDroppedAfterExternalSchemaChange()
+            throws NoSuchFieldException, IllegalAccessException {
+        RealmConfiguration realmConfig = configFactory.createConfiguration("prewarm.realm");
+        RealmCache.prewarm(realmConfig);
+        ColumnIndices prewarmedIndices = getCachedColumnIndices(realmConfig);
+
+        // Changes the file the way a DynamicRealm in another process would, without going through the RealmCache
+        SharedGroup sharedGroup = new SharedGroup(realmConfig.getPath(), SharedGroup.Durability.FULL, null);
+        WriteTransaction transaction = sharedGroup.beginWrite();
+        try {
+            Table table = transaction.getTable(Table.TABLE_PREFIX + "AllTypes");
+            table.removeColumn(table.getColumnIndex(AllTypes.FIELD_LONG));
+            table.addColumn(RealmFieldType.INTEGER, AllTypes.FIELD_LONG, false);
+            Table metadataTable = transaction.getTable(Table.METADATA_TABLE_NAME);
+            metadataTable.setLong(metadataTable.getColumnIndex("schema_fingerprint"), 0, 0);
+            transaction.commit();
+        } finally {
+            sharedGroup.close();
+        }
+
+        Realm typedRealm = Realm.getInstance(realmConfig);
+        assertNotSame(prewarmedIndices, typedRealm.schema.columnIndices);
+        typedRealm.beginTransaction();
+        typedRealm.createObject(AllTypes.class).setColumnLong(42);
+        typedRealm.commitTransaction();
+        assertEquals(42, typedRealm.where(AllTypes.class).findFirst().getColumnLong());
+        typedRealm.close();
+    }
+
     @Test
     public void copyToRealm_null() {
         realm.beginTransaction();
@@ -1704,6 +1968,105 @@ public class RealmTests {
         TestHelper.awaitOrFail(bgThreadDoneLatch);
     }
 
+    @Test
+    public void insert_objectsWithLinks() {
+        Dog dog = new Dog("Fido");
+        dog.setAge(3);
+        dog.setBirthday(new Date(1000));
+        Owner owner = new Owner();
+        owner.setName("Kiba");
+        owner.setDogs(new RealmList<Dog>(dog, new Dog("Akamaru")));
+        dog.setOwner(owner);
+
+        List<AllTypes> objects = new ArrayList<AllTypes>();
+        for (int i = 0; i < 1000; i++) {
+            AllTypes allTypes = new AllTypes();
+            allTypes.setColumnString("String " + i);
+            allTypes.setColumnLong(i);
+            allTypes.setColumnDouble(i * 1.5D);
+            allTypes.setColumnBoolean(i % 2 == 0);
+            allTypes.setColumnRealmObject(dog);
+            objects.add(allTypes);
+        }
+
+        realm.beginTransaction();
+        realm.insert(objects);
+        realm.commitTransaction();
+
+        // Objects reachable several times are only inserted once
+        assertEquals(1000, realm.where(AllTypes.class).count());
+        assertEquals(2, realm.where(Dog.class).count());
+        assertEquals(1, realm.where(Owner.class).count());
+        AllTypes allTypes = realm.where(AllTypes.class).equalTo("columnLong", 999).findFirst();
+        assertEquals("String 999", allTypes.getColumnString());
+        assertEquals(1498.5D, allTypes.getColumnDouble(), 0D);
+        assertFalse(allTypes.isColumnBoolean());
+        assertEquals("Fido", allTypes.getColumnRealmObject().getName());
+        assertEquals(3, allTypes.getColumnRealmObject().getAge());
+        assertEquals(new Date(1000), allTypes.getColumnRealmObject().getBirthday());
+        assertEquals(2, allTypes.getColumnRealmObject().getOwner().getDogs().size());
+        assertEquals("Akamaru", realm.where(Owner.class).findFirst().getDogs().get(1).getName());
+    }
+
+    @Test
+    public void insert_managedObjectIsNotCopied() {
+        realm.beginTransaction();
+        Dog managedDog = realm.createObject(Dog.class);
+        managedDog.setName("Fido");
+        Owner owner = new Owner();
+        owner.setDogs(new RealmList<Dog>(managedDog));
+        realm.insert(Arrays.asList(owner, owner));
+        realm.insert(managedDog);
+        realm.commitTransaction();
+
+        assertEquals(1, realm.where(Owner.class).count());
+        assertEquals(1, realm.where(Dog.class).count());
+        assertEquals("Fido", realm.where(Owner.class).findFirst().getDogs().first().getName());
+    }
+
+    @Test
+    public void insert_objectsBeforeFailureKeepTheirValues() {
+        realm.beginTransaction();
+        try {
+            realm.insert(Arrays.asList(new PrimaryKeyAsString("foo", 1), new PrimaryKeyAsString("foo", 2)));
+            fail();
+        } catch (RealmPrimaryKeyConstraintException ignored) {
+        }
+
+        // the values buffered for the first object were written before the exception was thrown
+        assertEquals(1, realm.where(PrimaryKeyAsString.class).count());
+        assertEquals(1, realm.where(PrimaryKeyAsString.class).equalTo("name", "foo").findFirst().getId());
+        realm.cancelTransaction();
+    }
+
+    @Test
+    public void insert_outsideTransactionThrows() {
+        thrown.expect(IllegalStateException.class);
+        realm.insert(new Dog());
+    }
+
+    @Test
+    public void insertOrUpdate_updatesExistingObject() {
+        realm.beginTransaction();
+        realm.copyToRealm(new PrimaryKeyAsString("foo", 1));
+        realm.commitTransaction();
+
+        realm.beginTransaction();
+        realm.insertOrUpdate(Arrays.asList(new PrimaryKeyAsString("foo", 2), new PrimaryKeyAsString("bar", 3)));
+        realm.commitTransaction();
+
+        assertEquals(2, realm.where(PrimaryKeyAsString.class).count());
+        assertEquals(2, realm.where(PrimaryKeyAsString.class).equalTo("name", "foo").findFirst().getId());
+        assertEquals(3, realm.where(PrimaryKeyAsString.class).equalTo("name", "bar").findFirst().getId());
+    }
+
+    @Test
+    public void insertOrUpdate_noPrimaryKeyThrows() {
+        realm.beginTransaction();
+        thrown.expect(IllegalArgumentException.class);
+        realm.insertOrUpdate(new Dog());
+    }
+
     @Test
     public void getInstance_differentEncryptionKeys() {
         byte[] key1 = TestHelper.getRandomKey(42);
@@ -2554,6 +2917,28 @@ public class RealmTests {
         assertTrue(copyC == copyA.getObjects().get(1));
     }
 
+    // Objects reached through different proxies of the same row are only copied once
+    @Test
+    public void copyFromRealm_largeCyclicObjectGraph() {
+        realm.beginTransaction();
+        Owner owner = realm.createObject(Owner.class);
+        for (int i = 0; i < 1000; i++) {
+            Dog dog = realm.createObject(Dog.class);
+            dog.setName("Dog " + i);
+            dog.setOwner(owner);
+            owner.getDogs().add(dog);
+        }
+        realm.commitTransaction();
+
+        Owner copy = realm.copyFromRealm(owner);
+        assertEquals(1000, copy.getDogs().size());
+        for (int i = 0; i < 1000; i++) {
+            Dog dog = copy.getDogs().get(i);
+            assertEquals("Dog " + i, dog.getName());
+            assertTrue(copy == dog.getOwner());
+        }
+    }
+
     // Test that for (A -> B -> C) for maxDepth = 1, result is (A -> B -> null)
     @Test
     public void copyFromRealm_checkMaxDepth() {
@@ -3332,4 +3717,78 @@ public class RealmTests {
         TestHelper.awaitOrFail(bgRealmFished);
         assertFalse(bgRealmChangeResult.get());
     }
+
+    @Test
+    public void scope_releasesQueriesResultsAndObjects() {
+        populateTestRealm();
+        RealmScope scope = realm.scope();
+        RealmQuery<AllTypes> query = realm.where(AllTypes.class).greaterThan(AllTypes.FIELD_LONG, 4);
+        RealmResults<AllTypes> results = query.findAll();
+        AllTypes object = results.first();
+        assertTrue(results.isValid());
+        assertTrue(object.isValid());
+        scope.close();
+
+        assertFalse(results.isValid());
+        assertFalse(object.isValid());
+        try {
+            results.size();
+            fail();
+        } catch (IllegalStateException ignored) {
+        }
+        try {
+            query.count();
+            fail();
+        } catch (IllegalStateException ignored) {
+        }
+
+        // Closing twice has no effect and the Realm can still be queried.
+        scope.close();
+        assertEquals(5, realm.where(AllTypes.class).greaterThan(AllTypes.FIELD_LONG, 4).count());
+    }
+
+    @Test
+    public void scope_nestedClosedInWrongOrderThrows() {
+        RealmScope outer = realm.scope();
+        RealmScope inner = realm.scope();
+        try {
+            outer.close();
+            fail();
+        } catch (IllegalStateException ignored) {
+        }
+        inner.close();
+        outer.close();
+    }
+
+    @Test
+    @RunTestInLooperThread
+    public void scope_closedResultsSkippedByNotifications() {
+        final Realm realm = looperThread.realm;
+        RealmScope scope = realm.scope();
+        RealmResults<AllTypes> results = realm.where(AllTypes.class).findAll();
+        looperThread.keepStrongReference.add(results);
+        scope.close();
+
+        realm.addChangeListener(new RealmChangeListener<Realm>() {
+            @Override
+            public void onChange(Realm object) {
+                assertEquals(1, realm.where(AllTypes.class).count());
+                looperThread.testComplete();
+            }
+        });
+        // notifying the listeners must not read the results released by the scope
+        realm.beginTransaction();
+        realm.createObject(AllTypes.class);
+        realm.commitTransaction();
+    }
+
+    @Test
+    public void scope_closedWithRealm() {
+        Realm otherRealm = Realm.getInstance(configFactory.createConfiguration("scope.realm"));
+        populateTestRealm(otherRealm, TEST_DATA_SIZE);
+        otherRealm.scope();
+        RealmResults<AllTypes> results = otherRealm.where(AllTypes.class).findAll();
+        otherRealm.close();
+        assertFalse(results.isValid());
+    }
 }
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.internal;
+
+import android.support.test.runner.AndroidJUnit4;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.lang.ref.ReferenceQueue;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(AndroidJUnit4.class)
+public class NativeReferencePoolTest {
+
+    private final Context context = new Context();
+    private final ReferenceQueue<NativeObject> queue = new ReferenceQueue<NativeObject>();
+    // Keeps the referents reachable, so the references are never enqueued during the test.
+    private final List<NativeObject> referents = new ArrayList<NativeObject>();
+
+    private NativeObjectReference newReference() {
+        NativeObject referent = new NativeObject() {};
+        referents.add(referent);
+        return new NativeObjectReference(context, NativeObjectReference.TYPE_ROW, referent, queue);
+    }
+
+    @Test
+    public void remove_slotIsReused() {
+        NativeReferencePool pool = new NativeReferencePool(1);
+        NativeObjectReference first = newReference();
+        NativeObjectReference second = newReference();
+        pool.add(first);
+        pool.add(second);
+        assertEquals(2, pool.size());
+
+        int freedSlot = first.slot;
+        pool.remove(first);
+        assertEquals(1, pool.size());
+
+        NativeObjectReference third = newReference();
+        pool.add(third);
+        assertEquals(freedSlot, third.slot);
+        assertEquals(2, pool.size());
+    }
+
+    @Test
+    public void add_spansSeveralSlabs() {
+        NativeReferencePool pool = new NativeReferencePool(1);
+        List<NativeObjectReference> references = new ArrayList<NativeObjectReference>();
+        for (int i = 0; i < 3000; i++) {
+            NativeObjectReference reference = newReference();
+            pool.add(reference);
+            references.add(reference);
+        }
+        assertEquals(3000, pool.size());
+        for (NativeObjectReference reference : references) {
+            pool.remove(reference);
+        }
+        assertEquals(0, pool.size());
+
+        // all slots are free again, no new slot is allocated
+        NativeObjectReference reference = newReference();
+        pool.add(reference);
+        assertEquals(references.get(references.size() - 1).slot, reference.slot);
+    }
+
+    @Test
+    public void add_growsSlabDirectory() {
+        NativeReferencePool pool = new NativeReferencePool(1);
+        List<NativeObjectReference> references = new ArrayList<NativeObjectReference>();
+        // more slabs than the initial directory holds
+        for (int i = 0; i < 10000; i++) {
+            NativeObjectReference reference = newReference();
+            pool.add(reference);
+            references.add(reference);
+        }
+        assertEquals(10000, pool.size());
+        for (NativeObjectReference reference : references) {
+            pool.remove(reference);
+        }
+        assertEquals(0, pool.size());
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.internal;
+
+import android.support.test.runner.AndroidJUnit4;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import io.realm.Realm;
+import io.realm.RealmConfiguration;
+import io.realm.rule.TestRealmConfigurationFactory;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(AndroidJUnit4.class)
+public class SharedGroupPoolTest {
+
+    @Rule
+    public final TestRealmConfigurationFactory configFactory = new TestRealmConfigurationFactory();
+
+    private RealmConfiguration config;
+
+    @Before
+    public void setUp() {
+        config = configFactory.createConfiguration();
+    }
+
+    @Test
+    public void acquire_reusesReleasedSharedGroup() {
+        Realm realm = Realm.getInstance(config);
+        try {
+            SharedGroup sharedGroup = SharedGroupPool.acquire(config);
+            SharedGroupPool.release(sharedGroup);
+            assertFalse(sharedGroup.isClosed());
+
+            SharedGroup reused = SharedGroupPool.acquire(config);
+            assertSame(sharedGroup, reused);
+            SharedGroupPool.release(reused);
+        } finally {
+            realm.close();
+        }
+    }
+
+    @Test
+    public void closingLastRealm_closesIdleSharedGroups() {
+        Realm realm = Realm.getInstance(config);
+        SharedGroup idle = SharedGroupPool.acquire(config);
+        SharedGroup inUse = SharedGroupPool.acquire(config);
+        assertNotSame(idle, inUse);
+        SharedGroupPool.release(idle);
+
+        realm.close();
+        assertTrue(idle.isClosed());
+        assertFalse(inUse.isClosed());
+
+        // released after the pool is closed
+        SharedGroupPool.release(inUse);
+        assertTrue(inUse.isClosed());
+    }
+
+    @Test
+    public void release_withoutOpenRealmCloses() {
+        SharedGroup sharedGroup = SharedGroupPool.acquire(config);
+        SharedGroupPool.release(sharedGroup);
+        assertTrue(sharedGroup.isClosed());
+
+        // releasing again has no effect
+        SharedGroupPool.release(sharedGroup);
+    }
+}
@@ -187,6 +187,29 @@ public class ISO8601UtilsTest extends AndroidTestCase {
         }
     }
 
+    public void testParseMillisMatchesParse() throws java.text.ParseException {
+        String[] dates = {
+                "2007-08-13T19:51:23.789Z", "20070813T195123Z", "2007-08-13T21:51:23.789+02:00",
+                "2007-08-13T21:51:23.789+0200", "1996-12-19T16:39:57-08:00", "1990-12-31T23:59:60Z",
+                "1970-01-01T00:00:00.0009Z", "1969-12-31T23:59:59.999Z", "2000-02-29T12:00Z", "2007-08-13Z",
+                "20070813+00:00", "2007-08-13", "1500-06-01T00:00Z"
+        };
+        for (String date : dates) {
+            assertEquals(date, ISO8601Utils.parse(date, new ParsePosition(0)).getTime(),
+                    ISO8601Utils.parseMillis(date));
+        }
+
+        String[] invalidDates = { "2007-02-29T00:00Z", "2007-13-01T00:00Z", "2007-08-13T24:00Z",
+                "1970-01-01T00:00:00.Z", "2007-08-13T19:51:23", "2007-08-13T19:51+02", "2007-08-13T19:51-00:00" };
+        for (String date : invalidDates) {
+            try {
+                ISO8601Utils.parseMillis(date);
+                fail(date);
+            } catch (ParseException expected) {
+            }
+        }
+    }
+
     private Date newDate(int year, int month, int day, int hour,
                          int minute, int second, int millis, int timezoneOffsetMinutes) {
         Calendar calendar = new GregorianCalendar(TimeZone.getTimeZone("GMT"));
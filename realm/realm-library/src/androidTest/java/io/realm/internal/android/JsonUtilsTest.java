@@ -51,6 +51,14 @@ public class JsonUtilsTest extends AndroidTestCase {
         assertEquals(output.getTime(), 1198908717056L);
     }
 
+    public void testParseJsonDateToMillis() {
+        assertEquals(1443854733376L, JsonUtils.stringToMillis("/Date(1443854733376+0800)/"));
+        assertEquals(1000L, JsonUtils.stringToMillis("/Date(1000)/"));
+        assertEquals(1000L, JsonUtils.stringToMillis("\"/Date(1000)/\""));
+        assertEquals(1198908717056L, JsonUtils.stringToMillis("2007-12-29T06:11:57.056Z"));
+        assertEquals(-631152000L, JsonUtils.stringToMillis("-631152000"));
+    }
+
     public void testNegativeLongDate() {
         long timeInMillis = -631152000L; // Jan 1, 1950
         Date output = JsonUtils.stringToDate(String.valueOf(timeInMillis));
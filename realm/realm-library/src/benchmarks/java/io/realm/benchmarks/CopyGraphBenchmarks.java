@@ -0,0 +1,148 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.benchmarks;
+
+import android.support.test.InstrumentationRegistry;
+
+import org.junit.runner.RunWith;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import dk.ilios.spanner.AfterExperiment;
+import dk.ilios.spanner.BeforeExperiment;
+import dk.ilios.spanner.Benchmark;
+import dk.ilios.spanner.BenchmarkConfiguration;
+import dk.ilios.spanner.SpannerConfig;
+import dk.ilios.spanner.junit.SpannerRunner;
+import io.realm.Realm;
+import io.realm.RealmConfiguration;
+import io.realm.RealmList;
+import io.realm.RealmModel;
+import io.realm.benchmarks.config.BenchmarkConfig;
+import io.realm.entities.Dog;
+import io.realm.entities.Owner;
+import io.realm.internal.RowIdentityMap;
+
+/**
+ * Copies a graph of 10k objects, an owner with 9,999 dogs all linking back to it, into and out of a Realm, and
+ * compares the caches used to keep track of the objects already copied.
+ */
+@RunWith(SpannerRunner.class)
+public class CopyGraphBenchmarks {
+
+    private static final int DOGS = 9999;
+
+    @BenchmarkConfiguration
+    public SpannerConfig configuration = BenchmarkConfig.getConfiguration(this.getClass().getCanonicalName());
+
+    private Realm realm;
+    private Owner unmanagedOwner;
+    private Owner managedOwner;
+    private Dog[] managedDogs;
+
+    @BeforeExperiment
+    public void before() {
+        RealmConfiguration config = new RealmConfiguration.Builder(InstrumentationRegistry.getTargetContext()).build();
+        Realm.deleteRealm(config);
+        realm = Realm.getInstance(config);
+
+        unmanagedOwner = new Owner();
+        unmanagedOwner.setName("Owner");
+        RealmList<Dog> dogs = new RealmList<Dog>();
+        for (int i = 0; i < DOGS; i++) {
+            Dog dog = new Dog("Dog " + i);
+            dog.setAge(i);
+            dog.setOwner(unmanagedOwner);
+            dogs.add(dog);
+        }
+        unmanagedOwner.setDogs(dogs);
+
+        realm.beginTransaction();
+        managedOwner = realm.copyToRealm(unmanagedOwner);
+        realm.commitTransaction();
+
+        managedDogs = new Dog[DOGS];
+        for (int i = 0; i < DOGS; i++) {
+            managedDogs[i] = managedOwner.getDogs().get(i);
+        }
+    }
+
+    @AfterExperiment
+    public void after() {
+        realm.close();
+    }
+
+    @Benchmark
+    public void copyToRealm(long reps) {
+        for (long i = 0; i < reps; i++) {
+            realm.beginTransaction();
+            realm.copyToRealm(unmanagedOwner);
+            realm.cancelTransaction();
+        }
+    }
+
+    @Benchmark
+    public void copyFromRealm(long reps) {
+        for (long i = 0; i < reps; i++) {
+            realm.copyFromRealm(managedOwner);
+        }
+    }
+
+    @Benchmark
+    public void unmanagedCacheWithHashMap(long reps) {
+        for (long i = 0; i < reps; i++) {
+            fillCache(new HashMap<RealmModel, Object>(), unmanagedOwner.getDogs().toArray(new Dog[DOGS]));
+        }
+    }
+
+    @Benchmark
+    public void unmanagedCacheWithIdentityHashMap(long reps) {
+        for (long i = 0; i < reps; i++) {
+            fillCache(new IdentityHashMap<RealmModel, Object>(), unmanagedOwner.getDogs().toArray(new Dog[DOGS]));
+        }
+    }
+
+    @Benchmark
+    public void managedCacheWithHashMap(long reps) {
+        for (long i = 0; i < reps; i++) {
+            fillCache(new HashMap<RealmModel, Object>(), managedDogs);
+        }
+    }
+
+    @Benchmark
+    public void managedCacheWithRowIdentityMap(long reps) {
+        for (long i = 0; i < reps; i++) {
+            fillCache(new RowIdentityMap<Object>(), managedDogs);
+        }
+    }
+
+    // Looks up every object before adding it, and once more afterwards, like the generated copy methods do
+    private static void fillCache(Map<RealmModel, Object> cache, Dog[] dogs) {
+        for (Dog dog : dogs) {
+            if (cache.get(dog) == null) {
+                cache.put(dog, dog);
+            }
+        }
+        for (Dog dog : dogs) {
+            if (cache.get(dog) == null) {
+                throw new AssertionError();
+            }
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.benchmarks;
+
+import org.junit.runner.RunWith;
+
+import java.text.ParseException;
+import java.text.ParsePosition;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Random;
+import java.util.TimeZone;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import dk.ilios.spanner.AfterExperiment;
+import dk.ilios.spanner.BeforeExperiment;
+import dk.ilios.spanner.Benchmark;
+import dk.ilios.spanner.BenchmarkConfiguration;
+import dk.ilios.spanner.SpannerConfig;
+import dk.ilios.spanner.junit.SpannerRunner;
+import io.realm.benchmarks.config.BenchmarkConfig;
+import io.realm.internal.android.ISO8601Utils;
+import io.realm.internal.android.JsonUtils;
+
+/**
+ * Compares parsing dates to {@link Date}s through a calendar with parsing them to epoch milliseconds, like the JSON
+ * import does. Each rep parses the next date of a payload of 1M dates.
+ */
+@RunWith(SpannerRunner.class)
+public class JsonDateBenchmarks {
+
+    private static final int DATES = 1000000;
+
+    @BenchmarkConfiguration
+    public SpannerConfig configuration = BenchmarkConfig.getConfiguration(this.getClass().getCanonicalName());
+
+    private String[] isoDates;
+    private String[] jsonDates;
+    private long sum;
+
+    @BeforeExperiment
+    public void before() {
+        SimpleDateFormat utc = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'", Locale.US);
+        utc.setTimeZone(TimeZone.getTimeZone("UTC"));
+        SimpleDateFormat offset = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'+02:00'", Locale.US);
+        offset.setTimeZone(TimeZone.getTimeZone("GMT+02:00"));
+
+        Random random = new Random(42);
+        isoDates = new String[DATES];
+        jsonDates = new String[DATES];
+        for (int i = 0; i < DATES; i++) {
+            Date date = new Date((long) (random.nextDouble() * 2000000000000L));
+            isoDates[i] = ((i % 2 == 0) ? utc : offset).format(date);
+            jsonDates[i] = "/Date(" + date.getTime() + "+0200)/";
+        }
+    }
+
+    @AfterExperiment
+    public void after() {
+        isoDates = null;
+        jsonDates = null;
+        if (sum == 42) {
+            throw new AssertionError(); // Keeps the results alive
+        }
+    }
+
+    @Benchmark
+    public void parseIsoToDate(long reps) throws ParseException {
+        for (long i = 0; i < reps; i++) {
+            sum += ISO8601Utils.parse(isoDates[(int) (i % DATES)], new ParsePosition(0)).getTime();
+        }
+    }
+
+    @Benchmark
+    public void parseIsoToMillis(long reps) throws ParseException {
+        for (long i = 0; i < reps; i++) {
+            sum += ISO8601Utils.parseMillis(isoDates[(int) (i % DATES)]);
+        }
+    }
+
+    @Benchmark
+    public void parseJsonDateWithPattern(long reps) {
+        Pattern pattern = Pattern.compile("/Date\\((\\d*)(?:[+-]\\d*)?\\)/");
+        for (long i = 0; i < reps; i++) {
+            Matcher matcher = pattern.matcher(jsonDates[(int) (i % DATES)]);
+            if (matcher.find()) {
+                sum += Long.parseLong(matcher.group(1));
+            }
+        }
+    }
+
+    @Benchmark
+    public void parseJsonDateToMillis(long reps) {
+        for (long i = 0; i < reps; i++) {
+            sum += JsonUtils.stringToMillis(jsonDates[(int) (i % DATES)]);
+        }
+    }
+}
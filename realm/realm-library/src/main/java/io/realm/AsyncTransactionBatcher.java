@@ -0,0 +1,234 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import android.os.Handler;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.realm.exceptions.RealmException;
+import io.realm.internal.async.RealmThreadPoolExecutor;
+import io.realm.internal.log.RealmLog;
+
+/**
+ * Runs the async transactions queued on the same Realm file in a single write transaction, on the thread of the
+ * write pool.
+ * <p>
+ * If one transaction of a batch throws, the write transaction is cancelled, the error is delivered to that
+ * transaction only and the rest of the batch is run again without it.
+ */
+class AsyncTransactionBatcher {
+
+    private final RealmThreadPoolExecutor writeExecutor;
+    private final ConcurrentLinkedQueue<PendingTransaction> pendingTransactions =
+            new ConcurrentLinkedQueue<PendingTransaction>();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean(false);
+    private final Runnable drainTask = new Runnable() {
+        @Override
+        public void run() {
+            drain();
+        }
+    };
+
+    AsyncTransactionBatcher(RealmThreadPoolExecutor writeExecutor) {
+        this.writeExecutor = writeExecutor;
+    }
+
+    /**
+     * Queues a transaction to be run with the other transactions pending on the same Realm file.
+     *
+     * @return the {@link Future} which can be used to cancel the transaction while it is queued.
+     */
+    Future<?> submit(RealmConfiguration configuration, Realm.Transaction transaction, Handler handler,
+                     Realm.Transaction.OnSuccess onSuccess, Realm.Transaction.OnError onError) {
+        PendingTransaction pendingTransaction =
+                new PendingTransaction(configuration, transaction, handler, onSuccess, onError);
+        pendingTransactions.add(pendingTransaction);
+        if (drainScheduled.compareAndSet(false, true)) {
+            try {
+                writeExecutor.submit(drainTask);
+            } catch (RejectedExecutionException e) {
+                // the caller is told the transaction was not accepted, so it must not run with a later batch
+                pendingTransactions.remove(pendingTransaction);
+                drainScheduled.set(false);
+                throw e;
+            }
+        }
+        return pendingTransaction;
+    }
+
+    private void drain() {
+        // reset before polling, so transactions queued from now on schedule another drain
+        drainScheduled.set(false);
+
+        Map<RealmConfiguration, List<PendingTransaction>> batches =
+                new LinkedHashMap<RealmConfiguration, List<PendingTransaction>>();
+        PendingTransaction pendingTransaction;
+        while ((pendingTransaction = pendingTransactions.poll()) != null) {
+            if (pendingTransaction.isCancelled()) {
+                continue;
+            }
+            List<PendingTransaction> batch = batches.get(pendingTransaction.configuration);
+            if (batch == null) {
+                batch = new ArrayList<PendingTransaction>();
+                batches.put(pendingTransaction.configuration, batch);
+            }
+            batch.add(pendingTransaction);
+        }
+
+        for (Map.Entry<RealmConfiguration, List<PendingTransaction>> entry : batches.entrySet()) {
+            commitBatch(entry.getKey(), entry.getValue());
+        }
+    }
+
+    private void commitBatch(RealmConfiguration configuration, List<PendingTransaction> batch) {
+        List<PendingTransaction> remaining = new ArrayList<PendingTransaction>(batch);
+        while (!remaining.isEmpty()) {
+            PendingTransaction failedTransaction = null;
+            Throwable failure = null;
+            List<PendingTransaction> executed = new ArrayList<PendingTransaction>(remaining.size());
+
+            Realm realm = null;
+            try {
+                realm = Realm.getInstance(configuration);
+                final Realm bgRealm = realm;
+                bgRealm.beginTransaction();
+                for (PendingTransaction pendingTransaction : remaining) {
+                    if (pendingTransaction.isCancelled()) {
+                        continue;
+                    }
+                    try {
+                        pendingTransaction.transaction.execute(bgRealm);
+                    } catch (Throwable e) {
+                        failedTransaction = pendingTransaction;
+                        failure = e;
+                        break;
+                    }
+                    executed.add(pendingTransaction);
+                }
+
+                if (failedTransaction == null) {
+                    bgRealm.commitTransaction(false, new Runnable() {
+                        @Override
+                        public void run() {
+                            // Close the background Realm before notifying other threads, like a single async
+                            // transaction does.
+                            bgRealm.close();
+                        }
+                    });
+                }
+            } catch (Throwable e) {
+                // the Realm could not be opened or the write transaction itself failed, nothing was committed
+                for (PendingTransaction pendingTransaction : remaining) {
+                    pendingTransaction.notifyError(e);
+                }
+                return;
+            } finally {
+                if (realm != null && !realm.isClosed()) {
+                    if (realm.isInTransaction()) {
+                        realm.cancelTransaction();
+                    }
+                    realm.close();
+                }
+            }
+
+            if (failedTransaction == null) {
+                for (PendingTransaction pendingTransaction : executed) {
+                    pendingTransaction.notifySuccess();
+                }
+                return;
+            }
+            RealmLog.d("Async transaction failed, running the " + (remaining.size() - 1) +
+                    " other transactions of its batch again.");
+            failedTransaction.notifyError(failure);
+            remaining.remove(failedTransaction);
+        }
+    }
+
+    /**
+     * A queued transaction, its {@link Future} completes once it has been committed or has failed.
+     */
+    private static class PendingTransaction extends FutureTask<Void> {
+        private static final Runnable NO_OP = new Runnable() {
+            @Override
+            public void run() {
+            }
+        };
+
+        final RealmConfiguration configuration;
+        final Realm.Transaction transaction;
+        private final Handler handler;
+        private final Realm.Transaction.OnSuccess onSuccess;
+        private final Realm.Transaction.OnError onError;
+
+        PendingTransaction(RealmConfiguration configuration, Realm.Transaction transaction, Handler handler,
+                           Realm.Transaction.OnSuccess onSuccess, Realm.Transaction.OnError onError) {
+            super(NO_OP, null);
+            this.configuration = configuration;
+            this.transaction = transaction;
+            this.handler = handler;
+            this.onSuccess = onSuccess;
+            this.onError = onError;
+        }
+
+        void notifySuccess() {
+            set(null);
+            if (onSuccess != null && isCallerAlive()) {
+                handler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        onSuccess.onSuccess();
+                    }
+                });
+            }
+        }
+
+        void notifyError(final Throwable error) {
+            setException(error);
+            if (!isCallerAlive()) {
+                RealmLog.e("Async transaction failed and its caller thread has terminated: " + error);
+                return;
+            }
+            handler.post(new Runnable() {
+                @Override
+                public void run() {
+                    if (onError != null) {
+                        onError.onError(error);
+                    } else if (error instanceof RuntimeException) {
+                        throw (RuntimeException) error;
+                    } else if (error instanceof Error) {
+                        throw (Error) error;
+                    } else {
+                        throw new RealmException("Async transaction failed", error);
+                    }
+                }
+            });
+        }
+
+        private boolean isCallerAlive() {
+            return handler != null && handler.getLooper().getThread().isAlive();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import io.realm.internal.log.RealmLog;
+
+/**
+ * Compacts Realm files on a background thread once their last Realm instance in the process is closed, if their
+ * {@link CompactionPolicy} asks for it.
+ * <p>
+ * Core can only compact a file that no other SharedGroup has open, so a file is never compacted while one of its Realm
+ * instances is open. {@link RealmCache#beginCompaction(RealmConfiguration)} makes requests for a new instance of the
+ * file wait until the compaction is done, other files can be used meanwhile. If an instance was opened again before
+ * the task ran, or another process has the file open, the file is left as it is and the policy is asked again the next
+ * time the last instance is closed.
+ */
+final class BackgroundCompactor {
+
+    private static final ExecutorService executor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "RealmBackgroundCompactor");
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
+    private BackgroundCompactor() {
+    }
+
+    /**
+     * Asks the policy of a Realm file if it should be compacted, and compacts it in the background if so. Called
+     * while the last Realm instance of the file is being closed, with the sizes read from it.
+     *
+     * @param configuration configuration of the Realm file, its compaction policy must be set.
+     * @param totalBytes the size of the file in bytes.
+     * @param usedBytes the number of bytes used by the data.
+     */
+    static void compactIfNeeded(final RealmConfiguration configuration, final long totalBytes,
+                                final long usedBytes) {
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                if (!configuration.getCompactionPolicy().shouldCompact(totalBytes, usedBytes)) {
+                    return;
+                }
+                if (!RealmCache.beginCompaction(configuration)) {
+                    return;
+                }
+                try {
+                    if (BaseRealm.compactRealm(configuration)) {
+                        RealmLog.d("Compacted " + configuration.getPath() + ", " + usedBytes + " of "
+                                + totalBytes + " bytes were used.");
+                    } else {
+                        RealmLog.w("Could not compact " + configuration.getPath()
+                                + ", it might be open in another process.");
+                    }
+                } catch (RuntimeException e) {
+                    RealmLog.e("Failed to compact " + configuration.getPath(), e);
+                } finally {
+                    RealmCache.endCompaction(configuration.getPath());
+                }
+            }
+        });
+    }
+}
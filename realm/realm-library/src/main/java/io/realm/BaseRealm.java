@@ -34,10 +34,12 @@ import io.realm.annotations.internal.OptionalAPI;
 import io.realm.exceptions.RealmMigrationNeededException;
 import io.realm.internal.InvalidRow;
 import io.realm.internal.RealmObjectProxy;
+import io.realm.internal.Row;
+import io.realm.internal.RowRef;
 import io.realm.internal.SharedGroupManager;
 import io.realm.internal.Table;
+import io.realm.internal.TableOrView;
 import io.realm.internal.TableView;
-import io.realm.internal.UncheckedRow;
 import io.realm.internal.android.DebugAndroidLogger;
 import io.realm.internal.android.ReleaseAndroidLogger;
 import io.realm.internal.async.RealmThreadPoolExecutor;
@@ -52,6 +54,7 @@ import rx.Observable;
  */
 abstract class BaseRealm implements Closeable {
     protected static final long UNVERSIONED = -1;
+    private static final String SCHEMA_FINGERPRINT_COLUMN = "schema_fingerprint";
     private static final String INCORRECT_THREAD_CLOSE_MESSAGE = "Realm access from incorrect thread. Realm instance can only be closed on the thread it was created.";
     private static final String INCORRECT_THREAD_MESSAGE = "Realm access from incorrect thread. Realm objects can only be accessed on the thread they were created.";
     private static final String CLOSED_REALM_MESSAGE = "This Realm instance has already been closed, making it unusable.";
@@ -69,6 +72,9 @@ abstract class BaseRealm implements Closeable {
     RealmSchema schema;
     Handler handler;
     HandlerController handlerController;
+    final RowRefTracker rowRefTracker = new RowRefTracker();
+    // Innermost open scope, if any
+    RealmScope scope;
 
     static {
         RealmLog.add(BuildConfig.DEBUG ? new DebugAndroidLogger() : new ReleaseAndroidLogger());
@@ -275,6 +281,7 @@ abstract class BaseRealm implements Closeable {
         boolean hasChanged = sharedGroupManager.getSharedGroup().waitForChange();
         if (hasChanged) {
             // Since this Realm instance has been waiting for change, advance realm & refresh realm.
+            promoteRowReferences();
             sharedGroupManager.advanceRead();
             handlerController.refreshSynchronousTableViews();
         }
@@ -316,6 +323,7 @@ abstract class BaseRealm implements Closeable {
      */
     public void beginTransaction() {
         checkIfValid();
+        promoteRowReferences();
         sharedGroupManager.promoteToWrite();
     }
 
@@ -430,6 +438,19 @@ abstract class BaseRealm implements Closeable {
         return metadataTable.getLong(0, 0);
     }
 
+    /**
+     * Opens a {@link RealmScope}. The native resources of the queries, results and objects created until it is closed
+     * are then released when it is closed. Scopes can be nested.
+     *
+     * @return the new scope, to be closed on this thread.
+     * @throws IllegalStateException if the Realm is closed or called from another thread.
+     */
+    public RealmScope scope() {
+        checkIfValid();
+        scope = new RealmScope(this, scope);
+        return scope;
+    }
+
     /**
      * Closes the Realm instance and all its resources.
      * <p>
@@ -451,6 +472,8 @@ abstract class BaseRealm implements Closeable {
      * Closes the Realm instances and all its resources without checking the {@link RealmCache}.
      */
     void doClose() {
+        RealmScope.releaseAll(this);
+        rowRefTracker.clear();
         if (sharedGroupManager != null) {
             sharedGroupManager.close();
             sharedGroupManager = null;
@@ -498,6 +521,34 @@ abstract class BaseRealm implements Closeable {
         metadataTable.setLong(0, 0, version);
     }
 
+    /**
+     * Returns the fingerprint of the schema last validated against this file, see
+     * {@link io.realm.internal.RealmProxyMediator#getSchemaFingerprint()}.
+     *
+     * @return the fingerprint, or {@code 0} if the schema of the file has to be validated.
+     */
+    long getSchemaFingerprint() {
+        if (!sharedGroupManager.hasTable(Table.METADATA_TABLE_NAME)) {
+            return 0;
+        }
+        Table metadataTable = sharedGroupManager.getTable(Table.METADATA_TABLE_NAME);
+        long columnIndex = metadataTable.getColumnIndex(SCHEMA_FINGERPRINT_COLUMN);
+        if (columnIndex == TableOrView.NO_MATCH || metadataTable.size() == 0) {
+            return 0;
+        }
+        return metadataTable.getLong(columnIndex, 0);
+    }
+
+    // Must be called in a transaction, once the schema version has been set
+    void setSchemaFingerprint(long fingerprint) {
+        Table metadataTable = sharedGroupManager.getTable(Table.METADATA_TABLE_NAME);
+        long columnIndex = metadataTable.getColumnIndex(SCHEMA_FINGERPRINT_COLUMN);
+        if (columnIndex == TableOrView.NO_MATCH) {
+            columnIndex = metadataTable.addColumn(RealmFieldType.INTEGER, SCHEMA_FINGERPRINT_COLUMN);
+        }
+        metadataTable.setLong(columnIndex, 0, fingerprint);
+    }
+
     /**
      * Sort a table using the given field names and sorting directions. If a field name does not
      * exist in the table an {@link IllegalArgumentException} will be thrown.
@@ -540,10 +591,9 @@ abstract class BaseRealm implements Closeable {
 
     <E extends RealmModel> E get(Class<E> clazz, long rowIndex) {
         Table table = schema.getTable(clazz);
-        UncheckedRow row = table.getUncheckedRow(rowIndex);
         E result = configuration.getSchemaMediator().newInstance(clazz, schema.getColumnInfo(clazz));
         RealmObjectProxy proxy = (RealmObjectProxy) result;
-        proxy.realmGet$proxyState().setRow$realm(row);
+        proxy.realmGet$proxyState().setRow$realm(getRow(proxy.realmGet$proxyState(), table, rowIndex));
         proxy.realmGet$proxyState().setRealm$realm(this);
         proxy.realmGet$proxyState().setTableVersion$realm();
 
@@ -568,7 +618,7 @@ abstract class BaseRealm implements Closeable {
         RealmObjectProxy proxy = (RealmObjectProxy) result;
         proxy.realmGet$proxyState().setRealm$realm(this);
         if (rowIndex != Table.NO_MATCH) {
-            proxy.realmGet$proxyState().setRow$realm(table.getUncheckedRow(rowIndex));
+            proxy.realmGet$proxyState().setRow$realm(getRow(proxy.realmGet$proxyState(), table, rowIndex));
             proxy.realmGet$proxyState().setTableVersion$realm();
         } else {
             proxy.realmGet$proxyState().setRow$realm(InvalidRow.INSTANCE);
@@ -577,6 +627,43 @@ abstract class BaseRealm implements Closeable {
         return result;
     }
 
+    // Returns a RowRef for the objects read outside of write transactions if the configuration uses row references
+    // or a scope is open, or a Row accessor otherwise.
+    private Row getRow(ProxyState<?> proxyState, Table table, long rowIndex) {
+        if ((!configuration.isUsingRowReferences() && scope == null) || isInTransaction()) {
+            return table.getUncheckedRow(rowIndex);
+        }
+        rowRefTracker.track(proxyState);
+        RealmScope.track(this, proxyState);
+        return RowRef.get(table, rowIndex);
+    }
+
+    /**
+     * Switches the objects addressed by a {@link RowRef} to Row accessors, as their row indices will no longer be
+     * valid once the Realm is advanced or written to.
+     */
+    void promoteRowReferences() {
+        rowRefTracker.promoteAll();
+    }
+
+    // Used by RealmResults.forEachRow(), the row is moved by the caller.
+    // Invariant: if dynamicClassName != null -> clazz == DynamicRealmObject
+    <E extends RealmModel> E get(Class<E> clazz, String dynamicClassName, Row row) {
+        E result;
+        if (dynamicClassName != null) {
+            @SuppressWarnings("unchecked")
+            E dynamicObj = (E) new DynamicRealmObject();
+            result = dynamicObj;
+        } else {
+            result = configuration.getSchemaMediator().newInstance(clazz, schema.getColumnInfo(clazz));
+        }
+
+        RealmObjectProxy proxy = (RealmObjectProxy) result;
+        proxy.realmGet$proxyState().setRealm$realm(this);
+        proxy.realmGet$proxyState().setRow$realm(row);
+        return result;
+    }
+
     /**
      * Deletes all objects from this Realm.
      *
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+/**
+ * Decides if a Realm file should be compacted, based on how much of it is used by the data.
+ * <p>
+ * Space freed by deleting or updating objects is reused by later commits, but the file never shrinks by itself.
+ * Compacting rewrites the file without the free space. A policy set with
+ * {@link RealmConfiguration.Builder#compactionPolicy(CompactionPolicy)} is asked when the last Realm instance of the
+ * file in the process is closed, and if it agrees the file is compacted in the background. A policy set with
+ * {@link RealmConfiguration.Builder#compactOnLaunch(CompactionPolicy)} is asked before the first instance is opened,
+ * and the file is compacted before it is handed out. The policy must be thread safe and should implement
+ * {@code equals()} and {@code hashCode()}, as it is part of the configuration.
+ *
+ * @see FreeSpaceCompactionPolicy
+ */
+public interface CompactionPolicy {
+
+    /**
+     * Decides if the file should be compacted.
+     *
+     * @param totalBytes the size of the file in bytes.
+     * @param usedBytes the number of bytes used by the data, the rest of the file is free space.
+     * @return {@code true} to compact the file, {@code false} otherwise.
+     */
+    boolean shouldCompact(long totalBytes, long usedBytes);
+}
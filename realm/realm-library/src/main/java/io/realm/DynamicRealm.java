@@ -185,6 +185,19 @@ public final class DynamicRealm extends BaseRealm {
         return new DynamicRealm(configuration, autoRefresh);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The schema can be changed in the transaction, so typed Realms opened on the file afterwards validate it again.
+     */
+    @Override
+    public void beginTransaction() {
+        super.beginTransaction();
+        if (getSchemaFingerprint() != 0) {
+            setSchemaFingerprint(0);
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
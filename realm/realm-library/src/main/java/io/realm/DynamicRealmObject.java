@@ -763,4 +763,9 @@ public final class DynamicRealmObject extends RealmObject implements RealmObject
     public ProxyState realmGet$proxyState() {
         return proxyState;
     }
+
+    @Override
+    public void realm$clearCachedValues() {
+        // nothing is cached, lists are created on each call to getList()
+    }
 }
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+/**
+ * {@link CompactionPolicy} compacting a Realm file once a given share of it is free space. Small files are left
+ * alone, since compacting them gives little back.
+ */
+public final class FreeSpaceCompactionPolicy implements CompactionPolicy {
+
+    /**
+     * Files smaller than this aren't compacted by default.
+     */
+    public static final long DEFAULT_MIN_FILE_SIZE = 1024 * 1024;
+
+    private final double maxFreeRatio;
+    private final long minFileSize;
+
+    /**
+     * Creates a policy compacting files of at least {@link #DEFAULT_MIN_FILE_SIZE} bytes.
+     *
+     * @param maxFreeRatio the share of free space above which the file is compacted, e.g. {@code 0.5} for 50%.
+     * @throws IllegalArgumentException if {@code maxFreeRatio} is not between 0 and 1.
+     */
+    public FreeSpaceCompactionPolicy(double maxFreeRatio) {
+        this(maxFreeRatio, DEFAULT_MIN_FILE_SIZE);
+    }
+
+    /**
+     * Creates a policy compacting files of a given minimum size.
+     *
+     * @param maxFreeRatio the share of free space above which the file is compacted, e.g. {@code 0.5} for 50%.
+     * @param minFileSize the size in bytes below which the file is never compacted.
+     * @throws IllegalArgumentException if {@code maxFreeRatio} is not between 0 and 1 or {@code minFileSize} is
+     * negative.
+     */
+    public FreeSpaceCompactionPolicy(double maxFreeRatio, long minFileSize) {
+        if (!(maxFreeRatio >= 0 && maxFreeRatio < 1)) {
+            throw new IllegalArgumentException("The free space ratio must be at least 0 and less than 1. Yours was: "
+                    + maxFreeRatio);
+        }
+        if (minFileSize < 0) {
+            throw new IllegalArgumentException("The minimum file size cannot be negative. Yours was: " + minFileSize);
+        }
+        this.maxFreeRatio = maxFreeRatio;
+        this.minFileSize = minFileSize;
+    }
+
+    @Override
+    public boolean shouldCompact(long totalBytes, long usedBytes) {
+        if (totalBytes < minFileSize || totalBytes <= 0) {
+            return false;
+        }
+        return (double) (totalBytes - usedBytes) / totalBytes > maxFreeRatio;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+
+        FreeSpaceCompactionPolicy that = (FreeSpaceCompactionPolicy) obj;
+        return Double.compare(maxFreeRatio, that.maxFreeRatio) == 0 && minFileSize == that.minFileSize;
+    }
+
+    @Override
+    public int hashCode() {
+        long bits = Double.doubleToLongBits(maxFreeRatio);
+        int result = (int) (bits ^ (bits >>> 32));
+        result = 31 * result + (int) (minFileSize ^ (minFileSize >>> 32));
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "FreeSpaceCompactionPolicy{maxFreeRatio=" + maxFreeRatio + ", minFileSize=" + minFileSize + "}";
+    }
+}
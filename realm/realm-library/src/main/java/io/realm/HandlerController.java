@@ -24,6 +24,7 @@ import java.lang.ref.Reference;
 import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -37,6 +38,7 @@ import io.realm.internal.IdentitySet;
 import io.realm.internal.RealmObjectProxy;
 import io.realm.internal.Row;
 import io.realm.internal.SharedGroup;
+import io.realm.internal.Table;
 import io.realm.internal.async.BadVersionException;
 import io.realm.internal.async.QueryUpdateTask;
 import io.realm.internal.log.RealmLog;
@@ -242,8 +244,9 @@ final class HandlerController implements Handler.Callback {
         while (iterator.hasNext()) {
             Map.Entry<WeakReference<RealmObjectProxy>, RealmQuery<?>> next = iterator.next();
             if (next.getKey().get() != null) {
-                Realm.asyncTaskExecutor
-                        .submit(QueryUpdateTask.newBuilder()
+                // a pending query for the same object is superseded by this one
+                realm.configuration.getAsyncExecutor().getQueryExecutor()
+                        .submitCoalesced(next.getKey(), QueryUpdateTask.newBuilder()
                                 .realmConfiguration(realm.getConfiguration())
                                 .addObject(next.getKey(),
                                         next.getValue().handoverQueryPointer(),
@@ -258,7 +261,7 @@ final class HandlerController implements Handler.Callback {
     }
 
     void notifyAllListeners() {
-        notifyTypeBasedListeners();
+        notifyTypeBasedListeners(realm.sharedGroupManager.consumeChangedTables());
 
         // empty async RealmObject shouldn't block the realm to advance
         // they're empty so no risk for running into a corrupt state
@@ -275,29 +278,46 @@ final class HandlerController implements Handler.Callback {
         notifyGlobalListeners();
     }
 
-    private void notifyTypeBasedListeners() {
+    private void notifyTypeBasedListeners(BitSet changedTables) {
         notifyAsyncRealmResultsCallbacks();
-        notifySyncRealmResultsCallbacks();
-        notifyRealmObjectCallbacks();
+        notifySyncRealmResultsCallbacks(changedTables);
+        notifyRealmObjectCallbacks(changedTables);
     }
 
     private void notifyAsyncRealmResultsCallbacks() {
-        notifyRealmResultsCallbacks(asyncRealmResults.keySet().iterator());
+        notifyRealmResultsCallbacks(asyncRealmResults.keySet().iterator(), null);
     }
 
-    private void notifySyncRealmResultsCallbacks() {
-        notifyRealmResultsCallbacks(syncRealmResults.keySet().iterator());
+    private void notifySyncRealmResultsCallbacks(BitSet changedTables) {
+        notifyRealmResultsCallbacks(syncRealmResults.keySet().iterator(), changedTables);
     }
 
-    private void notifyRealmResultsCallbacks(Iterator<WeakReference<RealmResults<? extends RealmModel>>> iterator) {
+    /**
+     * Checks if a listener depending on the given table must be notified.
+     *
+     * @param changedTables the tables changed since the last notifications, {@code null} means all of them.
+     * @param table the table the listener depends on, {@code null} if unknown.
+     * @return {@code true} if the table might have changed.
+     */
+    private static boolean isTableChanged(BitSet changedTables, Table table) {
+        if (changedTables == null || table == null) {
+            return true;
+        }
+        long tableIndex = table.getIndexInGroup();
+        return tableIndex < 0 || changedTables.get((int) tableIndex);
+    }
+
+    private void notifyRealmResultsCallbacks(Iterator<WeakReference<RealmResults<? extends RealmModel>>> iterator,
+                                             BitSet changedTables) {
         List<RealmResults<? extends RealmModel>> resultsToBeNotified =
                 new ArrayList<RealmResults<? extends RealmModel>>();
         while (iterator.hasNext()) {
             WeakReference<RealmResults<? extends RealmModel>> weakRealmResults = iterator.next();
             RealmResults<? extends RealmModel> realmResults = weakRealmResults.get();
-            if (realmResults == null) {
+            if (realmResults == null || realmResults.isClosedByScope()) {
+                // results released by a RealmScope can't be read anymore, and will never be notified again
                 iterator.remove();
-            } else {
+            } else if (isTableChanged(changedTables, realmResults.getTable().getTable())) {
                 // It should be legal to modify asyncRealmResults and syncRealmResults in the listener
                 resultsToBeNotified.add(realmResults);
             }
@@ -309,7 +329,7 @@ final class HandlerController implements Handler.Callback {
         }
     }
 
-    private void notifyRealmObjectCallbacks() {
+    private void notifyRealmObjectCallbacks(BitSet changedTables) {
         List<RealmObjectProxy> objectsToBeNotified = new ArrayList<RealmObjectProxy>();
         Iterator<WeakReference<RealmObjectProxy>> iterator = realmObjects.keySet().iterator();
         while (iterator.hasNext()) {
@@ -319,10 +339,13 @@ final class HandlerController implements Handler.Callback {
                 iterator.remove();
 
             } else {
-                if (realmObject.realmGet$proxyState().getRow$realm().isAttached()) {
-                    // It should be legal to modify realmObjects in the listener
-                    objectsToBeNotified.add(realmObject);
-                } else if (realmObject.realmGet$proxyState().getRow$realm() != Row.EMPTY_ROW) {
+                Row row = realmObject.realmGet$proxyState().getRow$realm();
+                if (row.isAttached()) {
+                    if (isTableChanged(changedTables, row.getTable())) {
+                        // It should be legal to modify realmObjects in the listener
+                        objectsToBeNotified.add(realmObject);
+                    }
+                } else if (row != Row.EMPTY_ROW) {
                     iterator.remove();
                 }
             }
@@ -336,9 +359,9 @@ final class HandlerController implements Handler.Callback {
 
     private void updateAsyncQueries() {
         if (updateAsyncQueriesTask != null && !updateAsyncQueriesTask.isDone()) {
-            // try to cancel any pending update since we're submitting a new one anyway
+            // try to cancel any pending update since we're submitting a new one anyway,
+            // it is removed from the queue when the new one is submitted
             updateAsyncQueriesTask.cancel(true);
-            Realm.asyncTaskExecutor.getQueue().remove(updateAsyncQueriesTask);
             RealmLog.d("REALM_CHANGED realm:" + HandlerController.this + " cancelling pending COMPLETED_UPDATE_ASYNC_QUERIES updates");
         }
         RealmLog.d("REALM_CHANGED realm:"+ HandlerController.this + " updating async queries, total: " + asyncRealmResults.size());
@@ -358,9 +381,13 @@ final class HandlerController implements Handler.Callback {
                 iterator.remove();
 
             } else {
+                // loaded results can be kept as they are if the commit didn't touch their tables,
+                // their current TableView is also handed over if a change set must be computed
                 realmResultsQueryStep = updateQueryStep.add(weakReference,
                         entry.getValue().handoverQueryPointer(),
-                        entry.getValue().getArgument());
+                        entry.getValue().getArgument(),
+                        realmResults.isLoaded(),
+                        realmResults.hasCollectionChangeListeners() ? realmResults.handoverTableView() : 0);
             }
 
             // Note: we're passing an WeakRef of a RealmResults to another thread
@@ -375,7 +402,9 @@ final class HandlerController implements Handler.Callback {
             QueryUpdateTask queryUpdateTask = realmResultsQueryStep
                     .sendToHandler(realm.handler, COMPLETED_UPDATE_ASYNC_QUERIES)
                     .build();
-            updateAsyncQueriesTask = Realm.asyncTaskExecutor.submit(queryUpdateTask);
+            // any pending update of this thread which has not started yet is replaced by this one
+            updateAsyncQueriesTask = realm.configuration.getAsyncExecutor().getQueryExecutor()
+                    .submitCoalesced(this, queryUpdateTask);
         }
     }
 
@@ -386,6 +415,7 @@ final class HandlerController implements Handler.Callback {
 
         } else {
             RealmLog.d("REALM_CHANGED realm:" + HandlerController.this + " no async queries, advance_read");
+            realm.promoteRowReferences();
             realm.sharedGroupManager.advanceRead();
             notifyAllListeners();
         }
@@ -440,7 +470,8 @@ final class HandlerController implements Handler.Callback {
                                 .sendToHandler(realm.handler, COMPLETED_ASYNC_REALM_RESULTS)
                                 .build();
 
-                        Realm.asyncTaskExecutor.submit(queryUpdateTask);
+                        realm.configuration.getAsyncExecutor().getQueryExecutor()
+                                .submitCoalesced(weakRealmResults, queryUpdateTask);
 
                     } else {
                         // UC covered by this test: RealmAsyncQueryTests#testFindAllCallerIsAdvanced
@@ -479,6 +510,7 @@ final class HandlerController implements Handler.Callback {
                 // (advanceRead to the latest version may cause a version mismatch error) preventing us
                 // from importing correctly the handover table view
                 try {
+                    realm.promoteRowReferences();
                     realm.sharedGroupManager.advanceRead(result.versionID);
                 } catch (BadVersionException e) {
                     // The version comparison above should have ensured that that the Caller version is less than the
@@ -497,8 +529,15 @@ final class HandlerController implements Handler.Callback {
                     asyncRealmResults.remove(weakRealmResults);
 
                 } else {
-                    // update the instance with the new pointer
-                    realmResults.swapTableViewPointer(query.getValue());
+                    long handoverTableViewPointer = query.getValue();
+                    if (handoverTableViewPointer != 0) {
+                        // update the instance with the new pointer
+                        long[] changeSet = result.changeSets.get(weakRealmResults);
+                        realmResults.swapTableViewPointer(handoverTableViewPointer,
+                                (changeSet != null) ? RealmCollectionChangeSet.fromNativeChangeSet(changeSet) : null);
+                    }
+                    // otherwise none of the tables backing the query were modified, the current
+                    // TableView is still accurate at the new version
 
                     // it's dangerous to notify the callback about new results before updating
                     // the pointers, because the callback may use another RealmResults not updated yet
@@ -515,9 +554,10 @@ final class HandlerController implements Handler.Callback {
 
             // We need to notify the rest of listeners, since the original REALM_CHANGE
             // was delayed/swallowed in order to be able to update async queries
+            BitSet changedTables = realm.sharedGroupManager.consumeChangedTables();
             notifyGlobalListeners();
-            notifySyncRealmResultsCallbacks();
-            notifyRealmObjectCallbacks();
+            notifySyncRealmResultsCallbacks(changedTables);
+            notifyRealmObjectCallbacks(changedTables);
 
             updateAsyncQueriesTask = null;
         }
@@ -572,7 +612,8 @@ final class HandlerController implements Handler.Callback {
                                 .sendToHandler(realm.handler, COMPLETED_ASYNC_REALM_OBJECT)
                                 .build();
 
-                        Realm.asyncTaskExecutor.submit(queryUpdateTask);
+                        realm.configuration.getAsyncExecutor().getQueryExecutor()
+                                .submitCoalesced(realmObjectWeakReference, queryUpdateTask);
                     }
                 } else {
                     // should not happen, since the the background thread position itself against the provided version
@@ -693,7 +734,7 @@ final class HandlerController implements Handler.Callback {
         while (iterator.hasNext()) {
             WeakReference<RealmResults<? extends RealmModel>> weakRealmResults = iterator.next();
             RealmResults<? extends RealmModel> realmResults = weakRealmResults.get();
-            if (realmResults == null) {
+            if (realmResults == null || realmResults.isClosedByScope()) {
                 iterator.remove();
             } else {
                 realmResults.syncIfNeeded();
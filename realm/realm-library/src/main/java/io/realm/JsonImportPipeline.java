@@ -0,0 +1,317 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.util.JsonReader;
+import android.util.MalformedJsonException;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.realm.exceptions.RealmException;
+
+/**
+ * Imports the objects of a JSON array with several parser threads and a single writer.
+ * <p>
+ * A splitter thread cuts the array into the text of its elements, which are read into {@link JsonTableImporter.Record}s
+ * by a pool of parser threads. The records are written in the order of the array by the thread of the Realm, which
+ * only waits for the parsers when it catches up with them. At most {@link #ELEMENTS_AHEAD_PER_PARSER} elements per
+ * parser are read ahead of the writer, so memory doesn't grow with the size of the array.
+ * <p>
+ * Only the splitter thread reads from the input and it closes the input when it stops. If the import fails, the
+ * splitter is interrupted but an interrupt doesn't unblock a read, so the input might only be closed once a pending
+ * read returns, after {@link #run(Reader, Runnable)} has returned.
+ */
+@TargetApi(Build.VERSION_CODES.HONEYCOMB)
+final class JsonImportPipeline {
+
+    private static final int ELEMENTS_AHEAD_PER_PARSER = 64;
+    private static final AtomicInteger threadCount = new AtomicInteger();
+
+    // Queued after the last element
+    private static final Future<JsonTableImporter.Record> END =
+            new FutureTask<JsonTableImporter.Record>(new Callable<JsonTableImporter.Record>() {
+                @Override
+                public JsonTableImporter.Record call() {
+                    return null;
+                }
+            });
+
+    static {
+        ((FutureTask<JsonTableImporter.Record>) END).run();
+    }
+
+    private final JsonTableImporter importer;
+    private final int parserCount;
+    private volatile Throwable splitterError;
+
+    JsonImportPipeline(JsonTableImporter importer, int parserCount) {
+        if (parserCount < 1) {
+            throw new IllegalArgumentException("At least one parser thread is needed: " + parserCount);
+        }
+        this.importer = importer;
+        this.parserCount = parserCount;
+    }
+
+    /**
+     * Imports all objects of the array, must be called on the thread of the Realm.
+     *
+     * @param in the JSON array, closed by the pipeline.
+     * @param beforeFirstWrite called on the calling thread before the first record is written, not called if the
+     * array is empty.
+     * @throws RealmException if the JSON is malformed or a value doesn't match the type of its field.
+     */
+    void run(final Reader in, Runnable beforeFirstWrite) throws IOException {
+        final BlockingQueue<Future<JsonTableImporter.Record>> records =
+                new ArrayBlockingQueue<Future<JsonTableImporter.Record>>(parserCount * ELEMENTS_AHEAD_PER_PARSER);
+        final ExecutorService parsers = Executors.newFixedThreadPool(parserCount, new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "RealmJsonParser-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        final JsonTableImporter.Layout layout = importer.getRootLayout();
+
+        Thread splitter = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    ArraySplitter elements = new ArraySplitter(in);
+                    String element;
+                    while ((element = elements.next()) != null) {
+                        records.put(parsers.submit(new ElementParser(layout, element)));
+                    }
+                } catch (InterruptedException e) {
+                    // The writer stopped, nobody is waiting for the end of the array
+                    return;
+                } catch (Throwable e) {
+                    splitterError = e;
+                } finally {
+                    closeQuietly(in);
+                }
+                try {
+                    records.put(END);
+                } catch (InterruptedException ignored) {
+                }
+            }
+        }, "RealmJsonSplitter-" + threadCount.incrementAndGet());
+        splitter.setDaemon(true);
+        splitter.start();
+
+        boolean first = true;
+        try {
+            Future<JsonTableImporter.Record> record;
+            while ((record = records.take()) != END) {
+                JsonTableImporter.Record parsed = getRecord(record);
+                if (first) {
+                    beforeFirstWrite.run();
+                    first = false;
+                }
+                importer.write(parsed);
+            }
+            if (splitterError != null) {
+                rethrow(splitterError);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while importing JSON");
+        } finally {
+            splitter.interrupt();
+            parsers.shutdownNow();
+        }
+    }
+
+    private static JsonTableImporter.Record getRecord(Future<JsonTableImporter.Record> record)
+            throws IOException, InterruptedException {
+        try {
+            return record.get();
+        } catch (ExecutionException e) {
+            rethrow(e.getCause());
+            return null;
+        }
+    }
+
+    private static void closeQuietly(Reader in) {
+        try {
+            in.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    private static void rethrow(Throwable e) throws IOException {
+        if (e instanceof MalformedJsonException || e instanceof EOFException) {
+            throw new RealmException("Failed to read JSON", e);
+        } else if (e instanceof IOException) {
+            throw (IOException) e;
+        } else if (e instanceof RuntimeException) {
+            throw (RuntimeException) e;
+        } else if (e instanceof Error) {
+            throw (Error) e;
+        }
+        throw new RealmException("Failed to import JSON", e);
+    }
+
+    private static final class ElementParser implements Callable<JsonTableImporter.Record> {
+        private final JsonTableImporter.Layout layout;
+        private final String json;
+
+        ElementParser(JsonTableImporter.Layout layout, String json) {
+            this.layout = layout;
+            this.json = json;
+        }
+
+        @Override
+        public JsonTableImporter.Record call() throws IOException {
+            JsonReader reader = new JsonReader(new StringReader(json));
+            try {
+                JsonTableImporter.Record record = new JsonTableImporter.Record(layout);
+                JsonTableImporter.read(reader, record, JsonTableImporter.NEW_RECORDS);
+                return record;
+            } finally {
+                reader.close();
+            }
+        }
+    }
+
+    /**
+     * Cuts a JSON array into the text of its elements, only tracking strings and nesting. The elements are validated
+     * when they are parsed.
+     */
+    static final class ArraySplitter {
+        private final Reader in;
+        private final char[] buffer = new char[8192];
+        private int position;
+        private int limit;
+        private final StringBuilder element = new StringBuilder();
+        private boolean started;
+        private boolean finished;
+
+        ArraySplitter(Reader in) {
+            this.in = in;
+        }
+
+        /**
+         * @return the text of the next element, or {@code null} at the end of the array.
+         */
+        String next() throws IOException {
+            if (!started) {
+                started = true;
+                if (nextNonWhitespace() != '[') {
+                    throw new MalformedJsonException("Expected a JSON array");
+                }
+            }
+            if (finished) {
+                return null;
+            }
+
+            element.setLength(0);
+            int depth = 0;
+            boolean inString = false;
+            boolean escaped = false;
+            while (true) {
+                int c = read();
+                if (c == -1) {
+                    throw new EOFException("End of input");
+                }
+                char ch = (char) c;
+                if (inString) {
+                    element.append(ch);
+                    if (escaped) {
+                        escaped = false;
+                    } else if (ch == '\\') {
+                        escaped = true;
+                    } else if (ch == '"') {
+                        inString = false;
+                    }
+                    continue;
+                }
+                switch (ch) {
+                    case ' ':
+                    case '\t':
+                    case '\n':
+                    case '\r':
+                        continue;
+                    case '"':
+                        inString = true;
+                        break;
+                    case '[':
+                    case '{':
+                        depth++;
+                        break;
+                    case ']':
+                        if (depth == 0) {
+                            finished = true;
+                            return (element.length() == 0) ? null : element.toString();
+                        }
+                        depth--;
+                        break;
+                    case '}':
+                        if (depth == 0) {
+                            throw new MalformedJsonException("Unexpected '}' in JSON array");
+                        }
+                        depth--;
+                        break;
+                    case ',':
+                        if (depth == 0) {
+                            return element.toString();
+                        }
+                        break;
+                    default:
+                        break;
+                }
+                element.append(ch);
+            }
+        }
+
+        private int nextNonWhitespace() throws IOException {
+            int c;
+            do {
+                c = read();
+            } while (c == ' ' || c == '\t' || c == '\n' || c == '\r');
+            return c;
+        }
+
+        private int read() throws IOException {
+            if (position == limit) {
+                limit = in.read(buffer, 0, buffer.length);
+                position = 0;
+                if (limit <= 0) {
+                    limit = 0;
+                    return -1;
+                }
+            }
+            return buffer[position++];
+        }
+    }
+}
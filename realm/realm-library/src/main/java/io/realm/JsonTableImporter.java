@@ -0,0 +1,438 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.util.JsonReader;
+import android.util.JsonToken;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import io.realm.exceptions.RealmException;
+import io.realm.internal.LinkView;
+import io.realm.internal.Table;
+import io.realm.internal.android.JsonUtils;
+
+/**
+ * Imports JSON objects read from a stream by writing their values straight into the tables of a Realm, without
+ * creating a proxy object or a native row accessor for each of them.
+ * <p>
+ * An object is first read into a {@link Record}, which buffers its values and the records of the objects it links
+ * to. The record is then written to a new row, with a single native call for its values. Fields of the JSON objects
+ * which have no column are ignored, and columns which have no field keep their default value.
+ * <p>
+ * When updating, the objects of classes with a primary key are looked up by the primary key value once they have
+ * been read, so the primary key can appear anywhere in the object. Only the fields of an existing object which are
+ * present in the JSON object are written.
+ * <p>
+ * Reading a record only depends on the {@link Layout}s of the tables, which are resolved when the importer is
+ * created. Records can therefore be read on other threads, see {@link JsonImportPipeline}, but they must be written
+ * on the thread of the Realm.
+ */
+@TargetApi(Build.VERSION_CODES.HONEYCOMB)
+final class JsonTableImporter {
+
+    // Creates the records of linked objects, pooled records can only be used on the thread of the Realm.
+    interface RecordSource {
+        Record obtain(Layout layout);
+    }
+
+    static final RecordSource NEW_RECORDS = new RecordSource() {
+        @Override
+        public Record obtain(Layout layout) {
+            return new Record(layout);
+        }
+    };
+
+    private final Map<String, Layout> layouts = new HashMap<String, Layout>();
+    private final Layout rootLayout;
+    private final boolean update;
+    private final RecordSource pooledRecords = new RecordSource() {
+        @Override
+        public Record obtain(Layout layout) {
+            Record record = layout.idleRecords.poll();
+            return (record != null) ? record : new Record(layout);
+        }
+    };
+
+    /**
+     * @param table the table of the imported objects.
+     * @param update {@code true} to update the existing objects with the same primary key, {@code false} to always
+     * create new objects.
+     */
+    JsonTableImporter(Table table, boolean update) {
+        this.rootLayout = getLayout(table);
+        this.update = update;
+    }
+
+    Layout getRootLayout() {
+        return rootLayout;
+    }
+
+    /**
+     * Imports all objects of a JSON array.
+     *
+     * @param reader the reader positioned before the array.
+     */
+    void importArray(JsonReader reader) throws IOException {
+        reader.beginArray();
+        while (reader.hasNext()) {
+            importObject(reader);
+        }
+        reader.endArray();
+    }
+
+    /**
+     * Imports a JSON object.
+     *
+     * @param reader the reader positioned before the object.
+     * @return the index of the row of the object.
+     */
+    long importObject(JsonReader reader) throws IOException {
+        Record record = pooledRecords.obtain(rootLayout);
+        try {
+            read(reader, record, pooledRecords);
+            return write(record);
+        } finally {
+            recycle(record);
+        }
+    }
+
+    private Layout getLayout(Table table) {
+        String name = table.getName();
+        Layout layout = layouts.get(name);
+        if (layout == null) {
+            layout = new Layout(table);
+            // Registered before its links are resolved as a table can link to itself
+            layouts.put(name, layout);
+            for (int i = 0; i < layout.columnTypes.length; i++) {
+                if (layout.columnTypes[i] == RealmFieldType.OBJECT || layout.columnTypes[i] == RealmFieldType.LIST) {
+                    layout.linkTargets[i] = getLayout(table.getLinkTarget(i));
+                }
+            }
+        }
+        return layout;
+    }
+
+    private void recycle(Record record) {
+        for (int i = 0; i < record.linkCount; i++) {
+            if (record.links[i] != null) {
+                recycle(record.links[i]);
+            }
+        }
+        record.clear();
+        record.layout.idleRecords.push(record);
+    }
+
+    /**
+     * The columns of a table, read-only once created so records can be read on any thread.
+     */
+    static final class Layout {
+        // Only used on the thread of the Realm
+        private final Table table;
+        private final ArrayDeque<Record> idleRecords = new ArrayDeque<Record>();
+
+        private final Map<String, Long> columnIndices = new HashMap<String, Long>();
+        private final RealmFieldType[] columnTypes;
+        private final boolean[] nullable;
+        private final Layout[] linkTargets;
+        private final long primaryKeyColumnIndex;
+
+        private Layout(Table table) {
+            this.table = table;
+            int columnCount = (int) table.getColumnCount();
+            columnTypes = new RealmFieldType[columnCount];
+            nullable = new boolean[columnCount];
+            linkTargets = new Layout[columnCount];
+            for (int i = 0; i < columnCount; i++) {
+                columnIndices.put(table.getColumnName(i), (long) i);
+                columnTypes[i] = table.getColumnType(i);
+                nullable[i] = table.isColumnNullable(i);
+            }
+            primaryKeyColumnIndex = table.hasPrimaryKey() ? table.getPrimaryKey() : Table.NO_MATCH;
+        }
+    }
+
+    /**
+     * The values of a JSON object, see {@link Table#setValues}, and the records of the objects it links to.
+     */
+    static final class Record {
+        private final Layout layout;
+
+        private long[] columns;
+        private long[] longs;
+        private double[] doubles;
+        private Object[] objects;
+        private boolean[] nulls;
+        private int count;
+
+        // Pairs of link column and linked record. The record of a null link and of the pair starting a list is null.
+        private long[] linkColumns = new long[4];
+        private Record[] links = new Record[4];
+        private int linkCount;
+
+        private boolean hasPrimaryKey;
+        private Object primaryKey;
+
+        Record(Layout layout) {
+            this.layout = layout;
+            int capacity = Math.max(4, layout.columnTypes.length);
+            columns = new long[capacity];
+            longs = new long[capacity];
+            doubles = new double[capacity];
+            objects = new Object[capacity];
+            nulls = new boolean[capacity];
+        }
+
+        private void clear() {
+            Arrays.fill(objects, 0, count, null);
+            Arrays.fill(links, 0, linkCount, null);
+            count = 0;
+            linkCount = 0;
+            hasPrimaryKey = false;
+            primaryKey = null;
+        }
+
+        private void bufferValue(long columnIndex, boolean isNull) {
+            // A field can appear more than once in an object, the last value is then written last.
+            if (count == columns.length) {
+                int capacity = count * 2;
+                columns = Arrays.copyOf(columns, capacity);
+                longs = Arrays.copyOf(longs, capacity);
+                doubles = Arrays.copyOf(doubles, capacity);
+                objects = Arrays.copyOf(objects, capacity);
+                nulls = Arrays.copyOf(nulls, capacity);
+            }
+            columns[count] = columnIndex;
+            nulls[count] = isNull;
+            count++;
+        }
+
+        private void addLink(long columnIndex, Record record) {
+            if (linkCount == linkColumns.length) {
+                linkColumns = Arrays.copyOf(linkColumns, linkCount * 2);
+                links = Arrays.copyOf(links, linkCount * 2);
+            }
+            linkColumns[linkCount] = columnIndex;
+            links[linkCount] = record;
+            linkCount++;
+        }
+    }
+
+    /**
+     * Reads a JSON object into an empty record. It doesn't access the Realm and can be called on any thread.
+     *
+     * @param reader the reader positioned before the object.
+     * @param record the record to fill.
+     * @param source creates the records of the linked objects.
+     * @throws RealmException if a value doesn't match the type of its field.
+     */
+    static void read(JsonReader reader, Record record, RecordSource source) throws IOException {
+        try {
+            readObject(reader, record, source);
+        } catch (NumberFormatException e) {
+            throw new RealmException("Failed to read JSON", e);
+        } catch (IllegalStateException e) {
+            // Thrown by the JsonReader if the next token isn't the one expected for the field
+            throw new RealmException("Failed to read JSON", e);
+        }
+    }
+
+    private static void readObject(JsonReader reader, Record record, RecordSource source) throws IOException {
+        Layout layout = record.layout;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            Long columnIndex = layout.columnIndices.get(name);
+            if (columnIndex == null) {
+                reader.skipValue();
+            } else if (columnIndex == layout.primaryKeyColumnIndex) {
+                readPrimaryKey(name, reader, record);
+            } else {
+                readField(name, columnIndex, reader, record, source);
+            }
+        }
+        reader.endObject();
+    }
+
+    private static void readPrimaryKey(String name, JsonReader reader, Record record) throws IOException {
+        Layout layout = record.layout;
+        record.hasPrimaryKey = true;
+        if (reader.peek() == JsonToken.NULL) {
+            reader.skipValue();
+            if (!layout.nullable[(int) layout.primaryKeyColumnIndex]) {
+                throw illegalNull(name);
+            }
+            record.primaryKey = null;
+        } else if (layout.columnTypes[(int) layout.primaryKeyColumnIndex] == RealmFieldType.INTEGER) {
+            record.primaryKey = reader.nextLong();
+        } else {
+            record.primaryKey = reader.nextString();
+        }
+    }
+
+    private static void readField(String name, long columnIndex, JsonReader reader, Record record,
+                                  RecordSource source) throws IOException {
+        Layout layout = record.layout;
+        RealmFieldType type = layout.columnTypes[(int) columnIndex];
+        if (reader.peek() == JsonToken.NULL) {
+            reader.skipValue();
+            if (type == RealmFieldType.OBJECT || type == RealmFieldType.LIST) {
+                record.addLink(columnIndex, null);
+            } else {
+                bufferNull(name, columnIndex, record);
+            }
+            return;
+        }
+
+        int i = record.count;
+        switch (type) {
+            case INTEGER:
+                record.longs[i] = reader.nextLong();
+                break;
+            case BOOLEAN:
+                record.longs[i] = reader.nextBoolean() ? 1 : 0;
+                break;
+            case FLOAT:
+            case DOUBLE:
+                record.doubles[i] = reader.nextDouble();
+                break;
+            case STRING:
+                record.objects[i] = reader.nextString();
+                break;
+            case BINARY:
+                record.objects[i] = JsonUtils.stringToBytes(reader.nextString());
+                break;
+            case DATE:
+                if (reader.peek() == JsonToken.NUMBER) {
+                    long timestamp = reader.nextLong();
+                    if (timestamp < 0) {
+                        return;
+                    }
+                    record.longs[i] = timestamp;
+                } else {
+                    String date = reader.nextString();
+                    if (date.length() == 0) {
+                        bufferNull(name, columnIndex, record);
+                        return;
+                    }
+                    record.longs[i] = JsonUtils.stringToMillis(date);
+                }
+                break;
+            case OBJECT:
+                record.addLink(columnIndex, readLinked(reader, layout.linkTargets[(int) columnIndex], source));
+                return;
+            case LIST:
+                Layout target = layout.linkTargets[(int) columnIndex];
+                record.addLink(columnIndex, null);
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    record.addLink(columnIndex, readLinked(reader, target, source));
+                }
+                reader.endArray();
+                return;
+            default:
+                reader.skipValue();
+                return;
+        }
+        record.bufferValue(columnIndex, false);
+    }
+
+    private static Record readLinked(JsonReader reader, Layout layout, RecordSource source) throws IOException {
+        Record record = source.obtain(layout);
+        readObject(reader, record, source);
+        return record;
+    }
+
+    private static void bufferNull(String name, long columnIndex, Record record) {
+        if (!record.layout.nullable[(int) columnIndex]) {
+            throw illegalNull(name);
+        }
+        record.bufferValue(columnIndex, true);
+    }
+
+    private static IllegalArgumentException illegalNull(String name) {
+        return new IllegalArgumentException("Trying to set non-nullable field " + name + " to null.");
+    }
+
+    /**
+     * Writes a record and the records it links to. Must be called on the thread of the Realm, in a write transaction.
+     *
+     * @return the index of the row of the record.
+     */
+    long write(Record record) {
+        Table table = record.layout.table;
+        long rowIndex = (update && record.hasPrimaryKey) ? findPrimaryKey(record) : Table.NO_MATCH;
+        boolean existing = rowIndex != Table.NO_MATCH;
+        if (!existing) {
+            rowIndex = record.hasPrimaryKey ? table.addEmptyRowWithPrimaryKey(record.primaryKey) : table.addEmptyRow();
+        }
+        if (record.count > 0) {
+            table.setValues(rowIndex, record.columns, record.count, record.longs, record.doubles, record.objects,
+                    record.nulls);
+        }
+        writeLinks(record, rowIndex, existing);
+        return rowIndex;
+    }
+
+    private static long findPrimaryKey(Record record) {
+        Table table = record.layout.table;
+        long columnIndex = record.layout.primaryKeyColumnIndex;
+        if (record.primaryKey == null) {
+            return table.findFirstNull(columnIndex);
+        } else if (record.primaryKey instanceof Long) {
+            return table.findFirstLong(columnIndex, (Long) record.primaryKey);
+        } else {
+            return table.findFirstString(columnIndex, (String) record.primaryKey);
+        }
+    }
+
+    // The links of new rows are empty, only existing rows need their links to be removed.
+    private void writeLinks(Record record, long rowIndex, boolean existing) {
+        Table table = record.layout.table;
+        for (int i = 0; i < record.linkCount; i++) {
+            long columnIndex = record.linkColumns[i];
+            if (record.layout.columnTypes[(int) columnIndex] == RealmFieldType.OBJECT) {
+                if (record.links[i] != null) {
+                    table.setLink(columnIndex, rowIndex, write(record.links[i]));
+                } else if (existing) {
+                    table.nullifyLink(columnIndex, rowIndex);
+                }
+            } else {
+                int end = i + 1;
+                while (end < record.linkCount && record.linkColumns[end] == columnIndex && record.links[end] != null) {
+                    end++;
+                }
+                if (existing || end > i + 1) {
+                    LinkView links = table.getLinkList(columnIndex, rowIndex);
+                    if (existing) {
+                        links.clear();
+                    }
+                    for (int j = i + 1; j < end; j++) {
+                        links.add(write(record.links[j]));
+                    }
+                }
+                i = end - 1;
+            }
+        }
+    }
+}
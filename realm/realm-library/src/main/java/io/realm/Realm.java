@@ -21,11 +21,14 @@ import android.content.Context;
 import android.os.Build;
 import android.os.Looper;
 import android.util.JsonReader;
+import android.util.JsonToken;
+import android.util.MalformedJsonException;
 
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.io.EOFException;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
@@ -34,10 +37,12 @@ import java.io.InputStreamReader;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Scanner;
 import java.util.Set;
 import java.util.concurrent.Future;
 
@@ -47,11 +52,14 @@ import io.realm.exceptions.RealmIOException;
 import io.realm.exceptions.RealmMigrationNeededException;
 import io.realm.internal.ColumnIndices;
 import io.realm.internal.ColumnInfo;
+import io.realm.internal.InsertContext;
 import io.realm.internal.RealmObjectProxy;
 import io.realm.internal.RealmProxyMediator;
+import io.realm.internal.RowIdentityMap;
 import io.realm.internal.Table;
 import io.realm.internal.TableView;
 import io.realm.internal.Util;
+import io.realm.internal.async.RealmThreadPoolExecutor;
 import io.realm.internal.log.RealmLog;
 import rx.Observable;
 
@@ -194,6 +202,42 @@ public final class Realm extends BaseRealm {
         return RealmCache.createRealmOrGetFromCache(configuration, Realm.class);
     }
 
+    /**
+     * Opens the Realm file defined by the provided {@link RealmConfiguration} on a background thread, so the first
+     * {@link #getInstance(RealmConfiguration)} doesn't have to. The asset file is copied, the file is compacted if
+     * {@link RealmConfiguration.Builder#compactOnLaunch(CompactionPolicy)} asks for it, migrated if needed and its
+     * schema is validated. The column indices of the model classes are then kept until the first instance is opened
+     * with an equal configuration, which uses them directly.
+     * <p>
+     * Calling {@link #getInstance(RealmConfiguration)} for any file while the Realm is prewarmed waits for it to
+     * finish. Nothing is done if an instance of the file is already open. Errors are logged, the same error is thrown
+     * when the first instance is opened.
+     *
+     * @param configuration {@link RealmConfiguration} of the Realm to prewarm.
+     * @return a {@link RealmAsyncTask} representing a cancellable task.
+     * @throws IllegalArgumentException if a null {@link RealmConfiguration} is provided.
+     */
+    public static RealmAsyncTask prewarm(final RealmConfiguration configuration) {
+        if (configuration == null) {
+            throw new IllegalArgumentException("A non-null RealmConfiguration must be provided");
+        }
+        final RealmThreadPoolExecutor queryExecutor = configuration.getAsyncExecutor().getQueryExecutor();
+        Future<?> pendingPrewarm = queryExecutor.submit(new Runnable() {
+            @Override
+            public void run() {
+                if (Thread.currentThread().isInterrupted()) {
+                    return;
+                }
+                try {
+                    RealmCache.prewarm(configuration);
+                } catch (RuntimeException e) {
+                    RealmLog.w("Could not prewarm " + configuration.getPath() + ": " + e.getMessage());
+                }
+            }
+        });
+        return new RealmAsyncTask(pendingPrewarm, queryExecutor);
+    }
+
     /**
      * Sets the {@link io.realm.RealmConfiguration} used when calling {@link #getDefaultInstance()}.
      *
@@ -221,8 +265,8 @@ public final class Realm extends BaseRealm {
      *
      * @param configuration {@link RealmConfiguration} used to create the Realm.
      * @param columnIndices if this is not  {@code null}, the {@link BaseRealm#schema#columnIndices} will be
-     *                      initialized to it. Otherwise, {@link BaseRealm#schema#columnIndices} will be populated from
-     *                      the Realm file.
+     *                      initialized to it, unless the schema of the file was changed since they were read.
+     *                      Otherwise, {@link BaseRealm#schema#columnIndices} will be populated from the Realm file.
      * @return a {@link Realm} instance.
      */
     static Realm createInstance(RealmConfiguration configuration, ColumnIndices columnIndices) {
@@ -250,6 +294,11 @@ public final class Realm extends BaseRealm {
         Realm realm = new Realm(configuration, autoRefresh);
         long currentVersion = realm.getVersion();
         long requiredVersion = configuration.getSchemaVersion();
+        if (columnIndices != null && (currentVersion != requiredVersion
+                || realm.getSchemaFingerprint() != configuration.getSchemaMediator().getSchemaFingerprint())) {
+            // A DynamicRealm or another process changed the schema since the column indices were read
+            columnIndices = null;
+        }
         if (currentVersion != UNVERSIONED && currentVersion < requiredVersion && columnIndices == null) {
             realm.doClose();
             throw new RealmMigrationNeededException(configuration.getPath(), String.format("Realm on disk need to migrate from v%s to v%s", currentVersion, requiredVersion));
@@ -277,6 +326,21 @@ public final class Realm extends BaseRealm {
     @SuppressWarnings("unchecked")
     private static void initializeRealm(Realm realm) {
         long version = realm.getVersion();
+        RealmProxyMediator mediator = realm.configuration.getSchemaMediator();
+        final Set<Class<? extends RealmModel>> modelClasses = mediator.getModelClasses();
+        final long schemaFingerprint = mediator.getSchemaFingerprint();
+
+        if (version != UNVERSIONED && realm.getSchemaFingerprint() == schemaFingerprint) {
+            // The file was validated against the same schema before, only the column indices are looked up
+            final Map<Class<? extends RealmModel>, ColumnInfo> columnInfoMap;
+            columnInfoMap = new HashMap<Class<? extends RealmModel>, ColumnInfo>(modelClasses.size());
+            for (Class<? extends RealmModel> modelClass : modelClasses) {
+                columnInfoMap.put(modelClass, mediator.getColumnInfo(modelClass, realm.sharedGroupManager.getTransaction()));
+            }
+            realm.schema.columnIndices = new ColumnIndices(columnInfoMap);
+            return;
+        }
+
         boolean commitNeeded = false;
         try {
             realm.beginTransaction();
@@ -285,8 +349,6 @@ public final class Realm extends BaseRealm {
                 realm.setVersion(realm.configuration.getSchemaVersion());
             }
 
-            RealmProxyMediator mediator = realm.configuration.getSchemaMediator();
-            final Set<Class<? extends RealmModel>> modelClasses = mediator.getModelClasses();
             final Map<Class<? extends RealmModel>, ColumnInfo> columnInfoMap;
             columnInfoMap = new HashMap<Class<? extends RealmModel>, ColumnInfo>(modelClasses.size());
             for (Class<? extends RealmModel> modelClass : modelClasses) {
@@ -298,6 +360,10 @@ public final class Realm extends BaseRealm {
             }
             realm.schema.columnIndices = new ColumnIndices(columnInfoMap);
 
+            // Lets the next Realms opened on the file skip the validation while the schema stays the same
+            realm.setSchemaFingerprint(schemaFingerprint);
+            commitNeeded = true;
+
             if (version == UNVERSIONED) {
                 final Transaction transaction = realm.getConfiguration().getInitialDataTransaction();
                 if (transaction != null) {
@@ -438,18 +504,65 @@ public final class Realm extends BaseRealm {
             return;
         }
 
+        checkIfValid();
         JsonReader reader = new JsonReader(new InputStreamReader(inputStream, "UTF-8"));
         try {
-            reader.beginArray();
-            while (reader.hasNext()) {
-                configuration.getSchemaMediator().createUsingJsonStream(clazz, this, reader);
-            }
-            reader.endArray();
+            new JsonTableImporter(schema.getTable(clazz), false).importArray(reader);
         } finally {
             reader.close();
         }
     }
 
+    /**
+     * Creates a Realm object for each object in a JSON array, parsing the objects on several threads. This must be
+     * done outside of a transaction: the objects are written in a single transaction, begun once the first object has
+     * been parsed, which is committed at the end of the array or cancelled if the import fails. Parsing continues on
+     * the other threads while objects are written, in the order of the array, on the calling thread.
+     * <p>
+     * JSON properties and missing fields are mapped as by {@link #createAllFromJson(Class, InputStream)}.
+     *
+     * @param clazz type of Realm objects created.
+     * @param inputStream the JSON array as a InputStream. All objects in the array must be of the specified class. It
+     *                    is closed once it has been read. If the import fails while a read of the stream is blocked,
+     *                    it is closed once that read returns, which might happen after this method has returned.
+     * @param parserThreads the number of threads parsing the objects, at least 1.
+     * @throws IllegalStateException if called within a transaction.
+     * @throws RealmException if mapping from JSON fails.
+     * @throws IOException if something was wrong with the input stream.
+     */
+    @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+    public <E extends RealmModel> void importAllFromJson(Class<E> clazz, InputStream inputStream, int parserThreads)
+            throws IOException {
+        if (clazz == null || inputStream == null) {
+            return;
+        }
+        checkIfValid();
+        if (isInTransaction()) {
+            throw new IllegalStateException("JSON can only be imported in parallel outside of a transaction.");
+        }
+
+        JsonImportPipeline pipeline = new JsonImportPipeline(
+                new JsonTableImporter(schema.getTable(clazz), false), parserThreads);
+        InputStreamReader reader = new InputStreamReader(inputStream, "UTF-8");
+        boolean committed = false;
+        try {
+            pipeline.run(reader, new Runnable() {
+                @Override
+                public void run() {
+                    beginTransaction();
+                }
+            });
+            if (isInTransaction()) {
+                commitTransaction();
+            }
+            committed = true;
+        } finally {
+            if (!committed && isInTransaction()) {
+                cancelTransaction();
+            }
+        }
+    }
+
     /**
      * Tries to update a list of existing objects identified by their primary key with new JSON data. If an existing
      * object could not be found in the Realm, a new object will be created. This must happen within a transaction.
@@ -470,22 +583,18 @@ public final class Realm extends BaseRealm {
             return;
         }
         checkHasPrimaryKey(clazz);
+        checkIfValid();
 
-        // As we need the primary key value we have to first parse the entire input stream as in the general
-        // case that value might be the last property :(
-        Scanner scanner = null;
+        JsonReader reader = new JsonReader(new InputStreamReader(in, "UTF-8"));
         try {
-            scanner = getFullStringScanner(in);
-            JSONArray json = new JSONArray(scanner.next());
-            for (int i = 0; i < json.length(); i++) {
-                configuration.getSchemaMediator().createOrUpdateUsingJsonObject(clazz, this, json.getJSONObject(i), true);
-            }
-        } catch (JSONException e) {
+            checkJsonToken(reader, JsonToken.BEGIN_ARRAY);
+            new JsonTableImporter(schema.getTable(clazz), true).importArray(reader);
+        } catch (MalformedJsonException e) {
+            throw new RealmException("Failed to read JSON", e);
+        } catch (EOFException e) {
             throw new RealmException("Failed to read JSON", e);
         } finally {
-            if (scanner != null) {
-                scanner.close();
-            }
+            reader.close();
         }
     }
 
@@ -614,33 +723,7 @@ public final class Realm extends BaseRealm {
         if (clazz == null || inputStream == null) {
             return null;
         }
-        E realmObject;
-        Table table = getTable(clazz);
-        if (table.hasPrimaryKey()) {
-            // As we need the primary key value we have to first parse the entire input stream as in the general
-            // case that value might be the last property :(
-            Scanner scanner = null;
-            try {
-                scanner = getFullStringScanner(inputStream);
-                JSONObject json = new JSONObject(scanner.next());
-                realmObject = configuration.getSchemaMediator().createOrUpdateUsingJsonObject(clazz, this, json, false);
-
-            } catch (JSONException e) {
-                throw new RealmException("Failed to read JSON", e);
-            } finally {
-                if (scanner != null) {
-                    scanner.close();
-                }
-            }
-        } else {
-            JsonReader reader = new JsonReader(new InputStreamReader(inputStream, "UTF-8"));
-            try {
-                realmObject = configuration.getSchemaMediator().createUsingJsonStream(clazz, this, reader);
-            } finally {
-                reader.close();
-            }
-        }
-        return realmObject;
+        return importObjectFromJson(clazz, inputStream, false);
     }
 
     /**
@@ -664,25 +747,35 @@ public final class Realm extends BaseRealm {
             return null;
         }
         checkHasPrimaryKey(clazz);
+        return importObjectFromJson(clazz, in, true);
+    }
 
-        // As we need the primary key value we have to first parse the entire input stream as in the general
-        // case that value might be the last property :(
-        Scanner scanner = null;
+    // Reads a single object with a JsonTableImporter. The primary key is looked up once the object has been read, so
+    // the stream doesn't have to be read into memory first.
+    @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+    private <E extends RealmModel> E importObjectFromJson(Class<E> clazz, InputStream in, boolean update)
+            throws IOException {
+        checkIfValid();
+        JsonReader reader = new JsonReader(new InputStreamReader(in, "UTF-8"));
         try {
-            scanner = getFullStringScanner(in);
-            JSONObject json = new JSONObject(scanner.next());
-            return createOrUpdateObjectFromJson(clazz, json);
-        } catch (JSONException e) {
+            checkJsonToken(reader, JsonToken.BEGIN_OBJECT);
+            long rowIndex = new JsonTableImporter(schema.getTable(clazz), update).importObject(reader);
+            return get(clazz, rowIndex);
+        } catch (MalformedJsonException e) {
+            throw new RealmException("Failed to read JSON", e);
+        } catch (EOFException e) {
             throw new RealmException("Failed to read JSON", e);
         } finally {
-            if (scanner != null) {
-                scanner.close();
-            }
+            reader.close();
         }
     }
 
-    private Scanner getFullStringScanner(InputStream in) {
-        return new Scanner(in, "UTF-8").useDelimiter("\\A");
+    @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+    private static void checkJsonToken(JsonReader reader, JsonToken expected) throws IOException {
+        JsonToken token = reader.peek();
+        if (token != expected) {
+            throw new RealmException("Failed to read JSON, expected " + expected + " but was " + token);
+        }
     }
 
     /**
@@ -809,6 +902,70 @@ public final class Realm extends BaseRealm {
         return realmObjects;
     }
 
+    /**
+     * Inserts a collection of RealmObjects into the Realm. Unlike {@link #copyToRealm(Iterable)} no managed object is
+     * created: the rows of the objects without primary key are added with one native call per class and the values
+     * are written column by column, so this is the fastest way to store objects that won't be read right away. This
+     * is a deep insert, all referenced objects will be inserted as well. Objects already in this Realm will be
+     * ignored.
+     * <p>
+     * Please note, inserting an object will write all field values. Any unset field in the objects and child objects
+     * will be set to their default value if not provided.
+     * <p>
+     * If an exception is thrown, the objects inserted before it are written to the Realm like with
+     * {@link #copyToRealm(Iterable)}. Cancel the transaction to discard them.
+     *
+     * @param objects the RealmObjects to insert.
+     * @throws java.lang.IllegalArgumentException if the collection or any of its elements is {@code null} or an object
+     * belongs to a Realm instance in a different thread.
+     * @throws IllegalStateException if not in a write transaction.
+     * @throws io.realm.exceptions.RealmPrimaryKeyConstraintException if an object has the same primary key as an
+     * existing one.
+     */
+    public void insert(Collection<? extends RealmModel> objects) {
+        insertAll(objects, false);
+    }
+
+    /**
+     * Inserts a RealmObject into the Realm without creating a managed object, see {@link #insert(Collection)}.
+     *
+     * @param object the RealmObject to insert.
+     * @throws java.lang.IllegalArgumentException if the object is {@code null} or it belongs to a Realm instance in a
+     * different thread.
+     * @throws IllegalStateException if not in a write transaction.
+     */
+    public void insert(RealmModel object) {
+        insertAll(Collections.singletonList(object), false);
+    }
+
+    /**
+     * Updates the existing RealmObjects identified by the same {@link io.realm.annotations.PrimaryKey} or inserts the
+     * ones which could not be found, without creating managed objects, see {@link #insert(Collection)}. This is a deep
+     * update i.e., all referenced objects will be either inserted or updated.
+     *
+     * @param objects the RealmObjects to insert or update.
+     * @throws java.lang.IllegalArgumentException if the collection or any of its elements is {@code null}, doesn't
+     * have a primary key defined or belongs to a Realm instance in a different thread.
+     * @throws IllegalStateException if not in a write transaction.
+     * @see #copyToRealmOrUpdate(Iterable)
+     */
+    public void insertOrUpdate(Collection<? extends RealmModel> objects) {
+        insertAll(objects, true);
+    }
+
+    /**
+     * Updates the existing RealmObject identified by the same {@link io.realm.annotations.PrimaryKey} or inserts it
+     * if it could not be found, without creating a managed object, see {@link #insertOrUpdate(Collection)}.
+     *
+     * @param object the RealmObject to insert or update.
+     * @throws java.lang.IllegalArgumentException if the object is {@code null}, doesn't have a primary key defined or
+     * belongs to a Realm instance in a different thread.
+     * @throws IllegalStateException if not in a write transaction.
+     */
+    public void insertOrUpdate(RealmModel object) {
+        insertAll(Collections.singletonList(object), true);
+    }
+
     /**
      * Makes an unmanaged in-memory copy of already persisted RealmObjects. This is a deep copy that will copy all
      * referenced objects.
@@ -858,7 +1015,7 @@ public final class Realm extends BaseRealm {
         }
 
         ArrayList<E> unmanagedObjects = new ArrayList<E>();
-        Map<RealmModel, RealmObjectProxy.CacheData<RealmModel>> listCache = new HashMap<RealmModel, RealmObjectProxy.CacheData<RealmModel>>();
+        Map<RealmModel, RealmObjectProxy.CacheData<RealmModel>> listCache = new RowIdentityMap<RealmObjectProxy.CacheData<RealmModel>>();
         for (E object : realmObjects) {
             checkValidObjectForDetach(object);
             unmanagedObjects.add(createDetachedCopy(object, maxDepth, listCache));
@@ -912,7 +1069,7 @@ public final class Realm extends BaseRealm {
     public <E extends RealmModel> E copyFromRealm(E realmObject, int maxDepth) {
         checkMaxDepth(maxDepth);
         checkValidObjectForDetach(realmObject);
-        return createDetachedCopy(realmObject, maxDepth, new HashMap<RealmModel, RealmObjectProxy.CacheData<RealmModel>>());
+        return createDetachedCopy(realmObject, maxDepth, new RowIdentityMap<RealmObjectProxy.CacheData<RealmModel>>());
     }
 
     /**
@@ -1049,7 +1206,15 @@ public final class Realm extends BaseRealm {
         // to perform the transaction
         final RealmConfiguration realmConfiguration = getConfiguration();
 
-        final Future<?> pendingTransaction= asyncTaskExecutor.submit(new Runnable() {
+        final RealmAsyncExecutor asyncExecutor = configuration.getAsyncExecutor();
+        final RealmThreadPoolExecutor writeExecutor = asyncExecutor.getWriteExecutor();
+        if (asyncExecutor.isCoalescingWrites()) {
+            Future<?> pendingTransaction = asyncExecutor.submitCoalescedTransaction(realmConfiguration, transaction,
+                    handler, onSuccess, onError);
+            return new RealmAsyncTask(pendingTransaction, writeExecutor);
+        }
+
+        final Future<?> pendingTransaction = writeExecutor.submit(new Runnable() {
             @Override
             public void run() {
                 if (Thread.currentThread().isInterrupted()) {
@@ -1143,7 +1308,7 @@ public final class Realm extends BaseRealm {
             }
         });
 
-        return new RealmAsyncTask(pendingTransaction);
+        return new RealmAsyncTask(pendingTransaction, writeExecutor);
     }
 
     /**
@@ -1161,7 +1326,62 @@ public final class Realm extends BaseRealm {
     @SuppressWarnings("unchecked")
     private <E extends RealmModel> E copyOrUpdate(E object, boolean update) {
         checkIfValid();
-        return configuration.getSchemaMediator().copyOrUpdate(this, object, update, new HashMap<RealmModel, RealmObjectProxy>());
+        return configuration.getSchemaMediator().copyOrUpdate(this, object, update, new IdentityHashMap<RealmModel, RealmObjectProxy>());
+    }
+
+    private void insertAll(Collection<? extends RealmModel> objects, boolean update) {
+        checkIfValid();
+        if (objects == null) {
+            throw new IllegalArgumentException("Null objects cannot be inserted into Realm.");
+        }
+        if (!isInTransaction()) {
+            throw new IllegalStateException("Objects can only be inserted in a write transaction.");
+        }
+
+        // Counts the new objects of each class, so rows can be added with one native call per table
+        Map<Class<? extends RealmModel>, Long> newObjects = new HashMap<Class<? extends RealmModel>, Long>();
+        for (RealmModel object : objects) {
+            if (object == null) {
+                throw new IllegalArgumentException("Null objects cannot be inserted into Realm.");
+            }
+            Class<? extends RealmModel> clazz = Util.getOriginalModelClass(object.getClass());
+            Long count = newObjects.get(clazz);
+            if (count == null) {
+                if (update) {
+                    checkHasPrimaryKey(clazz);
+                }
+                count = 0L;
+            }
+            if (!isManaged(object)) {
+                count++;
+            }
+            newObjects.put(clazz, count);
+        }
+
+        InsertContext context = new InsertContext(update);
+        for (Map.Entry<Class<? extends RealmModel>, Long> entry : newObjects.entrySet()) {
+            Table table = getTable(entry.getKey());
+            if (!table.hasPrimaryKey()) {
+                context.reserveRows(table, entry.getValue());
+            }
+        }
+        RealmProxyMediator mediator = configuration.getSchemaMediator();
+        try {
+            for (RealmModel object : objects) {
+                mediator.insert(this, object, context);
+            }
+        } finally {
+            // the objects inserted before a failure must hold their values, not the defaults of the added rows
+            context.finish();
+        }
+    }
+
+    private boolean isManaged(RealmModel object) {
+        if (!(object instanceof RealmObjectProxy)) {
+            return false;
+        }
+        BaseRealm realm = ((RealmObjectProxy) object).realmGet$proxyState().getRealm$realm();
+        return realm != null && realm.getPath().equals(getPath());
     }
 
     private <E extends RealmModel> E createDetachedCopy(E object, int maxDepth, Map<RealmModel, RealmObjectProxy.CacheData<RealmModel>> cache) {
@@ -1246,6 +1466,8 @@ public final class Realm extends BaseRealm {
      * The file must be closed before this method is called, otherwise {@code false} will be returned.<br>
      * The file system should have free space for at least a copy of the Realm file.<br>
      * The Realm file is left untouched if any file operation fails.<br>
+     * To compact the file automatically once it is closed, see
+     * {@link RealmConfiguration.Builder#compactionPolicy(CompactionPolicy)}.
      *
      * @param configuration a {@link RealmConfiguration} pointing to a Realm file.
      * @return {@code true} if successful, {@code false} if any file operation failed.
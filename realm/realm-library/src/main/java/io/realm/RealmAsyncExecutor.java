@@ -0,0 +1,178 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import android.os.Handler;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+
+import io.realm.internal.async.RealmThreadPoolExecutor;
+
+/**
+ * The executor running the asynchronous queries and transactions of the Realms opened with a
+ * {@link RealmConfiguration}.
+ * <p>
+ * Queries and transactions are run by separate pools, so a long transaction doesn't hold back queries. Transactions
+ * are serialized by the write lock of the Realm file anyway, so they are run by a single thread. In both pools, tasks
+ * submitted from the UI thread are run before the ones submitted from other threads, and a pending update of the
+ * async queries of a thread is replaced by a newer one instead of being run twice.
+ * <p>
+ * Optionally, the transactions waiting for the write thread can be merged into a single write transaction, see
+ * {@link Builder#coalesceWrites()}.
+ * <p>
+ * All configurations of a Realm file must use the same executor, so the number of threads working on a file is
+ * bounded by the size of its pools. By default all Realms share a single pool for both queries and transactions.
+ *
+ * @see RealmConfiguration.Builder#asyncExecutor(RealmAsyncExecutor)
+ */
+public final class RealmAsyncExecutor {
+
+    /**
+     * Queue size allowing any number of tasks to wait for a thread.
+     */
+    public static final int UNBOUNDED_QUEUE = Integer.MAX_VALUE;
+
+    private static final RealmAsyncExecutor DEFAULT_EXECUTOR = new RealmAsyncExecutor(null, null, false);
+
+    private final RealmThreadPoolExecutor queryExecutor;
+    private final RealmThreadPoolExecutor writeExecutor;
+    private final AsyncTransactionBatcher transactionBatcher;
+
+    private RealmAsyncExecutor(RealmThreadPoolExecutor queryExecutor, RealmThreadPoolExecutor writeExecutor,
+                               boolean coalesceWrites) {
+        this.queryExecutor = queryExecutor;
+        this.writeExecutor = writeExecutor;
+        this.transactionBatcher = coalesceWrites ? new AsyncTransactionBatcher(writeExecutor) : null;
+    }
+
+    static RealmAsyncExecutor getDefault() {
+        return DEFAULT_EXECUTOR;
+    }
+
+    /**
+     * Returns the pool running async queries.
+     */
+    RealmThreadPoolExecutor getQueryExecutor() {
+        // the default pool is looked up on each call as tests can replace it
+        return (queryExecutor != null) ? queryExecutor : BaseRealm.asyncTaskExecutor;
+    }
+
+    /**
+     * Returns the pool running async transactions.
+     */
+    RealmThreadPoolExecutor getWriteExecutor() {
+        return (writeExecutor != null) ? writeExecutor : BaseRealm.asyncTaskExecutor;
+    }
+
+    /**
+     * Checks if async transactions are merged by {@link #submitCoalescedTransaction}.
+     */
+    boolean isCoalescingWrites() {
+        return transactionBatcher != null;
+    }
+
+    /**
+     * Queues a transaction to be committed together with the other transactions waiting for the write thread.
+     *
+     * @return the {@link Future} which can be used to cancel the transaction while it is queued.
+     */
+    Future<?> submitCoalescedTransaction(RealmConfiguration configuration, Realm.Transaction transaction,
+                                         Handler handler, Realm.Transaction.OnSuccess onSuccess,
+                                         Realm.Transaction.OnError onError) {
+        return transactionBatcher.submit(configuration, transaction, handler, onSuccess, onError);
+    }
+
+    /**
+     * Builder used to construct a {@link RealmAsyncExecutor}.
+     */
+    public static final class Builder {
+        private int queryThreads = Runtime.getRuntime().availableProcessors();
+        private int queryQueueSize = 100;
+        private int writeQueueSize = UNBOUNDED_QUEUE;
+        private boolean coalesceWrites = false;
+
+        /**
+         * Sets the number of threads running async queries. It defaults to the number of available cores.
+         *
+         * @param threads number of threads, must be positive.
+         * @throws IllegalArgumentException if {@code threads} is not positive.
+         */
+        public Builder queryThreads(int threads) {
+            if (threads < 1) {
+                throw new IllegalArgumentException("At least one thread is required to run queries: " + threads);
+            }
+            this.queryThreads = threads;
+            return this;
+        }
+
+        /**
+         * Sets the number of async queries which can wait for a thread. Submitting a query when the queue is full
+         * throws a {@link RejectedExecutionException}. It defaults to 100.
+         *
+         * @param size maximum number of waiting queries, or {@link #UNBOUNDED_QUEUE}.
+         * @throws IllegalArgumentException if {@code size} is not positive.
+         */
+        public Builder queryQueueSize(int size) {
+            if (size < 1) {
+                throw new IllegalArgumentException("The query queue size must be positive: " + size);
+            }
+            this.queryQueueSize = size;
+            return this;
+        }
+
+        /**
+         * Sets the number of async transactions which can wait for the write thread. Submitting a transaction when
+         * the queue is full throws a {@link RejectedExecutionException}. It defaults to {@link #UNBOUNDED_QUEUE}.
+         *
+         * @param size maximum number of waiting transactions, or {@link #UNBOUNDED_QUEUE}.
+         * @throws IllegalArgumentException if {@code size} is not positive.
+         */
+        public Builder writeQueueSize(int size) {
+            if (size < 1) {
+                throw new IllegalArgumentException("The write queue size must be positive: " + size);
+            }
+            this.writeQueueSize = size;
+            return this;
+        }
+
+        /**
+         * Merges the async transactions waiting for the write thread into a single write transaction, which saves
+         * a write lock acquisition and a disk synchronization per transaction. The callbacks of each transaction
+         * are still called separately.
+         * <p>
+         * If a transaction throws, the write transaction is cancelled, the error is delivered to that transaction
+         * and the other transactions of the batch are run again. Transactions must therefore not have side effects
+         * outside of the Realm.
+         */
+        public Builder coalesceWrites() {
+            this.coalesceWrites = true;
+            return this;
+        }
+
+        /**
+         * Creates the executor. Its threads are kept for the lifetime of the process, so an executor should be
+         * created once and shared by all the configurations of a Realm file.
+         *
+         * @return the created {@link RealmAsyncExecutor}.
+         */
+        public RealmAsyncExecutor build() {
+            return new RealmAsyncExecutor(RealmThreadPoolExecutor.newExecutor(queryThreads, queryQueueSize),
+                    RealmThreadPoolExecutor.newExecutor(1, writeQueueSize), coalesceWrites);
+        }
+    }
+}
@@ -18,6 +18,8 @@ package io.realm;
 
 import java.util.concurrent.Future;
 
+import io.realm.internal.async.RealmThreadPoolExecutor;
+
 /**
  * Represents a pending asynchronous Realm transaction.
  * <p>
@@ -27,10 +29,12 @@ import java.util.concurrent.Future;
  */
 public final class RealmAsyncTask {
     private final Future<?> pendingQuery;
+    private final RealmThreadPoolExecutor executor;
     private volatile boolean isCancelled = false;
 
-    RealmAsyncTask(Future<?> pendingQuery) {
+    RealmAsyncTask(Future<?> pendingQuery, RealmThreadPoolExecutor executor) {
         this.pendingQuery = pendingQuery;
+        this.executor = executor;
     }
 
     /**
@@ -49,7 +53,7 @@ public final class RealmAsyncTask {
         // first thread is attempting to purge the queue the attempt to purge
         // the queue fails and the cancelled object remain in the queue.
         // A better way to cancel objects with thread pools is to use the remove()
-        Realm.asyncTaskExecutor.getQueue().remove(pendingQuery);
+        executor.getQueue().remove(pendingQuery);
     }
 
     /**
@@ -22,10 +22,15 @@ import java.io.InputStream;
 import java.util.Arrays;
 import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
 import io.realm.exceptions.RealmIOException;
 import io.realm.internal.ColumnIndices;
+import io.realm.internal.SharedGroup;
+import io.realm.internal.SharedGroupManager;
+import io.realm.internal.SharedGroupPool;
 import io.realm.internal.log.RealmLog;
 
 /**
@@ -76,10 +81,18 @@ final class RealmCache {
     // Realm instances in other threads doesn't have to initialize the column indices again.
     private ColumnIndices typedColumnIndices;
 
+    // Set when the cache was created by prewarm() and no instance has been opened since. It only holds the column
+    // indices then, it is dropped when the file is deleted or migrated, or requested with another configuration.
+    private boolean prewarmed;
+
     // Realm path will be used as the key to store different RealmCaches. Different Realm configurations with same path
     // are not allowed and an exception will be thrown when trying to add it to the cache map.
     private static Map<String, RealmCache> cachesMap = new HashMap<String, RealmCache>();
 
+    // Paths of the files being compacted by the BackgroundCompactor. The compaction runs without holding the lock of
+    // this class, requests touching one of these files wait until it is done.
+    private static final Set<String> compactingPaths = new HashSet<String>();
+
     private static final String DIFFERENT_KEY_MESSAGE = "Wrong key used to decrypt Realm.";
     private static final String WRONG_REALM_CLASS_MESSAGE = "The type of Realm class must be Realm or DynamicRealm.";
 
@@ -100,8 +113,13 @@ final class RealmCache {
      */
     static synchronized <E extends BaseRealm> E createRealmOrGetFromCache(RealmConfiguration configuration,
                                                         Class<E> realmClass) {
+        awaitCompaction(configuration.getPath());
         boolean isCacheInMap = true;
         RealmCache cache = cachesMap.get(configuration.getPath());
+        if (cache != null && cache.prewarmed && !cache.configuration.equals(configuration)) {
+            cachesMap.remove(configuration.getPath());
+            cache = null;
+        }
         if (cache == null) {
             // Create a new cache
             cache = new RealmCache(configuration);
@@ -109,6 +127,7 @@ final class RealmCache {
             isCacheInMap = false;
 
             copyAssetFileIfNeeded(configuration);
+            compactOnLaunchIfNeeded(configuration);
         } else {
             // Throw the exception if validation failed.
             cache.validateConfiguration(configuration);
@@ -120,6 +139,10 @@ final class RealmCache {
             // Create a new local Realm instance
             BaseRealm realm;
 
+            if (cache.prewarmed && realmClass == DynamicRealm.class) {
+                // The DynamicRealm can change the schema before the first typed Realm uses the prewarmed indices
+                cache.typedColumnIndices = null;
+            }
 
             if (realmClass == Realm.class) {
                 // RealmMigrationNeededException might be thrown here.
@@ -136,6 +159,11 @@ final class RealmCache {
             if (!isCacheInMap) {
                 cachesMap.put(configuration.getPath(), cache);
             }
+            if (!isCacheInMap || cache.prewarmed) {
+                // The first instance of the file
+                cache.prewarmed = false;
+                SharedGroupPool.open(configuration.getPath());
+            }
             refAndCount.localRealm.set(realm);
             refAndCount.localCount.set(0);
         }
@@ -155,6 +183,35 @@ final class RealmCache {
         return realm;
     }
 
+    /**
+     * Opens a Realm file which has no open instance yet, validates its schema and keeps the column indices cached
+     * until the first instance is requested, so that instance doesn't have to look them up again. Blocks requests
+     * for instances of any file while running.
+     *
+     * @param configuration {@link RealmConfiguration} of the file, the first instance must be requested with an equal
+     *                      configuration to use the cached column indices. They are looked up again if the schema of
+     *                      the file was changed meanwhile.
+     */
+    static synchronized void prewarm(RealmConfiguration configuration) {
+        awaitCompaction(configuration.getPath());
+        if (cachesMap.containsKey(configuration.getPath())) {
+            return;
+        }
+        RealmCache cache = new RealmCache(configuration);
+        copyAssetFileIfNeeded(configuration);
+        compactOnLaunchIfNeeded(configuration);
+
+        // RealmMigrationNeededException might be thrown here.
+        Realm realm = Realm.createInstance(configuration, null);
+        try {
+            cache.typedColumnIndices = realm.schema.columnIndices;
+        } finally {
+            realm.doClose();
+        }
+        cache.prewarmed = true;
+        cachesMap.put(configuration.getPath(), cache);
+    }
+
     /**
      * Releases a given {@link Realm} or {@link DynamicRealm} from cache. The instance will be closed by this method
      * if there is no more local reference to this Realm instance in current Thread.
@@ -210,6 +267,8 @@ final class RealmCache {
             // No more instance of typed Realm and dynamic Realm. Remove the configuration from cache.
             if (totalRefCount == 0) {
                 cachesMap.remove(canonicalPath);
+                SharedGroupPool.close(canonicalPath);
+                compactIfNeeded(realm);
             }
 
             // No more local reference to this Realm in current thread, close the instance.
@@ -219,6 +278,81 @@ final class RealmCache {
         }
     }
 
+    // No instance of the file is open in this process, the policy is asked before the first one maps the file. A file
+    // that cannot be compacted is still opened, opening it reports the error if it cannot be used at all.
+    private static void compactOnLaunchIfNeeded(RealmConfiguration configuration) {
+        CompactionPolicy policy = configuration.getCompactOnLaunchPolicy();
+        if (policy == null || configuration.getDurability() == SharedGroup.Durability.MEM_ONLY) {
+            return;
+        }
+        try {
+            if (SharedGroupManager.compactIfNeeded(configuration, policy)) {
+                RealmLog.d("Compacted " + configuration.getPath() + " before opening it.");
+            }
+        } catch (RealmIOException e) {
+            RealmLog.w("Could not compact " + configuration.getPath() + " before opening it: " + e.getMessage());
+        }
+    }
+
+    // Reads the size of the file while the last instance still has it open, the policy decides in the background
+    private static void compactIfNeeded(BaseRealm realm) {
+        RealmConfiguration configuration = realm.getConfiguration();
+        if (configuration.getCompactionPolicy() == null
+                || configuration.getDurability() == SharedGroup.Durability.MEM_ONLY) {
+            return;
+        }
+        long[] sizeInfo = realm.sharedGroupManager.getTransaction().getSizeInfo();
+        BackgroundCompactor.compactIfNeeded(configuration, sizeInfo[0], sizeInfo[1]);
+    }
+
+    /**
+     * Marks a Realm file as being compacted by the {@link BackgroundCompactor}, if no instance of it is open. Until
+     * {@link #endCompaction(String)} is called, requests for an instance of the file wait, while other files can
+     * still be opened and closed.
+     *
+     * @param configuration the configuration of the file.
+     * @return {@code true} if the file can be compacted, {@code false} if an instance of it was opened meanwhile.
+     */
+    static synchronized boolean beginCompaction(RealmConfiguration configuration) {
+        String canonicalPath = configuration.getPath();
+        awaitCompaction(canonicalPath);
+        RealmCache cache = cachesMap.get(canonicalPath);
+        if (cache != null) {
+            for (RealmCacheType type : RealmCacheType.values()) {
+                if (cache.refAndCountMap.get(type).globalCount > 0) {
+                    return false;
+                }
+            }
+        }
+        compactingPaths.add(canonicalPath);
+        return true;
+    }
+
+    /**
+     * Lets the requests waiting for the compaction of a Realm file proceed.
+     *
+     * @param canonicalPath the path of the file given to {@link #beginCompaction(RealmConfiguration)}.
+     */
+    static synchronized void endCompaction(String canonicalPath) {
+        compactingPaths.remove(canonicalPath);
+        RealmCache.class.notifyAll();
+    }
+
+    // Called with the lock held, which is released while waiting
+    private static void awaitCompaction(String canonicalPath) {
+        boolean interrupted = false;
+        while (compactingPaths.contains(canonicalPath)) {
+            try {
+                RealmCache.class.wait();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
     /**
      * Makes sure that the new configuration doesn't clash with any cached configurations for the
      * Realm.
@@ -262,7 +396,13 @@ final class RealmCache {
      * @param callback the callback will be executed with the global reference count.
      */
     static synchronized void invokeWithGlobalRefCount(RealmConfiguration configuration, Callback callback) {
+        awaitCompaction(configuration.getPath());
         RealmCache cache = cachesMap.get(configuration.getPath());
+        if (cache != null && cache.prewarmed) {
+            // The callback might change the file, the prewarmed column indices would no longer be valid
+            cachesMap.remove(configuration.getPath());
+            cache = null;
+        }
         if (cache == null) {
             callback.onResult(0);
             return;
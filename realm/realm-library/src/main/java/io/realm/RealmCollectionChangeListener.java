@@ -0,0 +1,45 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+/**
+ * RealmCollectionChangeListener can be registered with a {@link RealmResults} to receive a notification about updates
+ * together with a {@link RealmCollectionChangeSet} describing which elements were inserted, deleted, modified or
+ * moved.
+ * <p>
+ * The change set is computed on the background thread that updates asynchronous queries, so applying it to an
+ * adapter only costs work proportional to the number of changes. It is only available for results obtained
+ * through one of the {@code find*Async()} methods, and is {@code null} when the results are loaded for the first
+ * time or when the fine-grained changes are not known, in which case the whole collection should be considered
+ * changed.
+ * <p>
+ * Realm instances on a thread without an {@link android.os.Looper} cannot register a RealmCollectionChangeListener.
+ *
+ * @param <T> the collection being returned.
+ * @see RealmResults#addCollectionChangeListener(RealmCollectionChangeListener)
+ * @see RealmResults#removeCollectionChangeListener(RealmCollectionChangeListener)
+ */
+public interface RealmCollectionChangeListener<T> {
+
+    /**
+     * Called when a transaction changing the collection is committed.
+     *
+     * @param collection the updated collection.
+     * @param changeSet the changes since the previous notification or {@code null} if they are not known.
+     */
+    void onChange(T collection, RealmCollectionChangeSet changeSet);
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Describes the changes made to a {@link RealmResults} between two notifications.
+ * <p>
+ * Deletions and moved-from indices refer to the collection before the change, insertions, modifications and
+ * moved-to indices refer to the collection after the change. Moved objects are not reported as deleted or inserted.
+ * Modifications are only reported for objects that are part of both, and only for changes to the fields of the objects
+ * themselves, not to the objects they link to.
+ *
+ * @see RealmCollectionChangeListener
+ */
+public final class RealmCollectionChangeSet {
+
+    private static final int HEADER_SIZE = 4;
+
+    private final int[] deletions;
+    private final int[] insertions;
+    private final int[] modifications;
+    private final Move[] moves;
+
+    /**
+     * A range of consecutive indices.
+     */
+    public static final class Range {
+        /**
+         * The first index of the range.
+         */
+        public final int startIndex;
+
+        /**
+         * The number of indices in the range.
+         */
+        public final int length;
+
+        Range(int startIndex, int length) {
+            this.startIndex = startIndex;
+            this.length = length;
+        }
+
+        @Override
+        public String toString() {
+            return "[" + startIndex + ", " + length + "]";
+        }
+    }
+
+    /**
+     * An object which changed position in the collection.
+     */
+    public static final class Move {
+        /**
+         * The index of the object in the collection before the change.
+         */
+        public final int fromIndex;
+
+        /**
+         * The index of the object in the collection after the change.
+         */
+        public final int toIndex;
+
+        Move(int fromIndex, int toIndex) {
+            this.fromIndex = fromIndex;
+            this.toIndex = toIndex;
+        }
+
+        @Override
+        public String toString() {
+            return fromIndex + " -> " + toIndex;
+        }
+    }
+
+    // Decodes the change set computed by the native batch query update:
+    // [deletions count, insertions count, modifications count, moves count, deletions..., insertions...,
+    //  modifications..., (from, to) of each move...]
+    static RealmCollectionChangeSet fromNativeChangeSet(long[] encoded) {
+        int offset = HEADER_SIZE;
+        int[] deletions = copyIndices(encoded, offset, (int) encoded[0]);
+        offset += deletions.length;
+        int[] insertions = copyIndices(encoded, offset, (int) encoded[1]);
+        offset += insertions.length;
+        int[] modifications = copyIndices(encoded, offset, (int) encoded[2]);
+        offset += modifications.length;
+        Move[] moves = new Move[(int) encoded[3]];
+        for (int i = 0; i < moves.length; i++) {
+            moves[i] = new Move((int) encoded[offset], (int) encoded[offset + 1]);
+            offset += 2;
+        }
+        return new RealmCollectionChangeSet(deletions, insertions, modifications, moves);
+    }
+
+    private static int[] copyIndices(long[] encoded, int offset, int count) {
+        int[] indices = new int[count];
+        for (int i = 0; i < count; i++) {
+            indices[i] = (int) encoded[offset + i];
+        }
+        return indices;
+    }
+
+    private RealmCollectionChangeSet(int[] deletions, int[] insertions, int[] modifications, Move[] moves) {
+        this.deletions = deletions;
+        this.insertions = insertions;
+        this.modifications = modifications;
+        this.moves = moves;
+    }
+
+    /**
+     * Returns the indices of the deleted objects, in ascending order, in the collection before the change.
+     *
+     * @return the deletion indices.
+     */
+    public int[] getDeletions() {
+        return deletions.clone();
+    }
+
+    /**
+     * Returns the indices of the inserted objects, in ascending order, in the collection after the change.
+     *
+     * @return the insertion indices.
+     */
+    public int[] getInsertions() {
+        return insertions.clone();
+    }
+
+    /**
+     * Returns the indices of the modified objects, in ascending order, in the collection after the change.
+     *
+     * @return the modification indices.
+     */
+    public int[] getModifications() {
+        return modifications.clone();
+    }
+
+    /**
+     * Returns the objects which are part of the collection both before and after the change, but whose order
+     * relative to the other objects changed.
+     *
+     * @return the moves.
+     */
+    public Move[] getMoves() {
+        return moves.clone();
+    }
+
+    /**
+     * Returns the deletions grouped in ranges of consecutive indices.
+     *
+     * @return the deletion ranges.
+     * @see #getDeletions()
+     */
+    public Range[] getDeletionRanges() {
+        return toRanges(deletions);
+    }
+
+    /**
+     * Returns the insertions grouped in ranges of consecutive indices.
+     *
+     * @return the insertion ranges.
+     * @see #getInsertions()
+     */
+    public Range[] getInsertionRanges() {
+        return toRanges(insertions);
+    }
+
+    /**
+     * Returns the modifications grouped in ranges of consecutive indices.
+     *
+     * @return the modification ranges.
+     * @see #getModifications()
+     */
+    public Range[] getModificationRanges() {
+        return toRanges(modifications);
+    }
+
+    /**
+     * Checks if the change set describes any change.
+     *
+     * @return {@code true} if nothing was inserted, deleted, modified or moved, {@code false} otherwise.
+     */
+    public boolean isEmpty() {
+        return deletions.length == 0 && insertions.length == 0 && modifications.length == 0 && moves.length == 0;
+    }
+
+    private static Range[] toRanges(int[] indices) {
+        List<Range> ranges = new ArrayList<Range>();
+        int i = 0;
+        while (i < indices.length) {
+            int start = indices[i];
+            int length = 1;
+            while (i + length < indices.length && indices[i + length] == start + length) {
+                length++;
+            }
+            ranges.add(new Range(start, length));
+            i += length;
+        }
+        return ranges.toArray(new Range[ranges.size()]);
+    }
+}
@@ -0,0 +1,456 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+
+import io.realm.internal.LinkView;
+import io.realm.internal.Table;
+import io.realm.internal.TableOrView;
+import io.realm.internal.TableQuery;
+import io.realm.internal.TableView;
+
+/**
+ * A RealmCompiledQuery is a query that can be executed several times with different parameter values. It is created
+ * by {@link RealmQuery#compile()}.
+ * <p>
+ * The conditions of the originating {@link RealmQuery} are built only once and kept as a template. Parameters are
+ * declared with the one-argument comparison methods of this class. Each declared parameter becomes a slot, numbered
+ * from 0 in declaration order, whose value is set with one of the {@code bind*} methods before the query is run.
+ * Parameters are combined with the template conditions using AND.
+ * <pre>
+ * {@code
+ * RealmCompiledQuery<Person> query = realm.where(Person.class).equalTo("active", true).compile()
+ *         .greaterThanOrEqualTo("age")   // slot 0
+ *         .equalTo("city");              // slot 1
+ * RealmResults<Person> adults = query.bindLong(0, 18).bindString(1, "Copenhagen").findAll();
+ * }
+ * </pre>
+ * Field names of parameters are resolved when they are declared, so running the query only costs copying the
+ * template and adding one condition per parameter.
+ * <p>
+ * Like {@link RealmQuery}, a RealmCompiledQuery cannot be passed between different threads.
+ *
+ * @param <E> the class of the objects to be queried.
+ * @see RealmQuery#compile()
+ */
+public final class RealmCompiledQuery<E extends RealmModel> {
+
+    private static final int OP_EQUAL_TO = 0;
+    private static final int OP_NOT_EQUAL_TO = 1;
+    private static final int OP_GREATER_THAN = 2;
+    private static final int OP_GREATER_THAN_OR_EQUAL_TO = 3;
+    private static final int OP_LESS_THAN = 4;
+    private static final int OP_LESS_THAN_OR_EQUAL_TO = 5;
+
+    private static final RealmFieldType[] EQUALITY_TYPES = new RealmFieldType[] {
+            RealmFieldType.INTEGER, RealmFieldType.FLOAT, RealmFieldType.DOUBLE, RealmFieldType.DATE,
+            RealmFieldType.STRING, RealmFieldType.BOOLEAN};
+    private static final RealmFieldType[] ORDERED_TYPES = new RealmFieldType[] {
+            RealmFieldType.INTEGER, RealmFieldType.FLOAT, RealmFieldType.DOUBLE, RealmFieldType.DATE};
+
+    private final BaseRealm realm;
+    private final Class<E> clazz;
+    private final String className;
+    private final RealmObjectSchema schema;
+    private final TableOrView table;
+    private final LinkView view;
+    private final TableQuery template;
+    private final List<Slot> slots = new ArrayList<Slot>();
+
+    RealmCompiledQuery(BaseRealm realm, Class<E> clazz, String className, RealmObjectSchema schema,
+                       TableOrView table, LinkView view, TableQuery template) {
+        this.realm = realm;
+        this.clazz = clazz;
+        this.className = className;
+        this.schema = schema;
+        this.table = table;
+        this.view = view;
+        this.template = template;
+    }
+
+    /**
+     * Declares an equal-to parameter. A {@code null} value can be bound to this parameter.
+     *
+     * @param fieldName the field to compare.
+     * @return the compiled query.
+     * @throws IllegalArgumentException if the field does not exist or its type cannot be compared.
+     */
+    public RealmCompiledQuery<E> equalTo(String fieldName) {
+        return addSlot(OP_EQUAL_TO, fieldName, EQUALITY_TYPES);
+    }
+
+    /**
+     * Declares a not-equal-to parameter. A {@code null} value can be bound to this parameter.
+     *
+     * @param fieldName the field to compare.
+     * @return the compiled query.
+     * @throws IllegalArgumentException if the field does not exist or its type cannot be compared.
+     */
+    public RealmCompiledQuery<E> notEqualTo(String fieldName) {
+        return addSlot(OP_NOT_EQUAL_TO, fieldName, EQUALITY_TYPES);
+    }
+
+    /**
+     * Declares a greater-than parameter.
+     *
+     * @param fieldName the field to compare.
+     * @return the compiled query.
+     * @throws IllegalArgumentException if the field does not exist or its type cannot be compared.
+     */
+    public RealmCompiledQuery<E> greaterThan(String fieldName) {
+        return addSlot(OP_GREATER_THAN, fieldName, ORDERED_TYPES);
+    }
+
+    /**
+     * Declares a greater-than-or-equal-to parameter.
+     *
+     * @param fieldName the field to compare.
+     * @return the compiled query.
+     * @throws IllegalArgumentException if the field does not exist or its type cannot be compared.
+     */
+    public RealmCompiledQuery<E> greaterThanOrEqualTo(String fieldName) {
+        return addSlot(OP_GREATER_THAN_OR_EQUAL_TO, fieldName, ORDERED_TYPES);
+    }
+
+    /**
+     * Declares a less-than parameter.
+     *
+     * @param fieldName the field to compare.
+     * @return the compiled query.
+     * @throws IllegalArgumentException if the field does not exist or its type cannot be compared.
+     */
+    public RealmCompiledQuery<E> lessThan(String fieldName) {
+        return addSlot(OP_LESS_THAN, fieldName, ORDERED_TYPES);
+    }
+
+    /**
+     * Declares a less-than-or-equal-to parameter.
+     *
+     * @param fieldName the field to compare.
+     * @return the compiled query.
+     * @throws IllegalArgumentException if the field does not exist or its type cannot be compared.
+     */
+    public RealmCompiledQuery<E> lessThanOrEqualTo(String fieldName) {
+        return addSlot(OP_LESS_THAN_OR_EQUAL_TO, fieldName, ORDERED_TYPES);
+    }
+
+    /**
+     * Returns the number of parameters declared on this query.
+     *
+     * @return the number of slots.
+     */
+    public int getSlotCount() {
+        return slots.size();
+    }
+
+    /**
+     * Binds a value to an integer parameter.
+     *
+     * @param slot the parameter to bind.
+     * @param value the value to compare with.
+     * @return the compiled query.
+     * @throws IndexOutOfBoundsException if the slot has not been declared.
+     * @throws IllegalArgumentException if the field of the slot is not an integer field.
+     */
+    public RealmCompiledQuery<E> bindLong(int slot, long value) {
+        return bind(slot, value, RealmFieldType.INTEGER);
+    }
+
+    /**
+     * Binds a value to a float or double parameter.
+     *
+     * @param slot the parameter to bind.
+     * @param value the value to compare with.
+     * @return the compiled query.
+     * @throws IndexOutOfBoundsException if the slot has not been declared.
+     * @throws IllegalArgumentException if the field of the slot is not a float or double field.
+     */
+    public RealmCompiledQuery<E> bindDouble(int slot, double value) {
+        return bind(slot, value, RealmFieldType.FLOAT, RealmFieldType.DOUBLE);
+    }
+
+    /**
+     * Binds a value to a boolean parameter.
+     *
+     * @param slot the parameter to bind.
+     * @param value the value to compare with.
+     * @return the compiled query.
+     * @throws IndexOutOfBoundsException if the slot has not been declared.
+     * @throws IllegalArgumentException if the field of the slot is not a boolean field.
+     */
+    public RealmCompiledQuery<E> bindBoolean(int slot, boolean value) {
+        return bind(slot, value, RealmFieldType.BOOLEAN);
+    }
+
+    /**
+     * Binds a value to a string parameter. Strings are compared case sensitively.
+     *
+     * @param slot the parameter to bind.
+     * @param value the value to compare with. Use {@link #bindNull(int)} to compare with {@code null}.
+     * @return the compiled query.
+     * @throws IndexOutOfBoundsException if the slot has not been declared.
+     * @throws IllegalArgumentException if the value is {@code null} or the field of the slot is not a string field.
+     */
+    public RealmCompiledQuery<E> bindString(int slot, String value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Use bindNull() to compare with null.");
+        }
+        return bind(slot, value, RealmFieldType.STRING);
+    }
+
+    /**
+     * Binds a value to a date parameter.
+     *
+     * @param slot the parameter to bind.
+     * @param value the value to compare with. Use {@link #bindNull(int)} to compare with {@code null}.
+     * @return the compiled query.
+     * @throws IndexOutOfBoundsException if the slot has not been declared.
+     * @throws IllegalArgumentException if the value is {@code null} or the field of the slot is not a date field.
+     */
+    public RealmCompiledQuery<E> bindDate(int slot, Date value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Use bindNull() to compare with null.");
+        }
+        return bind(slot, value, RealmFieldType.DATE);
+    }
+
+    /**
+     * Binds {@code null} to an equal-to or not-equal-to parameter.
+     *
+     * @param slot the parameter to bind.
+     * @return the compiled query.
+     * @throws IndexOutOfBoundsException if the slot has not been declared.
+     * @throws IllegalArgumentException if the slot is not an equal-to or not-equal-to parameter.
+     */
+    public RealmCompiledQuery<E> bindNull(int slot) {
+        Slot s = getSlot(slot);
+        if (s.op != OP_EQUAL_TO && s.op != OP_NOT_EQUAL_TO) {
+            throw new IllegalArgumentException(String.format(Locale.US,
+                    "Slot %d: null can only be bound to equalTo and notEqualTo parameters.", slot));
+        }
+        s.value = null;
+        s.bound = true;
+        return this;
+    }
+
+    /**
+     * Finds all objects that fulfill the template conditions and the bound parameters.
+     *
+     * @return a {@link io.realm.RealmResults} containing objects. If no objects match the condition, a list with zero
+     * objects is returned.
+     * @throws IllegalStateException if a parameter has not been bound or the Realm is closed or on another thread.
+     */
+    @SuppressWarnings("unchecked")
+    public RealmResults<E> findAll() {
+        TableQuery query = prepareQuery();
+        if (className != null) {
+            return (RealmResults<E>) RealmResults.createFromDynamicTableOrView(realm, query.findAll(), className);
+        } else {
+            return RealmResults.createFromTableOrView(realm, query.findAll(), clazz);
+        }
+    }
+
+    /**
+     * Finds the first object that fulfills the template conditions and the bound parameters.
+     *
+     * @return the object found or {@code null} if no object matches the query conditions.
+     * @throws IllegalStateException if a parameter has not been bound or the Realm is closed or on another thread.
+     */
+    public E findFirst() {
+        TableQuery query = prepareQuery();
+        long rowIndex = query.find();
+        if (rowIndex < 0) {
+            return null;
+        }
+        if (view != null) {
+            rowIndex = view.getTargetRowIndex(rowIndex);
+        } else if (table instanceof TableView) {
+            rowIndex = ((TableView) table).getSourceRowIndex(rowIndex);
+        }
+        return realm.get(clazz, className, rowIndex);
+    }
+
+    /**
+     * Counts the number of objects that fulfill the template conditions and the bound parameters.
+     *
+     * @return the number of matching objects.
+     * @throws IllegalStateException if a parameter has not been bound or the Realm is closed or on another thread.
+     */
+    public long count() {
+        return prepareQuery().count();
+    }
+
+    private RealmCompiledQuery<E> addSlot(int op, String fieldName, RealmFieldType[] validTypes) {
+        realm.checkIfValid();
+        long[] columnIndices = schema.getColumnIndices(fieldName, validTypes);
+
+        // Follow the links of the field description to find the type of the last field.
+        Table fieldTable = schema.table;
+        for (int i = 0; i < columnIndices.length - 1; i++) {
+            fieldTable = fieldTable.getLinkTarget(columnIndices[i]);
+        }
+        RealmFieldType type = fieldTable.getColumnType(columnIndices[columnIndices.length - 1]);
+        slots.add(new Slot(op, fieldName, type, columnIndices));
+        return this;
+    }
+
+    private RealmCompiledQuery<E> bind(int slot, Object value, RealmFieldType... validTypes) {
+        Slot s = getSlot(slot);
+        boolean valid = false;
+        for (RealmFieldType type : validTypes) {
+            if (s.type == type) {
+                valid = true;
+                break;
+            }
+        }
+        if (!valid) {
+            throw new IllegalArgumentException(String.format(Locale.US,
+                    "Slot %d: field '%s' is of type %s.", slot, s.fieldName, s.type));
+        }
+        s.value = value;
+        s.bound = true;
+        return this;
+    }
+
+    private Slot getSlot(int slot) {
+        if (slot < 0 || slot >= slots.size()) {
+            throw new IndexOutOfBoundsException(String.format(Locale.US,
+                    "Slot %d is not declared. Number of slots: %d.", slot, slots.size()));
+        }
+        return slots.get(slot);
+    }
+
+    // Copies the template and adds one condition per bound parameter, using the column indices resolved when the
+    // parameters were declared.
+    private TableQuery prepareQuery() {
+        realm.checkIfValid();
+        for (int i = 0; i < slots.size(); i++) {
+            if (!slots.get(i).bound) {
+                throw new IllegalStateException(String.format(Locale.US, "Slot %d has no value bound.", i));
+            }
+        }
+
+        TableQuery query = template.copy();
+        RealmScope.track(realm, query);
+        for (Slot slot : slots) {
+            if (slot.value == null) {
+                if (slot.op == OP_EQUAL_TO) {
+                    query.isNull(slot.columnIndices);
+                } else {
+                    query.isNotNull(slot.columnIndices);
+                }
+                continue;
+            }
+            switch (slot.type) {
+                case INTEGER:
+                    addCondition(query, slot.op, slot.columnIndices, (Long) slot.value);
+                    break;
+                case FLOAT:
+                    addCondition(query, slot.op, slot.columnIndices, ((Double) slot.value).floatValue());
+                    break;
+                case DOUBLE:
+                    addCondition(query, slot.op, slot.columnIndices, (Double) slot.value);
+                    break;
+                case DATE:
+                    addCondition(query, slot.op, slot.columnIndices, (Date) slot.value);
+                    break;
+                case STRING:
+                    if (slot.op == OP_EQUAL_TO) {
+                        query.equalTo(slot.columnIndices, (String) slot.value);
+                    } else {
+                        query.notEqualTo(slot.columnIndices, (String) slot.value);
+                    }
+                    break;
+                case BOOLEAN:
+                    boolean value = (Boolean) slot.value;
+                    query.equalTo(slot.columnIndices, slot.op == OP_EQUAL_TO ? value : !value);
+                    break;
+                default:
+                    throw new IllegalStateException("Unsupported field type: " + slot.type);
+            }
+        }
+        return query;
+    }
+
+    private static void addCondition(TableQuery query, int op, long[] columnIndices, long value) {
+        switch (op) {
+            case OP_EQUAL_TO: query.equalTo(columnIndices, value); break;
+            case OP_NOT_EQUAL_TO: query.notEqualTo(columnIndices, value); break;
+            case OP_GREATER_THAN: query.greaterThan(columnIndices, value); break;
+            case OP_GREATER_THAN_OR_EQUAL_TO: query.greaterThanOrEqual(columnIndices, value); break;
+            case OP_LESS_THAN: query.lessThan(columnIndices, value); break;
+            case OP_LESS_THAN_OR_EQUAL_TO: query.lessThanOrEqual(columnIndices, value); break;
+            default: throw new IllegalStateException("Unknown operator: " + op);
+        }
+    }
+
+    private static void addCondition(TableQuery query, int op, long[] columnIndices, float value) {
+        switch (op) {
+            case OP_EQUAL_TO: query.equalTo(columnIndices, value); break;
+            case OP_NOT_EQUAL_TO: query.notEqualTo(columnIndices, value); break;
+            case OP_GREATER_THAN: query.greaterThan(columnIndices, value); break;
+            case OP_GREATER_THAN_OR_EQUAL_TO: query.greaterThanOrEqual(columnIndices, value); break;
+            case OP_LESS_THAN: query.lessThan(columnIndices, value); break;
+            case OP_LESS_THAN_OR_EQUAL_TO: query.lessThanOrEqual(columnIndices, value); break;
+            default: throw new IllegalStateException("Unknown operator: " + op);
+        }
+    }
+
+    private static void addCondition(TableQuery query, int op, long[] columnIndices, double value) {
+        switch (op) {
+            case OP_EQUAL_TO: query.equalTo(columnIndices, value); break;
+            case OP_NOT_EQUAL_TO: query.notEqualTo(columnIndices, value); break;
+            case OP_GREATER_THAN: query.greaterThan(columnIndices, value); break;
+            case OP_GREATER_THAN_OR_EQUAL_TO: query.greaterThanOrEqual(columnIndices, value); break;
+            case OP_LESS_THAN: query.lessThan(columnIndices, value); break;
+            case OP_LESS_THAN_OR_EQUAL_TO: query.lessThanOrEqual(columnIndices, value); break;
+            default: throw new IllegalStateException("Unknown operator: " + op);
+        }
+    }
+
+    private static void addCondition(TableQuery query, int op, long[] columnIndices, Date value) {
+        switch (op) {
+            case OP_EQUAL_TO: query.equalTo(columnIndices, value); break;
+            case OP_NOT_EQUAL_TO: query.notEqualTo(columnIndices, value); break;
+            case OP_GREATER_THAN: query.greaterThan(columnIndices, value); break;
+            case OP_GREATER_THAN_OR_EQUAL_TO: query.greaterThanOrEqual(columnIndices, value); break;
+            case OP_LESS_THAN: query.lessThan(columnIndices, value); break;
+            case OP_LESS_THAN_OR_EQUAL_TO: query.lessThanOrEqual(columnIndices, value); break;
+            default: throw new IllegalStateException("Unknown operator: " + op);
+        }
+    }
+
+    private static final class Slot {
+        final int op;
+        final String fieldName;
+        final RealmFieldType type;
+        final long[] columnIndices;
+        Object value;
+        boolean bound;
+
+        Slot(int op, String fieldName, RealmFieldType type, long[] columnIndices) {
+            this.op = op;
+            this.fieldName = fieldName;
+            this.type = type;
+            this.columnIndices = columnIndices;
+        }
+    }
+}
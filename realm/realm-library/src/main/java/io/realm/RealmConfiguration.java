@@ -93,10 +93,14 @@ public final class RealmConfiguration {
     private final RealmMigration migration;
     private final boolean deleteRealmIfMigrationNeeded;
     private final SharedGroup.Durability durability;
+    private final CompactionPolicy compactionPolicy;
+    private final CompactionPolicy compactOnLaunchPolicy;
     private final RealmProxyMediator schemaMediator;
     private final RxObservableFactory rxObservableFactory;
     private final Realm.Transaction initialDataTransaction;
     private final WeakReference<Context> contextWeakRef;
+    private final RealmAsyncExecutor asyncExecutor;
+    private final boolean rowReferences;
 
     private RealmConfiguration(Builder builder) {
         this.realmFolder = builder.folder;
@@ -108,10 +112,14 @@ public final class RealmConfiguration {
         this.deleteRealmIfMigrationNeeded = builder.deleteRealmIfMigrationNeeded;
         this.migration = builder.migration;
         this.durability = builder.durability;
+        this.compactionPolicy = builder.compactionPolicy;
+        this.compactOnLaunchPolicy = builder.compactOnLaunchPolicy;
         this.schemaMediator = createSchemaMediator(builder);
         this.rxObservableFactory = builder.rxFactory;
         this.initialDataTransaction = builder.initialDataTransaction;
         this.contextWeakRef = builder.contextWeakRef;
+        this.asyncExecutor = builder.asyncExecutor;
+        this.rowReferences = builder.rowReferences;
     }
 
     public File getRealmFolder() {
@@ -142,6 +150,45 @@ public final class RealmConfiguration {
         return durability;
     }
 
+    /**
+     * Returns the policy deciding if the file is compacted once its last Realm instance is closed.
+     *
+     * @return the policy, or {@code null} if the file is never compacted automatically.
+     * @see Builder#compactionPolicy(CompactionPolicy)
+     */
+    public CompactionPolicy getCompactionPolicy() {
+        return compactionPolicy;
+    }
+
+    /**
+     * Returns the policy deciding if the file is compacted before its first Realm instance is opened.
+     *
+     * @return the policy, or {@code null} if the file is not compacted when opened.
+     * @see Builder#compactOnLaunch(CompactionPolicy)
+     */
+    public CompactionPolicy getCompactOnLaunchPolicy() {
+        return compactOnLaunchPolicy;
+    }
+
+    /**
+     * Returns the executor running the async queries and transactions.
+     *
+     * @return the executor used by Realms opened with this configuration.
+     */
+    public RealmAsyncExecutor getAsyncExecutor() {
+        return asyncExecutor;
+    }
+
+    /**
+     * Checks if objects read outside of write transactions are addressed by row references.
+     *
+     * @return {@code true} if {@link Builder#rowReferences()} was set, {@code false} otherwise.
+     * @see Builder#rowReferences()
+     */
+    public boolean isUsingRowReferences() {
+        return rowReferences;
+    }
+
     /**
      * Returns the mediator instance of schema which is defined by this configuration.
      *
@@ -228,9 +275,13 @@ public final class RealmConfiguration {
         if (!Arrays.equals(key, that.key)) return false;
         if (!durability.equals(that.durability)) return false;
         if (migration != null ? !migration.equals(that.migration) : that.migration != null) return false;
+        if (compactionPolicy != null ? !compactionPolicy.equals(that.compactionPolicy) : that.compactionPolicy != null) return false;
+        if (compactOnLaunchPolicy != null ? !compactOnLaunchPolicy.equals(that.compactOnLaunchPolicy) : that.compactOnLaunchPolicy != null) return false;
         //noinspection SimplifiableIfStatement
         if (rxObservableFactory != null ? !rxObservableFactory.equals(that.rxObservableFactory) : that.rxObservableFactory != null) return false;
         if (initialDataTransaction != null ? !initialDataTransaction.equals(that.initialDataTransaction) : that.initialDataTransaction != null) return false;
+        if (asyncExecutor != that.asyncExecutor) return false;
+        if (rowReferences != that.rowReferences) return false;
         return schemaMediator.equals(that.schemaMediator);
     }
 
@@ -245,8 +296,12 @@ public final class RealmConfiguration {
         result = 31 * result + (deleteRealmIfMigrationNeeded ? 1 : 0);
         result = 31 * result + schemaMediator.hashCode();
         result = 31 * result + durability.hashCode();
+        result = 31 * result + (compactionPolicy != null ? compactionPolicy.hashCode() : 0);
+        result = 31 * result + (compactOnLaunchPolicy != null ? compactOnLaunchPolicy.hashCode() : 0);
         result = 31 * result + (rxObservableFactory != null ? rxObservableFactory.hashCode() : 0);
         result = 31 * result + (initialDataTransaction != null ? initialDataTransaction.hashCode() : 0);
+        result = 31 * result + asyncExecutor.hashCode();
+        result = 31 * result + (rowReferences ? 1 : 0);
 
         return result;
     }
@@ -320,6 +375,12 @@ public final class RealmConfiguration {
         stringBuilder.append("\n");
         stringBuilder.append("durability: ").append(durability);
         stringBuilder.append("\n");
+        stringBuilder.append("compactionPolicy: ").append(compactionPolicy);
+        stringBuilder.append("\n");
+        stringBuilder.append("compactOnLaunchPolicy: ").append(compactOnLaunchPolicy);
+        stringBuilder.append("\n");
+        stringBuilder.append("rowReferences: ").append(rowReferences);
+        stringBuilder.append("\n");
         stringBuilder.append("schemaMediator: ").append(schemaMediator);
 
         return stringBuilder.toString();
@@ -354,11 +415,15 @@ public final class RealmConfiguration {
         private RealmMigration migration;
         private boolean deleteRealmIfMigrationNeeded;
         private SharedGroup.Durability durability;
+        private CompactionPolicy compactionPolicy;
+        private CompactionPolicy compactOnLaunchPolicy;
         private HashSet<Object> modules = new HashSet<Object>();
         private HashSet<Class<? extends RealmModel>> debugSchema = new HashSet<Class<? extends RealmModel>>();
         private WeakReference<Context> contextWeakRef;
         private RxObservableFactory rxFactory;
         private Realm.Transaction initialDataTransaction;
+        private RealmAsyncExecutor asyncExecutor;
+        private boolean rowReferences;
 
         /**
          * Creates an instance of the Builder for the RealmConfiguration.
@@ -406,6 +471,10 @@ public final class RealmConfiguration {
             this.migration = null;
             this.deleteRealmIfMigrationNeeded = false;
             this.durability = SharedGroup.Durability.FULL;
+            this.compactionPolicy = null;
+            this.compactOnLaunchPolicy = null;
+            this.asyncExecutor = RealmAsyncExecutor.getDefault();
+            this.rowReferences = false;
             if (DEFAULT_MODULE != null) {
                 this.modules.add(DEFAULT_MODULE);
             }
@@ -498,6 +567,52 @@ public final class RealmConfiguration {
             return this;
         }
 
+        /**
+         * Sets the policy deciding if the Realm file should be compacted, e.g. a {@link FreeSpaceCompactionPolicy}.
+         * <p>
+         * Space freed by deleted objects and old versions is reused by later commits while the file is open, but the
+         * file only shrinks when compacted, which requires that no other instance has it open. A file is therefore
+         * never compacted while a Realm instance of it is open: the policy is asked with the size of the file and the
+         * bytes in use when the last Realm instance of the file in this process is closed. If it returns
+         * {@code true}, the file is compacted on a background thread, unless a Realm instance was opened again in the
+         * meantime or another process has the file open. Requests for a new instance of the file wait until the
+         * compaction is done.
+         * <p>
+         * Encrypted Realms cannot be compacted, see {@link Realm#compactRealm(RealmConfiguration)}.
+         *
+         * @param policy the policy deciding when to compact the file.
+         * @throws IllegalArgumentException if {@code policy} is {@code null}.
+         */
+        public Builder compactionPolicy(CompactionPolicy policy) {
+            if (policy == null) {
+                throw new IllegalArgumentException("A non-null compaction policy must be provided");
+            }
+            this.compactionPolicy = policy;
+            return this;
+        }
+
+        /**
+         * Sets the policy deciding if the Realm file should be compacted before it is opened, e.g. a
+         * {@link FreeSpaceCompactionPolicy}.
+         * <p>
+         * When the first Realm instance of the file in this process is requested, the policy is given the size of the
+         * file and the bytes used by its latest version, as tracked by the file's allocator. If it returns
+         * {@code true}, the file is compacted before the instance is opened, so the free space isn't mapped into
+         * memory. The compaction runs on the thread opening the Realm, and is skipped if another process has the file
+         * open or the file cannot be compacted. Encrypted Realms cannot be compacted.
+         *
+         * @param policy the policy deciding when to compact the file.
+         * @throws IllegalArgumentException if {@code policy} is {@code null}.
+         * @see #compactionPolicy(CompactionPolicy)
+         */
+        public Builder compactOnLaunch(CompactionPolicy policy) {
+            if (policy == null) {
+                throw new IllegalArgumentException("A non-null compaction policy must be provided");
+            }
+            this.compactOnLaunchPolicy = policy;
+            return this;
+        }
+
         /**
          * Replaces the existing module(s) with one or more {@link RealmModule}s. Using this method will replace the
          * current schema for this Realm with the schema defined by the provided modules.
@@ -536,6 +651,35 @@ public final class RealmConfiguration {
             return this;
         }
 
+        /**
+         * Sets the executor running the async queries and transactions. By default all Realms share a single pool.
+         * All configurations of a Realm file must use the same executor.
+         *
+         * @param executor executor to use.
+         * @throws IllegalArgumentException if {@code executor} is {@code null}.
+         */
+        public Builder asyncExecutor(RealmAsyncExecutor executor) {
+            if (executor == null) {
+                throw new IllegalArgumentException("A non-null RealmAsyncExecutor must be provided");
+            }
+            this.asyncExecutor = executor;
+            return this;
+        }
+
+        /**
+         * Addresses the objects read outside of write transactions by their table and row index, instead of creating
+         * a row accessor in the storage engine for each of them. This makes reading many objects cheaper, as no
+         * native memory has to be allocated and then reclaimed once the objects are garbage collected.
+         * <p>
+         * Row indices change when the Realm is written to, so the objects which are still referenced when the Realm
+         * is refreshed or a write transaction begins are switched to regular row accessors first. The cost of a row
+         * accessor is therefore only paid by objects kept across changes.
+         */
+        public Builder rowReferences() {
+            this.rowReferences = true;
+            return this;
+        }
+
         /**
          * Sets the initial data in {@link io.realm.Realm}. This transaction will be executed only for the first time
          * when database file is created or while migrating the data when {@link Builder#deleteRealmIfMigrationNeeded()} is set.
@@ -605,8 +749,13 @@ public final class RealmConfiguration {
          * Creates the RealmConfiguration based on the builder parameters.
          *
          * @return the created {@link RealmConfiguration}.
+         * @throws IllegalArgumentException if a compaction policy or a compact on launch policy is set for an
+         * encrypted Realm.
          */
         public RealmConfiguration build() {
+            if ((compactionPolicy != null || compactOnLaunchPolicy != null) && key != null) {
+                throw new IllegalArgumentException("Encrypted Realms cannot be compacted, remove the compaction policy.");
+            }
             if (rxFactory == null && isRxJavaAvailable()) {
                 rxFactory = new RealmObservableFactory();
             }
@@ -23,6 +23,7 @@ import io.realm.annotations.internal.OptionalAPI;
 import io.realm.internal.InvalidRow;
 import io.realm.internal.RealmObjectProxy;
 import io.realm.internal.Row;
+import io.realm.internal.SnapshotProxy;
 import rx.Observable;
 
 /**
@@ -213,6 +214,33 @@ public abstract class RealmObject implements RealmModel {
         }
     }
 
+    /**
+     * Makes an unmanaged in-memory copy of all non-link fields of a managed RealmObject. All values are read with a
+     * single native call, which makes this cheaper than calling each getter when most fields are needed.
+     * <p>
+     * Fields referencing other RealmObjects or RealmLists are set to {@code null} in the copy, like
+     * {@link Realm#copyFromRealm(RealmModel, int)} with a {@code maxDepth} of {@code 0}.
+     *
+     * @param object managed RealmObject to copy.
+     * @return an unmanaged copy of the object.
+     * @throws IllegalArgumentException if the object is {@code null}, unmanaged, no longer valid or a
+     * {@link DynamicRealmObject}.
+     * @throws IllegalStateException if the corresponding Realm is closed or in an incorrect thread.
+     */
+    @SuppressWarnings("unchecked")
+    public static <E extends RealmModel> E snapshot(E object) {
+        if (!(object instanceof RealmObjectProxy)) {
+            throw new IllegalArgumentException("Object not managed by Realm, so no snapshot can be made.");
+        }
+        if (object instanceof DynamicRealmObject) {
+            throw new IllegalArgumentException("DynamicRealmObject cannot be copied from Realm.");
+        }
+        if (!RealmObject.isValid(object)) {
+            throw new IllegalArgumentException("RealmObject is not valid, so no snapshot can be made.");
+        }
+        return (E) ((SnapshotProxy) object).realm$snapshot();
+    }
+
     /**
      * Adds a change listener to this RealmObject.
      *
@@ -18,6 +18,7 @@ package io.realm;
 
 import io.realm.annotations.Required;
 import io.realm.internal.ImplicitTransaction;
+import io.realm.internal.SharedGroup;
 import io.realm.internal.Table;
 import io.realm.internal.TableOrView;
 
@@ -70,6 +71,8 @@ public final class RealmObjectSchema {
     final Table table;
     private final ImplicitTransaction transaction;
     private final Map<String, Long> columnIndices;
+    // Resolved field descriptions, see getColumnIndices().
+    private final Map<String, FieldPath> fieldPaths = new HashMap<String, FieldPath>();
 
     /**
      * Creates a schema object for a given Realm class.
@@ -112,6 +115,7 @@ public final class RealmObjectSchema {
             throw new IllegalArgumentException("Class already exists: " + className);
         }
         transaction.renameTable(table.getName(), internalTableName);
+        realm.schema.invalidateFieldPaths();
         return this;
     }
 
@@ -148,6 +152,7 @@ public final class RealmObjectSchema {
         }
 
         long columnIndex = table.addColumn(metadata.realmType, fieldName, nullable);
+        realm.schema.invalidateFieldPaths();
         try {
             addModifiers(fieldName, attributes);
         } catch (Exception e) {
@@ -170,6 +175,7 @@ public final class RealmObjectSchema {
         checkLegalName(fieldName);
         checkFieldNameIsAvailable(fieldName);
         table.addColumnLink(RealmFieldType.OBJECT, fieldName, transaction.getTable(Table.TABLE_PREFIX + objectSchema.getClassName()));
+        realm.schema.invalidateFieldPaths();
         return this;
     }
 
@@ -185,6 +191,7 @@ public final class RealmObjectSchema {
         checkLegalName(fieldName);
         checkFieldNameIsAvailable(fieldName);
         table.addColumnLink(RealmFieldType.LIST, fieldName, transaction.getTable(Table.TABLE_PREFIX + objectSchema.getClassName()));
+        realm.schema.invalidateFieldPaths();
         return this;
     }
 
@@ -205,6 +212,7 @@ public final class RealmObjectSchema {
             table.setPrimaryKey(null);
         }
         table.removeColumn(columnIndex);
+        realm.schema.invalidateFieldPaths();
         return this;
     }
 
@@ -223,6 +231,7 @@ public final class RealmObjectSchema {
         checkFieldNameIsAvailable(newFieldName);
         long columnIndex = getColumnIndex(currentFieldName);
         table.renameColumn(columnIndex, newFieldName);
+        realm.schema.invalidateFieldPaths();
 
         // ATTENTION: We don't need to re-set the PK table here since the column index won't be changed when renaming.
 
@@ -369,6 +378,7 @@ public final class RealmObjectSchema {
         } else {
             table.convertColumnToNullable(columnIndex);
         }
+        realm.schema.invalidateFieldPaths();
         return this;
     }
 
@@ -565,21 +575,53 @@ public final class RealmObjectSchema {
     /**
      * Returns the column indices for the given field name. If a linked field is defined, the column index for
      * each field is returned.
+     * <p>
+     * Resolved field descriptions are cached, so repeated calls with the same description do neither parse it nor
+     * look up the columns again. The cache is invalidated by any schema change made through this Realm. For dynamic
+     * schemas, which can also be changed by other threads, it is invalidated when the Realm moves to a new version.
+     * The returned array is shared with the cache and must not be modified.
      *
      * @param fieldDescription fieldName or link path to a field name.
      * @param validColumnTypes valid field type for the last field in a linked field
      * @return list of column indices.
      */
-    // TODO: consider another caching strategy so linked classes are included in the cache.
     long[] getColumnIndices(String fieldDescription, RealmFieldType... validColumnTypes) {
         if (fieldDescription == null || fieldDescription.equals("")) {
             throw new IllegalArgumentException("Non-empty fieldname must be provided");
         }
+        FieldPath fieldPath = getFieldPath(fieldDescription);
+        boolean checkColumnType = validColumnTypes != null && validColumnTypes.length > 0;
+        if (checkColumnType && !isValidType(fieldPath.type, validColumnTypes)) {
+            if (fieldPath.columnIndices.length > 1) {
+                throw new IllegalArgumentException(String.format("Field '%s': type mismatch.", fieldPath.fieldName));
+            } else {
+                throw new IllegalArgumentException(String.format("Field '%s': type mismatch. Was %s, expected %s.",
+                        fieldDescription, fieldPath.type, Arrays.toString(validColumnTypes)));
+            }
+        }
+        return fieldPath.columnIndices;
+    }
+
+    private FieldPath getFieldPath(String fieldDescription) {
+        int schemaVersion = realm.schema.getFieldPathVersion();
+        boolean dynamic = columnIndices instanceof DynamicColumnMap;
+        SharedGroup.VersionID readVersion = dynamic ? realm.sharedGroupManager.getVersion() : null;
+
+        FieldPath fieldPath = fieldPaths.get(fieldDescription);
+        if (fieldPath != null && fieldPath.schemaVersion == schemaVersion
+                && (!dynamic || readVersion.equals(fieldPath.readVersion))) {
+            return fieldPath;
+        }
+        fieldPath = resolveFieldPath(fieldDescription, schemaVersion, readVersion);
+        fieldPaths.put(fieldDescription, fieldPath);
+        return fieldPath;
+    }
+
+    private FieldPath resolveFieldPath(String fieldDescription, int schemaVersion, SharedGroup.VersionID readVersion) {
         if (fieldDescription.startsWith(".") || fieldDescription.endsWith(".")) {
             throw new IllegalArgumentException("Illegal field name. It cannot start or end with a '.': " + fieldDescription);
         }
         Table table = this.table;
-        boolean checkColumnType = validColumnTypes != null && validColumnTypes.length > 0;
         if (fieldDescription.contains(".")) {
             // Resolve field description down to last field name
             String[] names = fieldDescription.split("\\.");
@@ -605,20 +647,15 @@ public final class RealmObjectSchema {
             if (columnIndex < 0) {
                 throw new IllegalArgumentException(columnName + " is not a field name in class " + table.getName());
             }
-            if (checkColumnType && !isValidType(table.getColumnType(columnIndex), validColumnTypes)) {
-                throw new IllegalArgumentException(String.format("Field '%s': type mismatch.", names[names.length - 1]));
-            }
-            return columnIndices;
+            return new FieldPath(columnName, columnIndices, table.getColumnType(columnIndex), schemaVersion,
+                    readVersion);
         } else {
-            if (getFieldIndex(fieldDescription) == null) {
+            Long columnIndex = getFieldIndex(fieldDescription);
+            if (columnIndex == null) {
                 throw new IllegalArgumentException(String.format("Field '%s' does not exist.", fieldDescription));
             }
-            RealmFieldType tableColumnType = table.getColumnType(getFieldIndex(fieldDescription));
-            if (checkColumnType && !isValidType(tableColumnType, validColumnTypes)) {
-                throw new IllegalArgumentException(String.format("Field '%s': type mismatch. Was %s, expected %s.",
-                        fieldDescription, tableColumnType, Arrays.toString(validColumnTypes)));
-            }
-            return new long[] {getFieldIndex(fieldDescription)};
+            return new FieldPath(fieldDescription, new long[] {columnIndex}, table.getColumnType(columnIndex),
+                    schemaVersion, readVersion);
         }
     }
 
@@ -675,6 +712,24 @@ public final class RealmObjectSchema {
         void apply(DynamicRealmObject obj);
     }
 
+    // Resolved field description. schemaVersion and readVersion tell which schema it was resolved against.
+    private static final class FieldPath {
+        final String fieldName;
+        final long[] columnIndices;
+        final RealmFieldType type;
+        final int schemaVersion;
+        final SharedGroup.VersionID readVersion;
+
+        FieldPath(String fieldName, long[] columnIndices, RealmFieldType type, int schemaVersion,
+                  SharedGroup.VersionID readVersion) {
+            this.fieldName = fieldName;
+            this.columnIndices = columnIndices;
+            this.type = type;
+            this.schemaVersion = schemaVersion;
+            this.readVersion = readVersion;
+        }
+    }
+
     // Tuple containing data about each supported Java type
     private static class FieldMetaData {
         public final RealmFieldType realmType;
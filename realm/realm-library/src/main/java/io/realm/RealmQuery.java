@@ -32,6 +32,7 @@ import io.realm.internal.LinkView;
 import io.realm.internal.RealmObjectProxy;
 import io.realm.internal.Row;
 import io.realm.internal.SharedGroup;
+import io.realm.internal.SharedGroupPool;
 import io.realm.internal.Table;
 import io.realm.internal.TableOrView;
 import io.realm.internal.TableQuery;
@@ -137,6 +138,7 @@ public final class RealmQuery<E extends RealmModel> {
         this.table = schema.table;
         this.view = null;
         this.query = table.where();
+        RealmScope.track(realm, query);
     }
 
     private RealmQuery(RealmResults<E> queryResults, Class<E> clazz) {
@@ -146,12 +148,14 @@ public final class RealmQuery<E extends RealmModel> {
         this.table = queryResults.getTable();
         this.view = null;
         this.query = queryResults.getTable().where();
+        RealmScope.track(realm, query);
     }
 
     private RealmQuery(BaseRealm realm, LinkView view, Class<E> clazz) {
         this.realm = realm;
         this.clazz = clazz;
         this.query = view.where();
+        RealmScope.track(realm, query);
         this.view = view;
         this.schema = realm.schema.getSchemaForClass(clazz);
         this.table = schema.table;
@@ -163,6 +167,7 @@ public final class RealmQuery<E extends RealmModel> {
         this.schema = realm.schema.getSchemaForClass(className);
         this.table = schema.table;
         this.query = table.where();
+        RealmScope.track(realm, query);
     }
 
     private RealmQuery(RealmResults<DynamicRealmObject> queryResults, String className) {
@@ -171,12 +176,14 @@ public final class RealmQuery<E extends RealmModel> {
         this.schema = realm.schema.getSchemaForClass(className);
         this.table = schema.table;
         this.query = queryResults.getTable().where();
+        RealmScope.track(realm, query);
     }
 
     private RealmQuery(BaseRealm realm, LinkView view, String className) {
         this.realm = realm;
         this.className = className;
         this.query = view.where();
+        RealmScope.track(realm, query);
         this.view = view;
         this.schema = realm.schema.getSchemaForClass(className);
         this.table = schema.table;
@@ -215,7 +222,7 @@ public final class RealmQuery<E extends RealmModel> {
         long columnIndices[] = schema.getColumnIndices(fieldName);
 
         // checking that fieldName has the correct type is done in C++
-        this.query.isNull(columnIndices);
+        getQuery().isNull(columnIndices);
         return this;
     }
 
@@ -231,7 +238,7 @@ public final class RealmQuery<E extends RealmModel> {
         long columnIndices[] = schema.getColumnIndices(fieldName);
 
         // checking that fieldName has the correct type is done in C++
-        this.query.isNotNull(columnIndices);
+        getQuery().isNotNull(columnIndices);
         return this;
     }
 
@@ -260,7 +267,7 @@ public final class RealmQuery<E extends RealmModel> {
      */
     public RealmQuery<E> equalTo(String fieldName, String value, Case casing) {
         long columnIndices[] = schema.getColumnIndices(fieldName, RealmFieldType.STRING);
-        this.query.equalTo(columnIndices, value, casing);
+        getQuery().equalTo(columnIndices, value, casing);
         return this;
     }
 
@@ -275,9 +282,9 @@ public final class RealmQuery<E extends RealmModel> {
     public RealmQuery<E> equalTo(String fieldName, Byte value) {
         long[] columnIndices = schema.getColumnIndices(fieldName, RealmFieldType.INTEGER);
         if (value == null) {
-            this.query.isNull(columnIndices);
+            getQuery().isNull(columnIndices);
         } else {
-            this.query.equalTo(columnIndices, value);
+            getQuery().equalTo(columnIndices, value);
         }
         return this;
     }
@@ -293,9 +300,9 @@ public final class RealmQuery<E extends RealmModel> {
     public RealmQuery<E> equalTo(String fieldName, Short value) {
         long[] columnIndices = schema.getColumnIndices(fieldName, RealmFieldType.INTEGER);
         if (value == null) {
-            this.query.isNull(columnIndices);
+            getQuery().isNull(columnIndices);
         } else {
-            this.query.equalTo(columnIndices, value);
+            getQuery().equalTo(columnIndices, value);
         }
         return this;
     }
@@ -311,9 +318,9 @@ public final class RealmQuery<E extends RealmModel> {
     public RealmQuery<E> equalTo(String fieldName, Integer value) {
         long[] columnIndices = schema.getColumnIndices(fieldName, RealmFieldType.INTEGER);
         if (value == null) {
-            this.query.isNull(columnIndices);
+            getQuery().isNull(columnIndices);
         } else {
-            this.query.equalTo(columnIndices, value);
+            getQuery().equalTo(columnIndices, value);
         }
         return this;
     }
@@ -329,9 +336,9 @@ public final class RealmQuery<E extends RealmModel> {
     public RealmQuery<E> equalTo(String fieldName, Long value) {
         long[] columnIndices = schema.getColumnIndices(fieldName, RealmFieldType.INTEGER);
         if (value == null) {
-            this.query.isNull(columnIndices);
+            getQuery().isNull(columnIndices);
         } else {
-            this.query.equalTo(columnIndices, value);
+            getQuery().equalTo(columnIndices, value);
         }
         return this;
     }
@@ -346,9 +353,9 @@ public final class RealmQuery<E extends RealmModel> {
     public RealmQuery<E> equalTo(String fieldName, Double value) {
         long[] columnIndices = schema.getColumnIndices(fieldName, RealmFieldType.DOUBLE);
         if (value == null) {
-            this.query.isNull(columnIndices);
+            getQuery().isNull(columnIndices);
         } else {
-            this.query.equalTo(columnIndices, value);
+            getQuery().equalTo(columnIndices, value);
         }
         return this;
     }
@@ -364,9 +371,9 @@ public final class RealmQuery<E extends RealmModel> {
     public RealmQuery<E> equalTo(String fieldName, Float value) {
         long[] columnIndices = schema.getColumnIndices(fieldName, RealmFieldType.FLOAT);
         if (value == null) {
-            this.query.isNull(columnIndices);
+            getQuery().isNull(columnIndices);
         } else {
-            this.query.equalTo(columnIndices, value);
+            getQuery().equalTo(columnIndices, value);
         }
         return this;
     }
@@ -382,9 +389,9 @@ public final class RealmQuery<E extends RealmModel> {
     public RealmQuery<E> equalTo(String fieldName, Boolean value) {
         long[] columnIndices = schema.getColumnIndices(fieldName, RealmFieldType.BOOLEAN);
         if (value == null) {
-            this.query.isNull(columnIndices);
+            getQuery().isNull(columnIndices);
         } else {
-            this.query.equalTo(columnIndices, value);
+            getQuery().equalTo(columnIndices, value);
         }
         return this;
     }
@@ -399,7 +406,7 @@ public final class RealmQuery<E extends RealmModel> {
      */
     public RealmQuery<E> equalTo(String fieldName, Date value) {
         long columnIndices[] = schema.getColumnIndices(fieldName, RealmFieldType.DATE);
-        this.query.equalTo(columnIndices, value);
+        getQuery().equalTo(columnIndices, value);
         return this;
     }
 
@@ -431,7 +438,7 @@ public final class RealmQuery<E extends RealmModel> {
         if (columnIndices.length > 1 && !casing.getValue()) {
             throw new IllegalArgumentException("Link queries cannot be case insensitive - coming soon.");
         }
-        this.query.notEqualTo(columnIndices, value, casing);
+        getQuery().notEqualTo(columnIndices, value, casing);
         return this;
     }
 
@@ -446,9 +453,9 @@ public final class RealmQuery<E extends RealmModel> {
     public RealmQuery<E> notEqualTo(String fieldName, Byte value) {
         long[] columnIndices = schema.getColumnIndices(fieldName, RealmFieldType.INTEGER);
         if (value == null) {
-            this.query.isNotNull(columnIndices);
+            getQuery().isNotNull(columnIndices);
         } else {
-            this.query.notEqualTo(columnIndices, value);
+            getQuery().notEqualTo(columnIndices, value);
         }
         return this;
     }
@@ -464,9 +471,9 @@ public final class RealmQuery<E extends RealmModel> {
     public RealmQuery<E> notEqualTo(String fieldName, Short value) {
         long[] columnIndices = schema.getColumnIndices(fieldName, RealmFieldType.INTEGER);
         if (value == null) {
-            this.query.isNotNull(columnIndices);
+            getQuery().isNotNull(columnIndices);
         } else {
-            this.query.notEqualTo(columnIndices, value);
+            getQuery().notEqualTo(columnIndices, value);
         }
         return this;
     }
@@ -482,9 +489,9 @@ public final class RealmQuery<E extends RealmModel> {
     public RealmQuery<E> notEqualTo(String fieldName, Integer value) {
         long[] columnIndices = schema.getColumnIndices(fieldName, RealmFieldType.INTEGER);
         if (value == null) {
-            this.query.isNotNull(columnIndices);
+            getQuery().isNotNull(columnIndices);
         } else {
-            this.query.notEqualTo(columnIndices, value);
+            getQuery().notEqualTo(columnIndices, value);
         }
         return this;
     }
@@ -500,9 +507,9 @@ public final class RealmQuery<E extends RealmModel> {
     public RealmQuery<E> notEqualTo(String fieldName, Long value) {
         long[] columnIndices = schema.getColumnIndices(fieldName, RealmFieldType.INTEGER);
         if (value == null) {
-            this.query.isNotNull(columnIndices);
+            getQuery().isNotNull(columnIndices);
         } else {
-            this.query.notEqualTo(columnIndices, value);
+            getQuery().notEqualTo(columnIndices, value);
         }
         return this;
     }
@@ -518,9 +525,9 @@ public final class RealmQuery<E extends RealmModel> {
     public RealmQuery<E> notEqualTo(String fieldName, Double value) {
         long[] columnIndices = schema.getColumnIndices(fieldName, RealmFieldType.DOUBLE);
         if (value == null) {
-            this.query.isNotNull(columnIndices);
+            getQuery().isNotNull(columnIndices);
         } else {
-            this.query.notEqualTo(columnIndices, value);
+            getQuery().notEqualTo(columnIndices, value);
         }
         return this;
     }
@@ -536,9 +543,9 @@ public final class RealmQuery<E extends RealmModel> {
     public RealmQuery<E> notEqualTo(String fieldName, Float value) {
         long[] columnIndices = schema.getColumnIndices(fieldName, RealmFieldType.FLOAT);
         if (value == null) {
-            this.query.isNotNull(columnIndices);
+            getQuery().isNotNull(columnIndices);
         } else {
-            this.query.notEqualTo(columnIndices, value);
+            getQuery().notEqualTo(columnIndices, value);
         }
         return this;
     }
@@ -554,9 +561,9 @@ public final class RealmQuery<E extends RealmModel> {
     public RealmQuery<E> notEqualTo(String fieldName, Boolean value) {
         long[] columnIndices = schema.getColumnIndices(fieldName, RealmFieldType.BOOLEAN);
         if (value == null) {
-            this.query.isNotNull(columnIndices);
+            getQuery().isNotNull(columnIndices);
         } else {
-            this.query.equalTo(columnIndices, !value);
+            getQuery().equalTo(columnIndices, !value);
         }
         return this;
     }
@@ -572,9 +579,9 @@ public final class RealmQuery<E extends RealmModel> {
     public RealmQuery<E> notEqualTo(String fieldName, Date value) {
         long[] columnIndices = schema.getColumnIndices(fieldName, RealmFieldType.DATE);
         if (value == null) {
-            this.query.isNotNull(columnIndices);
+            getQuery().isNotNull(columnIndices);
         } else {
-            this.query.notEqualTo(columnIndices, value);
+            getQuery().notEqualTo(columnIndices, value);
         }
         return this;
     }
@@ -591,7 +598,7 @@ public final class RealmQuery<E extends RealmModel> {
      */
     public RealmQuery<E> greaterThan(String fieldName, int value) {
         long[] columnIndices = schema.getColumnIndices(fieldName, RealmFieldType.INTEGER);
-        this.query.greaterThan(columnIndices, value);
+        getQuery().greaterThan(columnIndices, value);
         return this;
     }
 
@@ -605,7 +612,7 @@ public final class RealmQuery<E extends RealmModel> {
      */
     public RealmQuery<E> greaterThan(String fieldName, long value) {
         long[] columnIndices = schema.getColumnIndices(fieldName, RealmFieldType.INTEGER);
-        this.query.greaterThan(columnIndices, value);
+        getQuery().greaterThan(columnIndices, value);
         return this;
     }
 
@@ -619,7 +626,7 @@ public final class RealmQuery<E extends RealmModel> {
      */
     public RealmQuery<E> greaterThan(String fieldName, double value) {
         long columnIndices[] = schema.getColumnIndices(fieldName, RealmFieldType.DOUBLE);
-        this.query.greaterThan(columnIndices, value);
+        getQuery().greaterThan(columnIndices, value);
         return this;
     }
 
@@ -633,7 +640,7 @@ public final class RealmQuery<E extends RealmModel> {
      */
     public RealmQuery<E> greaterThan(String fieldName, float value) {
         long columnIndices[] = schema.getColumnIndices(fieldName, RealmFieldType.FLOAT);
-        this.query.greaterThan(columnIndices, value);
+        getQuery().greaterThan(columnIndices, value);
         return this;
     }
 
@@ -647,7 +654,7 @@ public final class RealmQuery<E extends RealmModel> {
      */
     public RealmQuery<E> greaterThan(String fieldName, Date value) {
         long columnIndices[] = schema.getColumnIndices(fieldName, RealmFieldType.DATE);
-        this.query.greaterThan(columnIndices, value);
+        getQuery().greaterThan(columnIndices, value);
         return this;
     }
 
@@ -661,7 +668,7 @@ public final class RealmQuery<E extends RealmModel> {
      */
     public RealmQuery<E> greaterThanOrEqualTo(String fieldName, int value) {
         long columnIndices[] = schema.getColumnIndices(fieldName, RealmFieldType.INTEGER);
-        this.query.greaterThanOrEqual(columnIndices, value);
+        getQuery().greaterThanOrEqual(columnIndices, value);
         return this;
     }
 
@@ -675,7 +682,7 @@ public final class RealmQuery<E extends RealmModel> {
      */
     public RealmQuery<E> greaterThanOrEqualTo(String fieldName, long value) {
         long columnIndices[] = schema.getColumnIndices(fieldName, RealmFieldType.INTEGER);
-        this.query.greaterThanOrEqual(columnIndices, value);
+        getQuery().greaterThanOrEqual(columnIndices, value);
         return this;
     }
 
@@ -689,7 +696,7 @@ public final class RealmQuery<E extends RealmModel> {
      */
     public RealmQuery<E> greaterThanOrEqualTo(String fieldName, double value) {
         long columnIndices[] = schema.getColumnIndices(fieldName, RealmFieldType.DOUBLE);
-        this.query.greaterThanOrEqual(columnIndices, value);
+        getQuery().greaterThanOrEqual(columnIndices, value);
         return this;
     }
 
@@ -703,7 +710,7 @@ public final class RealmQuery<E extends RealmModel> {
      */
     public RealmQuery<E> greaterThanOrEqualTo(String fieldName, float value) {
         long columnIndices[] = schema.getColumnIndices(fieldName, RealmFieldType.FLOAT);
-        this.query.greaterThanOrEqual(columnIndices, value);
+        getQuery().greaterThanOrEqual(columnIndices, value);
         return this;
     }
 
@@ -717,7 +724,7 @@ public final class RealmQuery<E extends RealmModel> {
      */
     public RealmQuery<E> greaterThanOrEqualTo(String fieldName, Date value) {
         long columnIndices[] = schema.getColumnIndices(fieldName, RealmFieldType.DATE);
-        this.query.greaterThanOrEqual(columnIndices, value);
+        getQuery().greaterThanOrEqual(columnIndices, value);
         return this;
     }
 
@@ -733,7 +740,7 @@ public final class RealmQuery<E extends RealmModel> {
      */
     public RealmQuery<E> lessThan(String fieldName, int value) {
         long columnIndices[] = schema.getColumnIndices(fieldName, RealmFieldType.INTEGER);
-        this.query.lessThan(columnIndices, value);
+        getQuery().lessThan(columnIndices, value);
         return this;
     }
 
@@ -747,7 +754,7 @@ public final class RealmQuery<E extends RealmModel> {
      */
     public RealmQuery<E> lessThan(String fieldName, long value) {
         long columnIndices[] = schema.getColumnIndices(fieldName, RealmFieldType.INTEGER);
-        this.query.lessThan(columnIndices, value);
+        getQuery().lessThan(columnIndices, value);
         return this;
     }
 
@@ -761,7 +768,7 @@ public final class RealmQuery<E extends RealmModel> {
      */
     public RealmQuery<E> lessThan(String fieldName, double value) {
         long columnIndices[] = schema.getColumnIndices(fieldName, RealmFieldType.DOUBLE);
-        this.query.lessThan(columnIndices, value);
+        getQuery().lessThan(columnIndices, value);
         return this;
     }
 
@@ -775,7 +782,7 @@ public final class RealmQuery<E extends RealmModel> {
      */
     public RealmQuery<E> lessThan(String fieldName, float value) {
         long columnIndices[] = schema.getColumnIndices(fieldName, RealmFieldType.FLOAT);
-        this.query.lessThan(columnIndices, value);
+        getQuery().lessThan(columnIndices, value);
         return this;
     }
 
@@ -789,7 +796,7 @@ public final class RealmQuery<E extends RealmModel> {
      */
     public RealmQuery<E> lessThan(String fieldName, Date value) {
         long columnIndices[] = schema.getColumnIndices(fieldName, RealmFieldType.DATE);
-        this.query.lessThan(columnIndices, value);
+        getQuery().lessThan(columnIndices, value);
         return this;
     }
 
@@ -803,7 +810,7 @@ public final class RealmQuery<E extends RealmModel> {
      */
     public RealmQuery<E> lessThanOrEqualTo(String fieldName, int value) {
         long columnIndices[] = schema.getColumnIndices(fieldName, RealmFieldType.INTEGER);
-        this.query.lessThanOrEqual(columnIndices, value);
+        getQuery().lessThanOrEqual(columnIndices, value);
         return this;
     }
 
@@ -817,7 +824,7 @@ public final class RealmQuery<E extends RealmModel> {
      */
     public RealmQuery<E> lessThanOrEqualTo(String fieldName, long value) {
         long columnIndices[] = schema.getColumnIndices(fieldName, RealmFieldType.INTEGER);
-        this.query.lessThanOrEqual(columnIndices, value);
+        getQuery().lessThanOrEqual(columnIndices, value);
         return this;
     }
 
@@ -831,7 +838,7 @@ public final class RealmQuery<E extends RealmModel> {
      */
     public RealmQuery<E> lessThanOrEqualTo(String fieldName, double value) {
         long columnIndices[] = schema.getColumnIndices(fieldName, RealmFieldType.DOUBLE);
-        this.query.lessThanOrEqual(columnIndices, value);
+        getQuery().lessThanOrEqual(columnIndices, value);
         return this;
     }
 
@@ -845,7 +852,7 @@ public final class RealmQuery<E extends RealmModel> {
      */
     public RealmQuery<E> lessThanOrEqualTo(String fieldName, float value) {
         long columnIndices[] = schema.getColumnIndices(fieldName, RealmFieldType.FLOAT);
-        this.query.lessThanOrEqual(columnIndices, value);
+        getQuery().lessThanOrEqual(columnIndices, value);
         return this;
     }
 
@@ -859,7 +866,7 @@ public final class RealmQuery<E extends RealmModel> {
      */
     public RealmQuery<E> lessThanOrEqualTo(String fieldName, Date value) {
         long columnIndices[] = schema.getColumnIndices(fieldName, RealmFieldType.DATE);
-        this.query.lessThanOrEqual(columnIndices, value);
+        getQuery().lessThanOrEqual(columnIndices, value);
         return this;
     }
 
@@ -876,7 +883,7 @@ public final class RealmQuery<E extends RealmModel> {
      */
     public RealmQuery<E> between(String fieldName, int from, int to) {
         long columnIndices[] = schema.getColumnIndices(fieldName, RealmFieldType.INTEGER);
-        this.query.between(columnIndices, from, to);
+        getQuery().between(columnIndices, from, to);
         return this;
     }
 
@@ -891,7 +898,7 @@ public final class RealmQuery<E extends RealmModel> {
      */
     public RealmQuery<E> between(String fieldName, long from, long to) {
         long columnIndices[] = schema.getColumnIndices(fieldName, RealmFieldType.INTEGER);
-        this.query.between(columnIndices, from, to);
+        getQuery().between(columnIndices, from, to);
         return this;
     }
 
@@ -906,7 +913,7 @@ public final class RealmQuery<E extends RealmModel> {
      */
     public RealmQuery<E> between(String fieldName, double from, double to) {
         long columnIndices[] = schema.getColumnIndices(fieldName, RealmFieldType.DOUBLE);
-        this.query.between(columnIndices, from, to);
+        getQuery().between(columnIndices, from, to);
         return this;
     }
 
@@ -921,7 +928,7 @@ public final class RealmQuery<E extends RealmModel> {
      */
     public RealmQuery<E> between(String fieldName, float from, float to) {
         long columnIndices[] = schema.getColumnIndices(fieldName, RealmFieldType.FLOAT);
-        this.query.between(columnIndices, from, to);
+        getQuery().between(columnIndices, from, to);
         return this;
     }
 
@@ -936,7 +943,7 @@ public final class RealmQuery<E extends RealmModel> {
      */
     public RealmQuery<E> between(String fieldName, Date from, Date to) {
         long columnIndices[] = schema.getColumnIndices(fieldName, RealmFieldType.DATE);
-        this.query.between(columnIndices, from, to);
+        getQuery().between(columnIndices, from, to);
         return this;
     }
 
@@ -966,7 +973,7 @@ public final class RealmQuery<E extends RealmModel> {
      */
     public RealmQuery<E> contains(String fieldName, String value, Case casing) {
         long columnIndices[] = schema.getColumnIndices(fieldName, RealmFieldType.STRING);
-        this.query.contains(columnIndices, value, casing);
+        getQuery().contains(columnIndices, value, casing);
         return this;
     }
 
@@ -993,7 +1000,7 @@ public final class RealmQuery<E extends RealmModel> {
      */
     public RealmQuery<E> beginsWith(String fieldName, String value, Case casing) {
         long columnIndices[] = schema.getColumnIndices(fieldName, RealmFieldType.STRING);
-        this.query.beginsWith(columnIndices, value, casing);
+        getQuery().beginsWith(columnIndices, value, casing);
         return this;
     }
 
@@ -1020,7 +1027,7 @@ public final class RealmQuery<E extends RealmModel> {
      */
     public RealmQuery<E> endsWith(String fieldName, String value, Case casing) {
         long columnIndices[] = schema.getColumnIndices(fieldName, RealmFieldType.STRING);
-        this.query.endsWith(columnIndices, value, casing);
+        getQuery().endsWith(columnIndices, value, casing);
         return this;
     }
 
@@ -1033,7 +1040,7 @@ public final class RealmQuery<E extends RealmModel> {
      * @see #endGroup()
      */
     public RealmQuery<E> beginGroup() {
-        this.query.group();
+        getQuery().group();
         return this;
     }
 
@@ -1044,7 +1051,7 @@ public final class RealmQuery<E extends RealmModel> {
      * @see #beginGroup()
      */
     public RealmQuery<E> endGroup() {
-        this.query.endGroup();
+        getQuery().endGroup();
         return this;
     }
 
@@ -1054,7 +1061,7 @@ public final class RealmQuery<E extends RealmModel> {
      * @return the query object.
      */
     public RealmQuery<E> or() {
-        this.query.or();
+        getQuery().or();
         return this;
     }
 
@@ -1064,7 +1071,7 @@ public final class RealmQuery<E extends RealmModel> {
      * @return the query object.
      */
     public RealmQuery<E> not() {
-        this.query.not();
+        getQuery().not();
         return this;
     }
 
@@ -1078,7 +1085,7 @@ public final class RealmQuery<E extends RealmModel> {
      */
     public RealmQuery<E> isEmpty(String fieldName) {
         long columnIndices[] = schema.getColumnIndices(fieldName, RealmFieldType.STRING, RealmFieldType.BINARY, RealmFieldType.LIST);
-        this.query.isEmpty(columnIndices);
+        getQuery().isEmpty(columnIndices);
         return this;
     }
 
@@ -1092,7 +1099,7 @@ public final class RealmQuery<E extends RealmModel> {
      */
     public RealmQuery<E> isNotEmpty(String fieldName) {
         long columnIndices[] = schema.getColumnIndices(fieldName, RealmFieldType.STRING, RealmFieldType.BINARY, RealmFieldType.LIST);
-        this.query.isNotEmpty(columnIndices);
+        getQuery().isNotEmpty(columnIndices);
         return this;
     }
 
@@ -1109,7 +1116,7 @@ public final class RealmQuery<E extends RealmModel> {
     public RealmResults<E> distinct(String fieldName) {
         checkQueryIsNotReused();
         long columnIndex = getAndValidateDistinctColumnIndex(fieldName, this.table.getTable());
-        TableView tableView = this.query.findAll();
+        TableView tableView = getQuery().findAll();
         tableView.distinct(columnIndex);
 
         RealmResults<E> realmResults;
@@ -1140,7 +1147,7 @@ public final class RealmQuery<E extends RealmModel> {
         final WeakReference<Handler> weakHandler = getWeakReferenceHandler();
 
         // handover the query (to be used by a worker thread)
-        final long handoverQueryPointer = query.handoverQuery(realm.sharedGroupManager.getNativePointer());
+        final long handoverQueryPointer = handoverQueryPointer();
 
         // save query arguments (for future update)
         argumentsHolder = new ArgumentsHolder(ArgumentsHolder.TYPE_DISTINCT);
@@ -1162,17 +1169,14 @@ public final class RealmQuery<E extends RealmModel> {
 
         final WeakReference<RealmResults<? extends RealmModel>> weakRealmResults = realm.handlerController.addToAsyncRealmResults(realmResults, this);
 
-        final Future<Long> pendingQuery = Realm.asyncTaskExecutor.submit(new Callable<Long>() {
+        final Future<Long> pendingQuery = realm.configuration.getAsyncExecutor().getQueryExecutor().submit(new Callable<Long>() {
             @Override
             public Long call() throws Exception {
                 if (!Thread.currentThread().isInterrupted()) {
                     SharedGroup sharedGroup = null;
 
                     try {
-                        sharedGroup = new SharedGroup(realmConfiguration.getPath(),
-                                SharedGroup.IMPLICIT_TRANSACTION,
-                                realmConfiguration.getDurability(),
-                                realmConfiguration.getEncryptionKey());
+                        sharedGroup = SharedGroupPool.acquire(realmConfiguration);
 
                         long handoverTableViewPointer = query.
                                 findDistinctWithHandover(sharedGroup.getNativePointer(),
@@ -1183,18 +1187,18 @@ public final class RealmQuery<E extends RealmModel> {
                         QueryUpdateTask.Result result = QueryUpdateTask.Result.newRealmResultsResponse();
                         result.updatedTableViews.put(weakRealmResults, handoverTableViewPointer);
                         result.versionID = sharedGroup.getVersion();
-                        closeSharedGroupAndSendMessageToHandler(sharedGroup,
+                        releaseSharedGroupAndSendMessageToHandler(sharedGroup,
                                 weakHandler, HandlerController.COMPLETED_ASYNC_REALM_RESULTS, result);
 
                         return handoverTableViewPointer;
                     } catch (Exception e) {
                         RealmLog.e(e.getMessage(), e);
-                        closeSharedGroupAndSendMessageToHandler(sharedGroup,
+                        releaseSharedGroupAndSendMessageToHandler(sharedGroup,
                                 weakHandler, HandlerController.REALM_ASYNC_BACKGROUND_EXCEPTION, new Error(e));
 
                     } finally {
-                        if (sharedGroup != null && !sharedGroup.isClosed()) {
-                            sharedGroup.close();
+                        if (sharedGroup != null) {
+                            SharedGroupPool.release(sharedGroup);
                         }
                     }
                 } else {
@@ -1246,7 +1250,7 @@ public final class RealmQuery<E extends RealmModel> {
     public RealmResults<E> distinct(String firstFieldName, String... remainingFieldNames) {
         checkQueryIsNotReused();
         List<Long> columnIndexes = getValidatedColumIndexes(this.table.getTable(), firstFieldName, remainingFieldNames);
-        TableView tableView = this.query.findAll();
+        TableView tableView = getQuery().findAll();
         tableView.distinct(columnIndexes);
 
         RealmResults<E> realmResults;
@@ -1292,11 +1296,11 @@ public final class RealmQuery<E extends RealmModel> {
         long columnIndex = schema.getAndCheckFieldIndex(fieldName);
         switch (table.getColumnType(columnIndex)) {
             case INTEGER:
-                return query.sumInt(columnIndex);
+                return getQuery().sumInt(columnIndex);
             case FLOAT:
-                return query.sumFloat(columnIndex);
+                return getQuery().sumFloat(columnIndex);
             case DOUBLE:
-                return query.sumDouble(columnIndex);
+                return getQuery().sumDouble(columnIndex);
             default:
                 throw new IllegalArgumentException(String.format(TYPE_MISMATCH, fieldName, "int, float or double"));
         }
@@ -1317,11 +1321,11 @@ public final class RealmQuery<E extends RealmModel> {
         long columnIndex = schema.getAndCheckFieldIndex(fieldName);
         switch (table.getColumnType(columnIndex)) {
             case INTEGER:
-                return query.averageInt(columnIndex);
+                return getQuery().averageInt(columnIndex);
             case DOUBLE:
-                return query.averageDouble(columnIndex);
+                return getQuery().averageDouble(columnIndex);
             case FLOAT:
-                return query.averageFloat(columnIndex);
+                return getQuery().averageFloat(columnIndex);
             default:
                 throw new IllegalArgumentException(String.format(TYPE_MISMATCH, fieldName, "int, float or double"));
         }
@@ -1343,11 +1347,11 @@ public final class RealmQuery<E extends RealmModel> {
         long columnIndex = schema.getAndCheckFieldIndex(fieldName);
         switch (table.getColumnType(columnIndex)) {
             case INTEGER:
-                return this.query.minimumInt(columnIndex);
+                return getQuery().minimumInt(columnIndex);
             case FLOAT:
-                return this.query.minimumFloat(columnIndex);
+                return getQuery().minimumFloat(columnIndex);
             case DOUBLE:
-                return this.query.minimumDouble(columnIndex);
+                return getQuery().minimumDouble(columnIndex);
             default:
                 throw new IllegalArgumentException(String.format(TYPE_MISMATCH, fieldName, "int, float or double"));
         }
@@ -1364,7 +1368,7 @@ public final class RealmQuery<E extends RealmModel> {
      */
     public Date minimumDate(String fieldName) {
         long columnIndex = schema.getAndCheckFieldIndex(fieldName);
-        return this.query.minimumDate(columnIndex);
+        return getQuery().minimumDate(columnIndex);
     }
 
     // Max
@@ -1383,11 +1387,11 @@ public final class RealmQuery<E extends RealmModel> {
         long columnIndex = schema.getAndCheckFieldIndex(fieldName);
         switch (table.getColumnType(columnIndex)) {
             case INTEGER:
-                return this.query.maximumInt(columnIndex);
+                return getQuery().maximumInt(columnIndex);
             case FLOAT:
-                return this.query.maximumFloat(columnIndex);
+                return getQuery().maximumFloat(columnIndex);
             case DOUBLE:
-                return this.query.maximumDouble(columnIndex);
+                return getQuery().maximumDouble(columnIndex);
             default:
                 throw new IllegalArgumentException(String.format(TYPE_MISMATCH, fieldName, "int, float or double"));
         }
@@ -1404,7 +1408,7 @@ public final class RealmQuery<E extends RealmModel> {
      */
     public Date maximumDate(String fieldName) {
         long columnIndex = schema.getAndCheckFieldIndex(fieldName);
-        return this.query.maximumDate(columnIndex);
+        return getQuery().maximumDate(columnIndex);
     }
 
     /**
@@ -1414,7 +1418,20 @@ public final class RealmQuery<E extends RealmModel> {
      * @throws java.lang.UnsupportedOperationException if the query is not valid ("syntax error").
      */
     public long count() {
-        return this.query.count();
+        return getQuery().count();
+    }
+
+    /**
+     * Compiles the conditions added so far into a {@link RealmCompiledQuery} which can be executed many times with
+     * different parameter values. Later changes to this query do not affect the compiled query.
+     *
+     * @return a compiled query using the current conditions as template.
+     * @see RealmCompiledQuery
+     */
+    public RealmCompiledQuery<E> compile() {
+        checkQueryIsNotReused();
+        realm.checkIfValid();
+        return new RealmCompiledQuery<E>(realm, clazz, className, schema, table, view, getQuery().copy());
     }
 
     /**
@@ -1429,9 +1446,9 @@ public final class RealmQuery<E extends RealmModel> {
         checkQueryIsNotReused();
         RealmResults<E> realmResults;
         if (isDynamicQuery()) {
-            realmResults =  (RealmResults<E>) RealmResults.createFromDynamicTableOrView(realm, query.findAll(), className);
+            realmResults =  (RealmResults<E>) RealmResults.createFromDynamicTableOrView(realm, getQuery().findAll(), className);
         } else {
-            realmResults = RealmResults.createFromTableOrView(realm, query.findAll(), clazz);
+            realmResults = RealmResults.createFromTableOrView(realm, getQuery().findAll(), clazz);
         }
         return realmResults;
     }
@@ -1449,7 +1466,7 @@ public final class RealmQuery<E extends RealmModel> {
         final WeakReference<Handler> weakHandler = getWeakReferenceHandler();
 
         // handover the query (to be used by a worker thread)
-        final long handoverQueryPointer = query.handoverQuery(realm.sharedGroupManager.getNativePointer());
+        final long handoverQueryPointer = handoverQueryPointer();
 
         // save query arguments (for future update)
         argumentsHolder = new ArgumentsHolder(ArgumentsHolder.TYPE_FIND_ALL);
@@ -1470,17 +1487,14 @@ public final class RealmQuery<E extends RealmModel> {
 
         final WeakReference<RealmResults<? extends RealmModel>> weakRealmResults = realm.handlerController.addToAsyncRealmResults(realmResults, this);
 
-        final Future<Long> pendingQuery = Realm.asyncTaskExecutor.submit(new Callable<Long>() {
+        final Future<Long> pendingQuery = realm.configuration.getAsyncExecutor().getQueryExecutor().submit(new Callable<Long>() {
             @Override
             public Long call() throws Exception {
                 if (!Thread.currentThread().isInterrupted()) {
                     SharedGroup sharedGroup = null;
 
                     try {
-                        sharedGroup = new SharedGroup(realmConfiguration.getPath(),
-                                SharedGroup.IMPLICIT_TRANSACTION,
-                                realmConfiguration.getDurability(),
-                                realmConfiguration.getEncryptionKey());
+                        sharedGroup = SharedGroupPool.acquire(realmConfiguration);
 
                         // Run the query & handover the table view for the caller thread
                         // Note: the handoverQueryPointer contains the versionID needed by the SG in order
@@ -1490,7 +1504,7 @@ public final class RealmQuery<E extends RealmModel> {
                         QueryUpdateTask.Result result = QueryUpdateTask.Result.newRealmResultsResponse();
                         result.updatedTableViews.put(weakRealmResults, handoverTableViewPointer);
                         result.versionID = sharedGroup.getVersion();
-                        closeSharedGroupAndSendMessageToHandler(sharedGroup,
+                        releaseSharedGroupAndSendMessageToHandler(sharedGroup,
                                 weakHandler, HandlerController.COMPLETED_ASYNC_REALM_RESULTS, result);
 
                         return handoverTableViewPointer;
@@ -1502,12 +1516,12 @@ public final class RealmQuery<E extends RealmModel> {
 
                     } catch (Exception e) {
                         RealmLog.e(e.getMessage(), e);
-                        closeSharedGroupAndSendMessageToHandler(sharedGroup,
+                        releaseSharedGroupAndSendMessageToHandler(sharedGroup,
                                 weakHandler, HandlerController.REALM_ASYNC_BACKGROUND_EXCEPTION, new Error(e));
 
                     } finally {
-                        if (sharedGroup != null && !sharedGroup.isClosed()) {
-                            sharedGroup.close();
+                        if (sharedGroup != null) {
+                            SharedGroupPool.release(sharedGroup);
                         }
                     }
                 } else {
@@ -1538,7 +1552,7 @@ public final class RealmQuery<E extends RealmModel> {
     @SuppressWarnings("unchecked")
     public RealmResults<E> findAllSorted(String fieldName, Sort sortOrder) {
         checkQueryIsNotReused();
-        TableView tableView = query.findAll();
+        TableView tableView = getQuery().findAll();
         long columnIndex = getColumnIndexForSort(fieldName);
         tableView.sort(columnIndex, sortOrder);
 
@@ -1572,7 +1586,7 @@ public final class RealmQuery<E extends RealmModel> {
         final WeakReference<Handler> weakHandler = getWeakReferenceHandler();
 
         // handover the query (to be used by a worker thread)
-        final long handoverQueryPointer = query.handoverQuery(realm.sharedGroupManager.getNativePointer());
+        final long handoverQueryPointer = handoverQueryPointer();
 
         // we need to use the same configuration to open a background SharedGroup to perform the query
         final RealmConfiguration realmConfiguration = realm.getConfiguration();
@@ -1588,17 +1602,14 @@ public final class RealmQuery<E extends RealmModel> {
         final WeakReference<RealmResults<? extends RealmModel>> weakRealmResults =
                 realm.handlerController.addToAsyncRealmResults(realmResults, this);
 
-        final Future<Long> pendingQuery = Realm.asyncTaskExecutor.submit(new Callable<Long>() {
+        final Future<Long> pendingQuery = realm.configuration.getAsyncExecutor().getQueryExecutor().submit(new Callable<Long>() {
             @Override
             public Long call() throws Exception {
                 if (!Thread.currentThread().isInterrupted()) {
                     SharedGroup sharedGroup = null;
 
                     try {
-                        sharedGroup = new SharedGroup(realmConfiguration.getPath(),
-                                SharedGroup.IMPLICIT_TRANSACTION,
-                                realmConfiguration.getDurability(),
-                                realmConfiguration.getEncryptionKey());
+                        sharedGroup = SharedGroupPool.acquire(realmConfiguration);
 
                         long columnIndex = getColumnIndexForSort(fieldName);
 
@@ -1609,7 +1620,7 @@ public final class RealmQuery<E extends RealmModel> {
                         QueryUpdateTask.Result result = QueryUpdateTask.Result.newRealmResultsResponse();
                         result.updatedTableViews.put(weakRealmResults, handoverTableViewPointer);
                         result.versionID = sharedGroup.getVersion();
-                        closeSharedGroupAndSendMessageToHandler(sharedGroup,
+                        releaseSharedGroupAndSendMessageToHandler(sharedGroup,
                                 weakHandler, HandlerController.COMPLETED_ASYNC_REALM_RESULTS, result);
 
                         return handoverTableViewPointer;
@@ -1620,12 +1631,12 @@ public final class RealmQuery<E extends RealmModel> {
 
                     } catch (Exception e) {
                         RealmLog.e(e.getMessage(), e);
-                        closeSharedGroupAndSendMessageToHandler(sharedGroup,
+                        releaseSharedGroupAndSendMessageToHandler(sharedGroup,
                                 weakHandler, HandlerController.REALM_ASYNC_BACKGROUND_EXCEPTION, new Error(e));
 
                     } finally {
-                        if (sharedGroup != null && !sharedGroup.isClosed()) {
-                            sharedGroup.close();
+                        if (sharedGroup != null) {
+                            SharedGroupPool.release(sharedGroup);
                         }
                     }
                 } else {
@@ -1689,7 +1700,7 @@ public final class RealmQuery<E extends RealmModel> {
         if (fieldNames.length == 1 && sortOrders.length == 1) {
             return findAllSorted(fieldNames[0], sortOrders[0]);
         } else {
-            TableView tableView = query.findAll();
+            TableView tableView = getQuery().findAll();
             List<Long> columnIndices = new ArrayList<Long>();
             //noinspection ForLoopReplaceableByForEach
             for (int i = 0; i < fieldNames.length; i++) {
@@ -1735,7 +1746,7 @@ public final class RealmQuery<E extends RealmModel> {
             final WeakReference<Handler> weakHandler = getWeakReferenceHandler();
 
             // Handover the query (to be used by a worker thread)
-            final long handoverQueryPointer = query.handoverQuery(realm.sharedGroupManager.getNativePointer());
+            final long handoverQueryPointer = handoverQueryPointer();
 
             // We need to use the same configuration to open a background SharedGroup to perform the query
             final RealmConfiguration realmConfiguration = realm.getConfiguration();
@@ -1763,17 +1774,14 @@ public final class RealmQuery<E extends RealmModel> {
 
             final WeakReference<RealmResults<? extends RealmModel>> weakRealmResults = realm.handlerController.addToAsyncRealmResults(realmResults, this);
 
-            final Future<Long> pendingQuery = Realm.asyncTaskExecutor.submit(new Callable<Long>() {
+            final Future<Long> pendingQuery = realm.configuration.getAsyncExecutor().getQueryExecutor().submit(new Callable<Long>() {
                 @Override
                 public Long call() throws Exception {
                     if (!Thread.currentThread().isInterrupted()) {
                         SharedGroup sharedGroup = null;
 
                         try {
-                            sharedGroup = new SharedGroup(realmConfiguration.getPath(),
-                                    SharedGroup.IMPLICIT_TRANSACTION,
-                                    realmConfiguration.getDurability(),
-                                    realmConfiguration.getEncryptionKey());
+                            sharedGroup = SharedGroupPool.acquire(realmConfiguration);
 
                             // run the query & handover the table view for the caller thread
                             long handoverTableViewPointer = query.findAllMultiSortedWithHandover(sharedGroup.getNativePointer(),
@@ -1782,7 +1790,7 @@ public final class RealmQuery<E extends RealmModel> {
                             QueryUpdateTask.Result result = QueryUpdateTask.Result.newRealmResultsResponse();
                             result.updatedTableViews.put(weakRealmResults, handoverTableViewPointer);
                             result.versionID = sharedGroup.getVersion();
-                            closeSharedGroupAndSendMessageToHandler(sharedGroup,
+                            releaseSharedGroupAndSendMessageToHandler(sharedGroup,
                                     weakHandler, HandlerController.COMPLETED_ASYNC_REALM_RESULTS, result);
 
                             return handoverTableViewPointer;
@@ -1793,12 +1801,12 @@ public final class RealmQuery<E extends RealmModel> {
 
                         } catch (Exception e) {
                             RealmLog.e(e.getMessage(), e);
-                            closeSharedGroupAndSendMessageToHandler(sharedGroup,
+                            releaseSharedGroupAndSendMessageToHandler(sharedGroup,
                                     weakHandler, HandlerController.REALM_ASYNC_BACKGROUND_EXCEPTION, new Error(e));
 
                         } finally {
-                            if (sharedGroup != null && !sharedGroup.isClosed()) {
-                                sharedGroup.close();
+                            if (sharedGroup != null) {
+                                SharedGroupPool.release(sharedGroup);
                             }
                         }
                     } else {
@@ -1881,7 +1889,7 @@ public final class RealmQuery<E extends RealmModel> {
         final WeakReference<Handler> weakHandler = getWeakReferenceHandler();
 
         // handover the query (to be used by a worker thread)
-        final long handoverQueryPointer = query.handoverQuery(realm.sharedGroupManager.getNativePointer());
+        final long handoverQueryPointer = handoverQueryPointer();
 
         // save query arguments (for future update)
         argumentsHolder = new ArgumentsHolder(ArgumentsHolder.TYPE_FIND_FIRST);
@@ -1903,17 +1911,14 @@ public final class RealmQuery<E extends RealmModel> {
         proxy.realmGet$proxyState().setRealm$realm(realm);
         proxy.realmGet$proxyState().setRow$realm(Row.EMPTY_ROW);
 
-        final Future<Long> pendingQuery = Realm.asyncTaskExecutor.submit(new Callable<Long>() {
+        final Future<Long> pendingQuery = realm.configuration.getAsyncExecutor().getQueryExecutor().submit(new Callable<Long>() {
             @Override
             public Long call() throws Exception {
                 if (!Thread.currentThread().isInterrupted()) {
                     SharedGroup sharedGroup = null;
 
                     try {
-                        sharedGroup = new SharedGroup(realmConfiguration.getPath(),
-                                SharedGroup.IMPLICIT_TRANSACTION,
-                                realmConfiguration.getDurability(),
-                                realmConfiguration.getEncryptionKey());
+                        sharedGroup = SharedGroupPool.acquire(realmConfiguration);
 
                         long handoverRowPointer = query.findWithHandover(sharedGroup.getNativePointer(),
                                 sharedGroup.getNativeReplicationPointer(), handoverQueryPointer);
@@ -1925,7 +1930,7 @@ public final class RealmQuery<E extends RealmModel> {
                         QueryUpdateTask.Result result = QueryUpdateTask.Result.newRealmObjectResponse();
                         result.updatedRow.put(realmObjectWeakReference, handoverRowPointer);
                         result.versionID = sharedGroup.getVersion();
-                        closeSharedGroupAndSendMessageToHandler(sharedGroup,
+                        releaseSharedGroupAndSendMessageToHandler(sharedGroup,
                                 weakHandler, HandlerController.COMPLETED_ASYNC_REALM_OBJECT, result);
 
                         return handoverRowPointer;
@@ -1933,12 +1938,12 @@ public final class RealmQuery<E extends RealmModel> {
                     } catch (Exception e) {
                         RealmLog.e(e.getMessage(), e);
                         // handler can't throw a checked exception need to wrap it into unchecked Exception
-                        closeSharedGroupAndSendMessageToHandler(sharedGroup,
+                        releaseSharedGroupAndSendMessageToHandler(sharedGroup,
                                 weakHandler, HandlerController.REALM_ASYNC_BACKGROUND_EXCEPTION, new Error(e));
 
                     } finally {
-                        if (sharedGroup != null && !sharedGroup.isClosed()) {
-                            sharedGroup.close();
+                        if (sharedGroup != null) {
+                            SharedGroupPool.release(sharedGroup);
                         }
                     }
                 } else {
@@ -1975,11 +1980,11 @@ public final class RealmQuery<E extends RealmModel> {
         return new WeakReference<Handler>(realm.handler); // use caller Realm's Looper
     }
 
-    // The shared group needs to be closed before sending the message to other threads to avoid timing problems.
-    // eg.: The other thread wants to delete Realm when getting notified.
-    private void closeSharedGroupAndSendMessageToHandler(SharedGroup sharedGroup, WeakReference<Handler> weakHandler, int what, Object obj) {
+    // The shared group needs to be released before sending the message to other threads to avoid timing problems.
+    // eg.: The other thread wants to delete Realm when getting notified, closing its last instance closes the pool.
+    private void releaseSharedGroupAndSendMessageToHandler(SharedGroup sharedGroup, WeakReference<Handler> weakHandler, int what, Object obj) {
         if (sharedGroup != null) {
-            sharedGroup.close();
+            SharedGroupPool.release(sharedGroup);
         }
         Handler handler = weakHandler.get();
         if (handler != null && handler.getLooper().getThread().isAlive()) {
@@ -1998,7 +2003,7 @@ public final class RealmQuery<E extends RealmModel> {
     }
 
     private long getSourceRowIndexForFirstObject() {
-        long rowIndex = this.query.find();
+        long rowIndex = getQuery().find();
         if (rowIndex < 0) {
             return rowIndex;
         }
@@ -2039,6 +2044,16 @@ public final class RealmQuery<E extends RealmModel> {
      * @return the exported handover pointer for this RealmQuery.
      */
     long handoverQueryPointer() {
-        return query.handoverQuery(realm.sharedGroupManager.getNativePointer());
+        TableQuery tableQuery = getQuery();
+        // The query is re-run by the worker thread each time the Realm changes, a scope must not release it.
+        RealmScope.forget(realm, tableQuery);
+        return tableQuery.handoverQuery(realm.sharedGroupManager.getNativePointer());
+    }
+
+    private TableQuery getQuery() {
+        if (query.isClosed()) {
+            throw new IllegalStateException(RealmScope.CLOSED_MESSAGE);
+        }
+        return query;
     }
 }
@@ -32,6 +32,7 @@ import java.util.concurrent.Future;
 import io.realm.annotations.internal.OptionalAPI;
 import io.realm.internal.InvalidRow;
 import io.realm.internal.RealmObjectProxy;
+import io.realm.internal.RowCursor;
 import io.realm.internal.Table;
 import io.realm.internal.TableOrView;
 import io.realm.internal.TableQuery;
@@ -82,6 +83,10 @@ public final class RealmResults<E extends RealmModel> extends AbstractList<E> im
     private long currentTableViewVersion = TABLE_VIEW_VERSION_NONE;
     private final TableQuery query;
     private final List<RealmChangeListener<RealmResults<E>>> listeners = new CopyOnWriteArrayList<RealmChangeListener<RealmResults<E>>>();
+    private final List<RealmCollectionChangeListener<RealmResults<E>>> collectionListeners =
+            new CopyOnWriteArrayList<RealmCollectionChangeListener<RealmResults<E>>>();
+    // Changes computed by the worker thread for the last swapped TableView, delivered with the next notification.
+    private RealmCollectionChangeSet pendingChangeSet;
     private Future<Long> pendingQuery;
     private boolean asyncQueryCompleted = false;
     // Keep track of changes to the RealmResult. Is updated after a call to `syncIfNeeded()`. Calling notifyListeners will
@@ -96,6 +101,7 @@ public final class RealmResults<E extends RealmModel> extends AbstractList<E> im
     static <E extends RealmModel> RealmResults<E> createFromTableOrView(BaseRealm realm, TableOrView table, Class<E> clazz) {
         RealmResults<E> realmResults = new RealmResults<E>(realm, table, clazz);
         realm.handlerController.addToRealmResults(realmResults);
+        RealmScope.track(realm, table);
         return realmResults;
     }
 
@@ -106,6 +112,7 @@ public final class RealmResults<E extends RealmModel> extends AbstractList<E> im
     static RealmResults<DynamicRealmObject> createFromDynamicTableOrView(BaseRealm realm, TableOrView table, String className) {
         RealmResults<DynamicRealmObject> realmResults = new RealmResults<DynamicRealmObject>(realm, table, className);
         realm.handlerController.addToRealmResults(realmResults);
+        RealmScope.track(realm, table);
         return realmResults;
     }
 
@@ -149,15 +156,23 @@ public final class RealmResults<E extends RealmModel> extends AbstractList<E> im
         if (table == null) {
             return realm.schema.getTable(classSpec);
         } else {
+            if (isClosedByScope()) {
+                throw new IllegalStateException(RealmScope.CLOSED_MESSAGE);
+            }
             return table;
         }
     }
 
+    // The table_view is closed when the RealmScope these results were created in is closed.
+    boolean isClosedByScope() {
+        return table instanceof TableView && ((TableView) table).isClosed();
+    }
+
     /**
      * {@inheritDoc}
      */
     public boolean isValid() {
-        return realm != null && !realm.isClosed();
+        return realm != null && !realm.isClosed() && !isClosedByScope();
     }
 
     /**
@@ -183,7 +198,7 @@ public final class RealmResults<E extends RealmModel> extends AbstractList<E> im
         if (isLoaded() && object instanceof RealmObjectProxy) {
             RealmObjectProxy proxy = (RealmObjectProxy) object;
             if (realm.getPath().equals(proxy.realmGet$proxyState().getRealm$realm().getPath()) && proxy.realmGet$proxyState().getRow$realm() != InvalidRow.INSTANCE) {
-                contains = (table.sourceRowIndex(proxy.realmGet$proxyState().getRow$realm().getIndex()) != TableOrView.NO_MATCH);
+                contains = (getTable().sourceRowIndex(proxy.realmGet$proxyState().getRow$realm().getIndex()) != TableOrView.NO_MATCH);
             }
         }
         return contains;
@@ -276,6 +291,46 @@ public final class RealmResults<E extends RealmModel> extends AbstractList<E> im
         return new RealmResultsIterator();
     }
 
+    /**
+     * Calls the consumer for each object of the results, in order. Unlike {@link #iterator()}, a single object is
+     * created and moved from row to row, so iterating doesn't allocate an object and a native row accessor per row.
+     * <p>
+     * The object given to the consumer is only valid until {@link RealmRowConsumer#accept(RealmModel)} returns. Any
+     * change to Realm while iterating will cause this method to throw a
+     * {@link java.util.ConcurrentModificationException}, like {@link #iterator()}.
+     *
+     * @param consumer the callback called for each object.
+     * @throws IllegalArgumentException if {@code consumer} is {@code null}.
+     * @throws IllegalStateException if the Realm is closed or called from an incorrect thread.
+     */
+    public void forEachRow(RealmRowConsumer<E> consumer) {
+        if (consumer == null) {
+            throw new IllegalArgumentException("Non-null 'consumer' required.");
+        }
+        realm.checkIfValid();
+        if (!isLoaded()) {
+            return;
+        }
+        TableOrView tableOrView = getTable();
+        RowCursor cursor = new RowCursor(tableOrView.getTable());
+        E object = realm.get(classSpec, className, cursor);
+        RealmObjectProxy proxy = (RealmObjectProxy) object;
+        RealmResultsIterator iterator = new RealmResultsIterator();
+        while (iterator.hasNext()) {
+            realm.checkIfValid();
+            iterator.checkRealmIsStable();
+            iterator.pos++;
+            if (tableOrView instanceof TableView) {
+                cursor.moveTo(((TableView) tableOrView).getSourceRowIndex(iterator.pos));
+            } else {
+                cursor.moveTo(iterator.pos);
+            }
+            // lists read from the previous row must not be returned for this one
+            proxy.realm$clearCachedValues();
+            consumer.accept(object);
+        }
+    }
+
     /**
      * Returns a list iterator for the results of a query. Any change to Realm while iterating will cause the iterator
      * to throw a {@link java.util.ConcurrentModificationException} if accessed.
@@ -320,7 +375,7 @@ public final class RealmResults<E extends RealmModel> extends AbstractList<E> im
         if (fieldName.contains(".")) {
             throw new IllegalArgumentException("Sorting using child object fields is not supported: " + fieldName);
         }
-        long columnIndex = table.getColumnIndex(fieldName);
+        long columnIndex = getTable().getColumnIndex(fieldName);
         if (columnIndex < 0) {
             throw new IllegalArgumentException(String.format("Field '%s' does not exist.", fieldName));
         }
@@ -484,6 +539,108 @@ public final class RealmResults<E extends RealmModel> extends AbstractList<E> im
         }
     }
 
+    // Bulk reads
+
+    /**
+     * Copies the values of an integer field ({@code long}, {@code int}, {@code short} or {@code byte} and their boxed
+     * variants) of the objects in the range {@code [from, to)} into {@code dst}, starting at {@code dst[0]}.
+     * <p>
+     * All values are read with a single call into the native layer and no objects are created, which makes this
+     * a cheap way to feed adapters or charts with a whole column. {@code null} values are read as {@code 0}.
+     *
+     * @param fieldName the field to read.
+     * @param dst the array to copy the values into. It must have room for at least {@code to - from} values.
+     * @param from index of the first object to read, inclusive.
+     * @param to index of the last object to read, exclusive.
+     * @throws IllegalArgumentException if the field does not exist, is not an integer field or if {@code dst} is too
+     * small.
+     * @throws IndexOutOfBoundsException if {@code from < 0 || to > size() || from > to}.
+     */
+    public void getLongs(String fieldName, long[] dst, int from, int to) {
+        long columnIndex = getColumnIndexForBulkRead(fieldName, (dst == null) ? -1 : dst.length, from, to);
+        TableOrView table = getTable();
+        if (table.getColumnType(columnIndex) != RealmFieldType.INTEGER) {
+            throw new IllegalArgumentException(String.format(TYPE_MISMATCH, fieldName, "int"));
+        }
+        table.getLongs(columnIndex, dst, from, to);
+    }
+
+    /**
+     * Copies the values of a {@code double} or {@code float} field of the objects in the range {@code [from, to)}
+     * into {@code dst}, starting at {@code dst[0]}.
+     * <p>
+     * All values are read with a single call into the native layer and no objects are created.
+     * {@code null} values are read as {@link Double#NaN}.
+     *
+     * @param fieldName the field to read.
+     * @param dst the array to copy the values into. It must have room for at least {@code to - from} values.
+     * @param from index of the first object to read, inclusive.
+     * @param to index of the last object to read, exclusive.
+     * @throws IllegalArgumentException if the field does not exist, is not a double or float field or if {@code dst}
+     * is too small.
+     * @throws IndexOutOfBoundsException if {@code from < 0 || to > size() || from > to}.
+     */
+    public void getDoubles(String fieldName, double[] dst, int from, int to) {
+        long columnIndex = getColumnIndexForBulkRead(fieldName, (dst == null) ? -1 : dst.length, from, to);
+        TableOrView table = getTable();
+        RealmFieldType type = table.getColumnType(columnIndex);
+        if (type != RealmFieldType.DOUBLE && type != RealmFieldType.FLOAT) {
+            throw new IllegalArgumentException(String.format(TYPE_MISMATCH, fieldName, "double or float"));
+        }
+        table.getDoubles(columnIndex, dst, from, to);
+    }
+
+    /**
+     * Copies the values of a {@code String} field of the objects in the range {@code [from, to)} into {@code dst},
+     * starting at {@code dst[0]}.
+     * <p>
+     * All values are read with a single call into the native layer and no objects other than the strings themselves
+     * are created.
+     *
+     * @param fieldName the field to read.
+     * @param dst the array to copy the values into. It must have room for at least {@code to - from} values.
+     * @param from index of the first object to read, inclusive.
+     * @param to index of the last object to read, exclusive.
+     * @throws IllegalArgumentException if the field does not exist, is not a String field or if {@code dst} is too
+     * small.
+     * @throws IndexOutOfBoundsException if {@code from < 0 || to > size() || from > to}.
+     */
+    public void getStrings(String fieldName, String[] dst, int from, int to) {
+        long columnIndex = getColumnIndexForBulkRead(fieldName, (dst == null) ? -1 : dst.length, from, to);
+        TableOrView table = getTable();
+        if (table.getColumnType(columnIndex) != RealmFieldType.STRING) {
+            throw new IllegalArgumentException(String.format(TYPE_MISMATCH, fieldName, "String"));
+        }
+        table.getStrings(columnIndex, dst, from, to);
+    }
+
+    // aux. method used by the bulk read methods
+    private long getColumnIndexForBulkRead(String fieldName, int dstLength, int from, int to) {
+        realm.checkIfValid();
+        if (dstLength < 0) {
+            throw new IllegalArgumentException("Non-null destination array required.");
+        }
+        int size = size();
+        if (from < 0 || to > size || from > to) {
+            throw new IndexOutOfBoundsException(String.format("Invalid range [%d, %d) for %d results.", from, to, size));
+        }
+        if (dstLength < to - from) {
+            throw new IllegalArgumentException(String.format("Destination array can hold %d values, %d are required.",
+                    dstLength, to - from));
+        }
+        if (fieldName == null || fieldName.isEmpty()) {
+            throw new IllegalArgumentException("Non-empty field name required.");
+        }
+        if (fieldName.contains(".")) {
+            throw new IllegalArgumentException("Reading child object fields is not supported: " + fieldName);
+        }
+        long columnIndex = getTable().getColumnIndex(fieldName);
+        if (columnIndex < 0) {
+            throw new IllegalArgumentException(String.format("Field '%s' does not exist.", fieldName));
+        }
+        return columnIndex;
+    }
+
     /**
      * Returns a distinct set of objects of a specific class. If the result is sorted, the first
      * object will be returned in case of multiple occurrences, otherwise it is undefined which
@@ -496,7 +653,7 @@ public final class RealmResults<E extends RealmModel> extends AbstractList<E> im
      */
     public RealmResults<E> distinct(String fieldName) {
         realm.checkIfValid();
-        long columnIndex = RealmQuery.getAndValidateDistinctColumnIndex(fieldName, this.table.getTable());
+        long columnIndex = RealmQuery.getAndValidateDistinctColumnIndex(fieldName, getTable().getTable());
 
         TableOrView tableOrView = getTable();
         if (tableOrView instanceof Table) {
@@ -616,6 +773,9 @@ public final class RealmResults<E extends RealmModel> extends AbstractList<E> im
     }
 
     void syncIfNeeded() {
+        if (isClosedByScope()) {
+            return;
+        }
         long newVersion = table.syncIfNeeded();
         viewUpdated = newVersion != currentTableViewVersion;
         currentTableViewVersion = newVersion;
@@ -732,7 +892,7 @@ public final class RealmResults<E extends RealmModel> extends AbstractList<E> im
         }
 
         protected void checkRealmIsStable() {
-            long version = table.getVersion();
+            long version = getTable().getVersion();
             // Any change within a write transaction will immediately update the table version. This means that we
             // cannot depend on the tableVersion heuristic in that case.
             // You could argue that in that case it is not really a "ConcurrentModification", but this interpretation
@@ -827,14 +987,48 @@ public final class RealmResults<E extends RealmModel> extends AbstractList<E> im
      * @throws IllegalStateException if caller and worker are not at the same version.
      */
     void swapTableViewPointer(long handoverTableViewPointer) {
+        swapTableViewPointer(handoverTableViewPointer, null);
+    }
+
+    /**
+     * Swaps the table_view pointer used by this RealmResults, remembering the changes compared to the previous
+     * table_view so they can be delivered to the {@link RealmCollectionChangeListener}s.
+     *
+     * @param handoverTableViewPointer handover pointer to the new table_view.
+     * @param changeSet the changes computed by the worker thread or {@code null} if unknown.
+     * @throws IllegalStateException if caller and worker are not at the same version.
+     */
+    void swapTableViewPointer(long handoverTableViewPointer, RealmCollectionChangeSet changeSet) {
         try {
             table = query.importHandoverTableView(handoverTableViewPointer, realm.sharedGroupManager.getNativePointer());
             asyncQueryCompleted = true;
+            pendingChangeSet = changeSet;
         } catch (BadVersionException e) {
             throw new IllegalStateException("Caller and Worker Realm should have been at the same version");
         }
     }
 
+    /**
+     * Checks if a change set should be computed when this RealmResults is updated.
+     *
+     * @return {@code true} if the results are loaded and have {@link RealmCollectionChangeListener}s.
+     */
+    boolean hasCollectionChangeListeners() {
+        return !collectionListeners.isEmpty() && isLoaded();
+    }
+
+    /**
+     * Hands over the current table_view so the worker thread can compare it with the updated results.
+     *
+     * @return handover pointer to the current table_view, or 0 if these results are not backed by a table_view.
+     */
+    long handoverTableView() {
+        if (!(table instanceof TableView)) {
+            return 0;
+        }
+        return ((TableView) table).handover(realm.sharedGroupManager.getNativePointer());
+    }
+
     /**
      * Sets the Future instance returned by the worker thread, we need this instance to force {@link #load()} an async
      * query, we use it to determine if the current RealmResults is a sync or async one.
@@ -940,11 +1134,49 @@ public final class RealmResults<E extends RealmModel> extends AbstractList<E> im
     }
 
     /**
-     * Removes all registered listeners.
+     * Adds a change listener to this RealmResults which also receives the indices of the inserted, deleted, modified
+     * and moved objects.
+     *
+     * @param listener the change listener to be notified.
+     * @throws IllegalArgumentException if the change listener is {@code null}.
+     * @throws IllegalStateException if you try to add a listener from a non-Looper Thread.
+     * @see RealmCollectionChangeListener
+     */
+    public void addCollectionChangeListener(RealmCollectionChangeListener<RealmResults<E>> listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener should not be null");
+        }
+        realm.checkIfValid();
+        if (realm.handler == null) {
+            throw new IllegalStateException("You can't register a listener from a non-Looper thread ");
+        }
+        if (!collectionListeners.contains(listener)) {
+            collectionListeners.add(listener);
+        }
+    }
+
+    /**
+     * Removes a previously registered collection change listener.
+     *
+     * @param listener the instance to be removed.
+     * @throws IllegalArgumentException if the change listener is {@code null}.
+     * @throws IllegalStateException if you try to remove a listener from a non-Looper Thread.
+     */
+    public void removeCollectionChangeListener(RealmCollectionChangeListener<RealmResults<E>> listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener should not be null");
+        }
+        realm.checkIfValid();
+        collectionListeners.remove(listener);
+    }
+
+    /**
+     * Removes all registered listeners, including collection change listeners.
      */
     public void removeChangeListeners() {
         realm.checkIfValid();
         listeners.clear();
+        collectionListeners.clear();
     }
 
     /**
@@ -1002,7 +1234,10 @@ public final class RealmResults<E extends RealmModel> extends AbstractList<E> im
         if (syncBeforeNotifying) {
             syncIfNeeded();
         }
-        if (!listeners.isEmpty()) {
+        // the change set only describes the last swap of the TableView, never deliver it with a later notification
+        RealmCollectionChangeSet changeSet = pendingChangeSet;
+        pendingChangeSet = null;
+        if (!listeners.isEmpty() || !collectionListeners.isEmpty()) {
             // table might be null (if the async query didn't complete
             // but we have already registered listeners for it)
             if (pendingQuery != null && !asyncQueryCompleted) return;
@@ -1011,6 +1246,12 @@ public final class RealmResults<E extends RealmModel> extends AbstractList<E> im
             for (RealmChangeListener listener : listeners) {
                 listener.onChange(this);
             }
+            // an empty change set means the commit didn't affect these results
+            if (changeSet == null || !changeSet.isEmpty()) {
+                for (RealmCollectionChangeListener<RealmResults<E>> listener : collectionListeners) {
+                    listener.onChange(this, changeSet);
+                }
+            }
         }
     }
 }
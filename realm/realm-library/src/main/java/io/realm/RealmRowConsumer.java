@@ -0,0 +1,36 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+/**
+ * Callback given each object of a {@link RealmResults} by {@link RealmResults#forEachRow(RealmRowConsumer)}.
+ * <p>
+ * The same object is given for every row, moved to the next row once {@link #accept(RealmModel)} returns. It must
+ * therefore not be kept, added to a collection or used from another thread. Use {@link RealmResults#get(int)} to get
+ * objects which can be kept.
+ *
+ * @param <E> the class of the objects in the {@link RealmResults}.
+ */
+public interface RealmRowConsumer<E extends RealmModel> {
+
+    /**
+     * Called for each row of the results, in order.
+     *
+     * @param object the object positioned on the current row, only valid until this method returns.
+     */
+    void accept(E object);
+}
@@ -52,6 +52,7 @@ public final class RealmSchema {
     private final ImplicitTransaction transaction;
     private final BaseRealm realm;
     ColumnIndices columnIndices; // Cached field look up
+    private int fieldPathVersion; // Incremented on every schema change to invalidate field paths cached by RealmObjectSchema
 
     /**
      * Creates a wrapper to easily manipulate the current schema of a Realm.
@@ -135,6 +136,7 @@ public final class RealmSchema {
             table.setPrimaryKey(null);
         }
         transaction.removeTable(internalTableName);
+        invalidateFieldPaths();
     }
 
     /**
@@ -163,6 +165,7 @@ public final class RealmSchema {
         }
 
         transaction.renameTable(oldInternalName, newInternalName);
+        invalidateFieldPaths();
         Table table = transaction.getTable(newInternalName);
 
         // Set the primary key for the new class if necessary
@@ -254,6 +257,14 @@ public final class RealmSchema {
         return dynamicSchema;
     }
 
+    int getFieldPathVersion() {
+        return fieldPathVersion;
+    }
+
+    void invalidateFieldPaths() {
+        fieldPathVersion++;
+    }
+
     void setColumnIndices(ColumnIndices columnIndices) {
         this.columnIndices = columnIndices;
     }
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.realm.internal.TableOrView;
+import io.realm.internal.TableQuery;
+import io.realm.internal.TableView;
+
+/**
+ * A RealmScope releases the native resources of the queries, results and objects created while it is open as soon
+ * as it is closed, instead of waiting for the garbage collector to finalize them. This keeps the native memory of
+ * tight loops and background threads bounded:
+ *
+ * <pre>
+ * {@code
+ * try (RealmScope scope = realm.scope()) {
+ *     RealmResults<Dog> dogs = realm.where(Dog.class).equalTo("age", 1).findAll();
+ *     // ...
+ * }
+ * }
+ * </pre>
+ *
+ * After the scope is closed, the {@link RealmQuery}s and {@link RealmResults} created in it throw an
+ * {@link IllegalStateException} when used and the objects read outside of write transactions are no longer valid.
+ * Asynchronous queries are not released as they are re-run every time the Realm changes.
+ * <p>
+ * Scopes can be nested, but they must be closed in the reverse order they were opened. A scope can only be used on
+ * the thread of its Realm, closing the Realm closes its open scopes.
+ *
+ * @see BaseRealm#scope()
+ */
+public final class RealmScope implements Closeable {
+
+    static final String CLOSED_MESSAGE = "This object was released when the RealmScope it was created in was closed.";
+
+    private final BaseRealm realm;
+    private final RealmScope parent;
+    private final List<TableQuery> queries = new ArrayList<TableQuery>();
+    private final List<TableView> views = new ArrayList<TableView>();
+    private final RowRefTracker rows = new RowRefTracker();
+    private boolean closed = false;
+
+    RealmScope(BaseRealm realm, RealmScope parent) {
+        this.realm = realm;
+        this.parent = parent;
+    }
+
+    /**
+     * Releases the native resources of everything created in this scope. Calling it more than once has no effect.
+     *
+     * @throws IllegalStateException if called from another thread than the one of the Realm or if a scope opened
+     * within this one is still open.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        if (realm.threadId != Thread.currentThread().getId()) {
+            throw new IllegalStateException("A RealmScope can only be closed on the thread its Realm was created.");
+        }
+        if (realm.scope != this) {
+            throw new IllegalStateException("A RealmScope cannot be closed before the scopes opened within it.");
+        }
+        release();
+        realm.scope = parent;
+    }
+
+    private void release() {
+        closed = true;
+        rows.invalidateAll();
+        for (TableQuery query : queries) {
+            query.close();
+        }
+        queries.clear();
+        for (TableView view : views) {
+            view.close();
+        }
+        views.clear();
+    }
+
+    static void track(BaseRealm realm, TableQuery query) {
+        if (realm.scope != null) {
+            realm.scope.queries.add(query);
+        }
+    }
+
+    static void track(BaseRealm realm, TableOrView table) {
+        if (realm.scope != null && table instanceof TableView) {
+            realm.scope.views.add((TableView) table);
+        }
+    }
+
+    static void track(BaseRealm realm, ProxyState<?> proxyState) {
+        if (realm.scope != null) {
+            realm.scope.rows.track(proxyState);
+        }
+    }
+
+    // The query is then only released by the garbage collector.
+    static void forget(BaseRealm realm, TableQuery query) {
+        for (RealmScope scope = realm.scope; scope != null; scope = scope.parent) {
+            if (scope.queries.remove(query)) {
+                return;
+            }
+        }
+    }
+
+    // Called when the Realm is closed, before its SharedGroup.
+    static void releaseAll(BaseRealm realm) {
+        for (RealmScope scope = realm.scope; scope != null; scope = scope.parent) {
+            scope.release();
+        }
+        realm.scope = null;
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.realm.internal.InvalidRow;
+import io.realm.internal.Row;
+import io.realm.internal.RowRef;
+
+/**
+ * Keeps track of the objects of a Realm instance addressed by a {@link RowRef}, so they can be switched to a Row
+ * accessor before the Realm is advanced or written to. Only weak references are kept, objects which are no longer
+ * used are never given a Row accessor.
+ */
+final class RowRefTracker {
+    // Cleared references are purged when the list grows past this size, the limit is then doubled if most entries
+    // are still alive.
+    private static final int INITIAL_PURGE_THRESHOLD = 256;
+
+    private final List<WeakReference<ProxyState<?>>> proxyStates = new ArrayList<WeakReference<ProxyState<?>>>();
+    private int purgeThreshold = INITIAL_PURGE_THRESHOLD;
+
+    void track(ProxyState<?> proxyState) {
+        if (proxyStates.size() >= purgeThreshold) {
+            purgeClearedReferences();
+        }
+        proxyStates.add(new WeakReference<ProxyState<?>>(proxyState));
+    }
+
+    /**
+     * Replaces the {@link RowRef}s of the objects still in use with Row accessors. Must be called before the Realm is
+     * advanced or a write transaction begins.
+     */
+    void promoteAll() {
+        for (WeakReference<ProxyState<?>> reference : proxyStates) {
+            ProxyState<?> proxyState = reference.get();
+            if (proxyState == null) {
+                continue;
+            }
+            Row row = proxyState.getRow$realm();
+            if (row instanceof RowRef) {
+                proxyState.setRow$realm(((RowRef) row).toUncheckedRow());
+            }
+        }
+        proxyStates.clear();
+        purgeThreshold = INITIAL_PURGE_THRESHOLD;
+    }
+
+    /**
+     * Detaches the objects still in use from their row, used when the {@link RealmScope} they were read in is
+     * closed.
+     */
+    void invalidateAll() {
+        for (WeakReference<ProxyState<?>> reference : proxyStates) {
+            ProxyState<?> proxyState = reference.get();
+            if (proxyState != null) {
+                proxyState.setRow$realm(InvalidRow.INSTANCE);
+            }
+        }
+        clear();
+    }
+
+    /**
+     * Forgets all objects, used when the Realm is closed.
+     */
+    void clear() {
+        proxyStates.clear();
+    }
+
+    private void purgeClearedReferences() {
+        int live = 0;
+        for (int i = 0; i < proxyStates.size(); i++) {
+            WeakReference<ProxyState<?>> reference = proxyStates.get(i);
+            if (reference.get() != null) {
+                proxyStates.set(live++, reference);
+            }
+        }
+        proxyStates.subList(live, proxyStates.size()).clear();
+        if (live > purgeThreshold / 2) {
+            purgeThreshold *= 2;
+        }
+    }
+}
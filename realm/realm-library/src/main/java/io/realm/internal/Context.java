@@ -16,41 +16,17 @@
 
 package io.realm.internal;
 
-import java.lang.ref.ReferenceQueue;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class Context {
 
-    // Pool to hold the phantom references.
-    // The size of array for storing phantom references will never decrease. Instead, we use another array to hold the
-    // index of the free slot. When adding the reference, pick the last index from freeIndexList and put the reference
-    // to the corresponding slot. When removing the reference, simply add the index to the end of freeIndexList without
-    // setting the corresponding slot to null for efficiency reasons. The reference will be freed finally when the slot
-    // gets overwritten or the whole context gets freed.
-    private static class ReferencesPool {
-        ArrayList<NativeObjectReference> pool = new ArrayList<NativeObjectReference>();
-        ArrayList<Integer> freeIndexList = new ArrayList<Integer>();
-
-        void add(NativeObjectReference ref) {
-            if (pool.size() <= ref.refIndex) {
-                pool.add(ref);
-            } else {
-                pool.set(ref.refIndex, ref);
-            }
-        }
-
-        Integer getFreeIndex() {
-            Integer index;
-            int freeIndexListSize = freeIndexList.size();
-            if (freeIndexListSize == 0) {
-                index = pool.size();
-            } else {
-                index = freeIndexList.remove(freeIndexListSize - 1);
-            }
-            return index;
-        }
-    }
+    // Past this number of pending frees, the thread of the Context frees them as soon as it creates another native
+    // object, instead of waiting for the next executeDelayedDisposal(). Objects are only collected after being
+    // created, so this bounds the queue even if the Realm is never refreshed.
+    static final int MAX_PENDING_FREES = 1024;
 
     // Each group of related Realm objects will have a Context object in the root.
     // The root can be a table, a group, or a shared group.
@@ -62,13 +38,20 @@ public class Context {
     private List<Long> abandonedTableViews = new ArrayList<Long>();
     private List<Long> abandonedQueries = new ArrayList<Long>();
 
-    private ReferencesPool referencesPool = new ReferencesPool();
-    private ReferenceQueue<NativeObject> referenceQueue = new ReferenceQueue<NativeObject>();
+    // Rows and LinkViews whose Java object has been collected, handed over by the NativeObjectReaper.
+    private final ConcurrentLinkedQueue<NativeObjectReference> pendingFrees =
+            new ConcurrentLinkedQueue<NativeObjectReference>();
+    private final AtomicInteger pendingFreeCount = new AtomicInteger(0);
 
     private boolean isFinalized = false;
+    // Once the root is closed, its native objects are detached and can be freed from any thread.
+    private volatile boolean isClosed = false;
 
-    public synchronized void addReference(int type, NativeObject referent) {
-        referencesPool.add(new NativeObjectReference(type, referent, referenceQueue, referencesPool.getFreeIndex()));
+    public void addReference(int type, NativeObject referent) {
+        if (pendingFreeCount.get() > MAX_PENDING_FREES) {
+            cleanNativeReferences();
+        }
+        NativeObjectReaper.register(this, type, referent);
     }
 
     public synchronized void executeDelayedDisposal() {
@@ -94,20 +77,50 @@ public class Context {
     }
 
     private void cleanNativeReferences() {
-        NativeObjectReference reference = (NativeObjectReference) referenceQueue.poll();
-        while (reference != null) {
+        NativeObjectReference reference;
+        while ((reference = pendingFrees.poll()) != null) {
+            pendingFreeCount.decrementAndGet();
             // Dealloc the native resources
             reference.cleanup();
-            // Inline referencesPool.remove() to make it faster.
-            // referencesPool.pool.set(index, null); is not really needed. Make it faster by not
-            // setting the slot to null.
-            referencesPool.freeIndexList.add(reference.refIndex);
-            reference = (NativeObjectReference) referenceQueue.poll();
+            NativeObjectReaper.onPendingFreeDone();
+        }
+    }
+
+    /**
+     * Called by the {@link NativeObjectReaper} thread when the Java object of a Row or LinkView has been collected.
+     */
+    void onReferenceCollected(NativeObjectReference reference) {
+        if (isClosed) {
+            reference.cleanup();
+            NativeObjectReaper.onReaperFree();
+            return;
+        }
+        pendingFrees.add(reference);
+        pendingFreeCount.incrementAndGet();
+        NativeObjectReaper.onPendingFreeQueued();
+        // The context might have been closed after the check above, and the reference missed by close().
+        if (isClosed) {
+            NativeObjectReference pending;
+            while ((pending = pendingFrees.poll()) != null) {
+                pendingFreeCount.decrementAndGet();
+                pending.cleanup();
+                NativeObjectReaper.onPendingFreeDone();
+                NativeObjectReaper.onReaperFree();
+            }
         }
     }
 
+    /**
+     * Frees the native objects waiting for disposal. Called by the root once it has been closed, from then on the
+     * native objects are freed as soon as their Java object is collected.
+     */
+    public void close() {
+        isClosed = true;
+        executeDelayedDisposal();
+    }
+
     public void asyncDisposeTable(long nativePointer, boolean isRoot) {
-        if (isRoot || isFinalized) {
+        if (isRoot || isFinalized || isClosed) {
             Table.nativeClose(nativePointer);
         }
         else {
@@ -116,7 +129,7 @@ public class Context {
     }
 
     public void asyncDisposeTableView(long nativePointer) {
-        if (isFinalized) {
+        if (isFinalized || isClosed) {
             TableView.nativeClose(nativePointer);
         }
         else {
@@ -125,7 +138,7 @@ public class Context {
     }
 
     public void asyncDisposeQuery(long nativePointer) {
-        if (isFinalized) {
+        if (isFinalized || isClosed) {
             TableQuery.nativeClose(nativePointer);
         }
         else {
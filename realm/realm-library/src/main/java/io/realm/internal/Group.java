@@ -101,6 +101,7 @@ public class Group implements Closeable {
             if (nativePtr != 0) {
                 nativeClose(nativePtr);
                 nativePtr = 0;
+                context.close();
             }
         }
     }
@@ -246,6 +247,17 @@ public class Group implements Closeable {
         return nativeIsEmpty(nativePtr);
     }
 
+    /**
+     * Returns the size of the file and how much of it is used by the version of the Realm this group is at. The rest
+     * is free space, which is reused by later commits but only given back to the file system by compacting the file.
+     *
+     * @return an array with the size of the file in bytes, followed by the number of bytes used.
+     */
+    public long[] getSizeInfo() {
+        verifyGroupIsValid();
+        return nativeGetSizeInfo(nativePtr);
+    }
+
 /*
  * TODO: Find a way to release the malloc'ed native memory automatically
 
@@ -287,4 +299,5 @@ public class Group implements Closeable {
     protected native void nativeCommit(long nativeGroupPtr);
     protected native String nativeToString(long nativeGroupPtr);
     protected native boolean nativeIsEmpty(long nativeGroupPtr);
+    protected native long[] nativeGetSizeInfo(long nativeGroupPtr);
 }
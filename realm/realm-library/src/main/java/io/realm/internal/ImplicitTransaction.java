@@ -16,11 +16,17 @@
 
 package io.realm.internal;
 
+import java.util.BitSet;
+
 import io.realm.internal.async.BadVersionException;
 
 public class ImplicitTransaction extends Group {
 
     private final SharedGroup parent;
+    // Indices of the tables affected by the versions advanced to since the last call to consumeChangedTables().
+    // Writes made through this transaction and schema changes are not tracked, every table is then considered changed.
+    private final BitSet changedTables = new BitSet();
+    private boolean allTablesChanged = false;
 
     public ImplicitTransaction(Context context, SharedGroup sharedGroup, long nativePtr) {
         super(context, nativePtr, true);
@@ -32,7 +38,7 @@ public class ImplicitTransaction extends Group {
      */
     public void advanceRead() {
         assertNotClosed();
-        parent.advanceRead();
+        recordChangedTables(parent.advanceRead(nativePtr));
     }
 
     /**
@@ -42,7 +48,7 @@ public class ImplicitTransaction extends Group {
      */
     public void advanceRead(SharedGroup.VersionID versionID) throws BadVersionException {
         assertNotClosed();
-        parent.advanceRead(versionID);
+        recordChangedTables(parent.advanceRead(nativePtr, versionID));
     }
 
     public void promoteToWrite() {
@@ -52,6 +58,30 @@ public class ImplicitTransaction extends Group {
         }
         immutable = false;
         parent.promoteToWrite();
+        // promoting advances to the latest version without reporting the changes, and is followed by local writes
+        allTablesChanged = true;
+    }
+
+    /**
+     * Returns the tables which might have changed since the last call to this method, and starts tracking again.
+     *
+     * @return the indices of the changed tables or {@code null} if every table must be considered changed.
+     */
+    public BitSet consumeChangedTables() {
+        BitSet tables = allTablesChanged ? null : (BitSet) changedTables.clone();
+        changedTables.clear();
+        allTablesChanged = false;
+        return tables;
+    }
+
+    private void recordChangedTables(long[] tableIndices) {
+        if (tableIndices == null) {
+            allTablesChanged = true;
+            return;
+        }
+        for (long tableIndex : tableIndices) {
+            changedTables.set((int) tableIndex);
+        }
     }
 
     public void commitAndContinueAsRead() {
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.internal;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import io.realm.RealmModel;
+
+/**
+ * State of one call to {@code Realm.insert()} or {@code Realm.insertOrUpdate()}: the rows the objects inserted so far
+ * were written to, so objects reachable through several links are only inserted once, and the {@link RowBatch}es
+ * buffering the values of each table.
+ * <p>
+ * The values are only written to the tables by {@link #finish()}, which must also be called if an insert fails so
+ * the rows added until then don't keep default values.
+ */
+public final class InsertContext {
+
+    private final boolean update;
+    private final Map<RealmModel, Long> rows = new IdentityHashMap<RealmModel, Long>();
+    private final Map<Table, RowBatch> batches = new IdentityHashMap<Table, RowBatch>();
+
+    public InsertContext(boolean update) {
+        this.update = update;
+    }
+
+    /**
+     * Returns {@code true} if objects with a primary key update the existing row with the same key. Links and lists
+     * must then be cleared when they are empty in the object.
+     */
+    public boolean isUpdate() {
+        return update;
+    }
+
+    /**
+     * Returns the row an object was inserted in, or {@code null} if it hasn't been inserted yet.
+     */
+    public Long getRow(RealmModel object) {
+        return rows.get(object);
+    }
+
+    public void putRow(RealmModel object, long rowIndex) {
+        rows.put(object, rowIndex);
+    }
+
+    public RowBatch getBatch(Table table) {
+        RowBatch batch = batches.get(table);
+        if (batch == null) {
+            batch = new RowBatch(table);
+            batches.put(table, batch);
+        }
+        return batch;
+    }
+
+    /**
+     * Adds {@code count} empty rows to a table without primary key in one native call, they are used by the next
+     * objects inserted in it.
+     */
+    public void reserveRows(Table table, long count) {
+        getBatch(table).reserveRows(count);
+    }
+
+    /**
+     * Writes the buffered values to their tables and removes the reserved rows that were not used.
+     */
+    public void finish() {
+        for (RowBatch batch : batches.values()) {
+            batch.flush();
+        }
+        for (RowBatch batch : batches.values()) {
+            batch.removeUnusedRows();
+        }
+    }
+}
@@ -178,6 +178,12 @@ public enum InvalidRow implements Row {
         throw getStubException();
     }
 
+    @Override
+    public void getValues(long[] columnIndices, long[] longValues, double[] doubleValues, Object[] objectValues,
+                          boolean[] nullValues) {
+        throw getStubException();
+    }
+
     @Override
     public boolean isAttached() {
         return false;
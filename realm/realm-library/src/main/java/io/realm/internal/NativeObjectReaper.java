@@ -0,0 +1,107 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.internal;
+
+import java.lang.ref.ReferenceQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.realm.internal.log.RealmLog;
+
+/**
+ * Background thread dequeuing the {@link NativeObjectReference}s of the Java objects which have been garbage
+ * collected, so references don't pile up in a queue until the thread of their {@link Context} polls it.
+ * <p>
+ * The native objects of a closed Context are no longer tied to a transaction and are freed right away by the reaper
+ * thread. The others are handed over to their Context and freed by its own thread, see
+ * {@link Context#executeDelayedDisposal()}.
+ */
+public final class NativeObjectReaper {
+
+    private static final NativeReferencePool pool =
+            new NativeReferencePool(Runtime.getRuntime().availableProcessors() * 2);
+    private static final ReferenceQueue<NativeObject> referenceQueue = new ReferenceQueue<NativeObject>();
+
+    private static final AtomicLong pendingFrees = new AtomicLong(0);
+    private static final AtomicLong reaperFrees = new AtomicLong(0);
+
+    static {
+        Thread reaper = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                reap();
+            }
+        }, "RealmNativeReaper");
+        reaper.setDaemon(true);
+        reaper.start();
+    }
+
+    private NativeObjectReaper() {
+    }
+
+    static void register(Context context, int type, NativeObject referent) {
+        pool.add(new NativeObjectReference(context, type, referent, referenceQueue));
+    }
+
+    static void onPendingFreeQueued() {
+        pendingFrees.incrementAndGet();
+    }
+
+    static void onPendingFreeDone() {
+        pendingFrees.decrementAndGet();
+    }
+
+    static void onReaperFree() {
+        reaperFrees.incrementAndGet();
+    }
+
+    /**
+     * Returns the number of native objects whose Java object hasn't been garbage collected yet.
+     */
+    public static long getLiveReferenceCount() {
+        return pool.size();
+    }
+
+    /**
+     * Returns the number of native objects whose Java object has been garbage collected, and which are waiting for
+     * the thread of their Realm to free them.
+     */
+    public static long getPendingFreeCount() {
+        return pendingFrees.get();
+    }
+
+    /**
+     * Returns the number of native objects freed by the reaper thread since the process started.
+     */
+    public static long getReaperFreeCount() {
+        return reaperFrees.get();
+    }
+
+    private static void reap() {
+        //noinspection InfiniteLoopStatement
+        while (true) {
+            try {
+                NativeObjectReference reference = (NativeObjectReference) referenceQueue.remove();
+                pool.remove(reference);
+                reference.context.onReferenceCollected(reference);
+            } catch (InterruptedException ignored) {
+            } catch (Throwable e) {
+                // Keep the reaper alive, a failure to free one object shouldn't leak all the others.
+                RealmLog.e("Failed to free a native object: " + e);
+            }
+        }
+    }
+}
@@ -33,17 +33,20 @@ public final class NativeObjectReference extends PhantomReference<NativeObject>
     // The pointer to the native object to be handled
     final long nativePointer;
     final int type;
-    // Use boxed type to avoid box/un-box when access the freeIndexList
-    final Integer refIndex;
+    // The context whose thread frees the native object while it is open
+    final Context context;
+    // Position in the NativeReferencePool
+    int stripe;
+    int slot;
 
-    NativeObjectReference(int type,
+    NativeObjectReference(Context context,
+                          int type,
                           NativeObject referent,
-                          ReferenceQueue<? super NativeObject> referenceQueue,
-                          Integer index) {
+                          ReferenceQueue<? super NativeObject> referenceQueue) {
         super(referent, referenceQueue);
+        this.context = context;
         this.type = type;
         this.nativePointer = referent.nativePointer;
-        refIndex = index;
     }
 
     /**
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.internal;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Holds the {@link NativeObjectReference}s until they are enqueued, a phantom reference which is not strongly
+ * reachable is never enqueued and its native object would leak.
+ * <p>
+ * References are stored in fixed size slabs, allocated along with the directory holding them as the number of
+ * references grows. Freed slots are kept in a lock-free free list and reused before a new slot is taken, so the memory
+ * used by the pool is bounded by the peak number of live references. To avoid
+ * contention between the threads creating objects and the thread reaping them, the pool is split in stripes, picked
+ * by the id of the thread adding a reference.
+ */
+final class NativeReferencePool {
+    private static final int SLAB_SHIFT = 10;
+    private static final int SLAB_SIZE = 1 << SLAB_SHIFT;
+    private static final int INITIAL_SLABS = 4;
+    private static final int MAX_SLABS = 1 << 16;
+    // Value of a free list link marking the end of the list, links are stored as slot + 1.
+    private static final int END_OF_LIST = 0;
+
+    private final Stripe[] stripes;
+    private final int stripeMask;
+
+    NativeReferencePool(int minStripes) {
+        int count = 1;
+        while (count < minStripes) {
+            count <<= 1;
+        }
+        stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe();
+        }
+        stripeMask = count - 1;
+    }
+
+    void add(NativeObjectReference reference) {
+        int stripeIndex = (int) (Thread.currentThread().getId() & stripeMask);
+        reference.stripe = stripeIndex;
+        reference.slot = stripes[stripeIndex].add(reference);
+    }
+
+    void remove(NativeObjectReference reference) {
+        stripes[reference.stripe].remove(reference.slot);
+    }
+
+    /**
+     * Returns the number of references in the pool, ie. native objects whose Java object hasn't been reaped yet.
+     */
+    long size() {
+        long size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.size.get();
+        }
+        return size;
+    }
+
+    private static final class Slab {
+        final AtomicReferenceArray<NativeObjectReference> references =
+                new AtomicReferenceArray<NativeObjectReference>(SLAB_SIZE);
+        final AtomicIntegerArray nextFree = new AtomicIntegerArray(SLAB_SIZE);
+    }
+
+    private static final class Stripe {
+        // Replaced by a larger copy when full. Slabs are only installed, and the directory only grown, while holding
+        // the lock of the stripe, so a copy never misses a slab.
+        volatile AtomicReferenceArray<Slab> slabs = new AtomicReferenceArray<Slab>(INITIAL_SLABS);
+        final AtomicInteger allocatedSlots = new AtomicInteger(0);
+        // The high 32 bits are a counter, incremented by each update to avoid the ABA problem.
+        final AtomicLong freeListHead = new AtomicLong(END_OF_LIST);
+        final AtomicInteger size = new AtomicInteger(0);
+
+        int add(NativeObjectReference reference) {
+            int slot = popFreeSlot();
+            if (slot < 0) {
+                slot = allocatedSlots.getAndIncrement();
+                if ((slot >>> SLAB_SHIFT) >= MAX_SLABS) {
+                    allocatedSlots.decrementAndGet();
+                    throw new IllegalStateException("Too many native objects are alive: " + slot);
+                }
+            }
+            slab(slot).references.set(slot & (SLAB_SIZE - 1), reference);
+            size.incrementAndGet();
+            return slot;
+        }
+
+        void remove(int slot) {
+            Slab slab = slabs.get(slot >>> SLAB_SHIFT);
+            // Let the reference be collected, the slot is overwritten anyway when it is reused.
+            slab.references.set(slot & (SLAB_SIZE - 1), null);
+            size.decrementAndGet();
+            pushFreeSlot(slab, slot);
+        }
+
+        private Slab slab(int slot) {
+            int slabIndex = slot >>> SLAB_SHIFT;
+            AtomicReferenceArray<Slab> directory = slabs;
+            if (slabIndex < directory.length()) {
+                Slab slab = directory.get(slabIndex);
+                if (slab != null) {
+                    return slab;
+                }
+            }
+            return installSlab(slabIndex);
+        }
+
+        private synchronized Slab installSlab(int slabIndex) {
+            AtomicReferenceArray<Slab> directory = slabs;
+            if (slabIndex >= directory.length()) {
+                int length = Math.min(MAX_SLABS, Math.max(directory.length() * 2, slabIndex + 1));
+                AtomicReferenceArray<Slab> grown = new AtomicReferenceArray<Slab>(length);
+                for (int i = 0; i < directory.length(); i++) {
+                    grown.set(i, directory.get(i));
+                }
+                slabs = grown;
+                directory = grown;
+            }
+            Slab slab = directory.get(slabIndex);
+            if (slab == null) {
+                slab = new Slab();
+                directory.set(slabIndex, slab);
+            }
+            return slab;
+        }
+
+        private int popFreeSlot() {
+            while (true) {
+                long head = freeListHead.get();
+                int link = (int) head;
+                if (link == END_OF_LIST) {
+                    return -1;
+                }
+                int slot = link - 1;
+                int next = slabs.get(slot >>> SLAB_SHIFT).nextFree.get(slot & (SLAB_SIZE - 1));
+                if (freeListHead.compareAndSet(head, newHead(head, next))) {
+                    return slot;
+                }
+            }
+        }
+
+        private void pushFreeSlot(Slab slab, int slot) {
+            while (true) {
+                long head = freeListHead.get();
+                slab.nextFree.set(slot & (SLAB_SIZE - 1), (int) head);
+                if (freeListHead.compareAndSet(head, newHead(head, slot + 1))) {
+                    return;
+                }
+            }
+        }
+
+        private static long newHead(long oldHead, int link) {
+            return (((oldHead >>> 32) + 1) << 32) | (link & 0xFFFFFFFFL);
+        }
+    }
+}
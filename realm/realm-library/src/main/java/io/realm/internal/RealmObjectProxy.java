@@ -26,6 +26,13 @@ import io.realm.RealmModel;
  */
  public interface RealmObjectProxy extends RealmModel {
     ProxyState realmGet$proxyState();
+
+    /**
+     * Drops the values this object caches for its current row, like the {@link io.realm.RealmList}s of its list
+     * fields. Must be called when the object is moved to another row.
+     */
+    void realm$clearCachedValues();
+
     /**
      * Tuple class for saving meta data about a cached RealmObject.
      */
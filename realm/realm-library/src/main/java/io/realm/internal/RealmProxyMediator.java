@@ -24,6 +24,7 @@ import org.json.JSONObject;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 
 import io.realm.Realm;
 import io.realm.RealmModel;
@@ -41,6 +42,9 @@ import io.realm.exceptions.RealmException;
  */
 public abstract class RealmProxyMediator {
 
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
     /**
      * Creates the backing table in Realm for the given RealmObject class.
      *
@@ -58,6 +62,25 @@ public abstract class RealmProxyMediator {
      */
     public abstract ColumnInfo validateTable(Class<? extends RealmModel> clazz, ImplicitTransaction transaction);
 
+    /**
+     * Looks up the field indices in the backing table in Realm for the given RealmObject class, without validating
+     * it. Only used when the schema stored in the file is known to match, see {@link #getSchemaFingerprint()}.
+     *
+     * @param clazz the {@link RealmObject} model class to look up.
+     * @param transaction the read transaction for the Realm to look up the fields in.
+     * @return the field indices map.
+     */
+    public abstract ColumnInfo getColumnInfo(Class<? extends RealmModel> clazz, ImplicitTransaction transaction);
+
+    /**
+     * Returns a description of the fields of the given RealmObject class and their attributes, covering everything
+     * checked by {@link #validateTable(Class, ImplicitTransaction)}.
+     *
+     * @param clazz the {@link RealmObject} class reference.
+     * @return the signature of the class, generated by the annotation processor.
+     */
+    public abstract String getSchemaSignature(Class<? extends RealmModel> clazz);
+
     /**
      * Returns a map of non-obfuscated object field names to their internal Realm name.
      *
@@ -99,11 +122,22 @@ public abstract class RealmProxyMediator {
      * @param object the object to copy properties from.
      * @param update {@code true} if object has a primary key and should try to update already existing data,
      * {@code false} otherwise.
-     * @param cache the cache for mapping between unmanaged objects and their {@link RealmObjectProxy} representation.
+     * @param cache the cache for mapping between unmanaged objects and their {@link RealmObjectProxy} representation,
+     * keyed by object identity.
      * @return the managed Realm object.
      */
     public abstract <E extends RealmModel> E copyOrUpdate(Realm realm, E object, boolean update, Map<RealmModel, RealmObjectProxy> cache);
 
+    /**
+     * Writes a non-managed {@link RealmObject} or a RealmObject from another Realm to this Realm without creating
+     * managed objects. The objects it links to are inserted as well.
+     *
+     * @param object the object to insert.
+     * @param context the rows of the objects inserted so far and the batches buffering their values.
+     * @return the index of the row of the object.
+     */
+    public abstract long insert(Realm realm, RealmModel object, InsertContext context);
+
     /**
      * Creates or updates a {@link RealmObject} using the provided JSON data.
      *
@@ -134,7 +168,8 @@ public abstract class RealmProxyMediator {
      *
      * @param realmObject RealmObject to copy. It must be a valid object.
      * @param maxDepth restrict the depth of the copy to this level. The root object is depth {@code 0}.
-     * @param cache cache used to make sure unmanaged objects are reused correctly.
+     * @param cache cache used to make sure unmanaged objects are reused correctly, keyed by row, see
+     * {@link RowIdentityMap}.
      * @return an unmanaged copy of the given object.
      */
     public abstract <E extends RealmModel> E createDetachedCopy(E realmObject, int maxDepth, Map<RealmModel, RealmObjectProxy.CacheData<RealmModel>> cache);
@@ -150,6 +185,37 @@ public abstract class RealmProxyMediator {
         return false;
     }
 
+    /**
+     * Returns a hash of the schema defined by the model classes: their table names and the signatures of their fields.
+     * It is stored in the Realm file once the schema has been validated, so the schema doesn't have to be validated
+     * again as long as it stays the same.
+     *
+     * @return the 64-bit FNV-1a hash of the schema, never {@code 0}.
+     */
+    public long getSchemaFingerprint() {
+        Map<String, Class<? extends RealmModel>> classesByTable = new TreeMap<String, Class<? extends RealmModel>>();
+        for (Class<? extends RealmModel> clazz : getModelClasses()) {
+            classesByTable.put(getTableName(clazz), clazz);
+        }
+        long hash = FNV_OFFSET_BASIS;
+        for (Map.Entry<String, Class<? extends RealmModel>> entry : classesByTable.entrySet()) {
+            hash = fnv1a(hash, entry.getKey());
+            hash = fnv1a(hash, "\n");
+            hash = fnv1a(hash, getSchemaSignature(entry.getValue()));
+            hash = fnv1a(hash, "\n");
+        }
+        // 0 is stored when no fingerprint is known
+        return (hash != 0) ? hash : 1;
+    }
+
+    private static long fnv1a(long hash, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (!(o instanceof RealmProxyMediator)) {
@@ -103,6 +103,23 @@ public interface Row {
 
     void setNull(long columnIndex);
 
+    /**
+     * Reads the values of several columns with a single native call. For each requested column, integer, boolean
+     * (0 or 1) and date (milliseconds) values are written to {@code longValues}, float and double values to
+     * {@code doubleValues} and strings and binary data to {@code objectValues}. {@code nullValues} is set to
+     * {@code true} for every column containing {@code null}. All arrays must be at least as long as
+     * {@code columnIndices}.
+     *
+     * @param columnIndices 0 based indices of the columns to read.
+     * @param longValues destination for integer, boolean and date values.
+     * @param doubleValues destination for float and double values.
+     * @param objectValues destination for string and binary values.
+     * @param nullValues destination for the null flags.
+     * @throws IllegalArgumentException if one of the columns is not a value column.
+     */
+    void getValues(long[] columnIndices, long[] longValues, double[] doubleValues, Object[] objectValues,
+                   boolean[] nullValues);
+
     /**
      * Checks if the row is still valid.
      *
@@ -217,6 +234,12 @@ public interface Row {
             throw new IllegalStateException(UNLOADED_ROW_MESSAGE);
         }
 
+        @Override
+        public void getValues(long[] columnIndices, long[] longValues, double[] doubleValues, Object[] objectValues,
+                              boolean[] nullValues) {
+            throw new IllegalStateException(UNLOADED_ROW_MESSAGE);
+        }
+
         @Override
         public LinkView getLinkList(long columnIndex) {
             throw new IllegalStateException(UNLOADED_ROW_MESSAGE);
@@ -0,0 +1,261 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.internal;
+
+import java.util.Arrays;
+import java.util.Date;
+
+/**
+ * Buffers the values written to rows of a table and writes them column by column with
+ * {@link Table#setColumnValues(long, long[], int, long[], double[], Object[], boolean[])}, so inserting many objects
+ * costs one native call per column instead of one per cell.
+ * <p>
+ * A row is added to the batch with {@link #add(long)}, which returns the slot its values are buffered in. Every row of
+ * a batch must have the same columns set. The values are only visible in the table once the batch is flushed, which
+ * happens when it is full and when the {@link InsertContext} it belongs to is finished.
+ * <p>
+ * Rows can be reserved up front with {@link #reserveRows(long)}, {@link #newRow()} then hands them out before
+ * adding rows to the table one by one.
+ */
+public final class RowBatch {
+
+    static final int CAPACITY = 256;
+
+    private final Table table;
+    private final long[] rows = new long[CAPACITY];
+    private int size;
+
+    // Indexed by column, only the array matching the type of a column is allocated
+    private final long[][] longs;
+    private final double[][] doubles;
+    private final Object[][] objects;
+    private final boolean[][] nulls;
+    private final boolean[] written;
+
+    // Passed for the value arrays a column doesn't use
+    private long[] unusedLongs;
+    private double[] unusedDoubles;
+    private Object[] unusedObjects;
+
+    private long nextReservedRow;
+    private long reservedRows;
+
+    RowBatch(Table table) {
+        this.table = table;
+        int columns = (int) table.getColumnCount();
+        longs = new long[columns][];
+        doubles = new double[columns][];
+        objects = new Object[columns][];
+        nulls = new boolean[columns][];
+        written = new boolean[columns];
+    }
+
+    /**
+     * Adds empty rows to the end of the table, to be returned by {@link #newRow()}.
+     */
+    void reserveRows(long count) {
+        if (count <= 0) {
+            return;
+        }
+        if (reservedRows > 0) {
+            throw new IllegalStateException("Rows have already been reserved.");
+        }
+        nextReservedRow = table.addEmptyRows(count);
+        reservedRows = count;
+    }
+
+    /**
+     * Returns the index of a new empty row, one of the reserved rows if some are left.
+     */
+    public long newRow() {
+        if (reservedRows > 0) {
+            reservedRows--;
+            return nextReservedRow++;
+        }
+        return table.addEmptyRow();
+    }
+
+    /**
+     * Adds a row to the batch.
+     *
+     * @param rowIndex the index of the row in the table.
+     * @return the slot to buffer the values of the row in.
+     */
+    public int add(long rowIndex) {
+        if (size == CAPACITY) {
+            flush();
+        }
+        rows[size] = rowIndex;
+        return size++;
+    }
+
+    public void setLong(long columnIndex, int slot, long value) {
+        int column = (int) columnIndex;
+        longs(column)[slot] = value;
+        setNotNull(column, slot);
+    }
+
+    public void setBoolean(long columnIndex, int slot, boolean value) {
+        setLong(columnIndex, slot, value ? 1 : 0);
+    }
+
+    public void setDouble(long columnIndex, int slot, double value) {
+        int column = (int) columnIndex;
+        doubles(column)[slot] = value;
+        setNotNull(column, slot);
+    }
+
+    public void setBoxedLong(long columnIndex, int slot, Number value) {
+        if (value == null) {
+            setNull(columnIndex, slot);
+        } else {
+            setLong(columnIndex, slot, value.longValue());
+        }
+    }
+
+    public void setBoxedBoolean(long columnIndex, int slot, Boolean value) {
+        if (value == null) {
+            setNull(columnIndex, slot);
+        } else {
+            setLong(columnIndex, slot, value ? 1 : 0);
+        }
+    }
+
+    public void setBoxedDouble(long columnIndex, int slot, Number value) {
+        if (value == null) {
+            setNull(columnIndex, slot);
+        } else {
+            setDouble(columnIndex, slot, value.doubleValue());
+        }
+    }
+
+    public void setDate(long columnIndex, int slot, Date value) {
+        if (value == null) {
+            setNull(columnIndex, slot);
+        } else {
+            setLong(columnIndex, slot, value.getTime());
+        }
+    }
+
+    public void setString(long columnIndex, int slot, String value) {
+        setObject(columnIndex, slot, value);
+    }
+
+    public void setBinary(long columnIndex, int slot, byte[] value) {
+        setObject(columnIndex, slot, value);
+    }
+
+    public void setNull(long columnIndex, int slot) {
+        int column = (int) columnIndex;
+        nulls(column)[slot] = true;
+        written[column] = true;
+    }
+
+    private void setObject(long columnIndex, int slot, Object value) {
+        if (value == null) {
+            setNull(columnIndex, slot);
+            return;
+        }
+        int column = (int) columnIndex;
+        if (objects[column] == null) {
+            objects[column] = new Object[CAPACITY];
+        }
+        objects[column][slot] = value;
+        setNotNull(column, slot);
+    }
+
+    private void setNotNull(int column, int slot) {
+        nulls(column)[slot] = false;
+        written[column] = true;
+    }
+
+    private long[] longs(int column) {
+        if (longs[column] == null) {
+            longs[column] = new long[CAPACITY];
+        }
+        return longs[column];
+    }
+
+    private double[] doubles(int column) {
+        if (doubles[column] == null) {
+            doubles[column] = new double[CAPACITY];
+        }
+        return doubles[column];
+    }
+
+    private boolean[] nulls(int column) {
+        if (nulls[column] == null) {
+            nulls[column] = new boolean[CAPACITY];
+        }
+        return nulls[column];
+    }
+
+    /**
+     * Writes the buffered values to the table and empties the batch.
+     */
+    void flush() {
+        if (size == 0) {
+            return;
+        }
+        for (int column = 0; column < written.length; column++) {
+            if (!written[column]) {
+                continue;
+            }
+            table.setColumnValues(column, rows, size,
+                    (longs[column] != null) ? longs[column] : unusedLongs(),
+                    (doubles[column] != null) ? doubles[column] : unusedDoubles(),
+                    (objects[column] != null) ? objects[column] : unusedObjects(),
+                    nulls[column]);
+            if (objects[column] != null) {
+                Arrays.fill(objects[column], 0, size, null);
+            }
+            written[column] = false;
+        }
+        size = 0;
+    }
+
+    /**
+     * Removes the reserved rows that were not used. They are the last rows of the table as no row is added to it
+     * before the reserved ones are used up.
+     */
+    void removeUnusedRows() {
+        for (; reservedRows > 0; reservedRows--) {
+            table.removeLast();
+        }
+    }
+
+    private long[] unusedLongs() {
+        if (unusedLongs == null) {
+            unusedLongs = new long[CAPACITY];
+        }
+        return unusedLongs;
+    }
+
+    private double[] unusedDoubles() {
+        if (unusedDoubles == null) {
+            unusedDoubles = new double[CAPACITY];
+        }
+        return unusedDoubles;
+    }
+
+    private Object[] unusedObjects() {
+        if (unusedObjects == null) {
+            unusedObjects = new Object[CAPACITY];
+        }
+        return unusedObjects;
+    }
+}
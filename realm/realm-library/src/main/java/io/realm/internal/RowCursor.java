@@ -0,0 +1,44 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.internal;
+
+/**
+ * Row which can be moved over the rows of a table without creating a Row accessor in Realm Core for each of them.
+ *
+ * It doesn't follow its row: if rows are inserted or removed before the current one, the cursor points to another
+ * row. It is therefore only meant to be used for a short scan of a table, while the Realm isn't advanced.
+ */
+public class RowCursor extends TableRow {
+
+    /**
+     * Creates a cursor on a table, it must be moved to a row before being read.
+     *
+     * @param table the table the cursor moves over.
+     */
+    public RowCursor(Table table) {
+        super(table, TableOrView.NO_MATCH);
+    }
+
+    /**
+     * Moves the cursor to another row of its table.
+     *
+     * @param rowIndex the index of the row in the table, not in a view of it.
+     */
+    public void moveTo(long rowIndex) {
+        this.rowIndex = rowIndex;
+    }
+}
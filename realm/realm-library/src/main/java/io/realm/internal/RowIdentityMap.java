@@ -0,0 +1,195 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.internal;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import io.realm.RealmModel;
+
+/**
+ * Map from managed objects of a single Realm to values, used as cache when copying object graphs out of a Realm.
+ * <p>
+ * Two proxies are the same key if they point to the same row of the same table, like with their
+ * {@code equals()}, but the keys are compared by native table pointer and row index instead of by Realm path and
+ * table name, which have to be read through JNI for every lookup. The entries are kept in open-addressed arrays, so
+ * no entry object is allocated per key.
+ * <p>
+ * The table pointers are only stable as long as the Realm isn't advanced, the map must not outlive the copy it is
+ * used for.
+ *
+ * @param <V> the type of the values.
+ */
+public final class RowIdentityMap<V> extends AbstractMap<RealmModel, V> {
+
+    private static final int INITIAL_CAPACITY = 64; // Must be a power of two
+
+    private long[] tables;
+    private long[] rows;
+    private RealmModel[] keys;
+    private Object[] values;
+    private int size;
+
+    public RowIdentityMap() {
+        allocate(INITIAL_CAPACITY);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public V get(Object key) {
+        int index = indexOf(key);
+        return (index >= 0) ? (V) values[index] : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public V put(RealmModel key, V value) {
+        Row row = getRow(key);
+        long table = row.getTable().nativePtr;
+        long rowIndex = row.getIndex();
+
+        int mask = keys.length - 1;
+        int index = hash(table, rowIndex) & mask;
+        while (keys[index] != null) {
+            if (tables[index] == table && rows[index] == rowIndex) {
+                V previous = (V) values[index];
+                values[index] = value;
+                return previous;
+            }
+            index = (index + 1) & mask;
+        }
+
+        tables[index] = table;
+        rows[index] = rowIndex;
+        keys[index] = key;
+        values[index] = value;
+        if (++size > (keys.length >> 1)) {
+            resize();
+        }
+        return null;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(keys, null);
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    @Override
+    public V remove(Object key) {
+        throw new UnsupportedOperationException("Entries cannot be removed from a RowIdentityMap.");
+    }
+
+    @Override
+    public Set<Entry<RealmModel, V>> entrySet() {
+        final List<Entry<RealmModel, V>> entries = new ArrayList<Entry<RealmModel, V>>(size);
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null) {
+                @SuppressWarnings("unchecked") V value = (V) values[i];
+                entries.add(new SimpleImmutableEntry<RealmModel, V>(keys[i], value));
+            }
+        }
+        return new AbstractSet<Entry<RealmModel, V>>() {
+            @Override
+            public Iterator<Entry<RealmModel, V>> iterator() {
+                return entries.iterator();
+            }
+
+            @Override
+            public int size() {
+                return entries.size();
+            }
+        };
+    }
+
+    private int indexOf(Object key) {
+        if (!(key instanceof RealmObjectProxy)) {
+            return -1;
+        }
+        Row row = getRow((RealmModel) key);
+        long table = row.getTable().nativePtr;
+        long rowIndex = row.getIndex();
+
+        int mask = keys.length - 1;
+        int index = hash(table, rowIndex) & mask;
+        while (keys[index] != null) {
+            if (tables[index] == table && rows[index] == rowIndex) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    private static Row getRow(RealmModel key) {
+        if (!(key instanceof RealmObjectProxy)) {
+            throw new IllegalArgumentException("Only managed objects can be used as keys of a RowIdentityMap.");
+        }
+        return ((RealmObjectProxy) key).realmGet$proxyState().getRow$realm();
+    }
+
+    private static int hash(long table, long rowIndex) {
+        long hash = (table * 31 + rowIndex) * 0x9E3779B97F4A7C15L;
+        return (int) (hash >>> 32);
+    }
+
+    private void allocate(int capacity) {
+        tables = new long[capacity];
+        rows = new long[capacity];
+        keys = new RealmModel[capacity];
+        values = new Object[capacity];
+    }
+
+    private void resize() {
+        long[] oldTables = tables;
+        long[] oldRows = rows;
+        RealmModel[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(oldKeys.length << 1);
+
+        int mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] == null) {
+                continue;
+            }
+            int index = hash(oldTables[i], oldRows[i]) & mask;
+            while (keys[index] != null) {
+                index = (index + 1) & mask;
+            }
+            tables[index] = oldTables[i];
+            rows[index] = oldRows[i];
+            keys[index] = oldKeys[i];
+            values[index] = oldValues[i];
+        }
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.internal;
+
+/**
+ * Row addressed by its table, its index and the version of the table when the index was read, see
+ * {@link io.realm.RealmConfiguration.Builder#rowReferences()}. Reading an object through a RowRef doesn't create a
+ * Row accessor in Realm Core, nor a reference to clean up in the {@link Context}.
+ *
+ * The index is only valid as long as the Realm isn't advanced or written to, as Realm Core doesn't update it when rows
+ * are moved. Before that happens, the Realm replaces the RowRefs of the objects still in use with the row returned by
+ * {@link #toUncheckedRow()}.
+ */
+public final class RowRef extends TableRow {
+
+    private final long tableVersion;
+
+    private RowRef(Table table, long rowIndex, long tableVersion) {
+        super(table, rowIndex);
+        this.tableVersion = tableVersion;
+    }
+
+    /**
+     * Gets the reference to a row of a table.
+     *
+     * @param table the Table that holds the row.
+     * @param rowIndex the index of the row.
+     * @return a RowRef for the table and index specified.
+     */
+    public static RowRef get(Table table, long rowIndex) {
+        return new RowRef(table, rowIndex, table.getVersion());
+    }
+
+    /**
+     * Returns the version of the table when the reference was created.
+     */
+    public long getTableVersion() {
+        return tableVersion;
+    }
+
+    /**
+     * Creates the Row accessor the reference stands for, which Realm Core keeps up to date when rows are moved. This
+     * must be called before the table is changed.
+     *
+     * @return the row, or {@link InvalidRow#INSTANCE} if the table has changed since the reference was created and the
+     *         index can no longer be trusted.
+     */
+    public Row toUncheckedRow() {
+        if (!table.isValid() || table.getVersion() != tableVersion || rowIndex >= table.size()) {
+            return InvalidRow.INSTANCE;
+        }
+        return table.getUncheckedRow(rowIndex);
+    }
+}
@@ -79,12 +79,25 @@ public class SharedGroup implements Closeable {
         checkNativePtrNotZero();
     }
 
-    void advanceRead() {
-        nativeAdvanceRead(nativePtr);
+    /**
+     * Advances to the latest version.
+     *
+     * @param nativeGroupPtr native pointer to the group of the implicit transaction.
+     * @return the indices of the tables affected by the advance, or {@code null} if the schema changed.
+     */
+    long[] advanceRead(long nativeGroupPtr) {
+        return nativeAdvanceRead(nativePtr, nativeGroupPtr);
     }
 
-    void advanceRead(VersionID versionID) throws BadVersionException {
-        nativeAdvanceReadToVersion(nativePtr, versionID.version, versionID.index);
+    /**
+     * Advances to the given version.
+     *
+     * @param nativeGroupPtr native pointer to the group of the implicit transaction.
+     * @param versionID version to advance to.
+     * @return the indices of the tables affected by the advance, or {@code null} if the schema changed.
+     */
+    long[] advanceRead(long nativeGroupPtr, VersionID versionID) throws BadVersionException {
+        return nativeAdvanceReadToVersion(nativePtr, nativeGroupPtr, versionID.version, versionID.index);
     }
 
     void promoteToWrite() {
@@ -162,6 +175,7 @@ public class SharedGroup implements Closeable {
                     nativeCloseReplication(nativeReplicationPtr);
                     nativeReplicationPtr = 0;
                 }
+                context.close();
             }
         }
     }
@@ -335,7 +349,7 @@ public class SharedGroup implements Closeable {
     private native long[] nativeGetVersionID (long nativePtr);
     private native boolean nativeWaitForChange(long nativePtr);
     private native void nativeStopWaitForChange(long nativePtr);
-    private native void nativeAdvanceRead(long nativePtr);
-    private native void nativeAdvanceReadToVersion(long nativePtr, long version, long index) throws BadVersionException;
+    private native long[] nativeAdvanceRead(long nativePtr, long nativeGroupPtr);
+    private native long[] nativeAdvanceReadToVersion(long nativePtr, long nativeGroupPtr, long version, long index) throws BadVersionException;
     private native void nativePromoteToWrite(long nativePtr);
 }
@@ -19,7 +19,9 @@ package io.realm.internal;
 import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
+import java.util.BitSet;
 
+import io.realm.CompactionPolicy;
 import io.realm.RealmConfiguration;
 import io.realm.internal.async.BadVersionException;
 import io.realm.internal.log.RealmLog;
@@ -83,6 +85,16 @@ public class SharedGroupManager implements Closeable {
         transaction.advanceRead(version);
     }
 
+    /**
+     * Returns the tables which might have changed since the last call to this method.
+     *
+     * @return the indices of the changed tables or {@code null} if every table must be considered changed.
+     * @see ImplicitTransaction#consumeChangedTables()
+     */
+    public BitSet consumeChangedTables() {
+        return transaction.consumeChangedTables();
+    }
+
 
     // Public because of migrations. Gets the full table name. Prefix will not be added.
     // TODO Remove when new Migration API is introduced.
@@ -187,6 +199,38 @@ public class SharedGroupManager implements Closeable {
         return result;
     }
 
+    /**
+     * Compacts a Realm file if the policy asks for it, given the size of the file and the bytes used by its latest
+     * version. It cannot be open when calling this method.
+     * Returns true if the file was compacted, false otherwise.
+     */
+    public static boolean compactIfNeeded(RealmConfiguration configuration, CompactionPolicy policy) {
+        if (!new File(configuration.getPath()).exists()) {
+            return false;
+        }
+        SharedGroup sharedGroup = new SharedGroup(
+                configuration.getPath(),
+                SharedGroup.IMPLICIT_TRANSACTION,
+                SharedGroup.Durability.FULL,
+                configuration.getEncryptionKey());
+        try {
+            long[] sizeInfo;
+            ReadTransaction transaction = sharedGroup.beginRead();
+            try {
+                sizeInfo = transaction.getSizeInfo();
+            } finally {
+                transaction.endRead();
+            }
+            if (!policy.shouldCompact(sizeInfo[0], sizeInfo[1])) {
+                return false;
+            }
+            // Fails if another process has the file open
+            return sharedGroup.compact();
+        } finally {
+            sharedGroup.close();
+        }
+    }
+
     public long getNativePointer() {
         return sharedGroup.getNativePointer();
     }
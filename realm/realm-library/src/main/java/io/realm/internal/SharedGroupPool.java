@@ -0,0 +1,136 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.internal;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.realm.RealmConfiguration;
+
+/**
+ * Per file pool of the {@link SharedGroup}s used by the async tasks, so a task doesn't have to open the file, map the
+ * lock file and set up decryption each time it runs.
+ * <p>
+ * A pooled SharedGroup is not in a read transaction, so it doesn't hold on to an old version of the file. Tasks
+ * position it at the version they need, which is cheap once the file is open. SharedGroups are only pooled while
+ * the file has open Realm instances, since the file might be compacted or deleted once they are all closed.
+ */
+public final class SharedGroupPool {
+    // Enough to give each thread of the default async executor its own SharedGroup.
+    private static final int MAX_IDLE_SHARED_GROUPS = Runtime.getRuntime().availableProcessors() * 2 + 1;
+
+    private static final ConcurrentHashMap<String, Pool> pools = new ConcurrentHashMap<String, Pool>();
+    // Owner of the SharedGroups opened while their file is not pooled, they are closed when released.
+    private static final Pool UNPOOLED = new Pool(true);
+    // SharedGroup doesn't override equals() and hashCode(), so this maps instances.
+    private static final ConcurrentHashMap<SharedGroup, Pool> leases = new ConcurrentHashMap<SharedGroup, Pool>();
+
+    private SharedGroupPool() {
+    }
+
+    /**
+     * Starts pooling the SharedGroups of a Realm file. Called when its first Realm instance is opened.
+     *
+     * @param canonicalPath path of the Realm file.
+     */
+    public static void open(String canonicalPath) {
+        pools.putIfAbsent(canonicalPath, new Pool(false));
+    }
+
+    /**
+     * Closes the idle SharedGroups of a Realm file and stops pooling them, the ones currently in use are closed when
+     * they are released. Called when its last Realm instance is closed.
+     *
+     * @param canonicalPath path of the Realm file.
+     */
+    public static void close(String canonicalPath) {
+        Pool pool = pools.remove(canonicalPath);
+        if (pool != null) {
+            pool.closed = true;
+            pool.closeIdleSharedGroups();
+        }
+    }
+
+    /**
+     * Takes an idle SharedGroup of the Realm file, or opens a new one. The SharedGroup must be given back with
+     * {@link #release(SharedGroup)}.
+     *
+     * @param configuration configuration of the Realm file.
+     * @return a SharedGroup with implicit transactions enabled, only used by the caller until released.
+     */
+    public static SharedGroup acquire(RealmConfiguration configuration) {
+        Pool pool = pools.get(configuration.getPath());
+        SharedGroup sharedGroup = (pool != null) ? pool.idleSharedGroups.poll() : null;
+        if (sharedGroup == null) {
+            sharedGroup = new SharedGroup(configuration.getPath(),
+                    SharedGroup.IMPLICIT_TRANSACTION,
+                    configuration.getDurability(),
+                    configuration.getEncryptionKey());
+        } else {
+            pool.idleCount.decrementAndGet();
+        }
+        leases.put(sharedGroup, (pool != null) ? pool : UNPOOLED);
+        return sharedGroup;
+    }
+
+    /**
+     * Gives back a SharedGroup obtained from {@link #acquire(RealmConfiguration)}. Its read transaction is ended, and
+     * it is closed if the file is no longer pooled or enough SharedGroups are idle. Releasing a SharedGroup again
+     * has no effect.
+     *
+     * @param sharedGroup the SharedGroup which will no longer be used by the caller.
+     */
+    public static void release(SharedGroup sharedGroup) {
+        Pool pool = leases.remove(sharedGroup);
+        if (pool == null || sharedGroup.isClosed()) {
+            return;
+        }
+        if (pool.closed) {
+            sharedGroup.close();
+            return;
+        }
+        if (pool.idleCount.incrementAndGet() > MAX_IDLE_SHARED_GROUPS) {
+            pool.idleCount.decrementAndGet();
+            sharedGroup.close();
+            return;
+        }
+        sharedGroup.endRead();
+        pool.idleSharedGroups.offer(sharedGroup);
+        // the pool might have been closed while the SharedGroup was being added
+        if (pool.closed) {
+            pool.closeIdleSharedGroups();
+        }
+    }
+
+    private static class Pool {
+        final ConcurrentLinkedQueue<SharedGroup> idleSharedGroups = new ConcurrentLinkedQueue<SharedGroup>();
+        final AtomicInteger idleCount = new AtomicInteger(0);
+        volatile boolean closed;
+
+        Pool(boolean closed) {
+            this.closed = closed;
+        }
+
+        void closeIdleSharedGroups() {
+            SharedGroup sharedGroup;
+            while ((sharedGroup = idleSharedGroups.poll()) != null) {
+                sharedGroup.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.internal;
+
+import io.realm.RealmModel;
+
+/**
+ * Implemented by the generated RealmProxy classes, which have an unmanaged model class to copy their row into.
+ * {@link io.realm.DynamicRealmObject} has none and doesn't implement it.
+ */
+public interface SnapshotProxy {
+
+    /**
+     * Creates an unmanaged copy of all non-link fields of this object, reading them with a single native call.
+     * Link and list fields are set to {@code null}.
+     *
+     * @return an unmanaged copy of this object.
+     */
+    RealmModel realm$snapshot();
+}
@@ -725,6 +725,21 @@ public class Table implements TableOrView, TableSchema, Closeable {
         return nativeGetString(nativePtr, columnIndex, rowIndex);
     }
 
+    @Override
+    public void getLongs(long columnIndex, long[] dst, long fromRow, long toRow) {
+        nativeGetLongs(nativePtr, columnIndex, dst, fromRow, toRow);
+    }
+
+    @Override
+    public void getDoubles(long columnIndex, double[] dst, long fromRow, long toRow) {
+        nativeGetDoubles(nativePtr, columnIndex, dst, fromRow, toRow);
+    }
+
+    @Override
+    public void getStrings(long columnIndex, String[] dst, long fromRow, long toRow) {
+        nativeGetStrings(nativePtr, columnIndex, dst, fromRow, toRow);
+    }
+
     /**
      * Gets the value of a (binary) cell.
      *
@@ -1061,6 +1076,84 @@ public class Table implements TableOrView, TableSchema, Closeable {
         nativeNullifyLink(nativePtr, columnIndex, rowIndex);
     }
 
+    public boolean isNull(long columnIndex, long rowIndex) {
+        return nativeIsNull(nativePtr, columnIndex, rowIndex);
+    }
+
+    public void setNull(long columnIndex, long rowIndex) {
+        checkImmutable();
+        checkDuplicatedNullForPrimaryKeyValue(columnIndex, rowIndex);
+        nativeSetNull(nativePtr, columnIndex, rowIndex);
+    }
+
+    /**
+     * Returns the list of links of a cell, without creating an accessor for its row.
+     *
+     * @param columnIndex 0 based index value of the {@link RealmFieldType#LIST} column.
+     * @param rowIndex 0 based index value of the cell row.
+     * @return the {@link LinkView} of the cell.
+     */
+    public LinkView getLinkList(long columnIndex, long rowIndex) {
+        long nativeLinkViewPtr = nativeGetLinkView(nativePtr, columnIndex, rowIndex);
+        return new LinkView(context, this, columnIndex, nativeLinkViewPtr);
+    }
+
+    /**
+     * Reads several cells of a row in one native call, see {@link Row#getValues}.
+     *
+     * @param rowIndex 0 based index value of the row.
+     */
+    public void getValues(long rowIndex, long[] columnIndices, long[] longValues, double[] doubleValues,
+                          Object[] objectValues, boolean[] nullValues) {
+        int count = columnIndices.length;
+        if (longValues.length < count || doubleValues.length < count || objectValues.length < count
+                || nullValues.length < count) {
+            throw new IllegalArgumentException("Destination arrays must be at least as long as 'columnIndices'.");
+        }
+        nativeGetValues(nativePtr, rowIndex, columnIndices, longValues, doubleValues, objectValues, nullValues);
+    }
+
+    /**
+     * Writes several cells of a row in one native call. The value of the i-th column is read from
+     * {@code longValues[i]} for integer, boolean (non zero) and date (milliseconds) columns, from
+     * {@code doubleValues[i]} for float and double columns and from {@code objectValues[i]} for string and binary
+     * columns, unless {@code nullValues[i]} is set. Only value columns can be written this way and primary keys are
+     * not checked for duplicates, they must be set with the single cell setters.
+     *
+     * @param rowIndex 0 based index value of the row.
+     * @param columnIndices indices of the columns to write, only the first {@code count} are written.
+     * @param count number of columns to write.
+     */
+    public void setValues(long rowIndex, long[] columnIndices, int count, long[] longValues, double[] doubleValues,
+                          Object[] objectValues, boolean[] nullValues) {
+        checkImmutable();
+        if (columnIndices.length < count || longValues.length < count || doubleValues.length < count
+                || objectValues.length < count || nullValues.length < count) {
+            throw new IllegalArgumentException("Source arrays must be at least 'count' long.");
+        }
+        nativeSetValues(nativePtr, rowIndex, columnIndices, count, longValues, doubleValues, objectValues, nullValues);
+    }
+
+    /**
+     * Writes a column of several rows in one native call. The value of the i-th row is read from the arrays the same
+     * way as in {@link #setValues(long, long[], int, long[], double[], Object[], boolean[])}. Primary keys are not
+     * checked for duplicates.
+     *
+     * @param columnIndex 0 based index value of the column.
+     * @param rowIndices indices of the rows to write, only the first {@code count} are written.
+     * @param count number of rows to write.
+     */
+    public void setColumnValues(long columnIndex, long[] rowIndices, int count, long[] longValues,
+                                double[] doubleValues, Object[] objectValues, boolean[] nullValues) {
+        checkImmutable();
+        if (rowIndices.length < count || longValues.length < count || doubleValues.length < count
+                || objectValues.length < count || nullValues.length < count) {
+            throw new IllegalArgumentException("Source arrays must be at least 'count' long.");
+        }
+        nativeSetColumnValues(nativePtr, columnIndex, rowIndices, count, longValues, doubleValues, objectValues,
+                nullValues);
+    }
+
     boolean isImmutable() {
         if (!(parent instanceof Table)) {
             return parent != null && ((Group) parent).immutable;
@@ -1366,6 +1459,15 @@ public class Table implements TableOrView, TableSchema, Closeable {
         return nativeGetName(nativePtr);
     }
 
+    /**
+     * Returns the index of the table in the associated group.
+     *
+     * @return index of the table or -1 if it is not part of a group.
+     */
+    public long getIndexInGroup() {
+        return nativeGetIndexInGroup(nativePtr);
+    }
+
 
     // Optimize
     public void optimize() {
@@ -1488,6 +1590,9 @@ public class Table implements TableOrView, TableSchema, Closeable {
     private native double nativeGetDouble(long nativeTablePtr, long columnIndex, long rowIndex);
     private native long nativeGetTimestamp(long nativeTablePtr, long columnIndex, long rowIndex);
     private native String nativeGetString(long nativePtr, long columnIndex, long rowIndex);
+    private native void nativeGetLongs(long nativeTablePtr, long columnIndex, long[] dst, long fromRow, long toRow);
+    private native void nativeGetDoubles(long nativeTablePtr, long columnIndex, double[] dst, long fromRow, long toRow);
+    private native void nativeGetStrings(long nativeTablePtr, long columnIndex, String[] dst, long fromRow, long toRow);
     private native byte[] nativeGetByteArray(long nativePtr, long columnIndex, long rowIndex);
     private native int nativeGetMixedType(long nativePtr, long columnIndex, long rowIndex);
     private native Mixed nativeGetMixed(long nativeTablePtr, long columnIndex, long rowIndex);
@@ -1515,6 +1620,16 @@ public class Table implements TableOrView, TableSchema, Closeable {
     private native boolean nativeHasSearchIndex(long nativePtr, long columnIndex);
     private native boolean nativeIsNullLink(long nativePtr, long columnIndex, long rowIndex);
     private native void nativeNullifyLink(long nativePtr, long columnIndex, long rowIndex);
+    private native boolean nativeIsNull(long nativePtr, long columnIndex, long rowIndex);
+    private native long nativeGetLinkView(long nativePtr, long columnIndex, long rowIndex);
+    private native void nativeGetValues(long nativePtr, long rowIndex, long[] columnIndices, long[] longValues,
+                                        double[] doubleValues, Object[] objectValues, boolean[] nullValues);
+    private native void nativeSetValues(long nativePtr, long rowIndex, long[] columnIndices, int count,
+                                        long[] longValues, double[] doubleValues, Object[] objectValues,
+                                        boolean[] nullValues);
+    private native void nativeSetColumnValues(long nativePtr, long columnIndex, long[] rowIndices, int count,
+                                              long[] longValues, double[] doubleValues, Object[] objectValues,
+                                              boolean[] nullValues);
     private native long nativeSumInt(long nativePtr, long columnIndex);
     private native long nativeMaximumInt(long nativePtr, long columnIndex);
     private native long nativeMinimumInt(long nativePtr, long columnIndex);
@@ -1552,6 +1667,7 @@ public class Table implements TableOrView, TableSchema, Closeable {
     private native void nativePivot(long nativeTablePtr, long stringCol, long intCol, int pivotType, long resultPtr);
     private native long nativeGetDistinctView(long nativePtr, long columnIndex);
     private native String nativeGetName(long nativeTablePtr);
+    private native long nativeGetIndexInGroup(long nativeTablePtr);
     private native void nativeOptimize(long nativeTablePtr);
     private native String nativeToJson(long nativeTablePtr);
     private native boolean nativeHasSameSchema(long thisTable, long otherTable);
@@ -116,6 +116,40 @@ public interface TableOrView {
      */
     String getString(long columnIndex, long rowIndex);
 
+    /**
+     * Copies the long values of the rows {@code [fromRow, toRow)} of a column into {@code dst}, starting at
+     * {@code dst[0]}. All values are read in a single native call. {@code null} values are read as {@code 0}.
+     *
+     * @param columnIndex index of an integer column.
+     * @param dst the array to copy the values into.
+     * @param fromRow the first row to read, inclusive.
+     * @param toRow the last row to read, exclusive.
+     */
+    void getLongs(long columnIndex, long[] dst, long fromRow, long toRow);
+
+    /**
+     * Copies the floating point values of the rows {@code [fromRow, toRow)} of a double or float column into
+     * {@code dst}, starting at {@code dst[0]}. All values are read in a single native call. {@code null} values are
+     * read as {@link Double#NaN}.
+     *
+     * @param columnIndex index of a double or float column.
+     * @param dst the array to copy the values into.
+     * @param fromRow the first row to read, inclusive.
+     * @param toRow the last row to read, exclusive.
+     */
+    void getDoubles(long columnIndex, double[] dst, long fromRow, long toRow);
+
+    /**
+     * Copies the string values of the rows {@code [fromRow, toRow)} of a column into {@code dst}, starting at
+     * {@code dst[0]}. All values are read in a single native call.
+     *
+     * @param columnIndex index of a string column.
+     * @param dst the array to copy the values into.
+     * @param fromRow the first row to read, inclusive.
+     * @param toRow the last row to read, exclusive.
+     */
+    void getStrings(long columnIndex, String[] dst, long fromRow, long toRow);
+
     /**
      * Returns the Date value (java.util.Date) for a particular cell specified by the columnIndex and rowIndex of the
      * cell.
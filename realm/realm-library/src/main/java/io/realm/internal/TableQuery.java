@@ -60,6 +60,15 @@ public class TableQuery implements Closeable {
         this.origin = origin;
     }
 
+    /**
+     * Checks if the native query has been released by {@link #close()}.
+     *
+     * @return {@code true} if the query is closed, {@code false} otherwise.
+     */
+    public boolean isClosed() {
+        return nativePtr == 0;
+    }
+
     public void close() {
         synchronized (context) {
             if (nativePtr != 0) {
@@ -95,6 +104,24 @@ public class TableQuery implements Closeable {
         }
     }
 
+    /**
+     * Creates an independent copy of this query, including all conditions added so far. Conditions added to the copy
+     * do not affect the original query.
+     *
+     * @return a copy of this query.
+     */
+    public TableQuery copy() {
+        long nativeQueryPtr = nativeCopy(nativePtr);
+        try {
+            TableQuery query = new TableQuery(this.context, this.table, nativeQueryPtr, this.origin);
+            query.queryValidated = this.queryValidated;
+            return query;
+        } catch (RuntimeException e) {
+            TableQuery.nativeClose(nativeQueryPtr);
+            throw e;
+        }
+    }
+
     // Query TableView
     public TableQuery tableview(TableView tv) {
         nativeTableview(nativePtr, tv.nativePtr);
@@ -743,6 +770,7 @@ public class TableQuery implements Closeable {
 
     protected static native void nativeClose(long nativeQueryPtr);
     private native String nativeValidateQuery(long nativeQueryPtr);
+    private native long nativeCopy(long nativeQueryPtr);
     private native void nativeTableview(long nativeQueryPtr, long nativeTableViewPtr);
     private native void nativeGroup(long nativeQueryPtr);
     private native void nativeEndGroup(long nativeQueryPtr);
@@ -814,5 +842,5 @@ public class TableQuery implements Closeable {
     public static native long nativeFindAllMultiSortedWithHandover(long bgSharedGroupPtr, long nativeQueryPtr, long start, long end, long limit, long[] columnIndices, boolean[] ascending) throws BadVersionException;
     public static native long nativeImportHandoverRowIntoSharedGroup(long handoverRowPtr, long callerSharedGroupPtr);
     public static native void nativeCloseQueryHandover(long nativePtr);
-    public static native long[] nativeBatchUpdateQueries(long bgSharedGroupPtr, long[] handoverQueries, long[][] parameters, long[][] queriesParameters, boolean[][] multiSortOrder) throws BadVersionException;
+    public static native long[] nativeBatchUpdateQueries(long bgSharedGroupPtr, long[] handoverQueries, long[][] parameters, long[][] queriesParameters, boolean[][] multiSortOrder, boolean[] reuseIfUnchanged, long[] previousTableViews, long[][] changeSets) throws BadVersionException;
 }
@@ -0,0 +1,213 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.internal;
+
+import java.util.Date;
+
+import io.realm.RealmFieldType;
+
+/**
+ * Row addressed by its table and index. All access goes through the cell methods of {@link Table}, so no Row
+ * accessor is created in Realm Core and nothing has to be cleaned up by the {@link Context}.
+ *
+ * Like {@link UncheckedRow} it doesn't check its arguments. Unlike it, the row isn't followed when rows are inserted or
+ * removed before it, subclasses define when the index can be relied on.
+ */
+abstract class TableRow implements Row {
+
+    final Table table;
+    long rowIndex;
+
+    TableRow(Table table, long rowIndex) {
+        this.table = table;
+        this.rowIndex = rowIndex;
+    }
+
+    @Override
+    public long getColumnCount() {
+        return table.getColumnCount();
+    }
+
+    @Override
+    public String getColumnName(long columnIndex) {
+        return table.getColumnName(columnIndex);
+    }
+
+    @Override
+    public long getColumnIndex(String columnName) {
+        return table.getColumnIndex(columnName);
+    }
+
+    @Override
+    public RealmFieldType getColumnType(long columnIndex) {
+        return table.getColumnType(columnIndex);
+    }
+
+    // Getters
+
+    @Override
+    public Table getTable() {
+        return table;
+    }
+
+    @Override
+    public long getIndex() {
+        return rowIndex;
+    }
+
+    @Override
+    public long getLong(long columnIndex) {
+        return table.getLong(columnIndex, rowIndex);
+    }
+
+    @Override
+    public boolean getBoolean(long columnIndex) {
+        return table.getBoolean(columnIndex, rowIndex);
+    }
+
+    @Override
+    public float getFloat(long columnIndex) {
+        return table.getFloat(columnIndex, rowIndex);
+    }
+
+    @Override
+    public double getDouble(long columnIndex) {
+        return table.getDouble(columnIndex, rowIndex);
+    }
+
+    @Override
+    public Date getDate(long columnIndex) {
+        return table.getDate(columnIndex, rowIndex);
+    }
+
+    @Override
+    public String getString(long columnIndex) {
+        return table.getString(columnIndex, rowIndex);
+    }
+
+    @Override
+    public byte[] getBinaryByteArray(long columnIndex) {
+        return table.getBinaryByteArray(columnIndex, rowIndex);
+    }
+
+    @Override
+    public Mixed getMixed(long columnIndex) {
+        return table.getMixed(columnIndex, rowIndex);
+    }
+
+    @Override
+    public RealmFieldType getMixedType(long columnIndex) {
+        return table.getMixedType(columnIndex, rowIndex);
+    }
+
+    @Override
+    public long getLink(long columnIndex) {
+        return table.getLink(columnIndex, rowIndex);
+    }
+
+    @Override
+    public boolean isNullLink(long columnIndex) {
+        return table.isNullLink(columnIndex, rowIndex);
+    }
+
+    @Override
+    public LinkView getLinkList(long columnIndex) {
+        return table.getLinkList(columnIndex, rowIndex);
+    }
+
+    // Setters
+
+    @Override
+    public void setLong(long columnIndex, long value) {
+        table.setLong(columnIndex, rowIndex, value);
+    }
+
+    @Override
+    public void setBoolean(long columnIndex, boolean value) {
+        table.setBoolean(columnIndex, rowIndex, value);
+    }
+
+    @Override
+    public void setFloat(long columnIndex, float value) {
+        table.setFloat(columnIndex, rowIndex, value);
+    }
+
+    @Override
+    public void setDouble(long columnIndex, double value) {
+        table.setDouble(columnIndex, rowIndex, value);
+    }
+
+    @Override
+    public void setDate(long columnIndex, Date date) {
+        table.setDate(columnIndex, rowIndex, date);
+    }
+
+    @Override
+    public void setString(long columnIndex, String value) {
+        table.setString(columnIndex, rowIndex, value);
+    }
+
+    @Override
+    public void setBinaryByteArray(long columnIndex, byte[] data) {
+        table.setBinaryByteArray(columnIndex, rowIndex, data);
+    }
+
+    @Override
+    public void setMixed(long columnIndex, Mixed data) {
+        if (data == null) {
+            throw new IllegalArgumentException("Null data is not allowed");
+        }
+        table.setMixed(columnIndex, rowIndex, data);
+    }
+
+    @Override
+    public void setLink(long columnIndex, long value) {
+        table.setLink(columnIndex, rowIndex, value);
+    }
+
+    @Override
+    public void nullifyLink(long columnIndex) {
+        table.checkImmutable();
+        table.nullifyLink(columnIndex, rowIndex);
+    }
+
+    @Override
+    public boolean isNull(long columnIndex) {
+        return table.isNull(columnIndex, rowIndex);
+    }
+
+    @Override
+    public void setNull(long columnIndex) {
+        table.setNull(columnIndex, rowIndex);
+    }
+
+    @Override
+    public void getValues(long[] columnIndices, long[] longValues, double[] doubleValues, Object[] objectValues,
+                          boolean[] nullValues) {
+        table.getValues(rowIndex, columnIndices, longValues, doubleValues, objectValues, nullValues);
+    }
+
+    @Override
+    public boolean isAttached() {
+        return rowIndex >= 0 && table.isValid() && rowIndex < table.size();
+    }
+
+    @Override
+    public boolean hasColumn(String fieldName) {
+        return table.getColumnIndex(fieldName) != TableOrView.NO_MATCH;
+    }
+}
@@ -74,6 +74,15 @@ public class TableView implements TableOrView, Closeable {
         return parent;
     }
 
+    /**
+     * Checks if the native table view has been released by {@link #close()}.
+     *
+     * @return {@code true} if the view is closed, {@code false} otherwise.
+     */
+    public boolean isClosed() {
+        return nativePtr == 0;
+    }
+
     @Override
     public void close() {
         synchronized (context) {
@@ -245,6 +254,21 @@ public class TableView implements TableOrView, Closeable {
         return nativeGetString(nativePtr, columnIndex, rowIndex);
     }
 
+    @Override
+    public void getLongs(long columnIndex, long[] dst, long fromRow, long toRow) {
+        nativeGetLongs(nativePtr, columnIndex, dst, fromRow, toRow);
+    }
+
+    @Override
+    public void getDoubles(long columnIndex, double[] dst, long fromRow, long toRow) {
+        nativeGetDoubles(nativePtr, columnIndex, dst, fromRow, toRow);
+    }
+
+    @Override
+    public void getStrings(long columnIndex, String[] dst, long fromRow, long toRow) {
+        nativeGetStrings(nativePtr, columnIndex, dst, fromRow, toRow);
+    }
+
     /**
      * Gets the  value of a (binary) cell.
      *
@@ -839,7 +863,19 @@ public class TableView implements TableOrView, Closeable {
         return version;
     }
 
+    /**
+     * Hands over this TableView so it can be imported by another SharedGroup at the same version. The row indices
+     * are copied, this TableView can still be used afterwards.
+     *
+     * @param callerSharedGroupPtr native pointer to the SharedGroup this TableView belongs to.
+     * @return native pointer to the handover object.
+     */
+    public long handover(long callerSharedGroupPtr) {
+        return nativeHandover(callerSharedGroupPtr, nativePtr);
+    }
+
     static native void nativeClose(long nativeViewPtr);
+    public static native void nativeCloseHandover(long handoverTableViewPtr);
     private native long nativeSize(long nativeViewPtr);
     private native long nativeGetSourceRowIndex(long nativeViewPtr, long rowIndex);
     private native long nativeGetColumnCount(long nativeViewPtr);
@@ -852,6 +888,9 @@ public class TableView implements TableOrView, Closeable {
     private native double nativeGetDouble(long nativeViewPtr, long columnIndex, long rowIndex);
     private native long nativeGetTimestamp(long nativeViewPtr, long columnIndex, long rowIndex);
     private native String nativeGetString(long nativeViewPtr, long columnIndex, long rowIndex);
+    private native void nativeGetLongs(long nativeViewPtr, long columnIndex, long[] dst, long fromRow, long toRow);
+    private native void nativeGetDoubles(long nativeViewPtr, long columnIndex, double[] dst, long fromRow, long toRow);
+    private native void nativeGetStrings(long nativeViewPtr, long columnIndex, String[] dst, long fromRow, long toRow);
     private native byte[] nativeGetByteArray(long nativePtr, long columnIndex, long rowIndex);
     private native int nativeGetMixedType(long nativeViewPtr, long columnIndex, long rowIndex);
     private native Mixed nativeGetMixed(long nativeViewPtr, long columnIndex, long rowIndex);
@@ -909,4 +948,5 @@ public class TableView implements TableOrView, Closeable {
     private native long nativeSyncIfNeeded(long nativeTablePtr);
     private native long nativeDistinctMulti(long nativeViewPtr, long[] columnIndexes);
     private native long nativeSync(long nativeTablePtr);
+    private native long nativeHandover(long callerSharedGroupPtr, long nativeViewPtr);
 }
@@ -283,6 +283,17 @@ public class UncheckedRow extends NativeObject implements Row {
         nativeSetNull(nativePointer, columnIndex);
     }
 
+    @Override
+    public void getValues(long[] columnIndices, long[] longValues, double[] doubleValues, Object[] objectValues,
+                          boolean[] nullValues) {
+        int count = columnIndices.length;
+        if (longValues.length < count || doubleValues.length < count || objectValues.length < count
+                || nullValues.length < count) {
+            throw new IllegalArgumentException("Destination arrays must be at least as long as 'columnIndices'.");
+        }
+        nativeGetValues(nativePointer, columnIndices, longValues, doubleValues, objectValues, nullValues);
+    }
+
     /**
      * Converts the unchecked Row to a checked variant.
      *
@@ -334,4 +345,6 @@ public class UncheckedRow extends NativeObject implements Row {
     protected native boolean nativeHasColumn(long nativeRowPtr, String columnName);
     protected native boolean nativeIsNull(long nativeRowPtr, long columnIndex);
     protected native void nativeSetNull(long nativeRowPtr, long columnIndex);
+    protected native void nativeGetValues(long nativeRowPtr, long[] columnIndices, long[] longValues,
+                                          double[] doubleValues, Object[] objectValues, boolean[] nullValues);
 }
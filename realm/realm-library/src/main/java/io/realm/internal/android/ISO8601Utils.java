@@ -55,6 +55,178 @@ public class ISO8601Utils {
      */
     private static final TimeZone TIMEZONE_Z = TIMEZONE_UTC;
 
+    /**
+     * Returned by {@link #parseUtcMillis(String)} for the dates it leaves to the calendar. It is outside the range of
+     * the dates with a 4 digit year.
+     */
+    private static final long UNPARSED = Long.MIN_VALUE;
+
+    private static final long MILLIS_PER_MINUTE = 60 * 1000L;
+    private static final long MILLIS_PER_DAY = 24 * 60 * MILLIS_PER_MINUTE;
+
+    /**
+     * Parses a date from ISO-8601 formatted string to milliseconds since the epoch. It accepts the same formats as
+     * {@link #parse(String, ParsePosition)}, but dates with an explicit time zone are computed without allocating any
+     * objects.
+     *
+     * @param date ISO string to parse in the appropriate format.
+     * @return the milliseconds since January 1, 1970, 00:00:00 GMT.
+     * @throws ParseException if the date is not in the appropriate format
+     */
+    public static long parseMillis(String date) throws ParseException {
+        long millis = parseUtcMillis(date);
+        if (millis != UNPARSED) {
+            return millis;
+        }
+        return parse(date, new ParsePosition(0)).getTime();
+    }
+
+    /**
+     * Follows the steps of {@link #parse(String, ParsePosition)} and computes the date arithmetically. Everything it
+     * doesn't handle the same way as a non lenient {@link GregorianCalendar} is left to it, so the errors are reported
+     * the same way: dates without a time zone (local time), years before the Gregorian calendar, non ASCII digits,
+     * out of range fields and malformed input.
+     *
+     * @return the milliseconds since the epoch or {@link #UNPARSED}.
+     */
+    private static long parseUtcMillis(String date) {
+        if (date == null) {
+            return UNPARSED;
+        }
+        int length = date.length();
+        int offset = 0;
+
+        int year = parseDigits(date, offset, offset += 4);
+        if (checkOffset(date, offset, '-')) {
+            offset += 1;
+        }
+        int month = parseDigits(date, offset, offset += 2);
+        if (checkOffset(date, offset, '-')) {
+            offset += 1;
+        }
+        int day = parseDigits(date, offset, offset += 2);
+        if (year < 1583 || month < 1 || month > 12 || day < 1 || day > daysInMonth(year, month)) {
+            return UNPARSED;
+        }
+
+        int hour = 0;
+        int minutes = 0;
+        int seconds = 0;
+        int milliseconds = 0;
+        if (checkOffset(date, offset, 'T')) {
+            hour = parseDigits(date, offset += 1, offset += 2);
+            if (checkOffset(date, offset, ':')) {
+                offset += 1;
+            }
+            minutes = parseDigits(date, offset, offset += 2);
+            if (checkOffset(date, offset, ':')) {
+                offset += 1;
+            }
+            if (length > offset) {
+                char c = date.charAt(offset);
+                if (c != 'Z' && c != '+' && c != '-') {
+                    seconds = parseDigits(date, offset, offset += 2);
+                    if (seconds > 59 && seconds < 63) seconds = 59; // truncate up to 3 leap seconds
+                    if (checkOffset(date, offset, '.')) {
+                        offset += 1;
+                        int endOffset = indexOfNonDigit(date, offset);
+                        if (endOffset == offset) {
+                            return UNPARSED;
+                        }
+                        // parse up to 3 digits and compensate for "missing" digits
+                        for (int i = offset; i < offset + 3; i++) {
+                            milliseconds = milliseconds * 10 + ((i < endOffset) ? date.charAt(i) - '0' : 0);
+                        }
+                        offset = endOffset;
+                    }
+                }
+            }
+            if (hour < 0 || hour > 23 || minutes < 0 || minutes > 59 || seconds < 0 || seconds > 59) {
+                return UNPARSED;
+            }
+        }
+
+        if (length <= offset) {
+            return UNPARSED;
+        }
+        long zoneMillis;
+        char timezoneIndicator = date.charAt(offset);
+        if (timezoneIndicator == 'Z') {
+            zoneMillis = 0;
+        } else if (timezoneIndicator == '+' || timezoneIndicator == '-') {
+            // Only "+hh:mm" and "+hhmm" resolve to a time zone of the same ID
+            int zoneHours = parseDigits(date, offset += 1, offset += 2);
+            if (checkOffset(date, offset, ':')) {
+                offset += 1;
+            }
+            int zoneMinutes = parseDigits(date, offset, offset += 2);
+            if (offset != length || zoneHours < 0 || zoneHours > 23 || zoneMinutes < 0 || zoneMinutes > 59) {
+                return UNPARSED;
+            }
+            zoneMillis = (zoneHours * 60 + zoneMinutes) * MILLIS_PER_MINUTE;
+            if (timezoneIndicator == '-') {
+                if (zoneMillis == 0) {
+                    return UNPARSED;
+                }
+                zoneMillis = -zoneMillis;
+            }
+        } else {
+            return UNPARSED;
+        }
+
+        long time = ((hour * 60L + minutes) * 60L + seconds) * 1000L + milliseconds;
+        return daysSinceEpoch(year, month, day) * MILLIS_PER_DAY + time - zoneMillis;
+    }
+
+    /**
+     * Parses the ASCII digits between 2 offsets, like {@link #parseInt(String, int, int)} but without throwing.
+     *
+     * @return the number, or -1 if the offsets are out of the string or a character is not a digit.
+     */
+    private static int parseDigits(String value, int beginIndex, int endIndex) {
+        if (endIndex > value.length()) {
+            return -1;
+        }
+        int result = 0;
+        for (int i = beginIndex; i < endIndex; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
+
+    private static int daysInMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                boolean leap = (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+                return leap ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    /**
+     * Returns the number of days between 1970-01-01 and a date of the proleptic Gregorian calendar.
+     *
+     * @see <a href="http://howardhinnant.github.io/date_algorithms.html#days_from_civil">days_from_civil</a>
+     */
+    private static long daysSinceEpoch(int year, int month, int day) {
+        int y = (month <= 2) ? year - 1 : year;
+        int era = y / 400; // years are positive
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097L + dayOfEra - 719468L;
+    }
+
     /**
      * Parses a date from ISO-8601 formatted string. It expects a format
      * [yyyy-MM-dd|yyyyMMdd][T(hh:mm[:ss[.sss]]|hhmm[ss[.sss]])]?[Z|[+-]hh:mm]]
@@ -19,7 +19,6 @@ package io.realm.internal.android;
 import android.util.Base64;
 
 import java.text.ParseException;
-import java.text.ParsePosition;
 import java.util.Date;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -29,8 +28,7 @@ import io.realm.exceptions.RealmException;
 public class JsonUtils {
 
     private static Pattern jsonDate = Pattern.compile("/Date\\((\\d*)(?:[+-]\\d*)?\\)/");
-    private static Pattern numericOnly = Pattern.compile("-?\\d+");
-    private static ParsePosition parsePosition = new ParsePosition(0);
+    private static final String JSON_DATE_PREFIX = "/Date(";
 
     /**
      * Converts a Json string to a Java Date object. Currently supports 2 types:
@@ -43,18 +41,35 @@ public class JsonUtils {
      */
     public static Date stringToDate(String date) {
         if (date == null || date.length() == 0) return null;
+        return new Date(stringToMillis(date));
+    }
 
-        // Check for JSON date
-        Matcher matcher = jsonDate.matcher(date);
-        if (matcher.find()) {
-            String dateMatch = matcher.group(1);
-            return new Date(Long.parseLong(dateMatch));
+    /**
+     * Converts a Json string to milliseconds since the epoch, supporting the same formats as
+     * {@link #stringToDate(String)}. The common forms of each format are parsed without allocating any objects.
+     *
+     * @param date the non-empty String input of date of the the supported types.
+     * @return the milliseconds since January 1, 1970, 00:00:00 GMT.
+     * @throws NumberFormatException if date is not a proper long or has an illegal format.
+     */
+    public static long stringToMillis(String date) {
+        // Check for JSON date, only "/Date(" can start a match of the pattern
+        if (date.indexOf('/') >= 0) {
+            long millis = parseJsonDate(date);
+            if (millis >= 0) {
+                return millis;
+            }
+            Matcher matcher = jsonDate.matcher(date);
+            if (matcher.find()) {
+                String dateMatch = matcher.group(1);
+                return Long.parseLong(dateMatch);
+            }
         }
 
         // Check for millisecond based date
-        if (numericOnly.matcher(date).matches()) {
+        if (isNumericOnly(date)) {
             try {
-                return new Date(Long.parseLong(date));
+                return Long.parseLong(date);
             } catch (NumberFormatException e) {
                 throw new RealmException(e.getMessage(), e);
             }
@@ -62,13 +77,59 @@ public class JsonUtils {
 
         // Try for ISO8601 date
         try {
-            parsePosition.setIndex(0); // reset the position each time
-            return ISO8601Utils.parse(date, parsePosition);
+            return ISO8601Utils.parseMillis(date);
         } catch (ParseException e) {
             throw new RealmException(e.getMessage(), e);
         }
     }
 
+    /**
+     * Parses a date that is exactly "/Date(<long>[+-Zone])/".
+     *
+     * @return the milliseconds, or -1 if the date has another form and must be matched by {@link #jsonDate}.
+     */
+    private static long parseJsonDate(String date) {
+        if (!date.startsWith(JSON_DATE_PREFIX)) {
+            return -1;
+        }
+        int length = date.length();
+        int offset = JSON_DATE_PREFIX.length();
+        int digitsStart = offset;
+        long millis = 0;
+        while (offset < length && isDigit(date.charAt(offset)) && offset - digitsStart < 18) {
+            millis = millis * 10 + (date.charAt(offset++) - '0');
+        }
+        if (offset == digitsStart) {
+            return -1;
+        }
+        if (offset < length && (date.charAt(offset) == '+' || date.charAt(offset) == '-')) {
+            offset++;
+            while (offset < length && isDigit(date.charAt(offset))) {
+                offset++;
+            }
+        }
+        return date.startsWith(")/", offset) ? millis : -1;
+    }
+
+    // Same as matching "-?\\d+"
+    private static boolean isNumericOnly(String date) {
+        int length = date.length();
+        int offset = (length > 0 && date.charAt(0) == '-') ? 1 : 0;
+        if (offset == length) {
+            return false;
+        }
+        for (; offset < length; offset++) {
+            if (!isDigit(date.charAt(offset))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
     /**
      * Converts a Json string to byte[]. String must be Base64 encoded.
      *
@@ -22,14 +22,17 @@ import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import io.realm.RealmConfiguration;
 import io.realm.RealmModel;
 import io.realm.RealmResults;
 import io.realm.internal.RealmObjectProxy;
 import io.realm.internal.SharedGroup;
+import io.realm.internal.SharedGroupPool;
 import io.realm.internal.Table;
 import io.realm.internal.TableQuery;
+import io.realm.internal.TableView;
 import io.realm.internal.log.RealmLog;
 
 /**
@@ -47,6 +50,8 @@ public class QueryUpdateTask implements Runnable {
     private Builder.QueryEntry realmObjectEntry;
     private WeakReference<Handler> callerHandler;
     private int message;
+    // set by whoever takes ownership of the handover objects first, either run() or releaseHandovers()
+    private final AtomicBoolean handoversClaimed = new AtomicBoolean(false);
 
     private QueryUpdateTask (int mode,
                              RealmConfiguration realmConfiguration,
@@ -68,15 +73,16 @@ public class QueryUpdateTask implements Runnable {
 
     @Override
     public void run() {
+        if (!handoversClaimed.compareAndSet(false, true)) {
+            return;
+        }
         SharedGroup sharedGroup = null;
+        Result result = null;
+        boolean updateSuccessful = false;
         try {
-            sharedGroup = new SharedGroup(realmConfiguration.getPath(),
-                    SharedGroup.IMPLICIT_TRANSACTION,
-                    realmConfiguration.getDurability(),
-                    realmConfiguration.getEncryptionKey());
+            // a pooled SharedGroup is positioned at the version of the handed over queries by the native code
+            sharedGroup = SharedGroupPool.acquire(realmConfiguration);
 
-            Result result;
-            boolean updateSuccessful;
             if (updateMode == MODE_UPDATE_REALM_RESULTS) {
                 result = Result.newRealmResultsResponse();
                 AlignedQueriesParameters alignedParameters = prepareQueriesParameters();
@@ -84,8 +90,11 @@ public class QueryUpdateTask implements Runnable {
                         alignedParameters.handoverQueries,
                         alignedParameters.queriesParameters,
                         alignedParameters.multiSortColumnIndices,
-                        alignedParameters.multiSortOrder);
-                swapPointers(result, handoverTableViewPointer);
+                        alignedParameters.multiSortOrder,
+                        alignedParameters.reuseIfUnchanged,
+                        alignedParameters.previousTableViews,
+                        alignedParameters.changeSets);
+                swapPointers(result, handoverTableViewPointer, alignedParameters.changeSets);
                 updateSuccessful = true;
                 result.versionID = sharedGroup.getVersion();
 
@@ -95,18 +104,40 @@ public class QueryUpdateTask implements Runnable {
                 result.versionID = sharedGroup.getVersion();
             }
 
-            Handler handler = callerHandler.get();
-            if (updateSuccessful && !isTaskCancelled() && isAliveHandler(handler)) {
-                handler.obtainMessage(message, result).sendToTarget();
-            }
-
         } catch (Exception e) {
             RealmLog.e(e.getMessage(), e);
+            updateSuccessful = false;
 
         } finally {
             if (sharedGroup != null) {
-                sharedGroup.close();
+                SharedGroupPool.release(sharedGroup);
+            }
+        }
+
+        // released before notifying, the caller might close its last Realm instance, which closes the pool
+        Handler handler = callerHandler.get();
+        if (updateSuccessful && !isTaskCancelled() && isAliveHandler(handler)) {
+            handler.obtainMessage(message, result).sendToTarget();
+        }
+    }
+
+    /**
+     * Frees the handover queries and previous TableViews of a task which was cancelled before it started. Does
+     * nothing if the task already ran, the native code consumed them then.
+     */
+    void releaseHandovers() {
+        if (!handoversClaimed.compareAndSet(false, true)) {
+            return;
+        }
+        if (updateMode == MODE_UPDATE_REALM_RESULTS) {
+            for (Builder.QueryEntry queryEntry : realmResultsEntries) {
+                TableQuery.nativeCloseQueryHandover(queryEntry.handoverQueryPointer);
+                if (queryEntry.handoverPreviousTableViewPointer != 0) {
+                    TableView.nativeCloseHandover(queryEntry.handoverPreviousTableViewPointer);
+                }
             }
+        } else {
+            TableQuery.nativeCloseQueryHandover(realmObjectEntry.handoverQueryPointer);
         }
     }
 
@@ -115,9 +146,13 @@ public class QueryUpdateTask implements Runnable {
         long[][] queriesParameters = new long[realmResultsEntries.size()][6];
         long[][] multiSortColumnIndices = new long[realmResultsEntries.size()][];
         boolean[][] multiSortOrder = new boolean[realmResultsEntries.size()][];
+        boolean[] reuseIfUnchanged = new boolean[realmResultsEntries.size()];
+        long[] previousTableViews = new long[realmResultsEntries.size()];
 
         int i = 0;
         for (Builder.QueryEntry  queryEntry : realmResultsEntries) {
+            reuseIfUnchanged[i] = queryEntry.reuseIfUnchanged;
+            previousTableViews[i] = queryEntry.handoverPreviousTableViewPointer;
             switch (queryEntry.queryArguments.type) {
                 case ArgumentsHolder.TYPE_FIND_ALL: {
                     handoverQueries[i] = queryEntry.handoverQueryPointer;
@@ -163,14 +198,21 @@ public class QueryUpdateTask implements Runnable {
         alignedParameters.multiSortColumnIndices = multiSortColumnIndices;
         alignedParameters.multiSortOrder = multiSortOrder;
         alignedParameters.queriesParameters = queriesParameters;
+        alignedParameters.reuseIfUnchanged = reuseIfUnchanged;
+        alignedParameters.previousTableViews = previousTableViews;
+        alignedParameters.changeSets = new long[realmResultsEntries.size()][];
 
         return alignedParameters;
     }
 
-    private void swapPointers(Result result, long[] handoverTableViewPointer) {
+    private void swapPointers(Result result, long[] handoverTableViewPointer, long[][] changeSets) {
         int i = 0;
         for (Builder.QueryEntry  queryEntry : realmResultsEntries) {
-            result.updatedTableViews.put(queryEntry.element, handoverTableViewPointer[i++]);
+            result.updatedTableViews.put(queryEntry.element, handoverTableViewPointer[i]);
+            if (changeSets[i] != null) {
+                result.changeSets.put(queryEntry.element, changeSets[i]);
+            }
+            i++;
         }
     }
 
@@ -205,13 +247,17 @@ public class QueryUpdateTask implements Runnable {
 
     // result of the async query
     public static class Result {
+        // a handover pointer of 0 means the query was skipped since none of its tables were modified
         public IdentityHashMap<WeakReference<RealmResults<? extends RealmModel>>, Long> updatedTableViews;
         public IdentityHashMap<WeakReference<RealmObjectProxy>, Long> updatedRow;
+        // encoded change sets of the updated RealmResults for which the previous results were handed over
+        public IdentityHashMap<WeakReference<RealmResults<? extends RealmModel>>, long[]> changeSets;
         public SharedGroup.VersionID versionID;
 
         public static Result newRealmResultsResponse() {
             Result result = new Result();
             result.updatedTableViews = new IdentityHashMap<WeakReference<RealmResults<? extends RealmModel>>, Long>(1);
+            result.changeSets = new IdentityHashMap<WeakReference<RealmResults<? extends RealmModel>>, long[]>(1);
             return result;
         }
 
@@ -226,6 +272,9 @@ public class QueryUpdateTask implements Runnable {
         long[][] queriesParameters;
         long[][] multiSortColumnIndices;
         boolean[][] multiSortOrder;
+        boolean[] reuseIfUnchanged;
+        long[] previousTableViews;
+        long[][] changeSets;
     }
     /*
       This uses the step builder pattern to guide the caller throughout the creation of the instance
@@ -234,7 +283,7 @@ public class QueryUpdateTask implements Runnable {
       QueryUpdateTask task = QueryUpdateTask.newBuilder()
          .realmConfiguration(null, null)
          .add(null, 0, null)
-         .add(null, 0, null)
+         .add(null, 0, null, true, 0)
          .sendToHandler(null, 0)
          .build();
 
@@ -253,6 +302,11 @@ public class QueryUpdateTask implements Runnable {
             RealmResultsQueryStep add(WeakReference<RealmResults<? extends RealmModel>> weakReference,
                                           long handoverQueryPointer,
                                           ArgumentsHolder queryArguments);
+            RealmResultsQueryStep add(WeakReference<RealmResults<? extends RealmModel>> weakReference,
+                                          long handoverQueryPointer,
+                                          ArgumentsHolder queryArguments,
+                                          boolean reuseIfUnchanged,
+                                          long handoverPreviousTableViewPointer);
             HandlerStep addObject(WeakReference<? extends RealmModel> weakReference,
                                   long handoverQueryPointer,
                                   ArgumentsHolder queryArguments);// can only update 1 element
@@ -262,6 +316,11 @@ public class QueryUpdateTask implements Runnable {
             RealmResultsQueryStep add(WeakReference<RealmResults<? extends RealmModel>> weakReference,
                                           long handoverQueryPointer,
                                           ArgumentsHolder queryArguments);
+            RealmResultsQueryStep add(WeakReference<RealmResults<? extends RealmModel>> weakReference,
+                                          long handoverQueryPointer,
+                                          ArgumentsHolder queryArguments,
+                                          boolean reuseIfUnchanged,
+                                          long handoverPreviousTableViewPointer);
             BuilderStep sendToHandler(Handler handler, int message);
         }
 
@@ -290,10 +349,20 @@ public class QueryUpdateTask implements Runnable {
             public RealmResultsQueryStep add(WeakReference<RealmResults<?>> weakReference,
                                              long handoverQueryPointer,
                                              ArgumentsHolder queryArguments) {
+                return add(weakReference, handoverQueryPointer, queryArguments, false, 0);
+            }
+
+            @Override
+            public RealmResultsQueryStep add(WeakReference<RealmResults<?>> weakReference,
+                                             long handoverQueryPointer,
+                                             ArgumentsHolder queryArguments,
+                                             boolean reuseIfUnchanged,
+                                             long handoverPreviousTableViewPointer) {
                 if (this.realmResultsEntries == null) {
                     this.realmResultsEntries = new ArrayList<QueryEntry>(1);
                 }
-                this.realmResultsEntries.add(new QueryEntry(weakReference, handoverQueryPointer, queryArguments));
+                this.realmResultsEntries.add(new QueryEntry(weakReference, handoverQueryPointer, queryArguments,
+                        reuseIfUnchanged, handoverPreviousTableViewPointer));
                 return this;
             }
 
@@ -302,7 +371,7 @@ public class QueryUpdateTask implements Runnable {
                                          long handoverQueryPointer,
                                          ArgumentsHolder queryArguments) {
                 realmObjectEntry =
-                        new QueryEntry(weakReference, handoverQueryPointer, queryArguments);
+                        new QueryEntry(weakReference, handoverQueryPointer, queryArguments, false, 0);
                 return this;
             }
 
@@ -329,11 +398,19 @@ public class QueryUpdateTask implements Runnable {
             final WeakReference element;
             long handoverQueryPointer;
             final ArgumentsHolder queryArguments;
-
-            private QueryEntry(WeakReference element, long handoverQueryPointer, ArgumentsHolder queryArguments) {
+            // true if the caller already holds results for this query, and can keep them as long as
+            // none of the tables the query depends on were modified
+            final boolean reuseIfUnchanged;
+            // handover of the results currently held by the caller, used to compute a change set. 0 if none.
+            final long handoverPreviousTableViewPointer;
+
+            private QueryEntry(WeakReference element, long handoverQueryPointer, ArgumentsHolder queryArguments,
+                               boolean reuseIfUnchanged, long handoverPreviousTableViewPointer) {
                 this.element = element;
                 this.handoverQueryPointer = handoverQueryPointer;
                 this.queryArguments = queryArguments;
+                this.reuseIfUnchanged = reuseIfUnchanged;
+                this.handoverPreviousTableViewPointer = handoverPreviousTableViewPointer;
             }
         }
     }
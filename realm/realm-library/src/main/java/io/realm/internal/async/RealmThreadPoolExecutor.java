@@ -16,11 +16,18 @@
 
 package io.realm.internal.async;
 
-import java.util.concurrent.ArrayBlockingQueue;
+import android.os.Looper;
+
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RunnableFuture;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -28,6 +35,10 @@ import java.util.concurrent.locks.ReentrantLock;
  * Custom thread pool settings, instances of this executor can be paused, and resumed, this will also set
  * appropriate number of Threads & wrap submitted tasks to set the thread priority according to
  * <a href="https://developer.android.com/training/multiple-threads/define-runnable.html"> Androids recommendation</a>.
+ * <p>
+ * Tasks submitted from the UI thread are run before the ones submitted from other threads, tasks of the same
+ * priority are run in submission order. A task submitted with a coalescing key replaces the task with the same
+ * key if it is still waiting in the queue.
  */
 public class RealmThreadPoolExecutor extends ThreadPoolExecutor {
     // reduce context switch by using a number of thread proportionate to the number of cores
@@ -35,6 +46,11 @@ public class RealmThreadPoolExecutor extends ThreadPoolExecutor {
     private static final int CORE_POOL_SIZE = Runtime.getRuntime().availableProcessors() * 2 + 1;
     private static final int QUEUE_SIZE = 100;
 
+    private final int queueCapacity;
+    private final AtomicLong submissionCounter = new AtomicLong();
+    private final ConcurrentHashMap<Object, PrioritizedFutureTask<?>> coalescedTasks =
+            new ConcurrentHashMap<Object, PrioritizedFutureTask<?>>();
+
     private boolean isPaused;
     private ReentrantLock pauseLock = new ReentrantLock();
     private Condition unpaused = pauseLock.newCondition();
@@ -43,20 +59,32 @@ public class RealmThreadPoolExecutor extends ThreadPoolExecutor {
      * Creates a default RealmThreadPool that is bounded by the number of available cores.
      */
     public static RealmThreadPoolExecutor newDefaultExecutor() {
-        return new RealmThreadPoolExecutor(CORE_POOL_SIZE, CORE_POOL_SIZE);
+        return new RealmThreadPoolExecutor(CORE_POOL_SIZE, QUEUE_SIZE);
     }
 
     /**
      * Creates a RealmThreadPool with only 1 thread. This is primarily useful for testing.
      */
     public static RealmThreadPoolExecutor newSingleThreadExecutor() {
-        return new RealmThreadPoolExecutor(1, 1);
+        return new RealmThreadPoolExecutor(1, QUEUE_SIZE);
+    }
+
+    /**
+     * Creates a RealmThreadPool with the given number of threads.
+     *
+     * @param poolSize number of threads of the pool.
+     * @param queueCapacity maximum number of tasks waiting to be run, further submissions throw a
+     * {@link RejectedExecutionException}.
+     */
+    public static RealmThreadPoolExecutor newExecutor(int poolSize, int queueCapacity) {
+        return new RealmThreadPoolExecutor(poolSize, queueCapacity);
     }
 
-    private RealmThreadPoolExecutor(int corePoolSize, int maxPoolSize) {
-        super(corePoolSize, maxPoolSize,
+    private RealmThreadPoolExecutor(int poolSize, int queueCapacity) {
+        super(poolSize, poolSize,
                 0L, TimeUnit.MILLISECONDS, //terminated idle thread
-                new ArrayBlockingQueue<Runnable>(QUEUE_SIZE));
+                new PriorityBlockingQueue<Runnable>());
+        this.queueCapacity = queueCapacity;
     }
 
     @Override
@@ -69,6 +97,57 @@ public class RealmThreadPoolExecutor extends ThreadPoolExecutor {
         return super.submit(new BgPriorityCallable<T>(task));
     }
 
+    /**
+     * Submits a task replacing the one submitted with the same key, if that one has not started yet.
+     *
+     * @param coalescingKey key identifying the tasks which supersede each other.
+     * @param task the task to run.
+     * @return the Future representing the pending task.
+     */
+    public Future<?> submitCoalesced(Object coalescingKey, Runnable task) {
+        PrioritizedFutureTask<Object> futureTask = new PrioritizedFutureTask<Object>(new BgPriorityRunnable(task), null,
+                isUiThread(), submissionCounter.getAndIncrement());
+        futureTask.coalescingKey = coalescingKey;
+        futureTask.task = task;
+        PrioritizedFutureTask<?> previous = coalescedTasks.put(coalescingKey, futureTask);
+        if (previous != null && getQueue().remove(previous)) {
+            previous.cancel(false);
+        }
+        try {
+            execute(futureTask);
+        } catch (RejectedExecutionException e) {
+            coalescedTasks.remove(coalescingKey, futureTask);
+            throw e;
+        }
+        return futureTask;
+    }
+
+    @Override
+    protected <T> RunnableFuture<T> newTaskFor(Runnable runnable, T value) {
+        return new PrioritizedFutureTask<T>(runnable, value, isUiThread(), submissionCounter.getAndIncrement());
+    }
+
+    @Override
+    protected <T> RunnableFuture<T> newTaskFor(Callable<T> callable) {
+        return new PrioritizedFutureTask<T>(callable, isUiThread(), submissionCounter.getAndIncrement());
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        if (command == null) {
+            throw new NullPointerException();
+        }
+        // the priority queue can only hold comparable tasks
+        if (!(command instanceof PrioritizedFutureTask)) {
+            command = newTaskFor(command, null);
+        }
+        if (getQueue().size() >= queueCapacity) {
+            getRejectedExecutionHandler().rejectedExecution(command, this);
+            return;
+        }
+        super.execute(command);
+    }
+
     @Override
     protected void beforeExecute(Thread t, Runnable r) {
             super.beforeExecute(t, r);
@@ -82,6 +161,15 @@ public class RealmThreadPoolExecutor extends ThreadPoolExecutor {
         }
     }
 
+    @Override
+    protected void afterExecute(Runnable r, Throwable t) {
+        super.afterExecute(r, t);
+        PrioritizedFutureTask<?> task = (PrioritizedFutureTask<?>) r;
+        if (task.coalescingKey != null) {
+            coalescedTasks.remove(task.coalescingKey, task);
+        }
+    }
+
     /**
      * Pauses the executor. Pausing means the executor will stop starting new tasks (but complete current ones).
      */
@@ -103,4 +191,46 @@ public class RealmThreadPoolExecutor extends ThreadPoolExecutor {
             pauseLock.unlock();
         }
     }
+
+    private static boolean isUiThread() {
+        return Looper.myLooper() != null && Looper.myLooper() == Looper.getMainLooper();
+    }
+
+    /**
+     * Task ordered by the priority of the submitting thread first, then by submission order.
+     */
+    private static class PrioritizedFutureTask<T> extends FutureTask<T> implements Comparable<PrioritizedFutureTask<?>> {
+        private final boolean uiPriority;
+        private final long submissionOrder;
+        private Object coalescingKey;
+        private Runnable task;
+
+        PrioritizedFutureTask(Runnable runnable, T result, boolean uiPriority, long submissionOrder) {
+            super(runnable, result);
+            this.uiPriority = uiPriority;
+            this.submissionOrder = submissionOrder;
+        }
+
+        PrioritizedFutureTask(Callable<T> callable, boolean uiPriority, long submissionOrder) {
+            super(callable);
+            this.uiPriority = uiPriority;
+            this.submissionOrder = submissionOrder;
+        }
+
+        @Override
+        protected void done() {
+            // a replaced or cancelled query update still owns the handover objects it was given
+            if (isCancelled() && task instanceof QueryUpdateTask) {
+                ((QueryUpdateTask) task).releaseHandovers();
+            }
+        }
+
+        @Override
+        public int compareTo(PrioritizedFutureTask<?> other) {
+            if (uiPriority != other.uiPriority) {
+                return uiPriority ? -1 : 1;
+            }
+            return submissionOrder < other.submissionOrder ? -1 : (submissionOrder == other.submissionOrder ? 0 : 1);
+        }
+    }
 }
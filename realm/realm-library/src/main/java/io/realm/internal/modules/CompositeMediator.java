@@ -32,6 +32,7 @@ import io.realm.Realm;
 import io.realm.RealmModel;
 import io.realm.internal.ColumnInfo;
 import io.realm.internal.ImplicitTransaction;
+import io.realm.internal.InsertContext;
 import io.realm.internal.RealmObjectProxy;
 import io.realm.internal.RealmProxyMediator;
 import io.realm.internal.Table;
@@ -68,6 +69,18 @@ public class CompositeMediator extends RealmProxyMediator {
         return mediator.validateTable(clazz, transaction);
     }
 
+    @Override
+    public ColumnInfo getColumnInfo(Class<? extends RealmModel> clazz, ImplicitTransaction transaction) {
+        RealmProxyMediator mediator = getMediator(clazz);
+        return mediator.getColumnInfo(clazz, transaction);
+    }
+
+    @Override
+    public String getSchemaSignature(Class<? extends RealmModel> clazz) {
+        RealmProxyMediator mediator = getMediator(clazz);
+        return mediator.getSchemaSignature(clazz);
+    }
+
     @Override
     public List<String> getFieldNames(Class<? extends RealmModel> clazz) {
         RealmProxyMediator mediator = getMediator(clazz);
@@ -97,6 +110,12 @@ public class CompositeMediator extends RealmProxyMediator {
         return mediator.copyOrUpdate(realm, object, update, cache);
     }
 
+    @Override
+    public long insert(Realm realm, RealmModel object, InsertContext context) {
+        RealmProxyMediator mediator = getMediator(Util.getOriginalModelClass(object.getClass()));
+        return mediator.insert(realm, object, context);
+    }
+
     @Override
     public <E extends RealmModel> E createOrUpdateUsingJsonObject(Class<E> clazz, Realm realm, JSONObject json, boolean update) throws JSONException {
         RealmProxyMediator mediator = getMediator(clazz);
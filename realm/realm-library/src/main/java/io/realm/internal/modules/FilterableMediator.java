@@ -33,6 +33,7 @@ import io.realm.Realm;
 import io.realm.RealmModel;
 import io.realm.internal.ColumnInfo;
 import io.realm.internal.ImplicitTransaction;
+import io.realm.internal.InsertContext;
 import io.realm.internal.RealmObjectProxy;
 import io.realm.internal.RealmProxyMediator;
 import io.realm.internal.Table;
@@ -84,6 +85,18 @@ public class FilterableMediator extends RealmProxyMediator {
         return originalMediator.validateTable(clazz, transaction);
     }
 
+    @Override
+    public ColumnInfo getColumnInfo(Class<? extends RealmModel> clazz, ImplicitTransaction transaction) {
+        checkSchemaHasClass(clazz);
+        return originalMediator.getColumnInfo(clazz, transaction);
+    }
+
+    @Override
+    public String getSchemaSignature(Class<? extends RealmModel> clazz) {
+        checkSchemaHasClass(clazz);
+        return originalMediator.getSchemaSignature(clazz);
+    }
+
     @Override
     public List<String> getFieldNames(Class<? extends RealmModel> clazz) {
         checkSchemaHasClass(clazz);
@@ -113,6 +126,12 @@ public class FilterableMediator extends RealmProxyMediator {
         return originalMediator.copyOrUpdate(realm, object, update, cache);
     }
 
+    @Override
+    public long insert(Realm realm, RealmModel object, InsertContext context) {
+        checkSchemaHasClass(Util.getOriginalModelClass(object.getClass()));
+        return originalMediator.insert(realm, object, context);
+    }
+
     @Override
     public <E extends RealmModel> E createOrUpdateUsingJsonObject(Class<E> clazz, Realm realm, JSONObject json, boolean update) throws JSONException {
         checkSchemaHasClass(clazz);